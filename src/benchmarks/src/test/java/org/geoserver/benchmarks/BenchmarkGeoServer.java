@@ -0,0 +1,191 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogBuilder;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.config.GeoServer;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.DataStoreFinder;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.property.PropertyDataStoreFactory;
+import org.geotools.data.shapefile.ShapefileDataStoreFactory;
+import org.geotools.feature.NameImpl;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.JTS;
+import org.geotools.geopkg.GeoPkgDataStoreFactory;
+import org.locationtech.jts.geom.Envelope;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * In process GeoServer the benchmarks run against. On top of the default system test data it
+ * publishes the same grid of polygons out of a property, a shapefile, and a GeoPackage store, as
+ * {@link #WORKSPACE}:grid_&lt;store&gt;, where store is one of {@link #STORES}.
+ *
+ * <p>Exposes the request and lookup methods of the test support to the benchmarks.
+ */
+public class BenchmarkGeoServer extends GeoServerSystemTestSupport {
+
+    /** The workspace of the benchmark layers */
+    public static final String WORKSPACE = "bench";
+
+    /** The stores the grid is published from */
+    public static final String PROPERTY = "property";
+
+    public static final String SHAPEFILE = "shapefile";
+
+    public static final String GEOPACKAGE = "geopackage";
+
+    public static final String[] STORES = {PROPERTY, SHAPEFILE, GEOPACKAGE};
+
+    /** Number of grid cells along each axis */
+    static final int GRID_SIZE = 100;
+
+    static final String TYPE_NAME = "grid";
+
+    /** Returns the qualified name of the grid layer published from the given store */
+    public static String layerName(String store) {
+        return WORKSPACE + ":" + TYPE_NAME + "_" + store;
+    }
+
+    @Override
+    protected void onSetUp(SystemTestData testData) throws Exception {
+        Catalog catalog = getCatalog();
+        testData.addWorkspace(WORKSPACE, "http://geoserver.org/" + WORKSPACE, catalog);
+
+        File root = new File(testData.getDataDirectoryRoot(), "data/" + WORKSPACE);
+        File directory = new File(root, PROPERTY);
+        directory.mkdirs();
+        Map<String, Serializable> params = new HashMap<>();
+        params.put(PropertyDataStoreFactory.DIRECTORY.key, directory.getAbsolutePath());
+        addGridLayer(PROPERTY, "Properties", params);
+
+        directory = new File(root, SHAPEFILE);
+        directory.mkdirs();
+        params = new HashMap<>();
+        params.put(
+                ShapefileDataStoreFactory.URLP.key,
+                new File(directory, TYPE_NAME + ".shp").toURI().toString());
+        addGridLayer(SHAPEFILE, "Shapefile", params);
+
+        params = new HashMap<>();
+        params.put(GeoPkgDataStoreFactory.DBTYPE.key, "geopkg");
+        params.put(
+                GeoPkgDataStoreFactory.DATABASE.key,
+                new File(root, TYPE_NAME + ".gpkg").getAbsolutePath());
+        addGridLayer(GEOPACKAGE, "GeoPackage", params);
+    }
+
+    /** Writes the grid in a new store with the given connection parameters, and publishes it */
+    private void addGridLayer(String name, String type, Map<String, Serializable> params)
+            throws Exception {
+        String typeName = writeGrid(params);
+
+        Catalog catalog = getCatalog();
+        CatalogBuilder builder = new CatalogBuilder(catalog);
+        builder.setWorkspace(catalog.getWorkspaceByName(WORKSPACE));
+        DataStoreInfo store = builder.buildDataStore(name);
+        store.setType(type);
+        store.getConnectionParameters().putAll(params);
+        catalog.add(store);
+
+        builder.setStore(store);
+        FeatureTypeInfo featureType = builder.buildFeatureType(new NameImpl(typeName));
+        builder.setupBounds(featureType);
+        featureType.setName(TYPE_NAME + "_" + name);
+        catalog.add(featureType);
+        LayerInfo layer = builder.buildLayer(featureType);
+        catalog.add(layer);
+    }
+
+    /** Creates the grid feature type in the store and fills it, returns the native type name */
+    private String writeGrid(Map<String, Serializable> params) throws Exception {
+        DataStore store = DataStoreFinder.getDataStore(params);
+        try {
+            SimpleFeatureType schema =
+                    DataUtilities.createType(
+                            TYPE_NAME,
+                            "the_geom:Polygon:srid=4326,cell:Integer,name:String,value:Double");
+            store.createSchema(schema);
+            String typeName = store.getTypeNames()[0];
+
+            SimpleFeatureBuilder fb = new SimpleFeatureBuilder(store.getSchema(typeName));
+            List<SimpleFeature> features = new ArrayList<>(GRID_SIZE * GRID_SIZE);
+            double width = 360d / GRID_SIZE;
+            double height = 180d / GRID_SIZE;
+            for (int i = 0; i < GRID_SIZE; i++) {
+                for (int j = 0; j < GRID_SIZE; j++) {
+                    double minX = -180 + i * width;
+                    double minY = -90 + j * height;
+                    int cell = i * GRID_SIZE + j;
+                    fb.add(JTS.toGeometry(new Envelope(minX, minX + width, minY, minY + height)));
+                    fb.add(cell);
+                    fb.add("cell " + cell);
+                    fb.add(Math.sin(cell) * 1000);
+                    features.add(fb.buildFeature(null));
+                }
+            }
+            SimpleFeatureStore featureStore = (SimpleFeatureStore) store.getFeatureSource(typeName);
+            featureStore.addFeatures(DataUtilities.collection(features));
+            return typeName;
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Override
+    public Catalog getCatalog() {
+        return super.getCatalog();
+    }
+
+    @Override
+    public GeoServer getGeoServer() {
+        return super.getGeoServer();
+    }
+
+    @Override
+    public MockHttpServletResponse getAsServletResponse(String path) throws Exception {
+        return super.getAsServletResponse(path);
+    }
+
+    /** Issues the request, failing if the response is an error or a service exception report */
+    public MockHttpServletResponse getChecked(String path) throws Exception {
+        MockHttpServletResponse response = getAsServletResponse(path);
+        String contentType = response.getContentType();
+        if (response.getStatus() != 200
+                || contentType == null
+                || contentType.contains("se_xml")
+                || (contentType.contains("xml")
+                        && response.getContentAsString().contains("ExceptionReport"))) {
+            throw new IllegalStateException(
+                    "Request " + path + " failed: " + response.getContentAsString());
+        }
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> parseKvp(Map<String, Object> raw) throws Exception {
+        return super.parseKvp(raw);
+    }
+
+    @Override
+    public <V> Map<String, V> caseInsensitiveKvp(Map<String, V> input) {
+        return super.caseInsensitiveKvp(input);
+    }
+}
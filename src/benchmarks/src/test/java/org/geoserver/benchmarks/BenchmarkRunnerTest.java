@@ -0,0 +1,49 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks of this module. This isn't a real test, integrating JMH with JUnit just
+ * provides an easy way to run the benchmarks from Maven or the IDE. The benchmarks to run are
+ * selected with the <code>benchmark.include</code> system property, a regular expression matched
+ * against the benchmark names, e.g. <code>-Dbenchmark.include=GetMap</code>.
+ *
+ * <p>Results are written in <code>target/benchmark-results.json</code>, to compare runs before and
+ * after an upgrade.
+ */
+public class BenchmarkRunnerTest {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        Options options =
+                new OptionsBuilder()
+                        .include(System.getProperty("benchmark.include", ".*"))
+                        .forks(1)
+                        .warmupIterations(3)
+                        .warmupTime(TimeValue.seconds(2))
+                        .measurementIterations(5)
+                        .measurementTime(TimeValue.seconds(2))
+                        .timeout(TimeValue.minutes(5))
+                        // don't inherit the test JVM options, they limit the JIT compiler
+                        .jvmArgs(
+                                "-Xmx2g",
+                                "-Djava.awt.headless=true",
+                                "-DquietTests=true",
+                                "--add-opens=java.base/java.lang=ALL-UNNAMED",
+                                "--add-opens=java.base/java.util=ALL-UNNAMED",
+                                "--add-opens=java.desktop/sun.awt.image=ALL-UNNAMED")
+                        .result("./target/benchmark-results.json")
+                        .resultFormat(ResultFormatType.JSON)
+                        .build();
+        new Runner(options).run();
+    }
+}
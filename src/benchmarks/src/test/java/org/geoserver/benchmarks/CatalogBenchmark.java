@@ -0,0 +1,50 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/** Measures the catalog lookups done while handling most requests. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatalogBenchmark {
+
+    static final String LAYER = BenchmarkGeoServer.layerName(BenchmarkGeoServer.GEOPACKAGE);
+
+    @Benchmark
+    public LayerInfo getLayerByName(GeoServerState state) {
+        return state.geoServer.getCatalog().getLayerByName(LAYER);
+    }
+
+    @Benchmark
+    public FeatureTypeInfo getFeatureTypeByName(GeoServerState state) {
+        return state.geoServer.getCatalog().getFeatureTypeByName(LAYER);
+    }
+
+    @Benchmark
+    public StyleInfo getStyleByName(GeoServerState state) {
+        return state.geoServer.getCatalog().getStyleByName(StyleInfo.DEFAULT_POLYGON);
+    }
+
+    @Benchmark
+    public List<FeatureTypeInfo> getFeatureTypesByNamespace(GeoServerState state) {
+        return state.geoServer
+                .getCatalog()
+                .getResourcesByNamespace(BenchmarkGeoServer.WORKSPACE, FeatureTypeInfo.class);
+    }
+
+    @Benchmark
+    public List<LayerInfo> getLayers(GeoServerState state) {
+        return state.geoServer.getCatalog().getLayers();
+    }
+}
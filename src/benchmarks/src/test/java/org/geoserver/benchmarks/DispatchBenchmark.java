@@ -0,0 +1,55 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Measures the overhead of dispatching a request through the {@link org.geoserver.ows.Dispatcher},
+ * using requests that do little work once dispatched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DispatchBenchmark {
+
+    /** Checks the requests succeed before measuring them */
+    @State(Scope.Benchmark)
+    public static class Requests {
+
+        @Setup
+        public void setup(GeoServerState state) throws Exception {
+            state.geoServer.getChecked(HITS);
+            state.geoServer.getChecked(DESCRIBE);
+        }
+    }
+
+    static final String HITS =
+            "wfs?service=WFS&version=1.1.0&request=GetFeature&resultType=hits&typeName="
+                    + BenchmarkGeoServer.layerName(BenchmarkGeoServer.PROPERTY);
+
+    static final String DESCRIBE =
+            "wfs?service=WFS&version=1.1.0&request=DescribeFeatureType&typeName="
+                    + BenchmarkGeoServer.layerName(BenchmarkGeoServer.PROPERTY);
+
+    @Benchmark
+    public MockHttpServletResponse getFeatureHits(GeoServerState state, Requests requests)
+            throws Exception {
+        return state.geoServer.getAsServletResponse(HITS);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse describeFeatureType(GeoServerState state, Requests requests)
+            throws Exception {
+        return state.geoServer.getAsServletResponse(DESCRIBE);
+    }
+}
@@ -0,0 +1,34 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import org.geoserver.test.GeoServerBaseTestSupport;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Sets up the {@link BenchmarkGeoServer} once per benchmark run, and tears it down at the end. JMH
+ * runs each benchmark in a separate forked JVM, so each benchmark gets its own data directory.
+ */
+@State(Scope.Benchmark)
+public class GeoServerState {
+
+    BenchmarkGeoServer geoServer = new BenchmarkGeoServer();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        GeoServerBaseTestSupport.setUpReferencing();
+        geoServer.doSetup();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        GeoServerSystemTestSupport.doTearDownClass();
+    }
+}
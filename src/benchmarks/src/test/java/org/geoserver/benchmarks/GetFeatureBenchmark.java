@@ -0,0 +1,59 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Measures WFS GetFeature requests, encoding the grid layer in GeoJSON and GML. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GetFeatureBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Request {
+
+        @Param({"application/json", "GML2", "gml3"})
+        String outputFormat;
+
+        @Param({
+            BenchmarkGeoServer.PROPERTY,
+            BenchmarkGeoServer.SHAPEFILE,
+            BenchmarkGeoServer.GEOPACKAGE
+        })
+        String store;
+
+        @Param({"1000"})
+        int maxFeatures;
+
+        String path;
+
+        @Setup
+        public void setup(GeoServerState state) throws Exception {
+            path =
+                    "wfs?service=WFS&version=1.1.0&request=GetFeature&typeName="
+                            + BenchmarkGeoServer.layerName(store)
+                            + "&outputFormat="
+                            + outputFormat
+                            + "&maxFeatures="
+                            + maxFeatures;
+            state.geoServer.getChecked(path);
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getFeature(GeoServerState state, Request request)
+            throws Exception {
+        return state.geoServer.getAsServletResponse(request.path);
+    }
+}
@@ -0,0 +1,61 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Measures WMS GetMap requests, rendering and encoding the grid layer in PNG and JPEG. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GetMapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Request {
+
+        @Param({"image/png", "image/jpeg"})
+        String format;
+
+        @Param({
+            BenchmarkGeoServer.PROPERTY,
+            BenchmarkGeoServer.SHAPEFILE,
+            BenchmarkGeoServer.GEOPACKAGE
+        })
+        String store;
+
+        @Param({"768"})
+        int size;
+
+        String path;
+
+        @Setup
+        public void setup(GeoServerState state) throws Exception {
+            path =
+                    "wms?service=WMS&version=1.1.1&request=GetMap&styles="
+                            + "&srs=EPSG:4326&bbox=-180,-90,180,90&layers="
+                            + BenchmarkGeoServer.layerName(store)
+                            + "&format="
+                            + format
+                            + "&width="
+                            + size
+                            + "&height="
+                            + size / 2;
+            state.geoServer.getChecked(path);
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getMap(GeoServerState state, Request request) throws Exception {
+        return state.geoServer.getAsServletResponse(request.path);
+    }
+}
@@ -0,0 +1,96 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import net.opengis.wfs.GetFeatureType;
+import org.geoserver.ows.KvpRequestReader;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wfs.kvp.GetFeatureKvpRequestReader;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.map.GetMapKvpRequestReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the parsing of KVP requests into request objects, as done by the {@link
+ * org.geoserver.ows.Dispatcher}, using the readers registered in the application context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KvpParsingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Readers {
+
+        BenchmarkGeoServer geoServer;
+
+        GetMapKvpRequestReader getMapReader;
+
+        Map<String, Object> getMap = new HashMap<>();
+
+        GetFeatureKvpRequestReader getFeatureReader;
+
+        Map<String, Object> getFeature = new HashMap<>();
+
+        @Setup
+        public void setup(GeoServerState state) {
+            geoServer = state.geoServer;
+            getMapReader = reader(GetMapKvpRequestReader.class, GetMapRequest.class);
+            getFeatureReader = reader(GetFeatureKvpRequestReader.class, GetFeatureType.class);
+
+            getMap.put("service", "WMS");
+            getMap.put("version", "1.1.1");
+            getMap.put("request", "GetMap");
+            getMap.put("layers", BenchmarkGeoServer.layerName(BenchmarkGeoServer.SHAPEFILE));
+            getMap.put("styles", "");
+            getMap.put("format", "image/png");
+            getMap.put("srs", "EPSG:4326");
+            getMap.put("bbox", "-180,-90,180,90");
+            getMap.put("width", "768");
+            getMap.put("height", "384");
+            getMap.put("cql_filter", "value > 0 AND name LIKE 'cell 1%'");
+
+            getFeature.put("service", "WFS");
+            getFeature.put("version", "1.1.0");
+            getFeature.put("request", "GetFeature");
+            getFeature.put("typeName", BenchmarkGeoServer.layerName(BenchmarkGeoServer.SHAPEFILE));
+            getFeature.put("propertyName", "the_geom,name,value");
+            getFeature.put("bbox", "-90,-45,90,45,EPSG:4326");
+            getFeature.put("sortBy", "value D");
+            getFeature.put("maxFeatures", "100");
+        }
+
+        static <T extends KvpRequestReader> T reader(Class<T> type, Class<?> requestBean) {
+            for (KvpRequestReader reader : GeoServerExtensions.extensions(KvpRequestReader.class)) {
+                if (type.isInstance(reader) && reader.getRequestBean().equals(requestBean)) {
+                    return type.cast(reader);
+                }
+            }
+            throw new IllegalStateException("Could not find the " + type.getSimpleName());
+        }
+    }
+
+    @Benchmark
+    public Object parseGetMap(Readers readers) throws Exception {
+        Map<String, Object> kvp = readers.geoServer.parseKvp(readers.getMap);
+        Map<String, Object> raw = readers.geoServer.caseInsensitiveKvp(readers.getMap);
+        return readers.getMapReader.read(readers.getMapReader.createRequest(), kvp, raw);
+    }
+
+    @Benchmark
+    public Object parseGetFeature(Readers readers) throws Exception {
+        Map<String, Object> kvp = readers.geoServer.parseKvp(readers.getFeature);
+        Map<String, Object> raw = readers.geoServer.caseInsensitiveKvp(readers.getFeature);
+        return readers.getFeatureReader.read(readers.getFeatureReader.createRequest(), kvp, raw);
+    }
+}
@@ -26,6 +26,7 @@
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.datadir.internal.DataDirectoryLoader;
+import org.geoserver.catalog.datadir.internal.DeferredCatalogLoader;
 import org.geoserver.catalog.event.CatalogListener;
 import org.geoserver.catalog.impl.CatalogImpl;
 import org.geoserver.catalog.impl.ModificationProxy;
@@ -63,14 +64,30 @@
  * number of available processors as reported by {@link Runtime#availableProcessors()}, or
  * overridden by the value passed through the environment variable or system property {@literal
  * DATADIR_LOAD_PARALLELISM}.
+ *
+ * <p>Setting the {@literal DATADIR_LOAD_DEFERRED} environment variable or system property to {@code
+ * true} makes the catalog load only its skeleton (workspaces, namespaces, styles, and stores)
+ * before GeoServer starts serving requests, while resources, layers, and layer groups are loaded in
+ * the background by a {@link DeferredCatalogLoader}. {@link DeferredCatalogLoadFilter} makes
+ * requests either load the layers they need right away, or wait for the background load to
+ * complete.
+ *
+ * <p>Setting the {@literal DATADIR_LOAD_SNAPSHOT} environment variable or system property to a file
+ * path, absolute or relative to the data directory, enables a binary snapshot of the catalog,
+ * written after loading the data directory, and loaded instead of it on the next startup if none of
+ * the catalog files changed in the meantime.
  */
 public class DataDirectoryGeoServerLoader extends GeoServerLoader {
 
     static Logger LOGGER =
             Logging.getLogger(DataDirectoryGeoServerLoader.class.getPackage().getName());
 
+    static final String DATADIR_LOAD_DEFERRED = "DATADIR_LOAD_DEFERRED";
+
     private DataDirectoryLoader loader;
 
+    private volatile DeferredCatalogLoader deferredLoader;
+
     private GeoServerSecurityManager securityManager;
 
     /**
@@ -88,6 +105,12 @@ public DataDirectoryGeoServerLoader(
 
     @Override
     public void reload() throws Exception {
+        DeferredCatalogLoader deferred = this.deferredLoader;
+        if (deferred != null && !deferred.isComplete()) {
+            deferred.cancel();
+            deferred.await();
+        }
+        this.deferredLoader = null;
         this.loader = createLoader();
         super.reload();
     }
@@ -108,7 +131,15 @@ public void reload() throws Exception {
     @Override
     public void loadCatalog(Catalog targetCatalog, XStreamPersister xp) throws Exception {
         Stopwatch startedStopWatch = logStart();
-        final CatalogImpl newlyLoadedCatalog = loader.loadCatalog(newTemporaryCatalog());
+        final Optional<CatalogImpl> snapshot = loader.loadSnapshot(newTemporaryCatalog());
+        // a snapshot contains the whole catalog, and deferred objects are added straight to the
+        // catalog facade
+        final boolean deferred =
+                snapshot.isEmpty() && isDeferredLoading() && targetCatalog instanceof CatalogImpl;
+        final CatalogImpl newlyLoadedCatalog =
+                snapshot.isPresent()
+                        ? snapshot.get()
+                        : loader.loadCatalog(newTemporaryCatalog(), deferred);
         newlyLoadedCatalog.resolve();
         logStop(startedStopWatch.stop(), newlyLoadedCatalog);
 
@@ -116,7 +147,59 @@ public void loadCatalog(Catalog targetCatalog, XStreamPersister xp) throws Excep
 
         transferContents(newlyLoadedCatalog, targetCatalog, xp);
 
-        getLoaderListener().loadCatalog(targetCatalog, xp);
+        GeoServerLoaderListener listener = getLoaderListener();
+        listener.loadCatalog(targetCatalog, xp);
+        if (deferred) {
+            loadDeferred((CatalogImpl) targetCatalog, listener);
+        } else {
+            listener.catalogLoaded(targetCatalog);
+        }
+    }
+
+    protected boolean isDeferredLoading() {
+        return Boolean.parseBoolean(GeoServerExtensions.getProperty(DATADIR_LOAD_DEFERRED));
+    }
+
+    private void loadDeferred(CatalogImpl catalog, GeoServerLoaderListener listener) {
+        final DeferredCatalogLoader deferred = loader.getDeferredLoader();
+        LOGGER.log(
+                Level.INFO,
+                "Catalog skeleton loaded, loading {0} layers and the layer groups in the background",
+                deferred.getLayerCount());
+        this.deferredLoader = deferred;
+        loader.loadDeferred(catalog)
+                .whenComplete(
+                        (result, error) -> {
+                            if (error != null) {
+                                LOGGER.log(
+                                        Level.SEVERE, "Error loading the deferred catalog", error);
+                            }
+                            if (!deferred.isCancelled()) {
+                                fireReloaded(catalog);
+                                listener.catalogLoaded(catalog);
+                            }
+                        });
+    }
+
+    /**
+     * The deferred objects were added without firing catalog events, let the listeners know the
+     * catalog contents changed, so that they can rebuild what they derived from the skeleton
+     */
+    private void fireReloaded(Catalog catalog) {
+        for (CatalogListener listener : catalog.getListeners()) {
+            try {
+                listener.reloaded();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error notifying catalog listener " + listener, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the loader of the resources, layers, and layer groups if deferred loading is enabled
+     */
+    public Optional<DeferredCatalogLoader> getDeferredLoader() {
+        return Optional.ofNullable(deferredLoader);
     }
 
     protected CatalogImpl newTemporaryCatalog() {
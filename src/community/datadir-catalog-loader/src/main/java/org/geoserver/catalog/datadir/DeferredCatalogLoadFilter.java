@@ -0,0 +1,118 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.datadir;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import org.geoserver.catalog.datadir.internal.DeferredCatalogLoader;
+import org.geoserver.filters.GeoServerFilter;
+
+/**
+ * Holds requests while the {@link DeferredCatalogLoader} is loading resources, layers, and layer
+ * groups in the background.
+ *
+ * <p>GET requests naming their layers through the usual OGC parameters (e.g., {@code LAYERS},
+ * {@code TYPENAMES}, {@code COVERAGEID}) get those layers loaded right away, if they match a layer
+ * directory, and proceed. Any other request waits for the background load to complete, as it might
+ * depend on the whole catalog (e.g., capabilities documents, the REST API, or the administration
+ * UI).
+ */
+public class DeferredCatalogLoadFilter implements GeoServerFilter {
+
+    /** Parameters that can contain layer names */
+    static final Set<String> LAYER_PARAMETERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        Collections.addAll(
+                LAYER_PARAMETERS,
+                "LAYERS",
+                "LAYER",
+                "QUERY_LAYERS",
+                "TYPENAME",
+                "TYPENAMES",
+                "COVERAGEID");
+    }
+
+    private final DataDirectoryGeoServerLoader loader;
+
+    public DeferredCatalogLoadFilter(DataDirectoryGeoServerLoader loader) {
+        requireNonNull(loader);
+        this.loader = loader;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {}
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        Optional<DeferredCatalogLoader> deferred = loader.getDeferredLoader();
+        if (deferred.isPresent() && !deferred.get().isComplete()) {
+            try {
+                awaitCatalog(deferred.get(), (HttpServletRequest) request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the catalog to load", e);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void awaitCatalog(DeferredCatalogLoader deferred, HttpServletRequest request)
+            throws InterruptedException {
+        List<String> layers = getLayerNames(request);
+        boolean loaded = !layers.isEmpty();
+        for (String layer : layers) {
+            loaded = loaded && deferred.loadLayer(layer);
+        }
+        if (!loaded) {
+            deferred.await();
+        }
+    }
+
+    /**
+     * Returns the layer names in the request parameters, as {@code workspace:layer} or {@code
+     * layer}
+     */
+    List<String> getLayerNames(HttpServletRequest request) {
+        List<String> names = new ArrayList<>();
+        // don't read the parameters of other requests, it would consume form encoded bodies
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            return names;
+        }
+        for (Map.Entry<String, String[]> entry : request.getParameterMap().entrySet()) {
+            if (LAYER_PARAMETERS.contains(entry.getKey())) {
+                for (String value : entry.getValue()) {
+                    // WFS 2.0 allows multiple lists of type names, as (a,b)(c,d)
+                    for (String name : value.split("[,()]")) {
+                        name = name.trim();
+                        if (!name.isEmpty()) {
+                            // WCS 2.0 coverage ids use a double underscore as separator
+                            names.add(name.replace("__", ":"));
+                        }
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void destroy() {}
+}
@@ -5,6 +5,7 @@
 package org.geoserver.catalog.datadir.config;
 
 import org.geoserver.catalog.datadir.DataDirectoryGeoServerLoader;
+import org.geoserver.catalog.datadir.DeferredCatalogLoadFilter;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.GeoServerResourceLoader;
 import org.geoserver.platform.ModuleStatusImpl;
@@ -27,6 +28,12 @@ public DataDirectoryGeoServerLoader dataDirectoryGeoServerLoader(
         return new DataDirectoryGeoServerLoader(resourceLoader, securityManager);
     }
 
+    @Bean
+    public DeferredCatalogLoadFilter deferredCatalogLoadFilter(
+            DataDirectoryGeoServerLoader dataDirectoryGeoServerLoader) {
+        return new DeferredCatalogLoadFilter(dataDirectoryGeoServerLoader);
+    }
+
     @Bean
     public ModuleStatusImpl moduleStatus() {
         ModuleStatusImpl module =
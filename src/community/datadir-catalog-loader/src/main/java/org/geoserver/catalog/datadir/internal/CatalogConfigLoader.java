@@ -49,6 +49,9 @@ class CatalogConfigLoader {
     private final ExecutorService executor;
     private final CatalogImpl catalog;
 
+    /** If not null, resources, layers, and layer groups are left for it to load later */
+    private final DeferredCatalogLoader deferred;
+
     static {
         try {
             LOGGER.info("Forcing initialization of CRS subsystem or it'd fail under concurrency");
@@ -63,6 +66,15 @@ public CatalogConfigLoader(
             DataDirectoryWalker fileWalk,
             XStreamLoader xstreamLoader,
             ExecutorService executor) {
+        this(catalog, fileWalk, xstreamLoader, executor, null);
+    }
+
+    public CatalogConfigLoader(
+            CatalogImpl catalog,
+            DataDirectoryWalker fileWalk,
+            XStreamLoader xstreamLoader,
+            ExecutorService executor,
+            DeferredCatalogLoader deferred) {
         requireNonNull(catalog);
         requireNonNull(fileWalk);
         requireNonNull(xstreamLoader);
@@ -71,6 +83,7 @@ public CatalogConfigLoader(
         this.fileWalk = fileWalk;
         this.xstreamLoader = xstreamLoader;
         this.executor = executor;
+        this.deferred = deferred;
     }
 
     public CatalogImpl loadCatalog() throws Exception {
@@ -132,7 +145,11 @@ private void loadStore(StoreDirectory storeDir) {
         store.flatMap(this::save)
                 .ifPresent(
                         storeInfo -> {
-                            loadLayers(storeDir.layers());
+                            if (deferred == null) {
+                                loadLayers(storeDir.layers());
+                            } else {
+                                storeDir.layers().forEach(deferred::addLayer);
+                            }
                         });
     }
 
@@ -189,6 +206,10 @@ private <I extends CatalogInfo> Optional<I> save(I info, Consumer<I> saver) {
     }
 
     private void loadLayerGroups(Stream<Path> stream) {
+        if (deferred != null) {
+            stream.forEach(deferred::addLayerGroup);
+            return;
+        }
         depersist(stream).map(LayerGroupInfo.class::cast).forEach(this::save);
     }
 
@@ -0,0 +1,267 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.datadir.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geoserver.config.util.XStreamPersister;
+import org.geotools.api.filter.Filter;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Binary snapshot of the catalog loaded from the data directory, allowing to skip parsing the
+ * catalog XML files on the next startup if none of them changed.
+ *
+ * <p>Each catalog object is stored in the XStream binary format, using the same {@link
+ * XStreamPersister} configuration as the data directory files, so references to other catalog
+ * objects are stored by id and resolved as the objects are added to the catalog. The snapshot is
+ * tagged with a checksum of the paths, sizes, and modification times of all the catalog files, and
+ * is ignored if it does not match the data directory contents, or was written by a different
+ * GeoServer version.
+ *
+ * <p>The snapshot is written to a temporary file and then moved in place, so that several GeoServer
+ * instances sharing the data directory can safely write it concurrently.
+ */
+class CatalogSnapshot {
+
+    private static final Logger LOGGER =
+            Logging.getLogger(CatalogSnapshot.class.getPackage().getName());
+
+    /** "GSCS", GeoServer catalog snapshot */
+    private static final int MAGIC = 0x47534353;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Catalog object types, in the order they need to be added to the catalog */
+    private static final List<Class<? extends CatalogInfo>> TYPES =
+            List.of(
+                    WorkspaceInfo.class,
+                    NamespaceInfo.class,
+                    StyleInfo.class,
+                    StoreInfo.class,
+                    ResourceInfo.class,
+                    LayerInfo.class,
+                    LayerGroupInfo.class);
+
+    private final Path file;
+    private final DataDirectoryWalker fileWalk;
+    private final XStreamLoader xstreamLoader;
+
+    CatalogSnapshot(Path file, DataDirectoryWalker fileWalk, XStreamLoader xstreamLoader) {
+        requireNonNull(file);
+        requireNonNull(fileWalk);
+        requireNonNull(xstreamLoader);
+        this.file = file;
+        this.fileWalk = fileWalk;
+        this.xstreamLoader = xstreamLoader;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Computes the checksum of the catalog files in the data directory, as the sum of the hashes of
+     * each file path, size, and modification time, so that it does not depend on the traversal
+     * order. Includes {@code workspaces/default.xml}, as the default workspace and namespace are
+     * stored in the snapshot too
+     */
+    public long checksum() {
+        final Path root = fileWalk.getRoot();
+        long checksum = fileWalk.catalogFiles().parallel().mapToLong(f -> hash(root, f)).sum();
+        Path defaultWorkspace = root.resolve("workspaces").resolve("default.xml");
+        if (Files.isRegularFile(defaultWorkspace)) {
+            checksum += hash(root, defaultWorkspace);
+        }
+        return checksum;
+    }
+
+    private static long hash(Path root, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return Hashing.murmur3_128()
+                    .newHasher()
+                    .putString(root.relativize(file).toString(), UTF_8)
+                    .putLong(attributes.size())
+                    .putLong(attributes.lastModifiedTime().toMillis())
+                    .hash()
+                    .asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the snapshot contents into {@code catalog}
+     *
+     * @param catalog an empty catalog
+     * @param checksum the current {@link #checksum()} of the data directory
+     * @return {@code false} if there is no snapshot, or it does not match the data directory
+     * @throws IOException if the snapshot cannot be read, {@code catalog} might have been partially
+     *     loaded in that case
+     */
+    public boolean load(CatalogImpl catalog, long checksum) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            LOGGER.log(Level.CONFIG, "Catalog snapshot {0} not found", file);
+            return false;
+        }
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC
+                    || in.readInt() != FORMAT_VERSION
+                    || !geoserverVersion().equals(in.readUTF())
+                    || in.readLong() != checksum) {
+                LOGGER.log(Level.INFO, "Catalog snapshot {0} is out of date", file);
+                return false;
+            }
+            for (int i = 0; i < TYPES.size(); i++) {
+                List<byte[]> encoded = read(in);
+                encoded.parallelStream()
+                        .map(contents -> decode(contents, catalog))
+                        .collect(Collectors.toList())
+                        .parallelStream()
+                        .forEach(info -> add(catalog, info));
+            }
+            String defaultWorkspace = in.readUTF();
+            String defaultNamespace = in.readUTF();
+            if (!defaultWorkspace.isEmpty()) {
+                catalog.setDefaultWorkspace(catalog.getWorkspace(defaultWorkspace));
+            }
+            if (!defaultNamespace.isEmpty()) {
+                catalog.setDefaultNamespace(catalog.getNamespace(defaultNamespace));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return true;
+    }
+
+    private List<byte[]> read(DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        List<byte[]> encoded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] contents = new byte[in.readInt()];
+            in.readFully(contents);
+            encoded.add(contents);
+        }
+        return encoded;
+    }
+
+    private CatalogInfo decode(byte[] contents, Catalog catalog) {
+        try {
+            return xstreamLoader.depersistBinary(contents, catalog);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void add(CatalogImpl catalog, CatalogInfo info) {
+        if (info instanceof WorkspaceInfo) {
+            catalog.add((WorkspaceInfo) info);
+        } else if (info instanceof NamespaceInfo) {
+            catalog.add((NamespaceInfo) info);
+        } else if (info instanceof StyleInfo) {
+            catalog.add((StyleInfo) info);
+        } else if (info instanceof StoreInfo) {
+            catalog.add((StoreInfo) info);
+        } else if (info instanceof ResourceInfo) {
+            catalog.add((ResourceInfo) info);
+        } else if (info instanceof LayerInfo) {
+            catalog.add((LayerInfo) info);
+        } else if (info instanceof LayerGroupInfo) {
+            catalog.add((LayerGroupInfo) info);
+        } else {
+            throw new IllegalArgumentException("Unexpected catalog object: " + info);
+        }
+    }
+
+    /**
+     * Writes the contents of {@code catalog} to the snapshot file
+     *
+     * @param catalog the catalog as loaded from the data directory, before decrypting the store
+     *     passwords
+     * @param checksum the {@link #checksum()} of the data directory before loading the catalog
+     */
+    public void save(Catalog catalog, long checksum) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(geoserverVersion());
+                out.writeLong(checksum);
+                for (Class<? extends CatalogInfo> type : TYPES) {
+                    write(out, list(catalog, type));
+                }
+                out.writeUTF(id(catalog.getDefaultWorkspace()));
+                out.writeUTF(id(catalog.getDefaultNamespace()));
+            }
+            Files.move(
+                    tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private <T extends CatalogInfo> List<T> list(Catalog catalog, Class<T> type) {
+        List<T> list = new ArrayList<>();
+        try (CloseableIterator<T> it = catalog.list(type, Filter.INCLUDE)) {
+            it.forEachRemaining(list::add);
+        }
+        return list;
+    }
+
+    private void write(DataOutputStream out, List<? extends CatalogInfo> infos) throws IOException {
+        List<byte[]> encoded =
+                infos.parallelStream()
+                        .map(xstreamLoader::persistBinary)
+                        .collect(Collectors.toList());
+        out.writeInt(encoded.size());
+        for (byte[] contents : encoded) {
+            out.writeInt(contents.length);
+            out.write(contents);
+        }
+    }
+
+    private static String id(CatalogInfo info) {
+        return info == null ? "" : info.getId();
+    }
+
+    private static String geoserverVersion() {
+        String version = CatalogImpl.class.getPackage().getImplementationVersion();
+        return version == null ? "" : version;
+    }
+}
@@ -4,10 +4,14 @@
  */
 package org.geoserver.catalog.datadir.internal;
 
+import com.google.common.base.Stopwatch;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
@@ -47,12 +51,21 @@ public class DataDirectoryLoader {
 
     private static final String DATADIR_LOAD_PARALLELISM = "DATADIR_LOAD_PARALLELISM";
 
+    private static final String DATADIR_LOAD_SNAPSHOT = "DATADIR_LOAD_SNAPSHOT";
+
     private static final Logger LOGGER =
             Logging.getLogger(DataDirectoryLoader.class.getPackage().getName());
 
     private final DataDirectoryWalker fileWalk;
 
-    private boolean catalogLoaded, geoserverLoaded;
+    private volatile boolean catalogLoaded, geoserverLoaded;
+
+    private DeferredCatalogLoader deferredLoader;
+
+    private final CatalogSnapshot snapshot;
+
+    /** Checksum of the data directory computed by {@link #loadSnapshot}, if any */
+    private Long snapshotChecksum;
 
     private FileSystemResourceStore resourceStore;
     private List<XStreamServiceLoader<ServiceInfo>> serviceLoaders;
@@ -76,6 +89,17 @@ public DataDirectoryLoader(
         this.fileWalk = new DataDirectoryWalker(dataDirRoot, serviceFileNames);
         this.executor = executor();
         this.xstreamLoader = new XStreamLoader();
+        this.snapshot = createSnapshot(dataDirRoot);
+    }
+
+    private CatalogSnapshot createSnapshot(Path dataDirRoot) {
+        String location = GeoServerExtensions.getProperty(DATADIR_LOAD_SNAPSHOT);
+        if (!StringUtils.hasText(location)) {
+            return null;
+        }
+        Path file = dataDirRoot.resolve(location.trim());
+        LOGGER.log(Level.CONFIG, "Catalog snapshot enabled at {0}", file);
+        return new CatalogSnapshot(file, fileWalk, xstreamLoader);
     }
 
     private ForkJoinPool executor() {
@@ -113,11 +137,30 @@ private UncaughtExceptionHandler uncaughtExceptionHandler() {
     }
 
     public CatalogImpl loadCatalog(CatalogImpl catalogImpl) throws Exception {
+        return loadCatalog(catalogImpl, false);
+    }
+
+    /**
+     * Loads the catalog, optionally leaving out the resources, layers, and layer groups, to be
+     * loaded later on through {@link #loadDeferred(CatalogImpl)}
+     *
+     * @param catalogImpl the catalog to load the config objects into
+     * @param deferLayers whether to load only the catalog skeleton (workspaces, namespaces, styles,
+     *     and stores)
+     */
+    public CatalogImpl loadCatalog(CatalogImpl catalogImpl, boolean deferLayers) throws Exception {
+        DeferredCatalogLoader deferred =
+                deferLayers ? new DeferredCatalogLoader(xstreamLoader) : null;
         CatalogConfigLoader loader =
-                new CatalogConfigLoader(catalogImpl, fileWalk, xstreamLoader, executor);
+                new CatalogConfigLoader(catalogImpl, fileWalk, xstreamLoader, executor, deferred);
         try {
             CatalogImpl catalog = loader.loadCatalog();
-            this.catalogLoaded = true;
+            if (deferred == null) {
+                saveSnapshot(catalog);
+            }
+            this.deferredLoader = deferred;
+            // with deferred loading the executor is still needed until loadDeferred() is done
+            this.catalogLoaded = deferred == null;
             tryDispose();
             return catalog;
         } catch (Exception e) {
@@ -126,6 +169,98 @@ public CatalogImpl loadCatalog(CatalogImpl catalogImpl) throws Exception {
         }
     }
 
+    /**
+     * Loads the catalog from the binary snapshot configured through the {@literal
+     * DATADIR_LOAD_SNAPSHOT} environment variable or system property, if it's up to date with the
+     * data directory contents.
+     *
+     * @param catalogImpl the catalog to load the config objects into
+     * @return the loaded catalog, or empty if snapshots are disabled, or the snapshot is missing or
+     *     out of date, in which case the catalog shall be loaded with {@link
+     *     #loadCatalog(CatalogImpl, boolean)} into a new catalog, and the snapshot will be updated
+     */
+    public Optional<CatalogImpl> loadSnapshot(CatalogImpl catalogImpl) {
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        try {
+            final Stopwatch stopWatch = Stopwatch.createStarted();
+            final long checksum = executor.submit(snapshot::checksum).get();
+            this.snapshotChecksum = checksum;
+            if (executor.submit(() -> snapshot.load(catalogImpl, checksum)).get()) {
+                LOGGER.log(
+                        Level.INFO,
+                        "Loaded catalog from snapshot {0} in {1}",
+                        new Object[] {snapshot.getFile(), stopWatch.stop()});
+                this.catalogLoaded = true;
+                tryDispose();
+                return Optional.of(catalogImpl);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(
+                    Level.WARNING,
+                    "Error loading catalog snapshot " + snapshot.getFile() + ", ignoring it",
+                    e.getCause());
+        }
+        return Optional.empty();
+    }
+
+    private void saveSnapshot(CatalogImpl catalog) {
+        final Long checksum = this.snapshotChecksum;
+        if (snapshot == null || checksum == null) {
+            return;
+        }
+        try {
+            Stopwatch stopWatch = Stopwatch.createStarted();
+            executor.submit(
+                            () -> {
+                                snapshot.save(catalog, checksum);
+                                return null;
+                            })
+                    .get();
+            LOGGER.log(
+                    Level.INFO,
+                    "Saved catalog snapshot {0} in {1}",
+                    new Object[] {snapshot.getFile(), stopWatch.stop()});
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(
+                    Level.WARNING,
+                    "Error saving catalog snapshot " + snapshot.getFile(),
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Returns the loader for the catalog objects left out by {@link #loadCatalog(CatalogImpl,
+     * boolean)}, or {@code null} if the catalog was fully loaded
+     */
+    public DeferredCatalogLoader getDeferredLoader() {
+        return deferredLoader;
+    }
+
+    /**
+     * Starts loading the catalog objects left out by {@link #loadCatalog(CatalogImpl, boolean)} in
+     * the background, once the catalog skeleton has been transferred to the {@code target} catalog
+     *
+     * @return a future completed once all the deferred objects are loaded
+     */
+    public CompletableFuture<Void> loadDeferred(CatalogImpl target) {
+        if (deferredLoader == null) {
+            throw new IllegalStateException("The catalog was not loaded in deferred mode");
+        }
+        return deferredLoader
+                .start(target, executor)
+                .whenComplete(
+                        (result, error) -> {
+                            this.catalogLoaded = true;
+                            tryDispose();
+                        });
+    }
+
     public GeoServerImpl loadGeoServer(Catalog realCatalog) throws Exception {
         Objects.requireNonNull(realCatalog);
 
@@ -155,7 +290,7 @@ public synchronized void dispose() {
         }
     }
 
-    private void tryDispose() {
+    private synchronized void tryDispose() {
         if (catalogLoaded && geoserverLoaded) {
             dispose();
         }
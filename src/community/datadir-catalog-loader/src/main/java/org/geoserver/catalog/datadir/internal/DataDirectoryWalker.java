@@ -17,6 +17,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -75,6 +76,16 @@ public List<Path> styles() {
         public List<Path> layerGroups() {
             return walker.childXmlFiles(workspaceFile.resolveSibling("layergroups"));
         }
+
+        /** All the catalog object files in the workspace directory */
+        public Stream<Path> catalogFiles() {
+            return Stream.of(
+                            Stream.of(workspaceFile, namespaceFile),
+                            styles().stream(),
+                            layerGroups().stream(),
+                            stores().flatMap(StoreDirectory::catalogFiles))
+                    .flatMap(Function.identity());
+        }
     }
 
     static class StoreDirectory {
@@ -94,6 +105,13 @@ public Stream<LayerDirectory> layers() {
                             .orElseThrow(NullPointerException::new);
             return walker.layers(parent);
         }
+
+        /** All the catalog object files in the store directory */
+        public Stream<Path> catalogFiles() {
+            return Stream.concat(
+                    Stream.of(storeFile),
+                    layers().flatMap(layer -> Stream.of(layer.resourceFile, layer.layerFile)));
+        }
     }
 
     static class LayerDirectory {
@@ -168,6 +186,15 @@ public List<Path> globalLayerGroups() {
         return childXmlFiles(dataDirRoot.resolve("layergroups"));
     }
 
+    /** All the catalog object files in the data directory */
+    public Stream<Path> catalogFiles() {
+        return Stream.of(
+                        globalStyles().stream(),
+                        globalLayerGroups().stream(),
+                        workspaces().stream().flatMap(WorkspaceDirectory::catalogFiles))
+                .flatMap(Function.identity());
+    }
+
     // cached to make a single pass when loading both the catalog and geoserver
     private List<WorkspaceDirectory> workspaces;
 
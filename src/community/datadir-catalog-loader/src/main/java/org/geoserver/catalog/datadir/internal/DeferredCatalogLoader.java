@@ -0,0 +1,263 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.datadir.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Stopwatch;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.datadir.internal.DataDirectoryWalker.LayerDirectory;
+import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.ows.util.OwsUtils;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Loads the resources, layers, and layer groups a {@link CatalogConfigLoader} running in deferred
+ * mode left out of the catalog skeleton (workspaces, namespaces, styles, and stores).
+ *
+ * <p>Once the skeleton has been transferred to the actual catalog, {@link #start} loads the
+ * deferred objects in the background, while {@link #loadLayer(String)} allows to load specific
+ * layers right away, ahead of the background process, when a request needs them.
+ *
+ * <p>The deferred objects are added straight to the {@link CatalogImpl#getFacade() catalog facade}:
+ * they're read from the same files the catalog persisted, so no validation is performed, and no
+ * catalog events are sent, as the listeners would otherwise react to them as new additions (e.g.,
+ * writing the files back to the data directory).
+ */
+public class DeferredCatalogLoader {
+
+    private static final Logger LOGGER =
+            Logging.getLogger(DeferredCatalogLoader.class.getPackage().getName());
+
+    private final XStreamLoader xstreamLoader;
+
+    /** Pending resource and layer loads, in discovery order */
+    private final Queue<FutureTask<Void>> layers = new ConcurrentLinkedQueue<>();
+
+    /** Pending resource and layer loads, by {@code workspace:layer} and {@code layer} dir names */
+    private final Map<String, List<FutureTask<Void>>> layersByName = new ConcurrentHashMap<>();
+
+    private final Queue<Path> layerGroups = new ConcurrentLinkedQueue<>();
+
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private final AtomicInteger loadedCount = new AtomicInteger();
+
+    private volatile CatalogImpl catalog;
+
+    private volatile boolean cancelled;
+
+    DeferredCatalogLoader(XStreamLoader xstreamLoader) {
+        requireNonNull(xstreamLoader);
+        this.xstreamLoader = xstreamLoader;
+    }
+
+    void addLayer(LayerDirectory layerDir) {
+        FutureTask<Void> task = new FutureTask<>(() -> loadResourceAndLayer(layerDir), null);
+        layers.add(task);
+
+        Path layerPath = layerDir.layerFile.getParent();
+        String layerName = layerPath.getFileName().toString();
+        String workspaceName = layerPath.getParent().getParent().getFileName().toString();
+        index(layerName, task);
+        index(workspaceName + ":" + layerName, task);
+    }
+
+    private void index(String name, FutureTask<Void> task) {
+        layersByName.computeIfAbsent(name, n -> new CopyOnWriteArrayList<>()).add(task);
+    }
+
+    void addLayerGroup(Path layerGroupFile) {
+        layerGroups.add(layerGroupFile);
+    }
+
+    /**
+     * Starts loading the deferred catalog objects into {@code catalog} using the provided executor
+     *
+     * @param catalog the catalog the skeleton has been transferred to
+     * @return a future completed once all the deferred objects are loaded
+     */
+    public CompletableFuture<Void> start(CatalogImpl catalog, Executor executor) {
+        requireNonNull(catalog);
+        requireNonNull(executor);
+        if (this.catalog != null) {
+            throw new IllegalStateException("Deferred catalog load already started");
+        }
+        this.catalog = catalog;
+        return CompletableFuture.runAsync(this::loadAll, executor);
+    }
+
+    private void loadAll() {
+        Stopwatch stopWatch = Stopwatch.createStarted();
+        try {
+            layers.parallelStream().forEach(FutureTask::run);
+            int groups = cancelled ? 0 : loadLayerGroups();
+            LOGGER.log(
+                    Level.INFO,
+                    "Loaded {0} deferred layers and {1} layer groups in {2}",
+                    new Object[] {loadedCount.get(), groups, stopWatch.stop()});
+        } finally {
+            completed.countDown();
+        }
+    }
+
+    private int loadLayerGroups() {
+        List<LayerGroupInfo> loaded =
+                layerGroups
+                        .parallelStream()
+                        .map(file -> this.<LayerGroupInfo>depersist(file))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .map(lg -> save(lg, this::add))
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toList());
+        if (!loaded.isEmpty()) {
+            // layer groups may contain other layer groups, which might have been loaded after the
+            // ones containing them, resolve the references left as proxies
+            catalog.getFacade().resolve();
+        }
+        return loaded.size();
+    }
+
+    /**
+     * Loads the pending layers whose directory matches {@code name} right away, waiting for them if
+     * the background process is already loading them.
+     *
+     * @param name a {@code workspace:layer} or {@code layer} name
+     * @return {@code true} if the matching layers are loaded, {@code false} if the name does not
+     *     match any layer directory (it might be a layer group, or a layer whose directory is named
+     *     differently), or the deferred load hasn't started or has been cancelled
+     */
+    public boolean loadLayer(String name) throws InterruptedException {
+        List<FutureTask<Void>> tasks = layersByName.get(name);
+        if (catalog == null || cancelled || tasks == null) {
+            return false;
+        }
+        for (FutureTask<Void> task : tasks) {
+            task.run();
+            try {
+                task.get();
+            } catch (CancellationException e) {
+                return false;
+            } catch (ExecutionException e) {
+                // errors are logged while loading, the layer is just not available
+            }
+        }
+        return true;
+    }
+
+    private void loadResourceAndLayer(LayerDirectory layerDir) {
+        if (cancelled) return;
+        Optional<ResourceInfo> resource = depersist(layerDir.resourceFile);
+        resource.filter(res -> null != res.getStore())
+                .flatMap(res -> save(res, this::add))
+                .ifPresent(
+                        res -> {
+                            Optional<LayerInfo> layer = depersist(layerDir.layerFile);
+                            layer.filter(l -> l.getResource() instanceof ResourceInfo)
+                                    .ifPresent(l -> save(l, this::add));
+                        });
+        loadedCount.incrementAndGet();
+    }
+
+    private ResourceInfo add(ResourceInfo resource) {
+        if (resource.getNativeName() == null) {
+            resource.setNativeName(resource.getName());
+        }
+        catalog.resolve(resource);
+        return catalog.getFacade().add(resource);
+    }
+
+    private LayerInfo add(LayerInfo layer) {
+        catalog.resolve(layer);
+        return catalog.getFacade().add(layer);
+    }
+
+    private LayerGroupInfo add(LayerGroupInfo layerGroup) {
+        catalog.resolve(layerGroup);
+        if (layerGroup.getStyles().isEmpty()) {
+            // default styles
+            layerGroup.getLayers().forEach(l -> layerGroup.getStyles().add(null));
+        }
+        return catalog.getFacade().add(layerGroup);
+    }
+
+    private <I extends CatalogInfo> Optional<I> save(I info, UnaryOperator<I> saver) {
+        try {
+            return Optional.of(saver.apply(info));
+        } catch (Exception e) {
+            final String name = (String) OwsUtils.get(info, "name");
+            LOGGER.log(
+                    Level.WARNING,
+                    "Error saving {0} {1}: {2}",
+                    new Object[] {info.getClass().getSimpleName(), name, e.getMessage()});
+            return Optional.empty();
+        }
+    }
+
+    private <C extends Info> Optional<C> depersist(Path file) {
+        return xstreamLoader.depersist(file, catalog);
+    }
+
+    /** Stops loading the deferred objects, the ones already loaded are kept */
+    public void cancel() {
+        cancelled = true;
+        layers.forEach(task -> task.cancel(false));
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Returns {@code true} once all the deferred objects are loaded, or the load is cancelled */
+    public boolean isComplete() {
+        return completed.getCount() == 0;
+    }
+
+    /** Waits for all the deferred objects to be loaded */
+    public void await() throws InterruptedException {
+        completed.await();
+    }
+
+    /** Waits for all the deferred objects to be loaded, up to the given timeout */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return completed.await(timeout, unit);
+    }
+
+    /** Number of resource and layer directories found while loading the catalog skeleton */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /** Number of resource and layer directories loaded so far */
+    public int getLoadedCount() {
+        return loadedCount.get();
+    }
+}
@@ -4,6 +4,10 @@
  */
 package org.geoserver.catalog.datadir.internal;
 
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,6 +33,9 @@ class XStreamLoader {
     private static final ThreadLocal<XStreamPersister> XP =
             ThreadLocal.withInitial(xpf::createXMLPersister);
 
+    private static final ThreadLocal<XStreamPersister> BINARY_XP =
+            ThreadLocal.withInitial(xpf::createBinaryPersister);
+
     private final AtomicLong readFileCount = new AtomicLong();
 
     @SuppressWarnings("unchecked")
@@ -52,8 +59,33 @@ public <C extends Info> Optional<C> depersist(Path file, Catalog catalog) {
         return Optional.ofNullable(info);
     }
 
+    /** Decodes an object encoded with {@link #persistBinary(Info)} */
+    public <C extends Info> C depersistBinary(byte[] contents, Catalog catalog) throws IOException {
+        XStreamPersister xp = configure(BINARY_XP.get(), catalog);
+        @SuppressWarnings("unchecked")
+        C info = (C) xp.load(new ByteArrayInputStream(contents), Info.class);
+        return info;
+    }
+
+    /**
+     * Encodes an object in the XStream binary format, with references to other catalog objects
+     * encoded by id, as in the data directory files
+     */
+    public byte[] persistBinary(Info info) {
+        XStreamPersister xp = configure(BINARY_XP.get(), null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // XStreamPersister.save() uses a character stream, not supported by the binary driver
+        BinaryStreamWriter writer = new BinaryStreamWriter(out);
+        xp.getXStream().marshal(XStreamPersister.unwrapProxies(info), writer);
+        writer.flush();
+        return out.toByteArray();
+    }
+
     private XStreamPersister getXstream(Catalog catalog) {
-        XStreamPersister xp = XP.get();
+        return configure(XP.get(), catalog);
+    }
+
+    private XStreamPersister configure(XStreamPersister xp, Catalog catalog) {
         xp.setCatalog(catalog);
         xp.setUnwrapNulls(false);
         // disable password decrypt at this stage, or xp will use GeoServerExtensions to
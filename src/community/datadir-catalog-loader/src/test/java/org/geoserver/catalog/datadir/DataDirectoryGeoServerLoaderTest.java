@@ -6,21 +6,29 @@
 
 import static java.util.Objects.requireNonNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import com.thoughtworks.xstream.XStream;
+import java.io.File;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.WMSStoreInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.datadir.config.DataDirectoryLoaderConfiguration.DataDirLoaderEnabledCondition;
+import org.geoserver.catalog.datadir.internal.DataDirectoryLoader;
+import org.geoserver.catalog.datadir.internal.DeferredCatalogLoader;
 import org.geoserver.catalog.faker.CatalogFaker;
 import org.geoserver.catalog.impl.CatalogImpl;
 import org.geoserver.config.DefaultGeoServerLoader;
@@ -35,6 +43,7 @@
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.platform.GeoServerExtensionsHelper;
 import org.geoserver.platform.GeoServerResourceLoader;
+import org.geoserver.platform.resource.FileSystemResourceStore;
 import org.geoserver.platform.resource.Resource;
 import org.geoserver.security.GeoServerSecurityManager;
 import org.geoserver.test.GeoServerSystemTestSupport;
@@ -73,6 +82,8 @@ protected void setUpTestData(SystemTestData testData) throws Exception {
     @After
     public void after() {
         System.clearProperty("datadir.loader.enabled");
+        System.clearProperty(DataDirectoryGeoServerLoader.DATADIR_LOAD_DEFERRED);
+        System.clearProperty("DATADIR_LOAD_SNAPSHOT");
     }
 
     @Override
@@ -145,6 +156,110 @@ public void loadCatalog() {
         assertSameSize(catalog.getLayerGroups(), newCatalog.getLayerGroups());
     }
 
+    @Test
+    public void loadCatalogDeferred() throws Exception {
+        System.setProperty(DataDirectoryGeoServerLoader.DATADIR_LOAD_DEFERRED, "true");
+        GeoServerResourceLoader resourceLoader = super.getResourceLoader();
+        GeoServerSecurityManager secManager = getSecurityManager();
+        DataDirectoryGeoServerLoader loader =
+                new DataDirectoryGeoServerLoader(resourceLoader, secManager);
+
+        final Catalog catalog = super.getCatalog();
+        CatalogImpl newCatalog = new CatalogImpl();
+
+        loader.postProcessBeforeInitialization(newCatalog, "catalog");
+
+        // the skeleton is there right away
+        assertSameSize(catalog.getWorkspaces(), newCatalog.getWorkspaces());
+        assertSameSize(catalog.getNamespaces(), newCatalog.getNamespaces());
+        assertSameSize(catalog.getStyles(), newCatalog.getStyles());
+        assertSameSize(catalog.getStores(StoreInfo.class), newCatalog.getStores(StoreInfo.class));
+
+        DeferredCatalogLoader deferred = loader.getDeferredLoader().orElseThrow();
+        assertEquals(catalog.getLayers().size(), deferred.getLayerCount());
+
+        // layers can be loaded on demand, ahead of the background load
+        String layerName = getLayerId(SystemTestData.BUILDINGS);
+        assertTrue(deferred.loadLayer(layerName));
+        assertNotNull(newCatalog.getLayerByName(layerName));
+        assertFalse(deferred.loadLayer("cite:not-a-layer"));
+
+        assertTrue(deferred.await(60, TimeUnit.SECONDS));
+        assertSameSize(
+                catalog.getResources(ResourceInfo.class),
+                newCatalog.getResources(ResourceInfo.class));
+        assertSameSize(catalog.getLayers(), newCatalog.getLayers());
+        assertSameSize(catalog.getLayerGroups(), newCatalog.getLayerGroups());
+        assertEquals(catalog.getLayers().size(), deferred.getLoadedCount());
+    }
+
+    @Test
+    public void loadCatalogSnapshot() throws Exception {
+        File snapshotFile = new File(getDataDirectory().root(), "catalog.snapshot");
+        System.setProperty("DATADIR_LOAD_SNAPSHOT", snapshotFile.getAbsolutePath());
+        GeoServerResourceLoader resourceLoader = super.getResourceLoader();
+        GeoServerSecurityManager secManager = getSecurityManager();
+        DataDirectoryGeoServerLoader loader =
+                new DataDirectoryGeoServerLoader(resourceLoader, secManager);
+
+        // the first load writes the snapshot
+        loader.postProcessBeforeInitialization(new CatalogImpl(), "catalog");
+        assertTrue(snapshotFile.exists());
+
+        // which can be loaded as long as the data directory does not change
+        final Catalog catalog = super.getCatalog();
+        CatalogImpl newCatalog = loadSnapshot().orElseThrow();
+        assertSameSize(catalog.getWorkspaces(), newCatalog.getWorkspaces());
+        assertSameSize(catalog.getNamespaces(), newCatalog.getNamespaces());
+        assertSameSize(catalog.getStyles(), newCatalog.getStyles());
+        assertSameSize(catalog.getStores(StoreInfo.class), newCatalog.getStores(StoreInfo.class));
+        assertSameSize(
+                catalog.getResources(ResourceInfo.class),
+                newCatalog.getResources(ResourceInfo.class));
+        assertSameSize(catalog.getLayers(), newCatalog.getLayers());
+        assertSameSize(catalog.getLayerGroups(), newCatalog.getLayerGroups());
+
+        String layerName = getLayerId(SystemTestData.BUILDINGS);
+        LayerInfo expected = catalog.getLayerByName(layerName);
+        LayerInfo actual = newCatalog.getLayerByName(layerName);
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getDefaultStyle().getId(), actual.getDefaultStyle().getId());
+        assertEquals(
+                expected.getResource().getStore().getId(), actual.getResource().getStore().getId());
+
+        // changing the default workspace makes it out of date
+        WorkspaceInfo defaultWorkspace = catalog.getDefaultWorkspace();
+        WorkspaceInfo otherWorkspace =
+                catalog.getWorkspaces().stream()
+                        .filter(ws -> !ws.getId().equals(defaultWorkspace.getId()))
+                        .findFirst()
+                        .orElseThrow();
+        catalog.setDefaultWorkspace(otherWorkspace);
+        try {
+            assertFalse(loadSnapshot().isPresent());
+        } finally {
+            catalog.setDefaultWorkspace(defaultWorkspace);
+        }
+
+        // any change to the catalog files makes it out of date
+        expected.setAdvertised(false);
+        catalog.save(expected);
+        assertFalse(loadSnapshot().isPresent());
+    }
+
+    private Optional<CatalogImpl> loadSnapshot() {
+        FileSystemResourceStore store =
+                (FileSystemResourceStore) getResourceLoader().getResourceStore();
+        DataDirectoryLoader loader =
+                new DataDirectoryLoader(store, DataDirectoryGeoServerLoader.findServiceLoaders());
+        try {
+            return loader.loadSnapshot(new CatalogImpl());
+        } finally {
+            loader.dispose();
+        }
+    }
+
     @Test
     public void loadCatalog_decrypts_datastoreinfo_passwords() {
         final Catalog catalog = super.getCatalog();
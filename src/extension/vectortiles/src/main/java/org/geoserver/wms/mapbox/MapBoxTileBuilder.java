@@ -9,9 +9,8 @@
 import java.awt.Rectangle;
 import java.io.IOException;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import no.ecc.vectortile.VectorTileEncoder;
-import no.ecc.vectortile.VectorTileEncoderNoClip;
 import org.geoserver.wms.WMSMapContent;
 import org.geoserver.wms.map.RawMap;
 import org.geoserver.wms.vector.VectorTileBuilder;
@@ -23,13 +22,24 @@
 public class MapBoxTileBuilder implements VectorTileBuilder {
     private static final Logger LOGGER = Logging.getLogger(MapBoxTileBuilder.class);
 
-    private VectorTileEncoder encoder;
+    private MapBoxTileEncoder encoder;
+
+    private boolean limitLogged;
 
     public MapBoxTileBuilder(Rectangle mapSize, ReferencedEnvelope mapArea) {
+        this(mapSize, mapArea, 0, 0);
+    }
+
+    /**
+     * @param mapSize The extent of the tile in screen coordinates
+     * @param mapArea The extent of the tile in target CRS coordinates
+     * @param maxFeatures Max number of features in the tile, zero for no limit
+     * @param maxBytes Max size of the encoded features in the tile, zero for no limit
+     */
+    public MapBoxTileBuilder(
+            Rectangle mapSize, ReferencedEnvelope mapArea, int maxFeatures, long maxBytes) {
         final int extent = Math.max(mapSize.width, mapSize.height);
-        final int polygonClipBuffer = extent / 32;
-        final boolean autoScale = false;
-        this.encoder = new VectorTileEncoderNoClip(extent, polygonClipBuffer, autoScale);
+        this.encoder = new MapBoxTileEncoder(extent, maxFeatures, maxBytes);
     }
 
     @Override
@@ -51,7 +61,18 @@ public void addFeature(
             LOGGER.warning("Cannot obtain numeric id from featureId: " + featureId);
         }
 
-        encoder.addFeature(layerName, properties, geometry, id);
+        if (!encoder.addFeature(layerName, properties, geometry, id) && !limitLogged) {
+            limitLogged = true;
+            LOGGER.log(
+                    Level.WARNING,
+                    "Vector tile limits reached, skipping the remaining features from {0}",
+                    layerName);
+        }
+    }
+
+    @Override
+    public boolean isFull() {
+        return encoder.isFull();
     }
 
     @Override
@@ -7,12 +7,21 @@
 import com.google.common.collect.ImmutableSet;
 import java.awt.Rectangle;
 import java.util.Set;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.wms.vector.VectorTileBuilderFactory;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 
 /** @author Niels Charlier */
 public class MapBoxTileBuilderFactory implements VectorTileBuilderFactory {
 
+    /** Max number of features in a tile, the following ones are skipped. Unlimited by default */
+    public static final String MAX_FEATURES_PROPERTY = "GEOSERVER_MVT_MAX_FEATURES";
+
+    /**
+     * Max size in bytes of a tile, the features that do not fit are skipped. Unlimited by default
+     */
+    public static final String MAX_BYTES_PROPERTY = "GEOSERVER_MVT_MAX_BYTES";
+
     public static final String MIME_TYPE = "application/vnd.mapbox-vector-tile";
     public static final String LEGACY_MIME_TYPE = "application/x-protobuf;type=mapbox-vector";
 
@@ -31,7 +40,11 @@ public String getMimeType() {
 
     @Override
     public MapBoxTileBuilder newBuilder(Rectangle screenSize, ReferencedEnvelope mapArea) {
-        return new MapBoxTileBuilder(screenSize, mapArea);
+        return new MapBoxTileBuilder(
+                screenSize,
+                mapArea,
+                GeoServerExtensions.getIntProperty(MAX_FEATURES_PROPERTY, 0, 0, Integer.MAX_VALUE),
+                GeoServerExtensions.getLongProperty(MAX_BYTES_PROPERTY, 0, 0, Integer.MAX_VALUE));
     }
 
     /**
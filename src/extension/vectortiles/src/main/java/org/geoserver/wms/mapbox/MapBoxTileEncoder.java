@@ -0,0 +1,628 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.mapbox;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Encodes a Mapbox vector tile incrementally: each feature is written in protobuf format as soon as
+ * it's added, instead of keeping all the geometries and attributes around until the tile is
+ * encoded. The encoded features of each layer are kept in buffers taken from a shared pool, and
+ * copied once in the final tile.
+ *
+ * <p>The tile can be limited in number of features and encoded size, once a limit is reached the
+ * following features are rejected, and {@link #isFull()} returns true.
+ *
+ * <p>Geometries are expected in tile coordinates, already clipped, like the ones produced by {@link
+ * org.geoserver.wms.vector.VectorTileMapOutputFormat}.
+ *
+ * @see <a href="https://github.com/mapbox/vector-tile-spec/tree/master/2.1">Vector tile spec</a>
+ */
+class MapBoxTileEncoder {
+
+    static final int VERSION = 2;
+
+    // tile and layer fields
+    static final int TILE_LAYERS = 3;
+    static final int LAYER_NAME = 1;
+    static final int LAYER_FEATURES = 2;
+    static final int LAYER_KEYS = 3;
+    static final int LAYER_VALUES = 4;
+    static final int LAYER_EXTENT = 5;
+    static final int LAYER_VERSION = 15;
+
+    // feature fields
+    static final int FEATURE_ID = 1;
+    static final int FEATURE_TAGS = 2;
+    static final int FEATURE_TYPE = 3;
+    static final int FEATURE_GEOMETRY = 4;
+
+    // value fields
+    static final int VALUE_STRING = 1;
+    static final int VALUE_FLOAT = 2;
+    static final int VALUE_DOUBLE = 3;
+    static final int VALUE_SINT = 6;
+    static final int VALUE_BOOL = 7;
+
+    // wire types
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+    static final int FIXED32 = 5;
+
+    // geometry types
+    static final int POINT = 1;
+    static final int LINESTRING = 2;
+    static final int POLYGON = 3;
+
+    // geometry commands
+    static final int MOVE_TO = 1;
+    static final int LINE_TO = 2;
+    static final int CLOSE_PATH = 7;
+
+    /** Lines and polygons smaller than this, in tile units, are skipped */
+    static final double MINIMUM_LENGTH = 1.0;
+
+    static final double MINIMUM_AREA = MINIMUM_LENGTH * MINIMUM_LENGTH;
+
+    /** Max number of pooled buffers */
+    static final int POOL_SIZE = 32;
+
+    /** Buffers that grew larger than this are not pooled */
+    static final int POOL_MAX_CAPACITY = 1024 * 1024;
+
+    private static final Queue<Buffer> POOL = new ConcurrentLinkedQueue<>();
+
+    private final int extent;
+
+    private final int maxFeatures;
+
+    private final long maxBytes;
+
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+
+    private final IntList commands = new IntList();
+
+    private final IntList tags = new IntList();
+
+    private int x;
+
+    private int y;
+
+    private int features;
+
+    private long bytes;
+
+    private boolean full;
+
+    /**
+     * @param extent The extent of the tile, in tile units
+     * @param maxFeatures Max number of features in the tile, zero or negative for no limit
+     * @param maxBytes Max size of the encoded features in the tile, zero or negative for no limit
+     */
+    MapBoxTileEncoder(int extent, int maxFeatures, long maxBytes) {
+        this.extent = extent;
+        this.maxFeatures = maxFeatures;
+        this.maxBytes = maxBytes;
+    }
+
+    /** Returns true if a limit has been reached, and no more features will be added */
+    boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Encodes a feature in the specified layer
+     *
+     * @param layerName The layer
+     * @param attributes The feature attributes, null values are skipped
+     * @param geometry The geometry, in tile coordinates
+     * @param id The feature id, or a negative value if there is none
+     * @return false if the feature was rejected because the tile is full
+     */
+    boolean addFeature(String layerName, Map<String, ?> attributes, Geometry geometry, long id) {
+        if (full) {
+            return false;
+        }
+        if (geometry.getClass().equals(GeometryCollection.class)) {
+            // mixed geometry types, add a feature for each
+            for (int i = 0; i < geometry.getNumGeometries(); i++) {
+                if (!addFeature(layerName, attributes, geometry.getGeometryN(i), id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (maxFeatures > 0 && features >= maxFeatures) {
+            full = true;
+            return false;
+        }
+        if (isTooSmall(geometry)) {
+            return true;
+        }
+        int type = encodeGeometry(geometry);
+        if (type == 0) {
+            return true;
+        }
+
+        Layer layer = layers.get(layerName);
+        if (layer == null) {
+            layer = new Layer(layerName);
+            layers.put(layerName, layer);
+        }
+        tags.clear();
+        for (Map.Entry<String, ?> e : attributes.entrySet()) {
+            if (e.getValue() != null) {
+                tags.add(layer.key(e.getKey()));
+                tags.add(layer.value(e.getValue()));
+            }
+        }
+
+        int tagsSize = tags.packedSize();
+        int commandsSize = commands.packedSize();
+        int size = 0;
+        if (id >= 0) {
+            size += 1 + varintSize(id);
+        }
+        if (tagsSize > 0) {
+            size += 1 + varintSize(tagsSize) + tagsSize;
+        }
+        size += 1 + varintSize(type);
+        size += 1 + varintSize(commandsSize) + commandsSize;
+        int featureSize = 1 + varintSize(size) + size;
+        if (maxBytes > 0 && bytes + featureSize > maxBytes) {
+            full = true;
+            return false;
+        }
+
+        Buffer out = layer.features;
+        out.tag(LAYER_FEATURES, LENGTH_DELIMITED);
+        out.varint(size);
+        if (id >= 0) {
+            out.tag(FEATURE_ID, VARINT);
+            out.varint(id);
+        }
+        if (tagsSize > 0) {
+            out.tag(FEATURE_TAGS, LENGTH_DELIMITED);
+            out.varint(tagsSize);
+            tags.writeTo(out);
+        }
+        out.tag(FEATURE_TYPE, VARINT);
+        out.varint(type);
+        out.tag(FEATURE_GEOMETRY, LENGTH_DELIMITED);
+        out.varint(commandsSize);
+        commands.writeTo(out);
+
+        features++;
+        bytes += featureSize;
+        return true;
+    }
+
+    private static boolean isTooSmall(Geometry geometry) {
+        if (geometry instanceof Polygon || geometry instanceof MultiPolygon) {
+            return geometry.getArea() < MINIMUM_AREA;
+        } else if (geometry instanceof LineString) {
+            return geometry.getLength() < MINIMUM_LENGTH;
+        }
+        return false;
+    }
+
+    /** Returns the encoded tile, the encoder cannot be used afterwards */
+    byte[] encode() {
+        List<Layer> encoded = new ArrayList<>();
+        List<Buffer> heads = new ArrayList<>();
+        List<Buffer> tails = new ArrayList<>();
+        int size = 0;
+        for (Layer layer : layers.values()) {
+            if (layer.features.size == 0) {
+                // all its features were rejected
+                release(layer.features);
+                continue;
+            }
+            Buffer head = new Buffer(64);
+            head.tag(LAYER_VERSION, VARINT);
+            head.varint(VERSION);
+            head.tag(LAYER_NAME, LENGTH_DELIMITED);
+            head.string(layer.name);
+            Buffer tail = layer.encodeTail(extent);
+
+            encoded.add(layer);
+            heads.add(head);
+            tails.add(tail);
+            int layerSize = head.size + layer.features.size + tail.size;
+            size += 1 + varintSize(layerSize) + layerSize;
+        }
+
+        // the features are copied once, straight in a tile of the exact size
+        Buffer tile = new Buffer(size);
+        for (int i = 0; i < encoded.size(); i++) {
+            Layer layer = encoded.get(i);
+            Buffer head = heads.get(i);
+            Buffer tail = tails.get(i);
+            tile.tag(TILE_LAYERS, LENGTH_DELIMITED);
+            tile.varint(head.size + layer.features.size + tail.size);
+            tile.append(head);
+            tile.append(layer.features);
+            tile.append(tail);
+            release(layer.features);
+        }
+        layers.clear();
+        return tile.toByteArray();
+    }
+
+    /**
+     * Encodes the geometry commands, returns the geometry type or 0 if the geometry is empty once
+     * rounded to tile units
+     */
+    private int encodeGeometry(Geometry geometry) {
+        commands.clear();
+        x = 0;
+        y = 0;
+        if (geometry instanceof Point || geometry instanceof MultiPoint) {
+            encodePoints(geometry);
+            return commands.size() > 0 ? POINT : 0;
+        } else if (geometry instanceof LineString || geometry instanceof MultiLineString) {
+            for (int i = 0; i < geometry.getNumGeometries(); i++) {
+                encodeLine(geometry.getGeometryN(i).getCoordinates(), false);
+            }
+            return commands.size() > 0 ? LINESTRING : 0;
+        } else if (geometry instanceof Polygon || geometry instanceof MultiPolygon) {
+            for (int i = 0; i < geometry.getNumGeometries(); i++) {
+                encodePolygon((Polygon) geometry.getGeometryN(i));
+            }
+            return commands.size() > 0 ? POLYGON : 0;
+        }
+        return 0;
+    }
+
+    private void encodePoints(Geometry geometry) {
+        int count = 0;
+        int start = commands.size();
+        commands.add(0);
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Point point = (Point) geometry.getGeometryN(i);
+            if (!point.isEmpty()) {
+                moveCursor(point.getX(), point.getY());
+                count++;
+            }
+        }
+        if (count == 0) {
+            commands.truncate(start);
+        } else {
+            commands.set(start, command(MOVE_TO, count));
+        }
+    }
+
+    private void encodePolygon(Polygon polygon) {
+        // the exterior ring must be clockwise in tile coordinates (y axis pointing down), which
+        // is counter-clockwise for the usual orientation tests, and interior rings the opposite
+        Coordinate[] exterior = polygon.getExteriorRing().getCoordinates();
+        if (!encodeRing(exterior, true)) {
+            // holes without the shell would fill the polygon
+            return;
+        }
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            encodeRing(polygon.getInteriorRingN(i).getCoordinates(), false);
+        }
+    }
+
+    private boolean encodeRing(Coordinate[] ring, boolean exterior) {
+        if (ring.length < 4) {
+            return false;
+        }
+        if (Orientation.isCCW(ring) != exterior) {
+            ring = ring.clone();
+            reverse(ring);
+        }
+        return encodeLine(ring, true);
+    }
+
+    /** Encodes a line or ring, skipping it if it collapses once rounded to tile units */
+    private boolean encodeLine(Coordinate[] coordinates, boolean ring) {
+        // rings repeat the first point at the end, the close path command replaces it
+        int length = ring ? coordinates.length - 1 : coordinates.length;
+        if (length < (ring ? 3 : 2)) {
+            return false;
+        }
+        int start = commands.size();
+        int startX = x;
+        int startY = y;
+
+        commands.add(command(MOVE_TO, 1));
+        moveCursor(coordinates[0].x, coordinates[0].y);
+        int firstX = x;
+        int firstY = y;
+
+        int lineTo = commands.size();
+        commands.add(0);
+        int count = 0;
+        for (int i = 1; i < length; i++) {
+            int px = (int) Math.round(coordinates[i].x);
+            int py = (int) Math.round(coordinates[i].y);
+            if (px == x && py == y) {
+                continue;
+            }
+            if (ring && i == length - 1 && px == firstX && py == firstY) {
+                // the close path command goes back to the first point already
+                continue;
+            }
+            commands.add(zigZag(px - x));
+            commands.add(zigZag(py - y));
+            x = px;
+            y = py;
+            count++;
+        }
+
+        if (count < (ring ? 2 : 1)) {
+            commands.truncate(start);
+            x = startX;
+            y = startY;
+            return false;
+        }
+        commands.set(lineTo, command(LINE_TO, count));
+        if (ring) {
+            commands.add(command(CLOSE_PATH, 1));
+        }
+        return true;
+    }
+
+    private void moveCursor(double cx, double cy) {
+        int px = (int) Math.round(cx);
+        int py = (int) Math.round(cy);
+        commands.add(zigZag(px - x));
+        commands.add(zigZag(py - y));
+        x = px;
+        y = py;
+    }
+
+    private static void reverse(Coordinate[] coordinates) {
+        for (int i = 0, j = coordinates.length - 1; i < j; i++, j--) {
+            Coordinate c = coordinates[i];
+            coordinates[i] = coordinates[j];
+            coordinates[j] = c;
+        }
+    }
+
+    static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    static int zigZag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    static long zigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static Buffer borrow() {
+        Buffer buffer = POOL.poll();
+        return buffer != null ? buffer : new Buffer(4096);
+    }
+
+    static void release(Buffer buffer) {
+        if (buffer.data.length <= POOL_MAX_CAPACITY && POOL.size() < POOL_SIZE) {
+            buffer.size = 0;
+            POOL.offer(buffer);
+        }
+    }
+
+    /** The features, keys and values of a layer */
+    private static class Layer {
+
+        final String name;
+
+        final Map<String, Integer> keys = new LinkedHashMap<>();
+
+        final Map<Object, Integer> values = new LinkedHashMap<>();
+
+        final Buffer features = borrow();
+
+        Layer(String name) {
+            this.name = name;
+        }
+
+        int key(String key) {
+            Integer index = keys.get(key);
+            if (index == null) {
+                index = keys.size();
+                keys.put(key, index);
+            }
+            return index;
+        }
+
+        int value(Object value) {
+            Integer index = values.get(value);
+            if (index == null) {
+                index = values.size();
+                values.put(value, index);
+            }
+            return index;
+        }
+
+        /** Encodes the keys, values and extent, which follow the features in the layer */
+        Buffer encodeTail(int extent) {
+            Buffer tail = new Buffer(256);
+            for (String key : keys.keySet()) {
+                tail.tag(LAYER_KEYS, LENGTH_DELIMITED);
+                tail.string(key);
+            }
+            Buffer value = new Buffer(64);
+            for (Object v : values.keySet()) {
+                value.size = 0;
+                encodeValue(v, value);
+                tail.tag(LAYER_VALUES, LENGTH_DELIMITED);
+                tail.varint(value.size);
+                tail.append(value);
+            }
+            tail.tag(LAYER_EXTENT, VARINT);
+            tail.varint(extent);
+            return tail;
+        }
+
+        private static void encodeValue(Object value, Buffer out) {
+            if (value instanceof String) {
+                out.tag(VALUE_STRING, LENGTH_DELIMITED);
+                out.string((String) value);
+            } else if (value instanceof Integer || value instanceof Long) {
+                out.tag(VALUE_SINT, VARINT);
+                out.varint(zigZag(((Number) value).longValue()));
+            } else if (value instanceof Float) {
+                out.tag(VALUE_FLOAT, FIXED32);
+                out.fixed32(Float.floatToIntBits((Float) value));
+            } else if (value instanceof Double) {
+                out.tag(VALUE_DOUBLE, FIXED64);
+                out.fixed64(Double.doubleToLongBits((Double) value));
+            } else if (value instanceof BigDecimal) {
+                out.tag(VALUE_STRING, LENGTH_DELIMITED);
+                out.string(value.toString());
+            } else if (value instanceof Number) {
+                out.tag(VALUE_DOUBLE, FIXED64);
+                out.fixed64(Double.doubleToLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof Boolean) {
+                out.tag(VALUE_BOOL, VARINT);
+                out.varint((Boolean) value ? 1 : 0);
+            } else {
+                out.tag(VALUE_STRING, LENGTH_DELIMITED);
+                out.string(value.toString());
+            }
+        }
+    }
+
+    /** A growable array of ints, encoded as a packed field of varints */
+    private static class IntList {
+
+        int[] data = new int[256];
+
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        void set(int index, int value) {
+            data[index] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void truncate(int size) {
+            this.size = size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int packedSize() {
+            int packed = 0;
+            for (int i = 0; i < size; i++) {
+                packed += varintSize(data[i] & 0xFFFFFFFFL);
+            }
+            return packed;
+        }
+
+        void writeTo(Buffer out) {
+            for (int i = 0; i < size; i++) {
+                out.varint(data[i] & 0xFFFFFFFFL);
+            }
+        }
+    }
+
+    /** A growable byte array, with the protobuf primitives */
+    static class Buffer {
+
+        byte[] data;
+
+        int size;
+
+        Buffer(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+
+        void tag(int field, int wireType) {
+            varint((field << 3) | wireType);
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void fixed32(int value) {
+            ensure(4);
+            for (int i = 0; i < 4; i++) {
+                data[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        void fixed64(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                data[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        void string(String value) {
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            varint(encoded.length);
+            ensure(encoded.length);
+            System.arraycopy(encoded, 0, data, size, encoded.length);
+            size += encoded.length;
+        }
+
+        void append(Buffer other) {
+            ensure(other.size);
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        byte[] toByteArray() {
+            return size == data.length ? data : Arrays.copyOf(data, size);
+        }
+    }
+}
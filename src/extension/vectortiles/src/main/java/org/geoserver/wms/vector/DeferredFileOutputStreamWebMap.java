@@ -38,6 +38,7 @@ public void writeTo(OutputStream out) throws IOException {
 
     @Override
     public void disposeInternal() {
+        super.disposeInternal();
         File file = mapContents.getFile();
         if (file != null) {
             file.delete();
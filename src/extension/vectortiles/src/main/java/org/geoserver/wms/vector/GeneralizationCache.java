@@ -0,0 +1,203 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.vector;
+
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.xml.namespace.QName;
+import org.geoserver.config.GeoServer;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.locationtech.jts.geom.Geometry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Keeps the geometries generalized by the vector tile pipelines, so that the tiles of the same zoom
+ * level do not simplify the same feature again and again while seeding.
+ *
+ * <p>The geometries are cached in the target CRS, simplified with the tolerance of the zoom level,
+ * before being clipped to the tile. They are keyed by feature type, feature id, target CRS and
+ * tolerance, along with the view parameters and the current user and roles (security may alter the
+ * geometries). A WFS transaction drops the geometries of the modified layer, a catalog or
+ * configuration change drops them all.
+ *
+ * <p>It's disabled by default, it can be enabled by setting the {@link #MAX_COORDINATES_PROPERTY}
+ * property to the max number of coordinates to keep in memory.
+ */
+public class GeneralizationCache extends LayerInvalidatingCache<GeneralizationCache.Key, Geometry> {
+
+    /** Max number of cached coordinates. Zero or missing disables the cache */
+    public static final String MAX_COORDINATES_PROPERTY =
+            "GEOSERVER_VECTOR_TILES_GENERALIZATION_CACHE_SIZE";
+
+    public GeneralizationCache(GeoServer geoServer) {
+        this(geoServer, GeoServerExtensions.getLongProperty(MAX_COORDINATES_PROPERTY, 0));
+    }
+
+    GeneralizationCache(GeoServer geoServer, long maxCoordinates) {
+        super(
+                geoServer,
+                maxCoordinates > 0
+                        ? CacheBuilder.newBuilder()
+                                .maximumWeight(maxCoordinates)
+                                .<Key, Geometry>weigher((k, g) -> g.getNumPoints() + 1)
+                                .recordStats()
+                                .build()
+                        : null);
+    }
+
+    @Override
+    protected boolean isAffectedBy(Key key, Geometry geometry, QName layerName) {
+        return key.scope.isAffectedBy(layerName);
+    }
+
+    /**
+     * Returns the scope of the geometries generalized for a layer and zoom level, or null if the
+     * cache is disabled
+     *
+     * @param typeName The feature type
+     * @param targetCrs The CRS of the generalized geometries
+     * @param tolerance The simplification tolerance, in target CRS units
+     * @param viewParams The SQL view parameters of the query, if any
+     */
+    public Scope getScope(
+            Name typeName,
+            CoordinateReferenceSystem targetCrs,
+            double tolerance,
+            Object viewParams) {
+        if (cache == null) {
+            return null;
+        }
+        checkUpdateSequence();
+        return new Scope(typeName, targetCrs, tolerance, viewParams);
+    }
+
+    /** Returns the generalized geometry of a feature, or null if not cached */
+    public Geometry get(Scope scope, String featureId) {
+        return cache == null ? null : cache.getIfPresent(new Key(scope, featureId));
+    }
+
+    /** Caches the generalized geometry of a feature */
+    public void put(Scope scope, String featureId, Geometry geometry) {
+        if (cache != null) {
+            cache.put(new Key(scope, featureId), geometry);
+        }
+    }
+
+    /**
+     * The part of the key shared by all the features of a layer in a tile, computed once per tile
+     */
+    public static class Scope {
+
+        final Name typeName;
+
+        final CoordinateReferenceSystem targetCrs;
+
+        final float tolerance;
+
+        final Object viewParams;
+
+        final String user;
+
+        final Set<String> roles;
+
+        final int hashCode;
+
+        Scope(
+                Name typeName,
+                CoordinateReferenceSystem targetCrs,
+                double tolerance,
+                Object viewParams) {
+            this.typeName = typeName;
+            this.targetCrs = targetCrs;
+            // the tolerance computed for tiles of the same zoom level can differ in the last
+            // digits, the float precision makes them match
+            this.tolerance = (float) tolerance;
+            this.viewParams = viewParams;
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null) {
+                this.user = auth.getName();
+                this.roles = new TreeSet<>();
+                if (auth.getAuthorities() != null) {
+                    for (GrantedAuthority authority : auth.getAuthorities()) {
+                        roles.add(authority.getAuthority());
+                    }
+                }
+            } else {
+                this.user = null;
+                this.roles = null;
+            }
+            this.hashCode =
+                    Objects.hash(typeName, targetCrs, this.tolerance, viewParams, user, roles);
+        }
+
+        /** Returns the simplification tolerance, as used in the key */
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        /** Returns true if a change in the specified layer invalidates this scope */
+        boolean isAffectedBy(QName layerName) {
+            if (layerName == null) {
+                return true;
+            }
+            return layerName.getLocalPart().equals(typeName.getLocalPart())
+                    && (layerName.getNamespaceURI() == null
+                            || layerName.getNamespaceURI().isEmpty()
+                            || typeName.getNamespaceURI() == null
+                            || layerName.getNamespaceURI().equals(typeName.getNamespaceURI()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Scope scope = (Scope) o;
+            return hashCode == scope.hashCode
+                    && Float.compare(tolerance, scope.tolerance) == 0
+                    && Objects.equals(typeName, scope.typeName)
+                    && Objects.equals(targetCrs, scope.targetCrs)
+                    && Objects.equals(viewParams, scope.viewParams)
+                    && Objects.equals(user, scope.user)
+                    && Objects.equals(roles, scope.roles);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /** A feature in a scope */
+    static class Key {
+
+        final Scope scope;
+
+        final String featureId;
+
+        Key(Scope scope, String featureId) {
+            this.scope = scope;
+            this.featureId = featureId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return featureId.equals(key.featureId) && scope.equals(key.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * scope.hashCode + featureId.hashCode();
+        }
+    }
+}
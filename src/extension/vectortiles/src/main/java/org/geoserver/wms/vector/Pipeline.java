@@ -37,6 +37,16 @@ void setNext(Pipeline step) {
         this.next = step;
     }
 
+    /**
+     * Sets the identifier of the feature whose geometry is about to be processed, for the steps
+     * that cache their results. A null identifier disables caching.
+     */
+    void setFeatureId(String featureId) {
+        if (next != END) {
+            next.setFeatureId(featureId);
+        }
+    }
+
     /** Execute pipeline including all downstream pipelines. */
     public Geometry execute(Geometry geom) throws Exception {
         Preconditions.checkNotNull(next, getClass().getName());
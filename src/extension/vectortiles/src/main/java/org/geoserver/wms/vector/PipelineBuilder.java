@@ -13,6 +13,7 @@
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
+import org.geotools.api.feature.type.Name;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.api.referencing.operation.MathTransform;
@@ -75,6 +76,8 @@ static class Context {
 
         public double pixelSizeInTargetCRS; // approximate size of a pixel in the Target CRS
 
+        public double minPixelSizeInTargetCRS; // smaller of the pixel sizes in X and Y
+
         public int queryBuffer;
     }
 
@@ -153,6 +156,7 @@ private static Context createContext(
             // to be the larger of the two spans
             // so we are getting at least A pixels around.
             context.pixelSizeInTargetCRS = Math.max(spans_targetCRS[0], spans_targetCRS[1]);
+            context.minPixelSizeInTargetCRS = Math.min(spans_targetCRS[0], spans_targetCRS[1]);
 
         } catch (TransformException e) {
             throw new RuntimeException(e);
@@ -283,6 +287,55 @@ public PipelineBuilder simplify(
             final Set<RenderingHints.Key> fsHints,
             final Hints qHints) {
 
+        setDistanceHint(fsHints, qHints);
+        double pixelDistance = context.screenSimplificationDistance;
+        double simplificationDistance = context.targetCRSSimplificationDistance;
+
+        double distanceTolerance =
+                isTransformToScreenCoordinates ? pixelDistance : simplificationDistance;
+
+        addLast(new Simplify(distanceTolerance));
+        return this;
+    }
+
+    /**
+     * Transform to the target CRS and simplify the geometry, caching the result so that the other
+     * tiles of the same zoom level can reuse it, then further transform to screen coordinates if
+     * needed. Replaces {@link #transform(boolean)} and {@link #simplify(boolean, Set, Hints)}, the
+     * geometry is simplified before being clipped.
+     *
+     * @param cache The cache of the generalized geometries
+     * @param typeName The name of the feature type, used in the cache keys
+     * @param transformToScreenCoordinates If true, further transform from target to screen
+     *     coordinates
+     */
+    public PipelineBuilder generalize(
+            GeneralizationCache cache,
+            Name typeName,
+            boolean transformToScreenCoordinates,
+            final Set<RenderingHints.Key> fsHints,
+            final Hints qHints) {
+
+        setDistanceHint(fsHints, qHints);
+        // the screen tolerance is in pixels, convert it to the target CRS
+        double distanceTolerance =
+                transformToScreenCoordinates
+                        ? context.screenSimplificationDistance * context.minPixelSizeInTargetCRS
+                        : context.targetCRSSimplificationDistance;
+        Object viewParams = qHints != null ? qHints.get(Hints.VIRTUAL_TABLE_PARAMETERS) : null;
+        CoordinateReferenceSystem targetCrs = context.renderingArea.getCoordinateReferenceSystem();
+        GeneralizationCache.Scope scope =
+                cache.getScope(typeName, targetCrs, distanceTolerance, viewParams);
+
+        addLast(new CachedGeneralize(context.sourceToTargetCrs, distanceTolerance, cache, scope));
+        if (transformToScreenCoordinates) {
+            addLast(new Transform(context.targetToScreen));
+        }
+        return this;
+    }
+
+    /** Lets the datastore simplify the geometries, if it can */
+    private void setDistanceHint(final Set<RenderingHints.Key> fsHints, final Hints qHints) {
         if (fsHints != null && qHints != null) {
             // if possible we let the datastore do the generalizations
 
@@ -296,14 +349,6 @@ public PipelineBuilder simplify(
                 // do not return: we can still perform some in memory generalization ...
             }
         }
-        double pixelDistance = context.screenSimplificationDistance;
-        double simplificationDistance = context.targetCRSSimplificationDistance;
-
-        double distanceTolerance =
-                isTransformToScreenCoordinates ? pixelDistance : simplificationDistance;
-
-        addLast(new Simplify(distanceTolerance));
-        return this;
     }
 
     /**
@@ -373,6 +418,56 @@ protected Geometry _run(Geometry geom) throws Exception {
         }
     }
 
+    /**
+     * Transforms to the target CRS and simplifies, looking up the result in the cache first. Points
+     * are not simplified, and not cached either.
+     */
+    private static final class CachedGeneralize extends Pipeline {
+
+        private final MathTransform tx;
+
+        private final Simplify simplify;
+
+        private final GeneralizationCache cache;
+
+        private final GeneralizationCache.Scope scope;
+
+        private String featureId;
+
+        CachedGeneralize(
+                MathTransform tx,
+                double distanceTolerance,
+                GeneralizationCache cache,
+                GeneralizationCache.Scope scope) {
+            this.tx = tx;
+            this.simplify = new Simplify(distanceTolerance);
+            this.cache = cache;
+            this.scope = scope;
+        }
+
+        @Override
+        void setFeatureId(String featureId) {
+            this.featureId = featureId;
+            super.setFeatureId(featureId);
+        }
+
+        @Override
+        protected Geometry _run(Geometry geom) throws Exception {
+            boolean cacheable = scope != null && featureId != null && geom.getDimension() > 0;
+            if (cacheable) {
+                Geometry cached = cache.get(scope, featureId);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            Geometry generalized = simplify._run(JTS.transform(geom, tx));
+            if (cacheable && generalized != null) {
+                cache.put(scope, featureId, generalized);
+            }
+            return generalized;
+        }
+    }
+
     protected static class Clip extends Pipeline {
 
         private final Envelope clippingEnvelope;
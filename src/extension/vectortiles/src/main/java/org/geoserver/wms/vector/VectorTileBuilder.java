@@ -29,6 +29,14 @@ void addFeature(
             Geometry geometry,
             Map<String, Object> properties);
 
+    /**
+     * Returns true if the tile reached its size limits, and the following features would be
+     * skipped. Allows to stop reading the data early.
+     */
+    default boolean isFull() {
+        return false;
+    }
+
     /**
      * Build the tile
      *
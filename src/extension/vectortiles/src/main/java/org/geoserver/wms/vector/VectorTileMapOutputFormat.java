@@ -11,15 +11,21 @@
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.MapProducerCapabilities;
 import org.geoserver.wms.WMSMapContent;
 import org.geoserver.wms.WebMap;
 import org.geoserver.wms.map.AbstractMapOutputFormat;
+import org.geoserver.wms.map.RawMap;
 import org.geoserver.wms.map.StyleQueryUtil;
 import org.geoserver.wms.vector.iterator.VTFeature;
 import org.geoserver.wms.vector.iterator.VTIterator;
@@ -27,6 +33,7 @@
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.feature.type.Name;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.feature.FeatureCollection;
@@ -83,16 +90,25 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
         final ReferencedEnvelope renderingArea = mapContent.getRenderingArea();
         int mapWidth = mapContent.getMapWidth();
         int mapHeight = mapContent.getMapHeight();
-        Rectangle paintArea = new Rectangle(mapWidth, mapHeight);
-        if (this.tileBuilderFactory.shouldOversampleScale()) {
-            paintArea =
-                    new Rectangle(
-                            this.tileBuilderFactory.getOversampleX() * mapWidth,
-                            this.tileBuilderFactory.getOversampleY() * mapHeight);
+
+        // the requested format, followed by the alternate ones, all fed by the same feature read
+        List<TileOutput> outputs = new ArrayList<>();
+        outputs.add(new TileOutput(null, this, renderingArea, mapWidth, mapHeight));
+        for (Map.Entry<String, VectorTileMapOutputFormat> alternate :
+                getAlternateFormats().entrySet()) {
+            outputs.add(
+                    new TileOutput(
+                            alternate.getKey(),
+                            alternate.getValue(),
+                            renderingArea,
+                            mapWidth,
+                            mapHeight));
         }
 
-        final VectorTileBuilder vectorTileBuilder =
-                this.tileBuilderFactory.newBuilder(paintArea, renderingArea);
+        GeneralizationCache cache = GeoServerExtensions.bean(GeneralizationCache.class);
+        if (cache != null && !cache.isEnabled()) {
+            cache = null;
+        }
 
         CoordinateReferenceSystem sourceCrs;
         for (Layer layer : mapContent.layers()) {
@@ -104,50 +120,59 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
             }
 
             sourceCrs = geometryDescriptor.getType().getCoordinateReferenceSystem();
-            int buffer =
+            int styleBuffer =
                     StyleQueryUtil.getComputedBuffer(
                             mapContent.getBuffer(),
                             StyleQueryUtil.getFeatureStyles(
                                     layer,
                                     StyleQueryUtil.getMapScale(mapContent, renderingArea),
                                     schema));
-            if (this.tileBuilderFactory.shouldOversampleScale()) {
-                // buffer is in pixels (style pixels), need to convert to paint area pixels
-                buffer *=
-                        Math.max(
-                                Math.max(
-                                        this.tileBuilderFactory.getOversampleX(),
-                                        this.tileBuilderFactory.getOversampleY()),
-                                1); // if 0 (i.e. test case), don't expand
-            }
 
             VectorTileOptions vectorTileOptions = new VectorTileOptions(layer, mapContent);
 
             Query query = StyleQueryUtil.getStyleQuery(layer, mapContent);
             vectorTileOptions.customizeQuery(query);
             Hints hints = query.getHints();
-            Pipeline pipeline =
-                    getPipeline(
-                            mapContent,
-                            renderingArea,
-                            paintArea,
-                            sourceCrs,
-                            featureSource.getSupportedHints(),
-                            hints,
-                            buffer);
+            Double distance = null;
+            for (TileOutput output : outputs) {
+                // each format simplifies at its own resolution, the data is read with the
+                // finest simplification distance among them
+                Hints pipelineHints = outputs.size() == 1 ? hints : new Hints(hints);
+                int buffer = output.format.getBuffer(styleBuffer);
+                output.pipeline =
+                        cache == null
+                                ? output.format.getPipeline(
+                                        mapContent,
+                                        renderingArea,
+                                        output.paintArea,
+                                        sourceCrs,
+                                        featureSource.getSupportedHints(),
+                                        pipelineHints,
+                                        buffer)
+                                : output.format.getPipeline(
+                                        mapContent,
+                                        renderingArea,
+                                        output.paintArea,
+                                        sourceCrs,
+                                        featureSource.getSupportedHints(),
+                                        pipelineHints,
+                                        buffer,
+                                        cache,
+                                        schema.getName());
+                Object outputDistance = pipelineHints.get(Hints.GEOMETRY_DISTANCE);
+                if (pipelineHints != hints && outputDistance instanceof Number) {
+                    double value = ((Number) outputDistance).doubleValue();
+                    distance = distance == null ? value : Math.min(distance, value);
+                }
+            }
+            if (distance != null) {
+                hints.put(Hints.GEOMETRY_DISTANCE, distance);
+            }
             hints.remove(Hints.SCREENMAP);
             FeatureCollection<?, ?> features = featureSource.getFeatures(query);
             String layerName = schema.getName().getLocalPart();
             boolean coalesceEnabled = vectorTileOptions.isCoalesceEnabled();
-            run(
-                    features,
-                    pipeline,
-                    geometryDescriptor,
-                    vectorTileBuilder,
-                    layer,
-                    false,
-                    layerName,
-                    coalesceEnabled);
+            run(features, outputs, geometryDescriptor, layer, false, layerName, coalesceEnabled);
 
             if (vectorTileOptions.generateLabelLayer()) {
                 vectorTileOptions.customizeLabelQuery(query);
@@ -155,9 +180,8 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
                 layerName = layerName + "_labels";
                 run(
                         features,
-                        pipeline,
+                        outputs,
                         geometryDescriptor,
-                        vectorTileBuilder,
                         layer,
                         vectorTileOptions.isPolygonLabelEnabled(),
                         layerName,
@@ -165,7 +189,67 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
             }
         }
 
-        return vectorTileBuilder.build(mapContent);
+        WebMap map = outputs.get(0).builder.build(mapContent);
+        for (TileOutput output : outputs.subList(1, outputs.size())) {
+            WebMap alternate = output.builder.build(mapContent);
+            if (map instanceof RawMap && alternate instanceof RawMap) {
+                ((RawMap) map).addAlternate(output.formatName, (RawMap) alternate);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Looks up the output formats listed in {@link RawMap#ALTERNATE_FORMATS}, keyed by requested
+     * format name. Formats that are not vector tile ones, or are handled by this same output
+     * format, are skipped.
+     */
+    private Map<String, VectorTileMapOutputFormat> getAlternateFormats() {
+        List<String> formats = RawMap.ALTERNATE_FORMATS.get();
+        if (formats == null || formats.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, VectorTileMapOutputFormat> result = new LinkedHashMap<>();
+        List<VectorTileMapOutputFormat> available =
+                GeoServerExtensions.extensions(VectorTileMapOutputFormat.class);
+        for (String format : formats) {
+            String name = format.trim();
+            if (name.isEmpty() || getOutputFormatNames().contains(name)) {
+                continue;
+            }
+            for (VectorTileMapOutputFormat candidate : available) {
+                if (candidate.getOutputFormatNames().contains(name)) {
+                    result.put(name, candidate);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** The size of the tile in the coordinates used by the tile builder */
+    private Rectangle getPaintArea(int mapWidth, int mapHeight) {
+        if (this.tileBuilderFactory.shouldOversampleScale()) {
+            return new Rectangle(
+                    this.tileBuilderFactory.getOversampleX() * mapWidth,
+                    this.tileBuilderFactory.getOversampleY() * mapHeight);
+        }
+        return new Rectangle(mapWidth, mapHeight);
+    }
+
+    /** Converts the buffer computed from the style to the paint area of the tile builder */
+    private int getBuffer(int styleBuffer) {
+        if (this.tileBuilderFactory.shouldOversampleScale()) {
+            // buffer is in pixels (style pixels), need to convert to paint area pixels
+            return styleBuffer
+                    * Math.max(
+                            Math.max(
+                                    this.tileBuilderFactory.getOversampleX(),
+                                    this.tileBuilderFactory.getOversampleY()),
+                            1); // if 0 (i.e. test case), don't expand
+        }
+        return styleBuffer;
     }
 
     protected Pipeline getPipeline(
@@ -196,11 +280,46 @@ protected Pipeline getPipeline(
         return pipeline;
     }
 
+    /**
+     * Builds a pipeline that caches the generalized geometries, see {@link GeneralizationCache}
+     *
+     * @param cache The cache of the generalized geometries
+     * @param typeName The name of the feature type being encoded
+     */
+    protected Pipeline getPipeline(
+            final WMSMapContent mapContent,
+            final ReferencedEnvelope renderingArea,
+            final Rectangle paintArea,
+            CoordinateReferenceSystem sourceCrs,
+            final Set<RenderingHints.Key> fsHints,
+            final Hints qHints,
+            int buffer,
+            GeneralizationCache cache,
+            Name typeName) {
+        final Pipeline pipeline;
+        try {
+            final PipelineBuilder builder =
+                    PipelineBuilder.newBuilder(
+                            renderingArea, paintArea, sourceCrs, overSamplingFactor, buffer);
+
+            pipeline =
+                    builder.preprocess()
+                            .generalize(
+                                    cache, typeName, transformToScreenCoordinates, fsHints, qHints)
+                            .clip(clipToMapBounds, transformToScreenCoordinates)
+                            .collapseCollections()
+                            .build();
+
+        } catch (FactoryException e) {
+            throw new ServiceException(e);
+        }
+        return pipeline;
+    }
+
     void run(
             FeatureCollection<?, ?> features,
-            Pipeline pipeline,
+            List<TileOutput> outputs,
             GeometryDescriptor geometryDescriptor,
-            VectorTileBuilder vectorTileBuilder,
             Layer layer,
             boolean labelPoint,
             String layerName,
@@ -212,30 +331,46 @@ void run(
         final String geometryName = geometryDescriptor.getName().getLocalPart();
         try (VTIterator it = VTIterator.getIterator(features.features(), coalesce)) {
             while (it.hasNext()) {
+                if (outputs.stream().allMatch(o -> o.builder.isFull())) {
+                    // tile limits reached, no point in reading the remaining features
+                    break;
+                }
                 VTFeature feature = it.next();
                 total++;
 
                 Geometry originalGeom = feature.getGeometry();
                 if (labelPoint) originalGeom = getLabelPoint(originalGeom);
-                Geometry finalGeom;
-                try {
-                    finalGeom = pipeline.execute(originalGeom);
-                } catch (Exception processingException) {
-                    LOGGER.log(
-                            Level.WARNING,
-                            processingException.getLocalizedMessage(),
-                            processingException);
-                    continue;
-                }
-                if (finalGeom.isEmpty()) {
-                    continue;
-                }
-
                 final String featureId = feature.getFeatureId();
+                // label points and coalesced features do not match the cached geometries
+                String cacheId = labelPoint || coalesce ? null : featureId;
                 final Map<String, Object> properties = feature.getProperties();
-                vectorTileBuilder.addFeature(
-                        layerName, featureId, geometryName, finalGeom, properties);
-                count++;
+                boolean added = false;
+                for (TileOutput output : outputs) {
+                    if (output.builder.isFull()) {
+                        continue;
+                    }
+                    Geometry finalGeom;
+                    try {
+                        output.pipeline.setFeatureId(cacheId);
+                        finalGeom = output.pipeline.execute(originalGeom);
+                    } catch (Exception processingException) {
+                        LOGGER.log(
+                                Level.WARNING,
+                                processingException.getLocalizedMessage(),
+                                processingException);
+                        continue;
+                    }
+                    if (finalGeom.isEmpty()) {
+                        continue;
+                    }
+
+                    output.builder.addFeature(
+                            layerName, featureId, geometryName, finalGeom, properties);
+                    added = true;
+                }
+                if (added) {
+                    count++;
+                }
             }
         }
         sw.stop();
@@ -261,4 +396,30 @@ private Geometry getLabelPoint(Geometry originalGeom) {
     public MapProducerCapabilities getCapabilities(String format) {
         return null;
     }
+
+    /** A format being produced, with its tile builder and the pipeline of the current layer */
+    static class TileOutput {
+
+        final String formatName;
+
+        final VectorTileMapOutputFormat format;
+
+        final Rectangle paintArea;
+
+        final VectorTileBuilder builder;
+
+        Pipeline pipeline;
+
+        TileOutput(
+                String formatName,
+                VectorTileMapOutputFormat format,
+                ReferencedEnvelope renderingArea,
+                int mapWidth,
+                int mapHeight) {
+            this.formatName = formatName;
+            this.format = format;
+            this.paintArea = format.getPaintArea(mapWidth, mapHeight);
+            this.builder = format.tileBuilderFactory.newBuilder(paintArea, renderingArea);
+        }
+    }
 }
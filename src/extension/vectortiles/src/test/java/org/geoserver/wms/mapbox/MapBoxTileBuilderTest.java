@@ -5,6 +5,7 @@
 package org.geoserver.wms.mapbox;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -15,6 +16,7 @@
 import java.awt.Rectangle;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import no.ecc.vectortile.VectorTileDecoder;
 import no.ecc.vectortile.VectorTileDecoder.Feature;
@@ -22,9 +24,11 @@
 import org.geoserver.wms.map.RawMap;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.junit.Test;
+import org.locationtech.jts.algorithm.Orientation;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 
@@ -177,6 +181,102 @@ public void testFeatureIdsWithoutDigits() throws Exception {
         assertEquals(0, features.get("Lines").get(1).getId());
     }
 
+    @Test
+    public void testPolygonOrientation() throws Exception {
+        MapBoxTileBuilder tileBuilder = tileBuilder(256, 256);
+
+        // clockwise shell and counter clockwise hole, both reversed by the encoder
+        Geometry polygon =
+                geom(
+                        "POLYGON((0 0, 0 100, 100 100, 100 0, 0 0), "
+                                + "(10 10, 20 10, 20 20, 10 20, 10 10))");
+        tileBuilder.addFeature("Polygons", "Polygons.1", "unused", polygon, ImmutableMap.of());
+
+        ListMultimap<String, Feature> features =
+                decode(tileBuilder.build(mock(WMSMapContent.class)));
+
+        Geometry decoded = features.get("Polygons").get(0).getGeometry();
+        assertTrue(decoded instanceof Polygon);
+        assertTrue(decoded.equalsTopo(polygon));
+        assertEquals(1, ((Polygon) decoded).getNumInteriorRing());
+        assertTrue(Orientation.isCCW(((Polygon) decoded).getExteriorRing().getCoordinates()));
+        assertFalse(Orientation.isCCW(((Polygon) decoded).getInteriorRingN(0).getCoordinates()));
+    }
+
+    @Test
+    public void testAttributeTypes() throws Exception {
+        MapBoxTileBuilder tileBuilder = tileBuilder(256, 256);
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("string", "abc");
+        props.put("int", 10);
+        props.put("long", -20L);
+        props.put("float", 1.5f);
+        props.put("double", 2.5d);
+        props.put("boolean", true);
+        props.put("null", null);
+        tileBuilder.addFeature("Points", "Points.1", "unused", geom("POINT(1 1)"), props);
+        tileBuilder.addFeature("Points", "Points.2", "unused", geom("POINT(2 2)"), props);
+
+        ListMultimap<String, Feature> features =
+                decode(tileBuilder.build(mock(WMSMapContent.class)));
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("string", "abc");
+        expected.put("int", 10L);
+        expected.put("long", -20L);
+        expected.put("float", 1.5f);
+        expected.put("double", 2.5d);
+        expected.put("boolean", true);
+        assertEquals(2, features.get("Points").size());
+        for (Feature feature : features.get("Points")) {
+            assertEquals(expected, feature.getAttributes());
+        }
+    }
+
+    @Test
+    public void testMaxFeatures() throws Exception {
+        MapBoxTileBuilder tileBuilder =
+                new MapBoxTileBuilder(new Rectangle(256, 256), new ReferencedEnvelope(), 2, 0);
+
+        Map<String, Object> props = ImmutableMap.of("name", "point");
+        for (int i = 1; i <= 5; i++) {
+            tileBuilder.addFeature("Points", "Points." + i, "unused", geom("POINT(1 1)"), props);
+        }
+        assertTrue(tileBuilder.isFull());
+
+        ListMultimap<String, Feature> features =
+                decode(tileBuilder.build(mock(WMSMapContent.class)));
+        assertEquals(2, features.size());
+        assertEquals(1, features.get("Points").get(0).getId());
+        assertEquals(2, features.get("Points").get(1).getId());
+    }
+
+    @Test
+    public void testMaxBytes() throws Exception {
+        MapBoxTileBuilder tileBuilder =
+                new MapBoxTileBuilder(new Rectangle(256, 256), new ReferencedEnvelope(), 0, 100);
+
+        Map<String, Object> props = ImmutableMap.of("name", "line");
+        int added = 0;
+        while (!tileBuilder.isFull()) {
+            tileBuilder.addFeature(
+                    "Lines",
+                    "Lines." + added++,
+                    "unused",
+                    geom("LINESTRING(0 0, 10 10, 20 0, 30 10)"),
+                    props);
+        }
+
+        RawMap map = tileBuilder.build(mock(WMSMapContent.class));
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        map.writeTo(bos);
+        // the features fit in the limit, only the layer keys and values are extra
+        assertTrue(bos.size() < 150);
+        ListMultimap<String, Feature> features = decode(map);
+        assertEquals(added - 1, features.size());
+    }
+
     private MapBoxTileBuilder tileBuilder(int width, int height) {
         MapBoxTileBuilderFactory builderFact = new MapBoxTileBuilderFactory();
         Rectangle screenSize = new Rectangle(width, height);
@@ -0,0 +1,157 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Rectangle;
+import java.util.List;
+import javax.xml.namespace.QName;
+import org.geoserver.config.GeoServerInfo;
+import org.geoserver.config.impl.GeoServerImpl;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.TransactionEventType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.feature.NameImpl;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTReader;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class GeneralizationCacheTest {
+
+    static final Name ROADS = new NameImpl("http://www.openplans.org/topp", "roads");
+
+    GeoServerImpl geoServer;
+
+    GeneralizationCache cache;
+
+    Geometry line;
+
+    @Before
+    public void setUp() throws Exception {
+        geoServer = new GeoServerImpl();
+        cache = new GeneralizationCache(geoServer, 1000);
+        line = new WKTReader().read("LINESTRING(0 0, 1 1, 2 2, 3 3)");
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private GeneralizationCache.Scope scope(double tolerance) {
+        return cache.getScope(ROADS, DefaultGeographicCRS.WGS84, tolerance, null);
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        cache.put(scope(0.1), "roads.1", line);
+        assertSame(line, cache.get(scope(0.1), "roads.1"));
+        // tiny differences in the tolerance of the same zoom level do not matter
+        assertSame(line, cache.get(scope(0.1 + 1e-12), "roads.1"));
+
+        // another feature, another zoom level
+        assertNull(cache.get(scope(0.1), "roads.2"));
+        assertNull(cache.get(scope(0.2), "roads.1"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testMaxCoordinates() throws Exception {
+        // each line weighs its 4 points plus one
+        for (int i = 0; i < 1000; i++) {
+            cache.put(scope(0.1), "roads." + i, line);
+        }
+        assertEquals(200, cache.size(), 20);
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        cache.put(scope(0.1), "roads.1", line);
+
+        // another layer modified
+        QName states = new QName("http://www.openplans.org/topp", "states");
+        cache.dataStoreChange(
+                new TransactionEvent(TransactionEventType.POST_UPDATE, null, states, null));
+        assertNotNull(cache.get(scope(0.1), "roads.1"));
+
+        // the cached layer modified, the geometries generalized before the commit are dropped too
+        QName roads = new QName("http://www.openplans.org/topp", "roads");
+        cache.beforeTransaction(null);
+        cache.dataStoreChange(
+                new TransactionEvent(TransactionEventType.POST_UPDATE, null, roads, null));
+        assertNull(cache.get(scope(0.1), "roads.1"));
+        cache.put(scope(0.1), "roads.1", line);
+        cache.afterTransaction(null, null, true);
+        assertNull(cache.get(scope(0.1), "roads.1"));
+    }
+
+    @Test
+    public void testUpdateSequence() throws Exception {
+        cache.put(scope(0.1), "roads.1", line);
+
+        GeoServerInfo global = geoServer.getGlobal();
+        global.setUpdateSequence(global.getUpdateSequence() + 1);
+        geoServer.save(global);
+
+        assertNull(cache.get(scope(0.1), "roads.1"));
+    }
+
+    @Test
+    public void testUsers() throws Exception {
+        cache.put(scope(0.1), "roads.1", line);
+
+        TestingAuthenticationToken auth =
+                new TestingAuthenticationToken(
+                        "user", "pwd", List.of(new SimpleGrantedAuthority("ROLE_EDITOR")));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        assertNull(cache.get(scope(0.1), "roads.1"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        cache = new GeneralizationCache(geoServer, 0);
+        assertFalse(cache.isEnabled());
+        assertNull(scope(0.1));
+    }
+
+    @Test
+    public void testPipeline() throws Exception {
+        ReferencedEnvelope area = new ReferencedEnvelope(0, 4, 0, 4, DefaultGeographicCRS.WGS84);
+        Pipeline pipeline =
+                PipelineBuilder.newBuilder(
+                                area, new Rectangle(256, 256), DefaultGeographicCRS.WGS84, 2, 0)
+                        .preprocess()
+                        .generalize(cache, ROADS, true, null, null)
+                        .clip(true, true)
+                        .collapseCollections()
+                        .build();
+
+        pipeline.setFeatureId("roads.1");
+        Geometry first = pipeline.execute(line);
+        assertEquals(1, cache.size());
+        // the same feature in an adjacent tile, at the same zoom level, is not simplified again
+        Geometry second = pipeline.execute(line);
+        assertEquals(first, second);
+        assertEquals(1, cache.getStats().hitCount());
+
+        // no feature id, no caching
+        pipeline.setFeatureId(null);
+        pipeline.execute(line);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStats().hitCount());
+    }
+}
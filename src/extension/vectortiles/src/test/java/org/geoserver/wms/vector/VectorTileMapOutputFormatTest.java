@@ -4,8 +4,10 @@
  */
 package org.geoserver.wms.vector;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,6 +37,7 @@
 import org.geoserver.wms.MapLayerInfo;
 import org.geoserver.wms.WMSMapContent;
 import org.geoserver.wms.WebMap;
+import org.geoserver.wms.map.RawMap;
 import org.geoserver.wms.map.StyleQueryUtil;
 import org.geoserver.wms.mapbox.MapBoxTileBuilderFactory;
 import org.geotools.api.data.Query;
@@ -314,6 +317,88 @@ private static Map<String, Object> anyProperties() {
         return any(Map.class);
     }
 
+    @Test
+    public void testAlternateFormats() throws Exception {
+        VectorTileBuilder alternateBuilderMock = mock(VectorTileBuilder.class);
+        VectorTileBuilderFactory alternateFactory = mock(VectorTileBuilderFactory.class);
+        when(alternateFactory.getMimeType()).thenReturn("alternateMime");
+        when(alternateFactory.getOutputFormats()).thenReturn(ImmutableSet.of("alternateMime"));
+        when(alternateFactory.newBuilder(any(Rectangle.class), any(ReferencedEnvelope.class)))
+                .thenReturn(alternateBuilderMock);
+        VectorTileMapOutputFormat alternateFormat = new VectorTileMapOutputFormat(alternateFactory);
+        alternateFormat.setClipToMapBounds(true);
+        GeoServerExtensionsHelper.singleton(
+                "alternateFormat", alternateFormat, VectorTileMapOutputFormat.class);
+        try {
+            SimpleFeatureSource source = Mockito.spy(ds.getFeatureSource("points"));
+            FeatureLayer layer = new FeatureLayer(source, defaultPointStyle);
+            ReferencedEnvelope mapBounds = new ReferencedEnvelope(-90, 90, 0, 180, WGS84);
+            WMSMapContent mapContent =
+                    createMapContent(mapBounds, new Rectangle(256, 256), 32, layer);
+            RawMap.ALTERNATE_FORMATS.set(List.of("alternateMime", "testMime", "unknownMime"));
+
+            RawMap map = new RawMap(mapContent, new byte[0], "testMime");
+            RawMap alternateMap = new RawMap(mapContent, new byte[0], "alternateMime");
+            when(tileBuilderMock.build(same(mapContent))).thenReturn(map);
+            when(alternateBuilderMock.build(same(mapContent))).thenReturn(alternateMap);
+
+            assertSame(map, outputFormat.produceMap(mapContent));
+            assertEquals(Map.of("alternateMime", alternateMap), map.getAlternates());
+
+            // the features are read once, and fed to both builders
+            verify(source, times(1)).getFeatures(any(Query.class));
+            for (VectorTileBuilder builder : List.of(tileBuilderMock, alternateBuilderMock)) {
+                verify(builder, times(1))
+                        .addFeature(
+                                eq("points"),
+                                eq("point1"),
+                                eq("geom"),
+                                any(Geometry.class),
+                                anyProperties());
+                verify(builder, never())
+                        .addFeature(
+                                eq("points"),
+                                eq("pointFar"),
+                                eq("geom"),
+                                any(Geometry.class),
+                                anyProperties());
+            }
+        } finally {
+            RawMap.ALTERNATE_FORMATS.remove();
+            GeoServerExtensionsHelper.clear();
+        }
+    }
+
+    @Test
+    public void testAlternateFormatsFromRequest() throws Exception {
+        VectorTileBuilderFactory alternateFactory = mock(VectorTileBuilderFactory.class);
+        when(alternateFactory.getMimeType()).thenReturn("alternateMime");
+        when(alternateFactory.getOutputFormats()).thenReturn(ImmutableSet.of("alternateMime"));
+        VectorTileMapOutputFormat alternateFormat = new VectorTileMapOutputFormat(alternateFactory);
+        GeoServerExtensionsHelper.singleton(
+                "alternateFormat", alternateFormat, VectorTileMapOutputFormat.class);
+        try {
+            FeatureLayer layer = new FeatureLayer(ds.getFeatureSource("points"), defaultPointStyle);
+            ReferencedEnvelope mapBounds = new ReferencedEnvelope(-90, 90, 0, 180, WGS84);
+            WMSMapContent mapContent =
+                    createMapContent(mapBounds, new Rectangle(256, 256), 32, layer);
+            // a plain GetMap cannot ask for the alternate formats
+            Map<String, String> rawKvp = new HashMap<>();
+            rawKvp.put("ALTERNATE_FORMATS", "alternateMime");
+            mapContent.getRequest().setRawKvp(rawKvp);
+
+            RawMap map = new RawMap(mapContent, new byte[0], "testMime");
+            when(tileBuilderMock.build(same(mapContent))).thenReturn(map);
+
+            assertSame(map, outputFormat.produceMap(mapContent));
+            assertTrue(map.getAlternates().isEmpty());
+            verify(alternateFactory, never())
+                    .newBuilder(any(Rectangle.class), any(ReferencedEnvelope.class));
+        } finally {
+            GeoServerExtensionsHelper.clear();
+        }
+    }
+
     @Test
     public void testBufferProject() throws Exception {
 
@@ -72,6 +72,12 @@ public TransactionRequest beforeTransaction(TransactionRequest request) throws W
         return request;
     }
 
+    /** The request elements are not used, only the {@link #dataStoreChange} events */
+    @Override
+    public boolean isStreamingSupported() {
+        return true;
+    }
+
     /**
      * Not used, we're interested in the {@link #dataStoreChange} and {@link #afterTransaction}
      * hooks
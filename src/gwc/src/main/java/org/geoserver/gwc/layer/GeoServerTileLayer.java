@@ -15,6 +15,7 @@
 import com.google.common.collect.Iterables;
 import java.awt.Dimension;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Proxy;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -72,6 +73,7 @@
 import org.geoserver.wms.WebMap;
 import org.geoserver.wms.capabilities.CapabilityUtil;
 import org.geoserver.wms.capabilities.LegendSample;
+import org.geoserver.wms.map.RawMap;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.feature.type.PropertyDescriptor;
@@ -135,6 +137,13 @@ public class GeoServerTileLayer extends TileLayer implements ProxyLayer, TileJSO
 
     public static final String GWC_SEED_INTERCEPT_TOKEN = "GWC_SEED_INTERCEPT";
 
+    /**
+     * When set to true, seeding a vector tile format also produces and stores the other vector
+     * formats of the layer, out of the same data read
+     */
+    public static final String MULTI_FORMAT_VECTOR_TILES =
+            "GEOSERVER_GWC_MULTI_FORMAT_VECTOR_TILES";
+
     public static final ThreadLocal<WebMap> WEB_MAP = new ThreadLocal<>();
     public static final ThreadLocal<Set<DimensionWarning>> DIMENSION_WARNINGS = new ThreadLocal<>();
 
@@ -154,6 +163,9 @@ public class GeoServerTileLayer extends TileLayer implements ProxyLayer, TileJSO
 
     private static LayerListenerList listeners = new LayerListenerList();
 
+    /** The meta tiles being computed in this JVM, shared by all layers */
+    private static final MetaTileFlights FLIGHTS = new MetaTileFlights();
+
     private final GridSetBroker gridSetBroker;
 
     private Catalog catalog;
@@ -567,6 +579,11 @@ public ConveyorTile getTile(ConveyorTile tile)
 
         sendTileRequestedEvent(returnTile);
 
+        TilePrefetcher prefetcher = GeoServerExtensions.bean(TilePrefetcher.class);
+        if (prefetcher != null) {
+            prefetcher.tileRequested(this, returnTile);
+        }
+
         return returnTile;
     }
 
@@ -581,6 +598,11 @@ public boolean removeLayerListener(final TileLayerListener listener) {
         return true;
     }
 
+    /** Returns the statistics about the meta tiles computed and the time spent waiting for them */
+    public static MetaTileFlights getMetaTileFlights() {
+        return FLIGHTS;
+    }
+
     protected final void sendTileRequestedEvent(ConveyorTile tile) {
         if (listeners != null) {
             listeners.sendTileRequested(this, tile);
@@ -607,8 +629,29 @@ protected ConveyorTile getMetatilingResponse(
             executor = null;
         }
 
+        // if another request is computing the same meta tile in this JVM, wait for it instead of
+        // queuing up on the lock provider, the tile will then be found in the cache
+        final String metaTileLockKey = buildMetaTileLockKey(conveyorTile, metaTile);
+        final CompletableFuture<Void> flight = new CompletableFuture<>();
+        final CompletableFuture<Void> running =
+                tryCache ? FLIGHTS.takeOff(metaTileLockKey, flight) : null;
+        final boolean leader = tryCache && running == null;
+        if (running != null) {
+            FLIGHTS.await(metaTileLockKey, running);
+        }
+
         /* ****************** Acquire lock on metatile ******************* */
-        final Lock metaTileLock = getLock(buildMetaTileLockKey(conveyorTile, metaTile));
+        final long lockStart = System.nanoTime();
+        final Lock metaTileLock;
+        try {
+            metaTileLock = getLock(metaTileLockKey);
+        } catch (GeoWebCacheException | RuntimeException e) {
+            if (leader) {
+                FLIGHTS.land(metaTileLockKey, flight);
+            }
+            throw e;
+        }
+        FLIGHTS.recordWait(metaTileLockKey, lockStart);
         try {
             boolean foundInCache = false;
             if (tryCache) {
@@ -651,6 +694,9 @@ protected ConveyorTile getMetatilingResponse(
         } finally {
             /* ****************** Release lock on metatile ******************* */
             metaTileLock.release();
+            if (leader) {
+                FLIGHTS.land(metaTileLockKey, flight);
+            }
         }
 
         return finalizeTile(conveyorTile);
@@ -686,14 +732,6 @@ private void computeMetaTile(
         WebMap map;
         long requestTime = System.currentTimeMillis();
 
-        // Actually fetch the metatile data
-        map = dispatchGetMap(conveyorTile, metaTile);
-
-        checkNotNull(map, "Did not obtain a WebMap from GeoServer's Dispatcher");
-        metaTile.setWebMap(map);
-
-        setupCachingStrategy(conveyorTile);
-
         final long[][] gridPositions = metaTile.getTilesGridPositions();
         final long[] gridLoc = conveyorTile.getTileIndex();
         final GridSubset gridSubset = getGridSubset(conveyorTile.getGridSetId());
@@ -702,6 +740,19 @@ private void computeMetaTile(
         final int zoomLevel = (int) gridLoc[2];
         final boolean store = this.getExpireCache(zoomLevel) != GWCVars.CACHE_DISABLE_CACHE;
 
+        List<MimeType> alternateFormats =
+                store ? getAlternateFormats(conveyorTile, metaTile) : Collections.emptyList();
+
+        // Actually fetch the metatile data
+        map = dispatchGetMap(conveyorTile, metaTile, alternateFormats);
+
+        checkNotNull(map, "Did not obtain a WebMap from GeoServer's Dispatcher");
+        metaTile.setWebMap(map);
+
+        setupCachingStrategy(conveyorTile);
+
+        saveAlternateTiles(conveyorTile, map, alternateFormats, requestTime);
+
         List<CompletableFuture<?>> completableFutures = new ArrayList<>();
 
         // A latch to track whether we've locked all the individual tiles or not, before
@@ -901,6 +952,73 @@ private Runnable saveTileTask(
         };
     }
 
+    /**
+     * Returns the other vector formats of this layer to be produced along with the requested one,
+     * if the {@link #MULTI_FORMAT_VECTOR_TILES} property is enabled and the tile is being seeded
+     */
+    private List<MimeType> getAlternateFormats(ConveyorTile tile, GeoServerMetaTile metaTile) {
+        final MimeType mimeType = tile.getMimeType();
+        if (!mimeType.isVector()
+                || Dispatcher.REQUEST.get() != null
+                || metaTile.getTilesGridPositions().length != 1
+                || !Boolean.parseBoolean(
+                        GeoServerExtensions.getProperty(MULTI_FORMAT_VECTOR_TILES))) {
+            return Collections.emptyList();
+        }
+        return getMimeTypes().stream()
+                .filter(m -> m.isVector() && !m.equals(mimeType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stores the tiles in the alternate formats produced along with the requested one, see {@link
+     * #getAlternateFormats(ConveyorTile, GeoServerMetaTile)}. A failure only gets logged, the
+     * alternate tiles will be computed again when requested.
+     */
+    private void saveAlternateTiles(
+            ConveyorTile conveyorTile, WebMap map, List<MimeType> formats, long requestTime) {
+        if (formats.isEmpty() || conveyorTile.isMetaTileCacheOnly() || !(map instanceof RawMap)) {
+            return;
+        }
+        Map<String, RawMap> alternates = ((RawMap) map).getAlternates();
+        long[] gridLoc = conveyorTile.getTileIndex();
+        for (MimeType format : formats) {
+            RawMap alternate = alternates.get(format.getFormat());
+            if (alternate == null) {
+                // not supported by the output format
+                continue;
+            }
+            try {
+                ByteArrayResource resource = new ByteArrayResource(16 * 1024);
+                try (OutputStream out = resource.getOutputStream()) {
+                    alternate.writeTo(out);
+                }
+                long[] idx = {gridLoc[0], gridLoc[1], gridLoc[2]};
+                TileObject tile =
+                        TileObject.createCompleteTileObject(
+                                this.getName(),
+                                idx,
+                                conveyorTile.getGridSetId(),
+                                format.getFormat(),
+                                conveyorTile.getParameters(),
+                                resource);
+                tile.setCreated(requestTime);
+
+                Lock tileLock = getLock(buildLockKey(conveyorTile, "gwc_tile_", idx, format));
+                try {
+                    conveyorTile.getStorageBroker().put(tile);
+                } finally {
+                    tileLock.release();
+                }
+            } catch (Exception e) {
+                LOGGER.log(
+                        Level.WARNING,
+                        "Failed to store the " + format.getFormat() + " tile " + conveyorTile,
+                        e);
+            }
+        }
+    }
+
     /**
      * Based on configuration, sets caching to be permanent on blobstore, or to use the transient
      * metatile cache instead. Must be called after dispatching the GetMap request, in order to have
@@ -946,6 +1064,11 @@ private String buildTileLockKey(ConveyorTile tilePrototype, long[] gridPosition)
     }
 
     private String buildLockKey(ConveyorTile tilePrototype, String prefix, long[] position) {
+        return buildLockKey(tilePrototype, prefix, position, tilePrototype.getMimeType());
+    }
+
+    private String buildLockKey(
+            ConveyorTile tilePrototype, String prefix, long[] position, MimeType mimeType) {
         StringBuilder lockKey = new StringBuilder();
 
         lockKey.append(prefix);
@@ -960,17 +1083,24 @@ private String buildLockKey(ConveyorTile tilePrototype, String prefix, long[] po
         if (tilePrototype.getParametersId() != null) {
             lockKey.append("_").append(tilePrototype.getParametersId());
         }
-        lockKey.append(".").append(tilePrototype.getMimeType().getFileExtension());
+        lockKey.append(".").append(mimeType.getFileExtension());
 
         return lockKey.toString();
     }
 
-    private WebMap dispatchGetMap(final ConveyorTile tile, final MetaTile metaTile)
+    private WebMap dispatchGetMap(
+            final ConveyorTile tile, final MetaTile metaTile, List<MimeType> alternateFormats)
             throws Exception {
 
         Map<String, String> params = buildGetMap(tile, metaTile);
         WebMap map;
         try {
+            if (!alternateFormats.isEmpty()) {
+                RawMap.ALTERNATE_FORMATS.set(
+                        alternateFormats.stream()
+                                .map(MimeType::getFormat)
+                                .collect(Collectors.toList()));
+            }
             HttpServletRequest actualRequest = tile.servletReq;
             Cookie[] cookies = actualRequest == null ? null : actualRequest.getCookies();
 
@@ -983,6 +1113,7 @@ private WebMap dispatchGetMap(final ConveyorTile tile, final MetaTile metaTile)
             if (warnings != null) warnings.forEach(w -> HTTPWarningAppender.addWarning(w));
         } finally {
             WEB_MAP.remove();
+            RawMap.ALTERNATE_FORMATS.remove();
         }
 
         return map;
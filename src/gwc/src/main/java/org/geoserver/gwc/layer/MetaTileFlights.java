@@ -0,0 +1,132 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.layer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheException;
+
+/**
+ * Tracks the meta tiles being computed in this JVM, so that concurrent requests for the tiles of
+ * the same meta tile wait for the first one to complete, instead of queuing up on the {@link
+ * org.geowebcache.locks.LockProvider} (which, for the file and database based providers, means
+ * polling the lock). Once the meta tile is computed, the waiting requests find their tile in the
+ * cache.
+ *
+ * <p>Also keeps statistics about the meta tiles computed and the time spent waiting for them.
+ */
+public class MetaTileFlights {
+
+    static final Logger LOGGER = Logging.getLogger(MetaTileFlights.class);
+
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> flights =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder computed = new LongAdder();
+
+    private final LongAdder joined = new LongAdder();
+
+    private final LongAdder lockWaits = new LongAdder();
+
+    private final LongAdder lockWaitNanos = new LongAdder();
+
+    /**
+     * Registers the computation of a meta tile. Returns null if the caller is the first one, and is
+     * then expected to call {@link #land(String, CompletableFuture)} once done, or the computation
+     * already running otherwise.
+     */
+    CompletableFuture<Void> takeOff(String key, CompletableFuture<Void> flight) {
+        CompletableFuture<Void> running = flights.putIfAbsent(key, flight);
+        if (running == null) {
+            computed.increment();
+        } else {
+            joined.increment();
+        }
+        return running;
+    }
+
+    /** Marks the meta tile computation as completed, releasing the requests waiting for it */
+    void land(String key, CompletableFuture<Void> flight) {
+        flights.remove(key, flight);
+        flight.complete(null);
+    }
+
+    /** Waits for a meta tile computation registered by another request to complete */
+    void await(String key, CompletableFuture<Void> running) throws GeoWebCacheException {
+        long start = System.nanoTime();
+        try {
+            running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeoWebCacheException("Interrupted while waiting for meta tile " + key);
+        } catch (ExecutionException e) {
+            // the computation failed, the caller will try on its own
+            LOGGER.log(Level.FINE, "Meta tile computation failed for " + key, e);
+        } finally {
+            recordWait(key, start);
+        }
+    }
+
+    /** Records the time spent waiting on a lock, started at the given {@link System#nanoTime()} */
+    void recordWait(String key, long start) {
+        long elapsed = System.nanoTime() - start;
+        lockWaits.increment();
+        lockWaitNanos.add(elapsed);
+        if (LOGGER.isLoggable(Level.FINER)) {
+            LOGGER.finer(
+                    Thread.currentThread().getName()
+                            + " waited "
+                            + TimeUnit.NANOSECONDS.toMillis(elapsed)
+                            + "ms for "
+                            + key);
+        }
+    }
+
+    /** Returns the number of meta tiles being computed right now */
+    public int getRunning() {
+        return flights.size();
+    }
+
+    /** Returns the number of meta tile computations started */
+    public long getComputed() {
+        return computed.sum();
+    }
+
+    /** Returns the number of requests that waited for a meta tile computed by another request */
+    public long getJoined() {
+        return joined.sum();
+    }
+
+    /** Returns the number of waits on a meta tile lock or computation */
+    public long getLockWaits() {
+        return lockWaits.sum();
+    }
+
+    /** Returns the total time spent waiting on meta tile locks and computations, in milliseconds */
+    public long getLockWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lockWaitNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "MetaTileFlights[running="
+                + getRunning()
+                + ", computed="
+                + getComputed()
+                + ", joined="
+                + getJoined()
+                + ", lockWaits="
+                + getLockWaits()
+                + ", lockWaitMillis="
+                + getLockWaitMillis()
+                + "]";
+    }
+}
@@ -0,0 +1,306 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.layer;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wms.RasterCleaner;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSubset;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Prefetches the tiles around the areas users are looking at, so that panning and zooming in hit
+ * the cache more often.
+ *
+ * <p>Keeps a heat map of the tiles requested through {@link GeoServerTileLayer#getTile}, per layer,
+ * grid set, format and parameters. When a tile gets requested {@link #THRESHOLD_PROPERTY} times it
+ * is considered hot, and its neighbours at the same zoom level, and the tiles covering it at the
+ * next zoom level, are seeded in the background. Prefetching runs on a single low priority thread,
+ * at most {@link #QUEUE_SIZE_PROPERTY} tiles can be waiting, the others are dropped, and tiles are
+ * skipped when the system load per processor is above {@link #MAX_LOAD_PROPERTY}.
+ *
+ * <p>It's disabled by default, it can be enabled by setting the {@link #THRESHOLD_PROPERTY}
+ * property.
+ */
+public class TilePrefetcher implements DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(TilePrefetcher.class);
+
+    /** Number of requests making a tile hot. Zero or missing disables prefetching */
+    public static final String THRESHOLD_PROPERTY = "GEOSERVER_GWC_PREFETCH_THRESHOLD";
+
+    /** Max number of tiles waiting to be prefetched */
+    public static final String QUEUE_SIZE_PROPERTY = "GEOSERVER_GWC_PREFETCH_QUEUE_SIZE";
+
+    /** Max system load average per processor at which tiles are still prefetched */
+    public static final String MAX_LOAD_PROPERTY = "GEOSERVER_GWC_PREFETCH_MAX_LOAD";
+
+    /** Default max number of tiles waiting to be prefetched */
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    /** Default max system load average per processor */
+    public static final double DEFAULT_MAX_LOAD = 0.75;
+
+    /** Max number of tiles tracked in the heat map */
+    static final int HEAT_MAP_SIZE = 100_000;
+
+    private final int threshold;
+
+    private final double maxLoad;
+
+    private final Executor executor;
+
+    private final DoubleSupplier load;
+
+    private final Cache<String, AtomicInteger> heatMap;
+
+    /** The tiles waiting to be prefetched, to avoid queuing them twice */
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder prefetched = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    public TilePrefetcher() {
+        this(
+                GeoServerExtensions.getIntProperty(THRESHOLD_PROPERTY, 0),
+                GeoServerExtensions.getIntProperty(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE),
+                GeoServerExtensions.getDoubleProperty(MAX_LOAD_PROPERTY, DEFAULT_MAX_LOAD));
+    }
+
+    TilePrefetcher(int threshold, int queueSize, double maxLoad) {
+        this(
+                threshold,
+                maxLoad,
+                threshold > 0 ? buildExecutor(Math.max(queueSize, 1)) : null,
+                TilePrefetcher::getLoadPerProcessor);
+    }
+
+    TilePrefetcher(int threshold, double maxLoad, Executor executor, DoubleSupplier load) {
+        this.threshold = threshold;
+        this.maxLoad = maxLoad;
+        this.executor = executor;
+        this.load = load;
+        if (threshold > 0) {
+            this.heatMap =
+                    CacheBuilder.newBuilder()
+                            .maximumSize(HEAT_MAP_SIZE)
+                            .expireAfterAccess(1, TimeUnit.HOURS)
+                            .build();
+        } else {
+            this.heatMap = null;
+        }
+    }
+
+    private static ExecutorService buildExecutor(int queueSize) {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("GWC Prefetch Thread-%d")
+                        .setDaemon(true)
+                        .setPriority(Thread.MIN_PRIORITY)
+                        .build());
+    }
+
+    /** Returns the system load average per processor, or a negative value if not available */
+    private static double getLoadPerProcessor() {
+        double load = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        return load < 0 ? load : load / Runtime.getRuntime().availableProcessors();
+    }
+
+    /** Returns true if prefetching is enabled */
+    public boolean isEnabled() {
+        return heatMap != null;
+    }
+
+    /** Returns the number of tiles prefetched so far */
+    public long getPrefetched() {
+        return prefetched.sum();
+    }
+
+    /** Returns the number of tiles not prefetched because the system or the queue were busy */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Records a tile request, and schedules the prefetching of the surrounding tiles if it's a hot
+     * one
+     */
+    public void tileRequested(GeoServerTileLayer layer, ConveyorTile tile) {
+        if (heatMap == null) {
+            return;
+        }
+        long[] index = tile.getTileIndex();
+        String key = getKey(layer, tile, index);
+        int count;
+        try {
+            count = heatMap.get(key, AtomicInteger::new).incrementAndGet();
+        } catch (ExecutionException e) {
+            // cannot happen, the loader does not throw exceptions
+            return;
+        }
+        // schedule only once, when the tile becomes hot
+        if (count != threshold) {
+            return;
+        }
+
+        GridSubset gridSubset = layer.getGridSubset(tile.getGridSetId());
+        if (gridSubset == null) {
+            return;
+        }
+        // do not hold on the request tile, it references the servlet request and response
+        ConveyorTile prototype =
+                new ConveyorTile(
+                        tile.getStorageBroker(),
+                        layer.getName(),
+                        tile.getGridSetId(),
+                        index,
+                        tile.getMimeType(),
+                        tile.getParameters(),
+                        null,
+                        null);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        for (long[] neighbour : getNeighbours(gridSubset, index)) {
+            String neighbourKey = getKey(layer, tile, neighbour);
+            if (queued.add(neighbourKey)) {
+                try {
+                    executor.execute(
+                            () -> prefetch(layer, prototype, neighbour, neighbourKey, auth));
+                } catch (RejectedExecutionException e) {
+                    // the queue is full, or shutting down
+                    queued.remove(neighbourKey);
+                    skipped.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tiles around the given one at the same zoom level, and the ones covering it at
+     * the next zoom level, within the grid subset coverage
+     */
+    List<long[]> getNeighbours(GridSubset gridSubset, long[] index) {
+        List<long[]> result = new ArrayList<>();
+        long x = index[0];
+        long y = index[1];
+        long z = index[2];
+        for (long dy = -1; dy <= 1; dy++) {
+            for (long dx = -1; dx <= 1; dx++) {
+                long[] neighbour = {x + dx, y + dy, z};
+                if ((dx != 0 || dy != 0) && gridSubset.covers(neighbour)) {
+                    result.add(neighbour);
+                }
+            }
+        }
+
+        if (z < gridSubset.getZoomStop()) {
+            // shrink the bounds a bit, so that the tiles touching it are not included
+            BoundingBox bounds = gridSubset.boundsFromIndex(index);
+            double dx = bounds.getWidth() * 0.01;
+            double dy = bounds.getHeight() * 0.01;
+            BoundingBox inner =
+                    new BoundingBox(
+                            bounds.getMinX() + dx,
+                            bounds.getMinY() + dy,
+                            bounds.getMaxX() - dx,
+                            bounds.getMaxY() - dy);
+            long[] coverage = gridSubset.getCoverageIntersection((int) z + 1, inner);
+            for (long cy = coverage[1]; cy <= coverage[3]; cy++) {
+                for (long cx = coverage[0]; cx <= coverage[2]; cx++) {
+                    long[] child = {cx, cy, z + 1};
+                    if (gridSubset.covers(child)) {
+                        result.add(child);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void prefetch(
+            GeoServerTileLayer layer,
+            ConveyorTile prototype,
+            long[] index,
+            String key,
+            Authentication auth) {
+        try {
+            double currentLoad = load.getAsDouble();
+            if (currentLoad > maxLoad) {
+                skipped.increment();
+                return;
+            }
+            // render the tile as the user whose requests made the area hot
+            SecurityContextHolder.getContext().setAuthentication(auth);
+            ConveyorTile tile =
+                    new ConveyorTile(
+                            prototype.getStorageBroker(),
+                            layer.getName(),
+                            prototype.getGridSetId(),
+                            index,
+                            prototype.getMimeType(),
+                            prototype.getParameters(),
+                            null,
+                            null);
+            layer.seedTile(tile, true);
+            prefetched.increment();
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Failed to prefetch tile " + key, e);
+        } finally {
+            // there is no dispatcher callback to clean up the rendered images on this thread
+            RasterCleaner.cleanup();
+            SecurityContextHolder.clearContext();
+            queued.remove(key);
+        }
+    }
+
+    private static String getKey(GeoServerTileLayer layer, ConveyorTile tile, long[] index) {
+        return layer.getName()
+                + "|"
+                + tile.getGridSetId()
+                + "|"
+                + tile.getMimeType().getFormat()
+                + "|"
+                + tile.getParametersId()
+                + "|"
+                + Arrays.toString(index);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.layer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+
+public class MetaTileFlightsTest {
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        MetaTileFlights flights = new MetaTileFlights();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        assertNull(flights.takeOff("metatile_1", first));
+        assertEquals(1, flights.getRunning());
+
+        // same meta tile, joins the running computation
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        assertSame(first, flights.takeOff("metatile_1", second));
+
+        // another meta tile
+        CompletableFuture<Void> other = new CompletableFuture<>();
+        assertNull(flights.takeOff("metatile_2", other));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> waiting =
+                    executor.submit(
+                            () -> {
+                                flights.await("metatile_1", first);
+                                return null;
+                            });
+            try {
+                waiting.get(100, TimeUnit.MILLISECONDS);
+                throw new AssertionError("Should have waited for the running computation");
+            } catch (TimeoutException e) {
+                // expected
+            }
+            assertFalse(waiting.isDone());
+
+            flights.land("metatile_1", first);
+            waiting.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(first.isDone());
+        assertEquals(1, flights.getRunning());
+        assertEquals(2, flights.getComputed());
+        assertEquals(1, flights.getJoined());
+        assertEquals(1, flights.getLockWaits());
+        assertTrue(flights.getLockWaitMillis() >= 100);
+
+        // the computation is over, a new request starts a new one
+        assertNull(flights.takeOff("metatile_1", new CompletableFuture<>()));
+        assertNotNull(flights.toString());
+    }
+
+    @Test
+    public void testFailedComputation() throws Exception {
+        MetaTileFlights flights = new MetaTileFlights();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        assertNull(flights.takeOff("metatile_1", first));
+        first.completeExceptionally(new RuntimeException("rendering failed"));
+
+        // the waiting request does not fail, it will try to compute the meta tile on its own
+        flights.await("metatile_1", first);
+        flights.land("metatile_1", first);
+        assertEquals(0, flights.getRunning());
+    }
+}
@@ -0,0 +1,122 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.layer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.mime.MimeType;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TilePrefetcherTest {
+
+    GeoServerTileLayer layer;
+
+    GridSubset gridSubset;
+
+    ConveyorTile tile;
+
+    double load = 0;
+
+    @Before
+    public void setUp() throws Exception {
+        gridSubset = mock(GridSubset.class);
+        when(gridSubset.covers(any(long[].class))).thenReturn(true);
+        when(gridSubset.getZoomStop()).thenReturn(20);
+        when(gridSubset.boundsFromIndex(any(long[].class))).thenReturn(new BoundingBox(0, 0, 1, 1));
+        when(gridSubset.getCoverageIntersection(eq(6), any(BoundingBox.class)))
+                .thenReturn(new long[] {20, 30, 21, 31, 6});
+
+        layer = mock(GeoServerTileLayer.class);
+        when(layer.getName()).thenReturn("topp:states");
+        when(layer.getGridSubset("EPSG:4326")).thenReturn(gridSubset);
+
+        tile = mock(ConveyorTile.class);
+        when(tile.getTileIndex()).thenReturn(new long[] {10, 15, 5});
+        when(tile.getGridSetId()).thenReturn("EPSG:4326");
+        when(tile.getMimeType()).thenReturn(MimeType.createFromFormat("image/png"));
+        when(tile.getParameters()).thenReturn(Collections.emptyMap());
+    }
+
+    private TilePrefetcher prefetcher(int threshold) {
+        // runs the prefetching on the calling thread, skips it above a load of 1
+        return new TilePrefetcher(threshold, 1, Runnable::run, () -> load);
+    }
+
+    private Set<String> prefetchedTiles() throws Exception {
+        ArgumentCaptor<ConveyorTile> captor = ArgumentCaptor.forClass(ConveyorTile.class);
+        verify(layer, times(12)).seedTile(captor.capture(), eq(true));
+        Set<String> result = new TreeSet<>();
+        for (ConveyorTile seeded : captor.getAllValues()) {
+            result.add(Arrays.toString(seeded.getTileIndex()));
+        }
+        return result;
+    }
+
+    @Test
+    public void testPrefetchHotTile() throws Exception {
+        TilePrefetcher prefetcher = prefetcher(2);
+        prefetcher.tileRequested(layer, tile);
+        verify(layer, never()).seedTile(any(ConveyorTile.class), anyBoolean());
+
+        // the tile becomes hot, the 8 neighbours and the 4 tiles at the next level are prefetched
+        prefetcher.tileRequested(layer, tile);
+        List<String> expected = new ArrayList<>();
+        for (long y = 14; y <= 16; y++) {
+            for (long x = 9; x <= 11; x++) {
+                if (x != 10 || y != 15) expected.add(Arrays.toString(new long[] {x, y, 5}));
+            }
+        }
+        for (long y = 30; y <= 31; y++) {
+            for (long x = 20; x <= 21; x++) {
+                expected.add(Arrays.toString(new long[] {x, y, 6}));
+            }
+        }
+        assertEquals(new TreeSet<>(expected), prefetchedTiles());
+        assertEquals(12, prefetcher.getPrefetched());
+
+        // already hot, not prefetched again
+        prefetcher.tileRequested(layer, tile);
+        assertEquals(12, prefetcher.getPrefetched());
+    }
+
+    @Test
+    public void testBusy() throws Exception {
+        load = 2;
+        TilePrefetcher prefetcher = prefetcher(1);
+        prefetcher.tileRequested(layer, tile);
+        verify(layer, never()).seedTile(any(ConveyorTile.class), anyBoolean());
+        assertEquals(0, prefetcher.getPrefetched());
+        assertEquals(12, prefetcher.getSkipped());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        TilePrefetcher prefetcher = prefetcher(0);
+        assertFalse(prefetcher.isEnabled());
+        prefetcher.tileRequested(layer, tile);
+        prefetcher.tileRequested(layer, tile);
+        verify(layer, never()).seedTile(any(ConveyorTile.class), anyBoolean());
+    }
+}
@@ -16,6 +16,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
 import java.io.Serializable;
 import java.lang.reflect.Proxy;
@@ -34,9 +35,16 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.measure.Unit;
@@ -144,6 +152,7 @@
 import org.geotools.xml.handlers.DocumentHandler;
 import org.geotools.xsd.Schemas;
 import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.vfny.geoserver.global.GeoServerFeatureLocking;
 import org.vfny.geoserver.global.GeoServerFeatureSource;
 import org.vfny.geoserver.global.GeoserverComplexFeatureSource;
@@ -195,13 +204,49 @@ public class ResourcePool {
     /** Default number of hard references */
     static int FEATURETYPE_CACHE_SIZE_DEFAULT = 100;
 
+    /** Maximum number of entries in the CRS caches */
+    public static final String CRS_CACHE_SIZE_PROPERTY = "GEOSERVER_RESOURCE_POOL_CRS_CACHE_SIZE";
+
+    /**
+     * Maximum number of feature types in the feature type caches, when larger than the configured
+     * {@link org.geoserver.config.GeoServerInfo#getFeatureTypeCacheSize()}
+     */
+    public static final String FEATURETYPE_CACHE_SIZE_PROPERTY =
+            "GEOSERVER_RESOURCE_POOL_FEATURE_TYPE_CACHE_SIZE";
+
+    /** Maximum number of entries in the style and SLD caches */
+    public static final String STYLE_CACHE_SIZE_PROPERTY =
+            "GEOSERVER_RESOURCE_POOL_STYLE_CACHE_SIZE";
+
+    /** Time after which the cached objects not accessed are evicted, in seconds */
+    public static final String CACHE_EXPIRY_PROPERTY = "GEOSERVER_RESOURCE_POOL_CACHE_EXPIRY";
+
+    static final long CRS_CACHE_SIZE_DEFAULT = 1000;
+
+    static final long STYLE_CACHE_SIZE_DEFAULT = 1000;
+
+    static final long FEATURETYPE_CACHE_MAX_SIZE_DEFAULT = 10000;
+
     static String CRS_NOT_FOUND = "CRS_NOT_FOUND";
-    static Map<CoordinateReferenceSystem, String> crsIdentifierCache = new SoftValueHashMap<>();
+    static Map<CoordinateReferenceSystem, String> crsIdentifierCache =
+            new ResourcePoolCache<>(
+                    "crsIdentifier",
+                    GeoServerExtensions.getLongProperty(
+                            CRS_CACHE_SIZE_PROPERTY, CRS_CACHE_SIZE_DEFAULT),
+                    GeoServerExtensions.getLongProperty(CACHE_EXPIRY_PROPERTY, 0));
 
     Catalog catalog;
     Map<String, CoordinateReferenceSystem> crsCache;
 
     DataStoreCache dataStoreCache;
+
+    /** Data store connections in progress, by store id */
+    Map<String, CompletableFuture<DataAccess<? extends FeatureType, ? extends Feature>>>
+            dataStoreConnections = new ConcurrentHashMap<>();
+
+    /** Time it took to connect to each data store, in milliseconds, by store id */
+    Map<String, Long> dataStoreConnectTimes = new ConcurrentHashMap<>();
+
     Map<String, FeatureType> featureTypeCache;
     Map<String, List<AttributeTypeInfo>> featureTypeAttributeCache;
     Map<String, WebMapServer> wmsCache;
@@ -301,7 +346,11 @@ public Map<String, CoordinateReferenceSystem> getCrsCache() {
     }
 
     protected Map<String, CoordinateReferenceSystem> createCrsCache() {
-        return new ConcurrentHashMap<>();
+        return new ResourcePoolCache<>(
+                "crs",
+                GeoServerExtensions.getLongProperty(
+                        CRS_CACHE_SIZE_PROPERTY, CRS_CACHE_SIZE_DEFAULT),
+                GeoServerExtensions.getLongProperty(CACHE_EXPIRY_PROPERTY, 0));
     }
 
     /**
@@ -338,9 +387,22 @@ public Map<String, FeatureType> getFeatureTypeCache() {
     }
 
     protected Map<String, FeatureType> createFeatureTypeCache(int size) {
+        return new FeatureTypeCache(getFeatureTypeCacheMaxSize(size));
+    }
+
+    /**
+     * Returns the number of entries of the feature type caches. The configured size used to be the
+     * number of feature types kept with hard references, with all the others kept with soft ones,
+     * the bounded caches use the {@link #FEATURETYPE_CACHE_SIZE_PROPERTY} limit if larger, so that
+     * large catalogs do not keep reloading their feature types.
+     */
+    static long getFeatureTypeCacheMaxSize(int size) {
+        long max =
+                GeoServerExtensions.getLongProperty(
+                        FEATURETYPE_CACHE_SIZE_PROPERTY, FEATURETYPE_CACHE_MAX_SIZE_DEFAULT);
         // for each feature type we cache two versions, one with the projection policy applied, one
         // without it
-        return new FeatureTypeCache(size * 2);
+        return Math.max(size, max) * 2;
     }
 
     /**
@@ -356,9 +418,7 @@ public Map<String, List<AttributeTypeInfo>> getFeatureTypeAttributeCache() {
     }
 
     protected Map<String, List<AttributeTypeInfo>> createFeatureTypeAttributeCache(int size) {
-        // for each feature type we cache two versions, one with the projection policy applied, one
-        // without it
-        return new FeatureTypeAttributeCache(size * 2);
+        return new FeatureTypeAttributeCache(getFeatureTypeCacheMaxSize(size));
     }
 
     /**
@@ -384,7 +444,11 @@ public Map<String, StyledLayerDescriptor> getSldCache() {
     }
 
     protected Map<String, StyledLayerDescriptor> createSldCache() {
-        return new ConcurrentHashMap<>();
+        return new ResourcePoolCache<>(
+                "sld",
+                GeoServerExtensions.getLongProperty(
+                        STYLE_CACHE_SIZE_PROPERTY, STYLE_CACHE_SIZE_DEFAULT),
+                GeoServerExtensions.getLongProperty(CACHE_EXPIRY_PROPERTY, 0));
     }
 
     /**
@@ -397,7 +461,62 @@ public Map<String, Style> getStyleCache() {
     }
 
     protected Map<String, Style> createStyleCache() {
-        return new ConcurrentHashMap<>();
+        return new ResourcePoolCache<>(
+                "style",
+                GeoServerExtensions.getLongProperty(
+                        STYLE_CACHE_SIZE_PROPERTY, STYLE_CACHE_SIZE_DEFAULT),
+                GeoServerExtensions.getLongProperty(CACHE_EXPIRY_PROPERTY, 0));
+    }
+
+    /**
+     * Returns the resource pool caches that keep usage statistics, that is, the ones that are
+     * {@link ResourcePoolCache} instances
+     */
+    public List<ResourcePoolCache<?, ?>> getInstrumentedCaches() {
+        List<ResourcePoolCache<?, ?>> result = new ArrayList<>();
+        for (Map<?, ?> cache :
+                Arrays.asList(
+                        crsCache,
+                        crsIdentifierCache,
+                        featureTypeCache,
+                        featureTypeAttributeCache,
+                        sldCache,
+                        styleCache)) {
+            if (cache instanceof ResourcePoolCache) {
+                result.add((ResourcePoolCache<?, ?>) cache);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Looks up a cached object, loading it if missing. Concurrent loads of the same key are
+     * collapsed into a single one, by the cache itself if it's a {@link ResourcePoolCache}, or by
+     * synchronizing on the canonical key otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> V getCached(Map<String, V> cache, String key, Callable<V> loader)
+            throws IOException {
+        if (cache instanceof ResourcePoolCache) {
+            return ((ResourcePoolCache<String, V>) cache).get(key, loader);
+        }
+        V value = cache.get(key);
+        if (value == null) {
+            synchronized (key) {
+                value = cache.get(key);
+                if (value == null) {
+                    try {
+                        value = loader.call();
+                    } catch (IOException | RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IOException(e);
+                    }
+                    cache.put(key, value);
+                }
+            }
+        }
+        return value;
     }
 
     /**
@@ -496,23 +615,17 @@ public static ResourcePool create(Catalog catalog) {
     public CoordinateReferenceSystem getCRS(String srsName) throws IOException {
 
         if (srsName == null) return null;
-        srsName = cacheKeys.unique(srsName);
-        CoordinateReferenceSystem crs = crsCache.get(srsName);
-        if (crs == null) {
-            synchronized (srsName) {
-                crs = crsCache.get(srsName);
-                if (crs == null) {
+        final String key = cacheKeys.unique(srsName);
+        return getCached(
+                crsCache,
+                key,
+                () -> {
                     try {
-                        crs = CRS.decode(srsName);
-                        crsCache.put(srsName, crs);
+                        return CRS.decode(key);
                     } catch (Exception e) {
                         throw (IOException) new IOException().initCause(e);
                     }
-                }
-            }
-        }
-
-        return crs;
+                });
     }
 
     /**
@@ -639,29 +752,64 @@ public DataAccessFactory getDataStoreFactory(DataStoreInfo info) throws IOExcept
 
         DataStoreInfo expandedStore = clone(info, true);
 
+        // cache only if the id is not null, no need to cache the stores
+        // returned from un-saved DataStoreInfo objects (it would be actually
+        // harmful, NPE when trying to dispose of them)
+        String storeId = info.getId();
+        String key = storeId == null ? null : cacheKeys.unique(storeId);
+        CompletableFuture<DataAccess<? extends FeatureType, ? extends Feature>> connection = null;
+        if (key != null) {
+            DataAccess<? extends FeatureType, ? extends Feature> cached = dataStoreCache.get(key);
+            if (cached != null) return cached;
+
+            // single flight, if another thread is already connecting share its outcome rather
+            // than waiting for the connection and then checking the cache again
+            connection = new CompletableFuture<>();
+            CompletableFuture<DataAccess<? extends FeatureType, ? extends Feature>> pending =
+                    dataStoreConnections.putIfAbsent(key, connection);
+            if (pending != null) {
+                return awaitDataStore(info, pending);
+            }
+        }
+
         DataAccess<? extends FeatureType, ? extends Feature> dataStore = null;
         try {
+            if (key == null) return createDataAccess(info, expandedStore);
 
-            String storeId = info.getId();
-            // cache only if the id is not null, no need to cache the stores
-            // returned from un-saved DataStoreInfo objects (it would be actually
-            // harmful, NPE when trying to dispose of them)
-            if (storeId == null) return createDataAccess(info, expandedStore);
-
-            String key = cacheKeys.unique(storeId);
+            // the connection might have completed between the cache lookup and the registration
             dataStore = dataStoreCache.get(key);
+            boolean cleared = false;
             if (dataStore == null) {
-                synchronized (key) {
-                    dataStore = dataStoreCache.get(key);
-                    if (dataStore == null) {
-                        dataStore = createDataAccess(info, expandedStore);
+                long start = System.nanoTime();
+                dataStore = createDataAccess(info, expandedStore);
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                LOGGER.log(
+                        Level.FINE,
+                        "Connected to store {0} in {1} ms",
+                        new Object[] {info.getName(), elapsed});
+                // the store might have been cleared while connecting, see clear(DataStoreInfo)
+                synchronized (connection) {
+                    cleared = connection.isCancelled();
+                    if (!cleared) {
+                        dataStoreConnectTimes.put(key, elapsed);
                         dataStoreCache.put(key, dataStore);
                     }
                 }
             }
+            if (!cleared) {
+                connection.complete(dataStore);
+                return dataStore;
+            }
 
-            return dataStore;
+            // the connection used the previous configuration of the store, connect again
+            try {
+                dataStore.dispose();
+            } catch (Exception ex) {
+                // fine, we had to try
+            }
+            dataStore = null;
         } catch (Exception e) {
+            if (connection != null) connection.completeExceptionally(e);
             // if anything goes wrong we have to clean up the store anyways
             if (dataStore != null) {
                 try {
@@ -677,9 +825,98 @@ public DataAccessFactory getDataStoreFactory(DataStoreInfo info) throws IOExcept
             } else {
                 throw (IOException) new IOException().initCause(e);
             }
+        } finally {
+            if (connection != null) {
+                // make sure the threads waiting for the connection are released, even on errors
+                connection.completeExceptionally(
+                        new IOException("Failed to connect to store " + info.getName()));
+                dataStoreConnections.remove(key, connection);
+            }
+        }
+        return getDataStore(info);
+    }
+
+    /** Waits for a data store connection started by another thread */
+    private DataAccess<? extends FeatureType, ? extends Feature> awaitDataStore(
+            DataStoreInfo info,
+            CompletableFuture<DataAccess<? extends FeatureType, ? extends Feature>> connection)
+            throws IOException {
+        try {
+            return connection.get();
+        } catch (CancellationException e) {
+            // the store was cleared while connecting, connect again with its new configuration
+            return getDataStore(info);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted while waiting for the connection to store " + info.getName());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Connects to all the enabled data stores in the background, so that the first requests hitting
+     * them do not have to wait for the connection.
+     *
+     * <p>Connection failures are logged, and handled as they would be on a request (e.g., the store
+     * gets disabled if configured to do so on connection failures).
+     *
+     * @param parallelism the number of stores to connect to at the same time
+     * @return a future completed once all the connections have been attempted
+     */
+    public CompletableFuture<Void> connectDataStores(int parallelism) {
+        List<DataStoreInfo> stores = catalog.getDataStores();
+        if (stores.isEmpty() || parallelism <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CustomizableThreadFactory threadFactory =
+                new CustomizableThreadFactory("ResourcePool-connect-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(parallelism, stores.size()), threadFactory);
+        long start = System.nanoTime();
+        CompletableFuture<?>[] connections =
+                stores.stream()
+                        .filter(StoreInfo::isEnabled)
+                        .map(store -> CompletableFuture.runAsync(() -> connect(store), executor))
+                        .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(connections)
+                .whenComplete(
+                        (r, e) -> {
+                            executor.shutdown();
+                            LOGGER.log(
+                                    Level.INFO,
+                                    "Connected to {0} data stores in {1} ms",
+                                    new Object[] {
+                                        connections.length,
+                                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                                    });
+                        });
+    }
+
+    private void connect(DataStoreInfo store) {
+        try {
+            getDataStore(store);
+        } catch (Exception e) {
+            LOGGER.log(
+                    Level.WARNING,
+                    "Failed to connect to store " + store.getName() + ": " + e.getMessage());
+            LOGGER.log(Level.FINE, "", e);
         }
     }
 
+    /**
+     * Returns the time it took to establish the current connection of each data store, in
+     * milliseconds, by store id
+     */
+    public Map<String, Long> getDataStoreConnectTimes() {
+        return Collections.unmodifiableMap(dataStoreConnectTimes);
+    }
+
     private void disableStoreInfoIfNeeded(
             StoreInfo storeInfo, Class<? extends StoreInfo> clazz, Exception e) {
         if (storeInfo.isEnabled() && storeInfo.isDisableOnConnFailure()) {
@@ -886,7 +1123,13 @@ public static <K, V> Map<K, V> getParams(Map<K, V> m, GeoServerResourceLoader lo
      */
     public void clear(DataStoreInfo info) {
         String id = info.getId();
-        if (id != null) dataStoreCache.remove(id);
+        if (id != null) {
+            // a connection in progress uses the previous configuration, cancel it so that it's not
+            // cached, and the next requests connect again instead of waiting for it
+            cancelConnection(dataStoreConnections.remove(id));
+            dataStoreCache.remove(id);
+            dataStoreConnectTimes.remove(id);
+        }
         // the new instance of the store might generate new feature types, clear the cache
         for (FeatureTypeInfo ft : catalog.getFeatureTypesByDataStore(info)) {
             clear(ft);
@@ -910,17 +1153,7 @@ public List<AttributeTypeInfo> getAttributes(FeatureTypeInfo info) throws IOExce
 
         // check the cache
         String key = cacheKeys.unique(info.getId());
-        List<AttributeTypeInfo> atts = featureTypeAttributeCache.get(key);
-        if (atts == null) {
-            synchronized (key) {
-                atts = featureTypeAttributeCache.get(key);
-                if (atts == null) {
-                    atts = attributeTypeInfos(info);
-                    featureTypeAttributeCache.put(key, atts);
-                }
-            }
-        }
-        return atts;
+        return getCached(featureTypeAttributeCache, key, () -> attributeTypeInfos(info));
     }
 
     private List<AttributeTypeInfo> attributeTypeInfos(FeatureTypeInfo info) throws IOException {
@@ -1089,17 +1322,8 @@ FeatureType getCacheableFeatureType(FeatureTypeInfo info, boolean handleProjecti
 
         id = getFeatureTypeInfoKey(info, handleProjectionPolicy);
         String key = cacheKeys.unique(id);
-        FeatureType ft = featureTypeCache.get(key);
-        if (ft == null) {
-            synchronized (key) {
-                ft = featureTypeCache.get(key);
-                if (ft == null) {
-                    ft = acquireFeatureType(info, handleProjectionPolicy);
-                    featureTypeCache.put(key, ft);
-                }
-            }
-        }
-        return ft;
+        return getCached(
+                featureTypeCache, key, () -> acquireFeatureType(info, handleProjectionPolicy));
     }
 
     private FeatureType acquireFeatureType(FeatureTypeInfo info, boolean handleProjectionPolicy)
@@ -2188,14 +2412,11 @@ public StyledLayerDescriptor getSld(final StyleInfo info) throws IOException {
         String id = info.getId();
         if (id == null) return dataDir().parsedSld(info);
         String key = cacheKeys.unique(id);
-        StyledLayerDescriptor sld = sldCache.get(key);
-        if (sld == null) {
-            synchronized (key) {
-                sld = sldCache.get(key);
-                if (sld == null) {
-                    sld = dataDir().parsedSld(info);
-
-                    sldCache.put(key, sld);
+        return getCached(
+                sldCache,
+                key,
+                () -> {
+                    StyledLayerDescriptor sld = dataDir().parsedSld(info);
 
                     final Resource styleResource = dataDir().style(info);
                     styleResource.addListener(
@@ -2206,11 +2427,8 @@ public void changed(ResourceNotification notify) {
                                     styleResource.removeListener(this);
                                 }
                             });
-                }
-            }
-        }
-
-        return sld;
+                    return sld;
+                });
     }
 
     /**
@@ -2228,13 +2446,11 @@ public Style getStyle(final StyleInfo info) throws IOException {
         String styleId = info.getId();
         if (styleId == null) return createStyle(info);
         String key = cacheKeys.unique(styleId);
-        Style style = styleCache.get(key);
-        if (style == null) {
-            synchronized (key) {
-                style = styleCache.get(key);
-                if (style == null) {
-                    style = createStyle(info);
-                    styleCache.put(key, style);
+        return getCached(
+                styleCache,
+                key,
+                () -> {
+                    Style style = createStyle(info);
 
                     final Resource styleResource = dataDir().style(info);
                     styleResource.addListener(
@@ -2245,11 +2461,8 @@ public void changed(ResourceNotification notify) {
                                     styleResource.removeListener(this);
                                 }
                             });
-                }
-            }
-        }
-
-        return style;
+                    return style;
+                });
     }
 
     private Style createStyle(StyleInfo info) throws IOException {
@@ -2406,10 +2619,23 @@ GeoServerDataDirectory dataDir() {
         return new GeoServerDataDirectory(catalog.getResourceLoader());
     }
 
+    private void cancelConnection(
+            CompletableFuture<DataAccess<? extends FeatureType, ? extends Feature>> connection) {
+        if (connection != null) {
+            synchronized (connection) {
+                connection.cancel(false);
+            }
+        }
+    }
+
     /** Disposes all cached resources. */
     public void dispose() {
         crsCache.clear();
+        for (String id : dataStoreConnections.keySet()) {
+            cancelConnection(dataStoreConnections.remove(id));
+        }
         dataStoreCache.clear();
+        dataStoreConnectTimes.clear();
         featureTypeCache.clear();
         featureTypeAttributeCache.clear();
         hintCoverageReaderCache.clear();
@@ -2468,10 +2694,13 @@ public void clear() {
         protected abstract void dispose(K key, V object);
     }
 
-    class FeatureTypeCache extends CatalogResourceCache<String, FeatureType> {
+    class FeatureTypeCache extends ResourcePoolCache<String, FeatureType> {
 
-        public FeatureTypeCache(int maxSize) {
-            super(maxSize);
+        public FeatureTypeCache(long maxSize) {
+            super(
+                    "featureType",
+                    maxSize,
+                    GeoServerExtensions.getLongProperty(CACHE_EXPIRY_PROPERTY, 0));
         }
 
         @Override
@@ -2613,15 +2842,13 @@ public boolean equals(Object obj) {
         }
     }
 
-    class FeatureTypeAttributeCache extends CatalogResourceCache<String, List<AttributeTypeInfo>> {
+    class FeatureTypeAttributeCache extends ResourcePoolCache<String, List<AttributeTypeInfo>> {
 
-        FeatureTypeAttributeCache(int size) {
-            super(size);
-        }
-
-        @Override
-        protected void dispose(String key, List<AttributeTypeInfo> object) {
-            // nothing to do actually
+        FeatureTypeAttributeCache(long size) {
+            super(
+                    "featureTypeAttribute",
+                    size,
+                    GeoServerExtensions.getLongProperty(CACHE_EXPIRY_PROPERTY, 0));
         }
     }
 
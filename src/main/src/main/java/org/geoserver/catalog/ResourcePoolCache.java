@@ -0,0 +1,145 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ForwardingConcurrentMap;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Bounded cache used by the {@link ResourcePool}, exposed as a {@link java.util.Map} to preserve
+ * the pool API.
+ *
+ * <p>Unlike the soft reference based caches, entries are evicted only when the cache exceeds its
+ * maximum size, or when they have not been accessed for the configured expiry time, so a full
+ * garbage collection does not wipe the cache. Entries are disposed by {@link #dispose(Object,
+ * Object)} when evicted, removed, or cleared, but not when replaced.
+ *
+ * <p>The cache keeps hit, miss, and load time statistics, see {@link #stats()}. Loads go through
+ * {@link #get(Object, Callable)}, which runs a single load for concurrent requests of the same key.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ResourcePoolCache<K, V> extends ForwardingConcurrentMap<K, V> {
+
+    static final Logger LOGGER = Logging.getLogger(ResourcePoolCache.class);
+
+    private final String name;
+
+    private final long maximumSize;
+
+    private final long expirySeconds;
+
+    private final Cache<K, V> cache;
+
+    /**
+     * Creates a new cache
+     *
+     * @param name the cache name, used for reporting
+     * @param maximumSize the maximum number of entries
+     * @param expirySeconds the time after which entries that have not been accessed are evicted,
+     *     zero or negative to disable expiry
+     */
+    public ResourcePoolCache(String name, long maximumSize, long expirySeconds) {
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.expirySeconds = expirySeconds;
+        CacheBuilder<Object, Object> builder =
+                CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats();
+        if (expirySeconds > 0) {
+            builder.expireAfterAccess(expirySeconds, TimeUnit.SECONDS);
+        }
+        this.cache = builder.removalListener(this::onRemoval).build();
+    }
+
+    @Override
+    protected ConcurrentMap<K, V> delegate() {
+        return cache.asMap();
+    }
+
+    /** Looks up the value, recording a hit or a miss in the cache statistics */
+    @Override
+    public V get(Object key) {
+        return key == null ? null : cache.getIfPresent(key);
+    }
+
+    /**
+     * Returns the value associated with the key, loading it if missing. Concurrent calls for the
+     * same key wait for a single load to complete.
+     *
+     * @throws IOException if the loader fails with a checked exception
+     */
+    public V get(K key, Callable<? extends V> loader) throws IOException {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (ExecutionError e) {
+            throw (Error) e.getCause();
+        }
+    }
+
+    private void onRemoval(RemovalNotification<K, V> notification) {
+        if (notification.getCause() == RemovalCause.REPLACED) {
+            return;
+        }
+        K key = notification.getKey();
+        V value = notification.getValue();
+        if (key != null && value != null) {
+            try {
+                dispose(key, value);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error disposing " + name + " cache entry: " + key, e);
+            }
+        }
+    }
+
+    /** Disposes an entry removed from the cache, does nothing by default */
+    protected void dispose(K key, V value) {
+        // nothing to do
+    }
+
+    /** Returns the cache name */
+    public String getName() {
+        return name;
+    }
+
+    /** Returns the maximum number of entries */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /** Returns the expiry time of entries not accessed, in seconds, or zero if disabled */
+    public long getExpirySeconds() {
+        return Math.max(0, expirySeconds);
+    }
+
+    /** Returns the hit, miss, load, and eviction statistics */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
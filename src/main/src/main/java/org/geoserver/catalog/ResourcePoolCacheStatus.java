@@ -0,0 +1,109 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.platform.ModuleStatus;
+
+/**
+ * Reports the usage statistics of the {@link ResourcePool} caches, and the data store connection
+ * times, in the server status page and through the REST API status resource.
+ */
+public class ResourcePoolCacheStatus implements ModuleStatus {
+
+    /** Number of slowest data store connections reported */
+    static final int SLOWEST = 5;
+
+    private final Catalog catalog;
+
+    public ResourcePoolCacheStatus(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String getModule() {
+        return "gs-main";
+    }
+
+    @Override
+    public Optional<String> getComponent() {
+        return Optional.of("resource-pool-caches");
+    }
+
+    @Override
+    public String getName() {
+        return "Resource pool caches";
+    }
+
+    @Override
+    public Optional<String> getVersion() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !catalog.getResourcePool().getInstrumentedCaches().isEmpty();
+    }
+
+    @Override
+    public Optional<String> getMessage() {
+        List<ResourcePoolCache<?, ?>> caches = catalog.getResourcePool().getInstrumentedCaches();
+        StringBuilder msg = new StringBuilder();
+        for (ResourcePoolCache<?, ?> cache : caches) {
+            CacheStats stats = cache.stats();
+            if (msg.length() > 0) {
+                msg.append('\n');
+            }
+            msg.append(cache.getName()).append(": ");
+            msg.append(cache.size()).append(" of ").append(cache.getMaximumSize());
+            msg.append(" entries, hits: ").append(stats.hitCount());
+            msg.append(", misses: ").append(stats.missCount());
+            msg.append(", loads: ").append(stats.loadCount());
+            msg.append(", load failures: ").append(stats.loadExceptionCount());
+            msg.append(", average load time: ")
+                    .append(TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty()))
+                    .append(" ms");
+            msg.append(", evictions: ").append(stats.evictionCount());
+        }
+        appendConnectTimes(msg, catalog.getResourcePool().getDataStoreConnectTimes());
+        return Optional.of(msg.toString());
+    }
+
+    /** Reports the number of connected data stores, and the slowest ones to connect */
+    private void appendConnectTimes(StringBuilder msg, Map<String, Long> connectTimes) {
+        if (connectTimes.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Long>> times = new ArrayList<>(connectTimes.entrySet());
+        times.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        long total = times.stream().mapToLong(Map.Entry::getValue).sum();
+        if (msg.length() > 0) {
+            msg.append('\n');
+        }
+        msg.append("dataStore connections: ").append(times.size());
+        msg.append(", average connect time: ").append(total / times.size()).append(" ms");
+        msg.append(", slowest:");
+        for (Map.Entry<String, Long> entry : times.subList(0, Math.min(SLOWEST, times.size()))) {
+            DataStoreInfo store = catalog.getDataStore(entry.getKey());
+            String name = store == null ? entry.getKey() : store.getName();
+            msg.append(' ').append(name).append(" (").append(entry.getValue()).append(" ms)");
+        }
+    }
+
+    @Override
+    public Optional<String> getDocumentation() {
+        return Optional.empty();
+    }
+}
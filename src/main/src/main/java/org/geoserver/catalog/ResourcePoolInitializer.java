@@ -10,6 +10,7 @@
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.GeoServerReinitializer;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.util.EntityResolverProvider;
 
 /**
@@ -19,6 +20,12 @@
  */
 public class ResourcePoolInitializer implements GeoServerReinitializer {
 
+    /**
+     * Number of data stores to connect to in parallel in the background at startup. Zero or missing
+     * disables the warm up, the stores get connected on the first request using them.
+     */
+    public static final String DATASTORE_WARMUP_THREADS = "GEOSERVER_DATASTORE_WARMUP_THREADS";
+
     GeoServer gs;
     EntityResolverProvider resolverProvider;
 
@@ -59,5 +66,10 @@ public void handleGlobalChange(
                 });
 
         gs.getCatalog().getResourcePool().setEntityResolverProvider(resolverProvider);
+
+        int warmUpThreads = GeoServerExtensions.getIntProperty(DATASTORE_WARMUP_THREADS, 0);
+        if (warmUpThreads > 0) {
+            gs.getCatalog().getResourcePool().connectDataStores(warmUpThreads);
+        }
     }
 }
@@ -26,6 +26,10 @@
  * A support index for {@link DefaultCatalogFacade}, can perform fast lookups of {@link CatalogInfo}
  * objects by id or by "name", where the name is defined by a a user provided mapping function.
  *
+ * <p>Secondary indexes on other properties (e.g., the workspace or store id) can be registered with
+ * {@link #addIndex(String, Function)}, and then used to get the values with a given property value
+ * without scanning the whole lookup, see {@link #list(Class, String, String, Predicate)}.
+ *
  * <p>The lookups by predicate have been tested and optimized for performance, in particular the
  * current for loops turned out to be significantly faster than building and returning streams
  *
@@ -37,8 +41,12 @@
     ConcurrentHashMap<Class<T>, Map<String, T>> idMultiMap = new ConcurrentHashMap<>();
     ConcurrentHashMap<Class<T>, Map<Name, T>> nameMultiMap = new ConcurrentHashMap<>();
     Function<T, Name> nameMapper;
+    Map<String, PropertyIndex<T>> indexes = new ConcurrentHashMap<>();
     static final Predicate<?> TRUE = x -> true;
 
+    /** Key used in the secondary indexes for values whose indexed property is null */
+    static final String NULL_KEY = "\u0000null";
+
     /** Returns {@link CatalogInfoLookup#TRUE} in a type-safe way */
     @SuppressWarnings("unchecked")
     public static <T> Predicate<T> ptrue() {
@@ -49,18 +57,36 @@ public CatalogInfoLookup(Function<T, Name> nameMapper) {
         this.nameMapper = nameMapper;
     }
 
+    /**
+     * Registers a secondary index on the given property, whose value is extracted by the {@code
+     * keyMapper}. Must be called before any value is added to the lookup.
+     *
+     * @param property the property path the index refers to, e.g. {@code workspace.id}
+     * @param keyMapper extracts the index key from a value, may return null
+     */
+    CatalogInfoLookup<T> addIndex(String property, Function<T, String> keyMapper) {
+        indexes.put(property, new PropertyIndex<>(keyMapper));
+        return this;
+    }
+
+    /** Returns true if a secondary index has been registered for the given property */
+    boolean isIndexed(String property) {
+        return indexes.containsKey(property);
+    }
+
     @SuppressWarnings("unchecked")
     <K> Map<K, T> getMapForValue(ConcurrentHashMap<Class<T>, Map<K, T>> maps, T value) {
-        Class<T> vc;
+        return getMapForValue(maps, getValueClass(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> getValueClass(T value) {
         if (Proxy.isProxyClass(value.getClass())) {
             ModificationProxy h = (ModificationProxy) Proxy.getInvocationHandler(value);
             T po = (T) h.getProxyObject();
-            vc = (Class<T>) po.getClass();
-        } else {
-            vc = (Class<T>) value.getClass();
+            return (Class<T>) po.getClass();
         }
-
-        return getMapForValue(maps, vc);
+        return (Class<T>) value.getClass();
     }
 
     // cannot get the layer lookup to work otherwise, "vc" cannot be parameterized to "T"
@@ -88,6 +114,10 @@ public T add(T value) {
         Map<Name, T> nameMap = getMapForValue(nameMultiMap, value);
         Name name = nameMapper.apply(value);
         nameMap.put(name, value);
+        Class<T> vc = getValueClass(value);
+        for (PropertyIndex<T> index : indexes.values()) {
+            index.add(vc, index.getKey(value), name, value);
+        }
         Map<String, T> idMap = getMapForValue(idMultiMap, value);
         return idMap.put(value.getId(), value);
     }
@@ -105,11 +135,18 @@ public T remove(T value) {
         Name name = nameMapper.apply(value);
         Map<Name, T> nameMap = getMapForValue(nameMultiMap, value);
         nameMap.remove(name);
+        Class<T> vc = getValueClass(value);
+        for (PropertyIndex<T> index : indexes.values()) {
+            index.remove(vc, index.getKey(value), name);
+        }
         Map<String, T> idMap = getMapForValue(idMultiMap, value);
         return idMap.remove(value.getId());
     }
 
-    /** Updates the value in the name map. The new value must be a ModificationProxy */
+    /**
+     * Updates the value in the name map and secondary indexes. The new value must be a
+     * ModificationProxy
+     */
     @SuppressWarnings("unchecked")
     public void update(T proxiedValue) {
         ModificationProxy h = (ModificationProxy) Proxy.getInvocationHandler(proxiedValue);
@@ -122,11 +159,36 @@ public void update(T proxiedValue) {
             nameMap.remove(oldName);
             nameMap.put(newName, actualValue);
         }
+        Class<T> vc = getValueClass(actualValue);
+        for (PropertyIndex<T> index : indexes.values()) {
+            String oldKey = index.getKey(actualValue);
+            String newKey = index.getKey(proxiedValue);
+            if (!oldName.equals(newName) || !oldKey.equals(newKey)) {
+                index.remove(vc, oldKey, oldName);
+                index.add(vc, newKey, newName, actualValue);
+            }
+        }
+    }
+
+    /**
+     * Updates the name of a value in the secondary indexes, for values whose name depends on
+     * another object (e.g., layers, named after their resource)
+     */
+    protected void updateIndexedName(T value, Name oldName, Name newName) {
+        Class<T> vc = getValueClass(value);
+        for (PropertyIndex<T> index : indexes.values()) {
+            String key = index.getKey(value);
+            index.remove(vc, key, oldName);
+            index.add(vc, key, newName, value);
+        }
     }
 
     public void clear() {
         idMultiMap.clear();
         nameMultiMap.clear();
+        for (PropertyIndex<T> index : indexes.values()) {
+            index.clear();
+        }
     }
 
     /**
@@ -159,6 +221,41 @@ <U extends CatalogInfo> List<U> list(Class<U> clazz, Predicate<U> predicate) {
         return result;
     }
 
+    /**
+     * Looks up objects by class, value of an indexed property, and matching predicate. Only the
+     * values whose indexed property has the given key are tested against the predicate, in the same
+     * order {@link #list(Class, Predicate)} would return them.
+     *
+     * @param property the indexed property, must have been registered with {@link #addIndex}
+     * @param key the property value to look for, or null to look for values having no such property
+     */
+    <U extends CatalogInfo> List<U> list(
+            Class<U> clazz, String property, String key, Predicate<U> predicate) {
+        PropertyIndex<T> index = indexes.get(property);
+        if (index == null) {
+            throw new IllegalArgumentException("No index available for property " + property);
+        }
+        List<U> result = List.of(); // replaced by ArrayList if there are matches
+        for (Class<T> valueClass : nameMultiMap.keySet()) {
+            if (clazz.isAssignableFrom(valueClass)) {
+                Map<Name, T> valueMap = index.get(valueClass, key == null ? NULL_KEY : key);
+                if (valueMap != null) {
+                    for (T v : valueMap.values()) {
+                        final U u = clazz.cast(v);
+                        if (predicate == TRUE || predicate.test(u)) {
+                            if (result.isEmpty()) {
+                                result = new ArrayList<>();
+                            }
+                            result.add(u);
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
     /** Looks up a CatalogInfo by class and identifier */
     public <U extends CatalogInfo> U findById(String id, Class<U> clazz) {
         for (Class<T> key : idMultiMap.keySet()) {
@@ -248,4 +345,57 @@ public CatalogInfoLookup<T> setCatalog(Catalog catalog) {
 
         return this;
     }
+
+    /**
+     * A secondary index, mapping the value of a property to the values having it, split by value
+     * class and sorted by name like the main name map
+     */
+    static class PropertyIndex<T extends CatalogInfo> {
+
+        final Function<T, String> keyMapper;
+
+        final ConcurrentHashMap<Class<T>, ConcurrentHashMap<String, Map<Name, T>>> multiMap =
+                new ConcurrentHashMap<>();
+
+        PropertyIndex(Function<T, String> keyMapper) {
+            this.keyMapper = keyMapper;
+        }
+
+        String getKey(T value) {
+            String key = keyMapper.apply(value);
+            return key == null ? NULL_KEY : key;
+        }
+
+        void add(Class<T> valueClass, String key, Name name, T value) {
+            multiMap.computeIfAbsent(valueClass, c -> new ConcurrentHashMap<>())
+                    .compute(
+                            key,
+                            (k, m) -> {
+                                Map<Name, T> values = m == null ? new ConcurrentSkipListMap<>() : m;
+                                values.put(name, value);
+                                return values;
+                            });
+        }
+
+        void remove(Class<T> valueClass, String key, Name name) {
+            ConcurrentHashMap<String, Map<Name, T>> keyMap = multiMap.get(valueClass);
+            if (keyMap != null) {
+                keyMap.computeIfPresent(
+                        key,
+                        (k, m) -> {
+                            m.remove(name);
+                            return m.isEmpty() ? null : m;
+                        });
+            }
+        }
+
+        Map<Name, T> get(Class<T> valueClass, String key) {
+            ConcurrentHashMap<String, Map<Name, T>> keyMap = multiMap.get(valueClass);
+            return keyMap == null ? null : keyMap.get(key);
+        }
+
+        void clear() {
+            multiMap.clear();
+        }
+    }
 }
@@ -39,7 +39,12 @@
 import org.geoserver.catalog.util.CloseableIteratorAdapter;
 import org.geoserver.ows.util.OwsUtils;
 import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.And;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.filter.sort.SortOrder;
 import org.geotools.feature.NameImpl;
@@ -94,10 +99,52 @@ public class DefaultCatalogFacade extends AbstractCatalogFacade implements Catal
                             s.getWorkspace() != null ? s.getWorkspace().getId() : null,
                             s.getName());
 
+    /** Indexed property, the workspace of stores, layer groups and styles */
+    static final String WORKSPACE_ID = "workspace.id";
+
+    /** Indexed property, the namespace of resources */
+    static final String NAMESPACE_ID = "namespace.id";
+
+    /** Indexed property, the store of resources */
+    static final String STORE_ID = "store.id";
+
+    /** Indexed property, the resource of layers */
+    static final String RESOURCE_ID = "resource.id";
+
+    /** Indexed property, the default style of layers */
+    static final String DEFAULT_STYLE_ID = "defaultStyle.id";
+
+    static String id(CatalogInfo info) {
+        return info == null ? null : info.getId();
+    }
+
+    static CatalogInfoLookup<StoreInfo> createStoreLookup() {
+        return new CatalogInfoLookup<>(STORE_NAME_MAPPER)
+                .addIndex(WORKSPACE_ID, s -> id(s.getWorkspace()));
+    }
+
+    static CatalogInfoLookup<ResourceInfo> createResourceLookup() {
+        return new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER)
+                .addIndex(NAMESPACE_ID, r -> id(r.getNamespace()))
+                .addIndex(STORE_ID, r -> id(r.getStore()));
+    }
+
+    static CatalogInfoLookup<LayerGroupInfo> createLayerGroupLookup() {
+        return new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER)
+                .addIndex(WORKSPACE_ID, lg -> id(lg.getWorkspace()));
+    }
+
+    static CatalogInfoLookup<StyleInfo> createStyleLookup() {
+        return new CatalogInfoLookup<>(STYLE_NAME_MAPPER)
+                .addIndex(WORKSPACE_ID, s -> id(s.getWorkspace()));
+    }
+
     static final class LayerInfoLookup extends CatalogInfoLookup<LayerInfo> {
 
         public LayerInfoLookup() {
             super(LAYER_NAME_MAPPER);
+            addIndex(RESOURCE_ID, l -> id(l.getResource()));
+            addIndex(DEFAULT_STYLE_ID, l -> id(l.getDefaultStyle()));
         }
 
         public void update(ResourceInfo proxiedValue) {
@@ -113,6 +160,7 @@ public void update(ResourceInfo proxiedValue) {
                 // handle case of feature type without a corresponding layer
                 if (value != null) {
                     nameMap.put(newName, value);
+                    updateIndexedName(value, oldName, newName);
                 }
             }
         }
@@ -125,14 +173,13 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
     }
 
     /** Contains the stores keyed by implementation class */
-    protected CatalogInfoLookup<StoreInfo> stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+    protected CatalogInfoLookup<StoreInfo> stores = createStoreLookup();
 
     /** The default store keyed by workspace id */
     protected Map<String, DataStoreInfo> defaultStores = new ConcurrentHashMap<>();
 
     /** resources */
-    protected CatalogInfoLookup<ResourceInfo> resources =
-            new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+    protected CatalogInfoLookup<ResourceInfo> resources = createResourceLookup();
 
     /** The default namespace */
     protected volatile NamespaceInfo defaultNamespace;
@@ -154,11 +201,10 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
     protected List<MapInfo> maps = new CopyOnWriteArrayList<>();
 
     /** layer groups */
-    protected CatalogInfoLookup<LayerGroupInfo> layerGroups =
-            new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER);
+    protected CatalogInfoLookup<LayerGroupInfo> layerGroups = createLayerGroupLookup();
 
     /** styles */
-    protected CatalogInfoLookup<StyleInfo> styles = new CatalogInfoLookup<>(STYLE_NAME_MAPPER);
+    protected CatalogInfoLookup<StyleInfo> styles = createStyleLookup();
 
     /** the catalog */
     private CatalogImpl catalog;
@@ -248,7 +294,8 @@ public <T extends StoreInfo> List<T> getStoresByWorkspace(
             ws = workspace;
         }
 
-        List<T> matches = stores.list(clazz, s -> ws.equals(s.getWorkspace()));
+        List<T> matches =
+                stores.list(clazz, WORKSPACE_ID, ws.getId(), s -> ws.equals(s.getWorkspace()));
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -373,7 +420,8 @@ public <T extends ResourceInfo> List<T> getResourcesByNamespace(
             ns = namespace;
         }
 
-        List<T> matches = resources.list(clazz, r -> ns.equals(r.getNamespace()));
+        List<T> matches =
+                resources.list(clazz, NAMESPACE_ID, ns.getId(), r -> ns.equals(r.getNamespace()));
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -410,7 +458,8 @@ private <T extends CatalogInfo> T wrapInModificationProxy(T ci, Class<T> clazz)
 
     @Override
     public <T extends ResourceInfo> List<T> getResourcesByStore(StoreInfo store, Class<T> clazz) {
-        List<T> matches = resources.list(clazz, r -> store.equals(r.getStore()));
+        List<T> matches =
+                resources.list(clazz, STORE_ID, store.getId(), r -> store.equals(r.getStore()));
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -626,13 +675,17 @@ public List<LayerGroupInfo> getLayerGroupsByWorkspace(WorkspaceInfo workspace) {
             ws = workspace;
         }
         Predicate<LayerGroupInfo> predicate;
+        String wsId;
         if (workspace == NO_WORKSPACE) {
             predicate = lg -> lg.getWorkspace() == null;
+            wsId = null;
         } else {
             predicate = lg -> ws.equals(lg.getWorkspace());
+            wsId = ws.getId();
         }
 
-        List<LayerGroupInfo> matches = layerGroups.list(LayerGroupInfo.class, predicate);
+        List<LayerGroupInfo> matches =
+                layerGroups.list(LayerGroupInfo.class, WORKSPACE_ID, wsId, predicate);
         return ModificationProxy.createList(matches, LayerGroupInfo.class);
     }
 
@@ -931,7 +984,8 @@ public List<StyleInfo> getStylesByWorkspace(WorkspaceInfo workspace) {
         // TODO: support ANY_WORKSPACE?
         List<StyleInfo> matches;
         if (workspace == NO_WORKSPACE) {
-            matches = styles.list(StyleInfo.class, s -> s.getWorkspace() == null);
+            matches =
+                    styles.list(StyleInfo.class, WORKSPACE_ID, null, s -> s.getWorkspace() == null);
         } else {
             WorkspaceInfo ws;
             if (workspace == null) {
@@ -940,7 +994,12 @@ public List<StyleInfo> getStylesByWorkspace(WorkspaceInfo workspace) {
                 ws = workspace;
             }
 
-            matches = styles.list(StyleInfo.class, s -> ws.equals(s.getWorkspace()));
+            matches =
+                    styles.list(
+                            StyleInfo.class,
+                            WORKSPACE_ID,
+                            ws.getId(),
+                            s -> ws.equals(s.getWorkspace()));
         }
 
         return ModificationProxy.createList(matches, StyleInfo.class);
@@ -982,7 +1041,7 @@ public void resolve() {
 
         // stores
         if (stores == null) {
-            stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+            stores = createStoreLookup();
         }
         for (Object o : stores.values()) {
             resolve((StoreInfoImpl) o);
@@ -990,7 +1049,7 @@ public void resolve() {
 
         // styles
         if (styles == null) {
-            styles = new CatalogInfoLookup<>(STYLE_NAME_MAPPER);
+            styles = createStyleLookup();
         }
         for (StyleInfo s : styles.values()) {
             resolve(s);
@@ -998,7 +1057,7 @@ public void resolve() {
 
         // resources
         if (resources == null) {
-            resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+            resources = createResourceLookup();
         }
         for (Object o : resources.values()) {
             resolve((ResourceInfo) o);
@@ -1014,7 +1073,7 @@ public void resolve() {
 
         // layer groups
         if (layerGroups == null) {
-            layerGroups = new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER);
+            layerGroups = createLayerGroupLookup();
         }
         for (LayerGroupInfo lg : layerGroups.values()) {
             resolve(lg);
@@ -1170,19 +1229,19 @@ public <T extends CatalogInfo> Iterable<T> iterable(
         } else if (WorkspaceInfo.class.isAssignableFrom(of)) {
             all = workspaces.list(of, toPredicate(filter));
         } else if (StoreInfo.class.isAssignableFrom(of)) {
-            all = stores.list(of, toPredicate(filter));
+            all = list(stores, of, filter);
         } else if (ResourceInfo.class.isAssignableFrom(of)) {
-            all = resources.list(of, toPredicate(filter));
+            all = list(resources, of, filter);
         } else if (LayerInfo.class.isAssignableFrom(of)) {
-            all = layers.list(of, toPredicate(filter));
+            all = list(layers, of, filter);
         } else if (LayerGroupInfo.class.isAssignableFrom(of)) {
-            all = layerGroups.list(of, toPredicate(filter));
+            all = list(layerGroups, of, filter);
         } else if (PublishedInfo.class.isAssignableFrom(of)) {
             all = new ArrayList<>();
-            all.addAll((List<T>) layers.list(LayerInfo.class, toPredicate(filter)));
-            all.addAll((List<T>) layerGroups.list(LayerGroupInfo.class, toPredicate(filter)));
+            all.addAll((List<T>) list(layers, LayerInfo.class, filter));
+            all.addAll((List<T>) list(layerGroups, LayerGroupInfo.class, filter));
         } else if (StyleInfo.class.isAssignableFrom(of)) {
-            all = styles.list(of, toPredicate(filter));
+            all = list(styles, of, filter);
         } else if (MapInfo.class.isAssignableFrom(of)) {
             all = (List<T>) new ArrayList<>(maps);
         } else {
@@ -1203,6 +1262,76 @@ public <T extends CatalogInfo> Iterable<T> iterable(
         return ModificationProxy.createList(all, of);
     }
 
+    /**
+     * Lists the values of the lookup matching the filter, using a secondary index if the filter
+     * contains an equality on an indexed property, or scanning the whole lookup otherwise
+     */
+    private <T extends CatalogInfo, U extends CatalogInfo> List<U> list(
+            CatalogInfoLookup<T> lookup, Class<U> of, Filter filter) {
+        Predicate<U> predicate = toPredicate(filter);
+        if (predicate == CatalogInfoLookup.TRUE) {
+            return lookup.list(of, predicate);
+        }
+        List<Filter> conjuncts =
+                filter instanceof And ? ((And) filter).getChildren() : List.of(filter);
+        for (Filter conjunct : conjuncts) {
+            if (conjunct instanceof PropertyIsEqualTo) {
+                String[] indexKey = getIndexKey(lookup, (PropertyIsEqualTo) conjunct);
+                if (indexKey != null) {
+                    return lookup.list(of, indexKey[0], indexKey[1], predicate);
+                }
+            }
+        }
+        return lookup.list(of, predicate);
+    }
+
+    /**
+     * Checks if the equality filter can be answered by one of the lookup secondary indexes,
+     * returning the indexed property and the key to look for, or null otherwise. Besides the
+     * indexed properties themselves, handles comparisons against a whole catalog object (e.g.
+     * {@code workspace = <WorkspaceInfo>}) and against the workspace name or namespace prefix.
+     */
+    private String[] getIndexKey(CatalogInfoLookup<?> lookup, PropertyIsEqualTo equal) {
+        if (!equal.isMatchingCase()) {
+            return null;
+        }
+        Expression e1 = equal.getExpression1();
+        Expression e2 = equal.getExpression2();
+        PropertyName pn;
+        Object value;
+        if (e1 instanceof PropertyName && e2 instanceof Literal) {
+            pn = (PropertyName) e1;
+            value = ((Literal) e2).getValue();
+        } else if (e2 instanceof PropertyName && e1 instanceof Literal) {
+            pn = (PropertyName) e2;
+            value = ((Literal) e1).getValue();
+        } else {
+            return null;
+        }
+        String property = pn.getPropertyName();
+        if (property == null || value == null) {
+            return null;
+        }
+
+        if (value instanceof CatalogInfo && lookup.isIndexed(property + ".id")) {
+            return new String[] {property + ".id", ((CatalogInfo) value).getId()};
+        } else if (!(value instanceof String)) {
+            return null;
+        } else if (lookup.isIndexed(property)) {
+            return new String[] {property, (String) value};
+        } else if (property.equals("workspace.name") && lookup.isIndexed(WORKSPACE_ID)) {
+            Name name = new NameImpl((String) value);
+            WorkspaceInfo ws = workspaces.findByName(name, WorkspaceInfo.class);
+            // no workspace with that name, no match, any non existing id will do
+            return new String[] {WORKSPACE_ID, ws == null ? (String) value : ws.getId()};
+        } else if (property.equals("namespace.prefix") && lookup.isIndexed(NAMESPACE_ID)) {
+            Name name = new NameImpl((String) value);
+            NamespaceInfo ns = namespaces.findByName(name, NamespaceInfo.class);
+            return new String[] {NAMESPACE_ID, ns == null ? (String) value : ns.getId()};
+        }
+        return null;
+    }
+
     private <T> Predicate<T> toPredicate(Filter filter) {
         if (filter != null && filter != Filter.INCLUDE) {
             return o -> filter.evaluate(o);
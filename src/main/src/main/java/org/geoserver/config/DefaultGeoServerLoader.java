@@ -92,6 +92,7 @@ protected void initializeStyles(Catalog catalog, XStreamPersister xp) throws IOE
 
     protected void executeListener(Catalog catalog, XStreamPersister xp) {
         getLoaderListener().loadCatalog(catalog, xp);
+        getLoaderListener().catalogLoaded(catalog);
     }
 
     protected void executeListener(GeoServer geoServer, XStreamPersister xp) {
@@ -23,6 +23,15 @@ public interface GeoServerLoaderListener {
      */
     void loadCatalog(Catalog catalog, XStreamPersister xp);
 
+    /**
+     * Listener method executed once the catalog is completely loaded. Loaders that defer loading
+     * part of the catalog contents (e.g., layers) to the background call it when done, some time
+     * after {@link #loadCatalog(Catalog, XStreamPersister)}, other loaders call it right after it.
+     *
+     * @param catalog GeoServer catalog instance
+     */
+    default void catalogLoaded(Catalog catalog) {}
+
     /**
      * Listener method executed after GeoServer setup loading procedure.
      *
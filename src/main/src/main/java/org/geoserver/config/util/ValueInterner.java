@@ -0,0 +1,69 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.referencing.CRS;
+
+/**
+ * Shares equal immutable values read from the configuration files among the objects using them, so
+ * that large catalogs, where many resources share the same titles, abstracts, keywords, metadata
+ * values, and native CRS, keep a single copy of each value in memory.
+ *
+ * <p>Values are held through weak references, they are released once no configuration object refers
+ * to them anymore. The sharing is enabled by setting the {@link #COMPACT_PROPERTY} property to
+ * {@code true}, it's applied by the {@link XStreamPersister} while reading the configuration.
+ */
+public class ValueInterner {
+
+    /** Enables the sharing of the configuration values */
+    public static final String COMPACT_PROPERTY = "GEOSERVER_CATALOG_COMPACT";
+
+    /** Longer strings are not worth looking up, they are unlikely to be repeated */
+    static final int MAX_STRING_LENGTH = 4096;
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+
+    private static final Cache<String, CoordinateReferenceSystem> CRS_BY_WKT =
+            CacheBuilder.newBuilder().weakValues().build();
+
+    private ValueInterner() {}
+
+    /** Returns true if the {@link #COMPACT_PROPERTY} property is set to true */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(GeoServerExtensions.getProperty(COMPACT_PROPERTY));
+    }
+
+    /** Returns the shared copy of the string, or the string itself if too long or null */
+    public static String intern(String value) {
+        if (value == null || value.length() > MAX_STRING_LENGTH) {
+            return value;
+        }
+        return STRINGS.intern(value);
+    }
+
+    /**
+     * Parses the WKT, returning the same {@link CoordinateReferenceSystem} instance for equal WKT
+     * strings
+     */
+    public static CoordinateReferenceSystem parseWKT(String wkt) throws FactoryException {
+        try {
+            return CRS_BY_WKT.get(wkt, () -> CRS.parseWKT(wkt));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof FactoryException) {
+                throw (FactoryException) e.getCause();
+            }
+            throw new FactoryException(e.getMessage(), e.getCause());
+        }
+    }
+}
@@ -279,6 +279,9 @@ protected void postEncodeWMTSStore(
     /** Flag controlling whether the persister should perform encryption on password fields */
     boolean encryptPasswordFields = true;
 
+    /** Flag controlling whether equal values read are shared, see {@link ValueInterner} */
+    boolean compact = ValueInterner.isEnabled();
+
     /** Constructs the persister and underlying xstream. */
     protected XStreamPersister() {
         this(null);
@@ -428,7 +431,7 @@ protected void init(XStream xs) {
         // ResourceInfo
         xs.omitField(impl(ResourceInfo.class), "catalog");
         xs.omitField(impl(ResourceInfo.class), "crs");
-        xs.registerLocalConverter(impl(ResourceInfo.class), "nativeCRS", new CRSConverter());
+        xs.registerLocalConverter(impl(ResourceInfo.class), "nativeCRS", new CRSConverter(compact));
         xs.registerLocalConverter(
                 impl(ResourceInfo.class), "store", new ReferenceConverter(StoreInfo.class));
         xs.registerLocalConverter(
@@ -578,7 +581,11 @@ protected void init(XStream xs) {
         xs.registerConverter(new GridGeometry2DConverter());
         xs.registerConverter(new ProxyCollectionConverter(xs.getMapper()));
         xs.registerConverter(new VirtualTableConverter());
-        xs.registerConverter(new KeywordInfoConverter());
+        xs.registerConverter(new KeywordInfoConverter(compact));
+        if (compact) {
+            // overrides the default string converter, last registered wins at the same priority
+            xs.registerConverter(new InterningStringConverter(), XStream.PRIORITY_NORMAL);
+        }
         xs.registerConverter(new SettingsInfoConverter());
         xs.registerConverter(new GeoServerInfoConverter());
         xs.registerConverter(new WMSLayerInfoConverter());
@@ -1464,6 +1471,17 @@ public Object fromString(String str) {
     /** Converter for coordinate reference system objects that converts by WKT. */
     public static class CRSConverter extends AbstractSingleValueConverter {
 
+        final boolean shared;
+
+        public CRSConverter() {
+            this(false);
+        }
+
+        /** @param shared if true, equal WKT strings are parsed into the same CRS instance */
+        public CRSConverter(boolean shared) {
+            this.shared = shared;
+        }
+
         @Override
         public boolean canConvert(Class type) {
             return CoordinateReferenceSystem.class.isAssignableFrom(type);
@@ -1477,7 +1495,7 @@ public String toString(Object obj) {
         @Override
         public Object fromString(String str) {
             try {
-                return CRS.parseWKT(str);
+                return shared ? ValueInterner.parseWKT(str) : CRS.parseWKT(str);
             } catch (Exception e) {
                 try {
                     return new SRSConverter().fromString(str);
@@ -2461,6 +2479,21 @@ static class KeywordInfoConverter extends AbstractSingleValueConverter {
                 Pattern.compile(
                         "([^\\\\]+)(?:\\\\@language=([^\\\\]+)\\\\;)?(?:\\\\@vocabulary=([^\\\\]+)\\\\;)?");
 
+        final boolean intern;
+
+        KeywordInfoConverter() {
+            this(false);
+        }
+
+        /** @param intern if true, the keyword values are shared, see {@link ValueInterner} */
+        KeywordInfoConverter(boolean intern) {
+            this.intern = intern;
+        }
+
+        private String value(String value) {
+            return intern ? ValueInterner.intern(value) : value;
+        }
+
         @Override
         public boolean canConvert(Class type) {
             return Keyword.class.isAssignableFrom(type);
@@ -2474,12 +2507,12 @@ public Object fromString(String str) {
                         String.format("%s does not match regular expression: %s", str, RE));
             }
 
-            KeywordInfo kw = new Keyword(m.group(1));
+            KeywordInfo kw = new Keyword(value(m.group(1)));
             if (m.group(2) != null) {
-                kw.setLanguage(m.group(2));
+                kw.setLanguage(value(m.group(2)));
             }
             if (m.group(3) != null) {
-                kw.setVocabulary(m.group(3));
+                kw.setVocabulary(value(m.group(3)));
             }
             return kw;
         }
@@ -2500,6 +2533,20 @@ public String toString(Object obj) {
         }
     }
 
+    /** Shares equal strings among the objects read, see {@link ValueInterner} */
+    static class InterningStringConverter extends AbstractSingleValueConverter {
+
+        @Override
+        public boolean canConvert(Class type) {
+            return String.class.equals(type);
+        }
+
+        @Override
+        public Object fromString(String str) {
+            return ValueInterner.intern(str);
+        }
+    }
+
     static class MeasureConverter extends AbstractSingleValueConverter {
 
         org.geotools.util.Converter str2Measure =
@@ -6,6 +6,7 @@
 package org.geoserver.config.util;
 
 import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
 import com.thoughtworks.xstream.io.json.JettisonMappedXmlDriver;
 import java.util.ArrayList;
 import java.util.List;
@@ -83,6 +84,14 @@ public XStreamPersister createJSONPersister(boolean alwaysSerializeCollectionsAs
         return buildPersister(driver);
     }
 
+    /**
+     * Creates an instance configured to persist in the XStream binary format, which is more compact
+     * and faster to parse than XML, but not meant to be human readable nor stable across versions.
+     */
+    public XStreamPersister createBinaryPersister() {
+        return buildPersister(new BinaryStreamDriver());
+    }
+
     /** Builds a persister and runs the initializers against it */
     private XStreamPersister buildPersister(HierarchicalStreamDriver driver) {
         XStreamPersister persister = new XStreamPersister(driver);
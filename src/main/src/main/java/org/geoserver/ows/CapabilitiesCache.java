@@ -0,0 +1,246 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import org.geoserver.config.GeoServer;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Keeps the encoded capabilities documents in memory, so that clients polling the capabilities
+ * (load balancer health checks, monitoring, desktop clients) do not cause the whole document to be
+ * rebuilt from the catalog on every request.
+ *
+ * <p>Documents are keyed by the request URL and parameters, the headers that can affect the
+ * generated URLs and language, and the name and roles of the current user. The GeoServer update
+ * sequence is part of the key too, and since it's incremented on every catalog and configuration
+ * change, any change causes the documents to be rebuilt. The documents are dropped also when the
+ * data access rules are modified, and expired after a configurable time, as some of their contents
+ * (e.g., dimension values) depend on the data.
+ *
+ * <p>The cache is disabled by default, it can be enabled by setting the {@link
+ * #MAX_MEMORY_PROPERTY} property to the amount of memory, in bytes, that can be used to store the
+ * documents. Only GET requests are cached.
+ */
+public class CapabilitiesCache implements GeoServerLifecycleHandler {
+
+    /** Memory budget for the cached documents, in bytes. Zero or missing disables the cache */
+    public static final String MAX_MEMORY_PROPERTY = "GEOSERVER_CAPABILITIES_CACHE_MAX_MEMORY";
+
+    /** Time to live of the cached documents, in seconds */
+    public static final String TTL_PROPERTY = "GEOSERVER_CAPABILITIES_CACHE_TTL";
+
+    /** Default time to live of the cached documents, in seconds */
+    public static final long DEFAULT_TTL = 60;
+
+    /** Headers that can alter the contents of the capabilities documents */
+    static final String[] HEADERS = {
+        "Host",
+        "Forwarded",
+        "X-Forwarded-Proto",
+        "X-Forwarded-Host",
+        "X-Forwarded-Path",
+        "Accept-Language"
+    };
+
+    /** Encodes a capabilities document */
+    @FunctionalInterface
+    public interface DocumentWriter {
+        void write(OutputStream output) throws IOException;
+    }
+
+    private final GeoServer geoServer;
+
+    private final DataAccessRuleDAO rules;
+
+    private final Cache<String, byte[]> cache;
+
+    private volatile long updateSequence = -1;
+
+    private volatile long rulesLastModified = -1;
+
+    public CapabilitiesCache(GeoServer geoServer, DataAccessRuleDAO rules) {
+        this(
+                geoServer,
+                rules,
+                GeoServerExtensions.getLongProperty(MAX_MEMORY_PROPERTY, 0),
+                GeoServerExtensions.getLongProperty(TTL_PROPERTY, DEFAULT_TTL));
+    }
+
+    CapabilitiesCache(
+            GeoServer geoServer, DataAccessRuleDAO rules, long maxMemory, long ttlSeconds) {
+        this.geoServer = geoServer;
+        this.rules = rules;
+        if (maxMemory > 0) {
+            this.cache =
+                    CacheBuilder.newBuilder()
+                            .maximumWeight(maxMemory)
+                            .<String, byte[]>weigher((k, v) -> k.length() + v.length)
+                            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                            .build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /** Returns true if the cache is enabled */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Writes the capabilities document for the current request to the output, either taking it from
+     * the cache, or encoding it with the provided writer and caching the result. Concurrent
+     * requests for the same document wait for a single encoding to complete.
+     */
+    public void write(OutputStream output, DocumentWriter writer) throws IOException {
+        String key = isEnabled() ? getKey(Dispatcher.REQUEST.get()) : null;
+        if (key == null) {
+            writer.write(output);
+            return;
+        }
+
+        byte[] document;
+        try {
+            document =
+                    cache.get(
+                            key,
+                            () -> {
+                                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                                writer.write(bos);
+                                return bos.toByteArray();
+                            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        output.write(document);
+    }
+
+    /**
+     * Builds the key identifying the document generated for the request, or returns null if the
+     * request cannot be cached
+     */
+    String getKey(Request request) {
+        if (request == null
+                || !request.isGet()
+                || request.getHttpRequest() == null
+                || request.getRawKvp() == null) {
+            return null;
+        }
+
+        // the update sequence changes on every catalog or configuration change, the documents
+        // built before that are stale and can be dropped right away
+        long currentSequence = geoServer.getGlobal().getUpdateSequence();
+        if (currentSequence != updateSequence) {
+            updateSequence = currentSequence;
+            cache.invalidateAll();
+        }
+
+        // same goes for the data access rules, which decide the layers being listed
+        if (rules != null) {
+            if (rules.isModified()) {
+                // not reloaded yet, let the request build the document with the new rules
+                cache.invalidateAll();
+                return null;
+            }
+            long lastModified = rules.getLastModified();
+            if (lastModified != rulesLastModified) {
+                rulesLastModified = lastModified;
+                cache.invalidateAll();
+            }
+        }
+
+        HttpServletRequest http = request.getHttpRequest();
+        StringBuilder sb = new StringBuilder();
+        sb.append(currentSequence).append('\n');
+        sb.append(http.getRequestURL()).append('\n');
+        Map<String, Object> kvp = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        kvp.putAll(request.getRawKvp());
+        for (Map.Entry<String, Object> entry : kvp.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof String[]) {
+                value = String.join(",", (String[]) value);
+            }
+            sb.append(entry.getKey().toUpperCase()).append('=').append(value).append('&');
+        }
+        sb.append('\n');
+        for (String header : HEADERS) {
+            String value = http.getHeader(header);
+            if (value != null) {
+                sb.append(header).append(':').append(value).append('\n');
+            }
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null) {
+            // rules can be assigned to single users too, not just to their roles
+            sb.append(auth.getName());
+            if (auth.getAuthorities() != null) {
+                TreeSet<String> roles = new TreeSet<>();
+                for (GrantedAuthority authority : auth.getAuthorities()) {
+                    roles.add(authority.getAuthority());
+                }
+                sb.append(roles);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /** Returns the number of cached documents */
+    public long size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /** Drops all the cached documents */
+    public void clear() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void onReset() {
+        clear();
+    }
+
+    @Override
+    public void onDispose() {
+        clear();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        clear();
+    }
+}
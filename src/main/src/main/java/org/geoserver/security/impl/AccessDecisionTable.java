@@ -0,0 +1,117 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.security.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import org.geoserver.security.AccessMode;
+import org.geoserver.security.GeoServerSecurityFilterChainProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Memoizes the access decisions taken against a {@link SecureTreeNode} tree, by set of user roles.
+ *
+ * <p>The decisions of the tree only depend on the roles of the user, so users sharing the same
+ * roles share the same table, and each decision is computed once, the first time it's needed. A new
+ * table is built every time the rules are reloaded, and swapped in place of the old one, so the
+ * decisions never need to be invalidated.
+ *
+ * <p>Decisions are not cached when security is disabled for the current request, as the tree then
+ * grants access regardless of the roles.
+ */
+class AccessDecisionTable {
+
+    /** Maximum number of distinct role sets tracked, the least recently used ones get evicted */
+    static final int MAX_ROLE_SETS = 1000;
+
+    private final SecureTreeNode root;
+
+    private final Map<List<String>, SecureTreeNode> nodes = new ConcurrentHashMap<>();
+
+    private final Cache<Set<String>, Map<List<Object>, Boolean>> decisions =
+            CacheBuilder.newBuilder().maximumSize(MAX_ROLE_SETS).build();
+
+    AccessDecisionTable(SecureTreeNode root) {
+        this.root = root;
+    }
+
+    /** The root of the tree the decisions are taken against */
+    SecureTreeNode getRoot() {
+        return root;
+    }
+
+    /** Returns {@link SecureTreeNode#getDeepestNode(String...)} for the path, caching the result */
+    SecureTreeNode getDeepestNode(String... path) {
+        return nodes.computeIfAbsent(Arrays.asList(path), p -> root.getDeepestNode(path));
+    }
+
+    /**
+     * Returns the access decision identified by the key for the user, computing it with the
+     * provided supplier if not already known for the user roles
+     *
+     * @param user the user, might be null
+     * @param key the decision key, must identify the decision among all the ones taken for the same
+     *     roles (e.g., access mode and path in the tree)
+     * @param decision computes the decision for the user
+     */
+    boolean canAccess(Authentication user, List<Object> key, BooleanSupplier decision) {
+        if (!GeoServerSecurityFilterChainProxy.isSecurityEnabledForCurrentRequest()) {
+            return decision.getAsBoolean();
+        }
+        Map<List<Object>, Boolean> table;
+        try {
+            table = decisions.get(getRoles(user), ConcurrentHashMap::new);
+        } catch (ExecutionException e) {
+            // cannot happen, the loader does not throw
+            return decision.getAsBoolean();
+        }
+        Boolean result = table.get(key);
+        if (result == null) {
+            result = decision.getAsBoolean();
+            table.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * The roles of the user, the tree grants no access to users without authorities besides the
+     * nodes open to everybody, same as for users with no roles
+     */
+    static Set<String> getRoles(Authentication user) {
+        if (user == null || user.getAuthorities() == null) {
+            return Collections.emptySet();
+        }
+        Set<String> roles = new HashSet<>();
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
+        return roles;
+    }
+
+    /** Builds a decision key out of the decision type, access mode, and tree path */
+    static List<Object> key(String type, AccessMode mode, String... path) {
+        List<Object> key = new ArrayList<>(path.length + 2);
+        key.add(type);
+        key.add(mode);
+        Collections.addAll(key, path);
+        return key;
+    }
+
+    /** Number of role sets with cached decisions */
+    long getRoleSetCount() {
+        return decisions.size();
+    }
+}
@@ -112,6 +112,9 @@ public SecureTreeNode getNode() {
 
     SecureTreeNode root;
 
+    /** Memoized decisions of the {@link #root} tree, replaced along with it */
+    volatile AccessDecisionTable decisions;
+
     DataAccessRuleDAO dao;
 
     Catalog rawCatalog;
@@ -128,6 +131,7 @@ public DefaultResourceAccessManager(DataAccessRuleDAO dao, Catalog rawCatalog) {
         this.dao = dao;
         this.rawCatalog = rawCatalog;
         this.root = buildAuthorizationTree(dao);
+        this.decisions = new AccessDecisionTable(root);
     }
 
     /**
@@ -145,20 +149,23 @@ public CatalogMode getMode() {
 
     public boolean canAccess(Authentication user, WorkspaceInfo workspace, AccessMode mode) {
         checkPropertyFile();
-        SecureTreeNode node = root.getDeepestNode(new String[] {workspace.getName()});
-        if (node.canAccess(user, mode)) {
-            return true;
-        }
+        AccessDecisionTable table = decisions;
+        String name = workspace.getName();
+        return table.canAccess(
+                user,
+                AccessDecisionTable.key("workspace", mode, name),
+                () -> {
+                    SecureTreeNode node = table.getDeepestNode(name);
+                    if (node.canAccess(user, mode)) {
+                        return true;
+                    }
 
-        // perform a drill down search, we still allow access to the workspace
-        // if there is anything inside the workspace that can be read (otherwise
-        // we are denying access to everything below it, which is not the spirit of the
-        // tree override design)
-        if (mode == AccessMode.READ && canAccessChild(node, user, mode)) {
-            return true;
-        } else {
-            return false;
-        }
+                    // perform a drill down search, we still allow access to the workspace
+                    // if there is anything inside the workspace that can be read (otherwise
+                    // we are denying access to everything below it, which is not the spirit of
+                    // the tree override design)
+                    return mode == AccessMode.READ && canAccessChild(node, user, mode);
+                });
     }
 
     /**
@@ -213,9 +220,14 @@ public boolean canAccess(
 
         // if we have a catalog rule that is at resource level, it's the most specific type,
         // it wins. Or it could be that we do not need to check layer groups at all
-        SecureTreeNode securityNode = root.getDeepestNode(new String[] {workspace, resourceName});
+        AccessDecisionTable table = decisions;
+        SecureTreeNode securityNode = table.getDeepestNode(workspace, resourceName);
         int catalogNodeDepth = securityNode.getDepth();
-        boolean rulesAllowAccess = securityNode.canAccess(user, mode);
+        boolean rulesAllowAccess =
+                table.canAccess(
+                        user,
+                        AccessDecisionTable.key("resource", mode, workspace, resourceName),
+                        () -> securityNode.canAccess(user, mode));
         if (catalogNodeDepth == SecureTreeNode.RESOURCE_DEPTH
                 || !layerGroupContainmentCheckRequired()) {
             return rulesAllowAccess;
@@ -346,7 +358,9 @@ public void reload() {
     private void rebuildAuthorizationTree(boolean force) {
         long daoLastModified = dao.getLastModified();
         if (lastLoaded < daoLastModified || force) {
-            root = buildAuthorizationTree(dao);
+            SecureTreeNode newRoot = buildAuthorizationTree(dao);
+            decisions = new AccessDecisionTable(newRoot);
+            root = newRoot;
             lastLoaded = daoLastModified;
         }
     }
@@ -487,8 +501,13 @@ public LayerGroupAccessLimits getAccessLimits(
     private boolean canAccess(
             Authentication user, LayerGroupInfo layerGroup, boolean directAccess) {
         String[] path = getLayerGroupPath(layerGroup);
-        SecureTreeNode node = root.getDeepestNode(path);
-        boolean catalogNodeAllowsAccess = node.canAccess(user, AccessMode.READ);
+        AccessDecisionTable table = decisions;
+        SecureTreeNode node = table.getDeepestNode(path);
+        boolean catalogNodeAllowsAccess =
+                table.canAccess(
+                        user,
+                        AccessDecisionTable.key("group", AccessMode.READ, path),
+                        () -> node.canAccess(user, AccessMode.READ));
         boolean allowAccess;
         if (node != null && !catalogNodeAllowsAccess) {
             allowAccess = false;
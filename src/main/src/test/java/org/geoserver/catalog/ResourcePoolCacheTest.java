@@ -0,0 +1,128 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ResourcePoolCacheTest {
+
+    static class DisposingCache extends ResourcePoolCache<String, Object> {
+
+        List<String> disposed = new ArrayList<>();
+
+        DisposingCache(long maximumSize) {
+            super("test", maximumSize, 0);
+        }
+
+        @Override
+        protected void dispose(String key, Object value) {
+            disposed.add(key);
+        }
+    }
+
+    @Test
+    public void testMaximumSize() {
+        DisposingCache cache = new DisposingCache(2);
+        cache.put("a", new Object());
+        cache.put("b", new Object());
+        cache.put("c", new Object());
+        assertEquals(2, cache.size());
+        assertEquals(List.of("a"), cache.disposed);
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    public void testDispose() {
+        DisposingCache cache = new DisposingCache(10);
+        cache.put("a", new Object());
+        cache.put("b", new Object());
+        // replacing does not dispose, the value might still be in use
+        cache.put("a", new Object());
+        assertEquals(List.of(), cache.disposed);
+
+        cache.remove("a");
+        assertEquals(List.of("a"), cache.disposed);
+        cache.clear();
+        assertEquals(List.of("a", "b"), cache.disposed);
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        ResourcePoolCache<String, String> cache = new ResourcePoolCache<>("test", 10, 0);
+        assertNull(cache.get("a"));
+        assertEquals("A", cache.get("a", () -> "A"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("A", cache.get("a", () -> "B"));
+
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(1, cache.stats().loadSuccessCount());
+    }
+
+    @Test
+    public void testLoadFailure() {
+        ResourcePoolCache<String, String> cache = new ResourcePoolCache<>("test", 10, 0);
+        IOException error = new IOException("failed");
+        IOException thrown =
+                assertThrows(
+                        IOException.class,
+                        () ->
+                                cache.get(
+                                        "a",
+                                        () -> {
+                                            throw error;
+                                        }));
+        assertSame(error, thrown);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.stats().loadExceptionCount());
+    }
+
+    @Test
+    public void testConcurrentLoads() throws Exception {
+        ResourcePoolCache<String, Object> cache = new ResourcePoolCache<>("test", 10, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    start.await();
+                                    return cache.get(
+                                            "a",
+                                            () -> {
+                                                loads.incrementAndGet();
+                                                Thread.sleep(50);
+                                                return new Object();
+                                            });
+                                }));
+            }
+            start.countDown();
+            Object value = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(value, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -45,6 +45,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -124,7 +125,6 @@
 import org.geotools.ows.ServiceException;
 import org.geotools.referencing.CRS;
 import org.geotools.styling.AbstractStyleVisitor;
-import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.URLs;
 import org.geotools.util.Version;
 import org.geotools.util.factory.FactoryRegistry;
@@ -385,16 +385,32 @@ protected void dispose(String name, DataAccess dataStore) {
     public void testConfigureFeatureTypeCacheSize() {
         GeoServer gs = getGeoServer();
         GeoServerInfo global = gs.getGlobal();
-        global.setFeatureTypeCacheSize(200);
-        gs.save(global);
-
         Catalog catalog = getCatalog();
-        // we actually keep two versions of the feature type in the cache, so we need it
-        // twice as big
-        assertEquals(
-                400,
-                ((SoftValueHashMap) catalog.getResourcePool().getFeatureTypeCache())
-                        .getHardReferencesCount());
+        try {
+            // the configured size used to be the number of hard references, with the other
+            // feature types softly referenced, the cache can grow up to the larger default bound
+            global.setFeatureTypeCacheSize(200);
+            gs.save(global);
+            // we actually keep two versions of the feature type in the cache, so we need it
+            // twice as big
+            assertEquals(
+                    ResourcePool.FEATURETYPE_CACHE_MAX_SIZE_DEFAULT * 2,
+                    ((ResourcePoolCache) catalog.getResourcePool().getFeatureTypeCache())
+                            .getMaximumSize());
+
+            // a configured size larger than the bound wins
+            System.setProperty(ResourcePool.FEATURETYPE_CACHE_SIZE_PROPERTY, "100");
+            global.setFeatureTypeCacheSize(300);
+            gs.save(global);
+            assertEquals(
+                    600,
+                    ((ResourcePoolCache) catalog.getResourcePool().getFeatureTypeCache())
+                            .getMaximumSize());
+        } finally {
+            System.clearProperty(ResourcePool.FEATURETYPE_CACHE_SIZE_PROPERTY);
+            global.setFeatureTypeCacheSize(ResourcePool.FEATURETYPE_CACHE_SIZE_DEFAULT);
+            gs.save(global);
+        }
     }
 
     @Test
@@ -1187,6 +1203,48 @@ public void testNonBlockingThreadOnGetStore() throws Exception {
         }
     }
 
+    @Test
+    public void testConnectDataStores() throws Exception {
+        Catalog catalog = getCatalog();
+        ResourcePool pool = ResourcePool.create(catalog);
+        try {
+            pool.connectDataStores(4).get(60, TimeUnit.SECONDS);
+            for (DataStoreInfo store : catalog.getDataStores()) {
+                if (store.isEnabled()) {
+                    assertNotNull(pool.dataStoreCache.get(store.getId()));
+                    assertTrue(pool.getDataStoreConnectTimes().containsKey(store.getId()));
+                }
+            }
+            assertTrue(pool.dataStoreConnections.isEmpty());
+        } finally {
+            pool.dispose();
+        }
+    }
+
+    @Test
+    public void testClearPendingConnection() throws Exception {
+        Catalog catalog = getCatalog();
+        DataStoreInfo store =
+                catalog.getDataStoreByName(MockData.CITE_PREFIX, MockData.CITE_PREFIX);
+        ResourcePool pool = ResourcePool.create(catalog);
+        try {
+            // simulate a connection in progress, started before the store configuration changed
+            CompletableFuture<DataAccess<? extends FeatureType, ? extends Feature>> pending =
+                    new CompletableFuture<>();
+            pool.dataStoreConnections.put(store.getId(), pending);
+
+            pool.clear(store);
+            assertTrue(pending.isCancelled());
+            assertFalse(pool.dataStoreConnections.containsKey(store.getId()));
+
+            // the next request connects again, instead of waiting for the old connection
+            assertNotNull(pool.getDataStore(store));
+            assertNotNull(pool.dataStoreCache.get(store.getId()));
+        } finally {
+            pool.dispose();
+        }
+    }
+
     @Test
     public void testConcurrencyOnFeatureTypeCache() throws Exception {
         ResourcePool pool = null;
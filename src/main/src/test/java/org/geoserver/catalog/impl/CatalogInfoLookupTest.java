@@ -0,0 +1,111 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import static org.geoserver.catalog.impl.DefaultCatalogFacade.WORKSPACE_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test suite for the {@link CatalogInfoLookup} secondary indexes */
+public class CatalogInfoLookupTest {
+
+    private WorkspaceInfo ws1, ws2;
+    private DataStoreInfo ds1_a, ds1_b, ds2_a;
+
+    private CatalogInfoLookup<StoreInfo> lookup;
+
+    @Before
+    public void setUp() {
+        ws1 = createWorkspace("ws1");
+        ws2 = createWorkspace("ws2");
+        ds1_b = createStore("b", ws1);
+        ds1_a = createStore("a", ws1);
+        ds2_a = createStore("a", ws2);
+        lookup = DefaultCatalogFacade.createStoreLookup();
+        lookup.add(ds1_b);
+        lookup.add(ds1_a);
+        lookup.add(ds2_a);
+    }
+
+    private WorkspaceInfo createWorkspace(String name) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(name + "-id");
+        ws.setName(name);
+        return ws;
+    }
+
+    private DataStoreInfo createStore(String name, WorkspaceInfo ws) {
+        DataStoreInfoImpl ds = new DataStoreInfoImpl(null, ws.getName() + "-" + name + "-id");
+        ds.setName(name);
+        ds.setWorkspace(ws);
+        return ds;
+    }
+
+    private List<DataStoreInfo> byWorkspace(WorkspaceInfo ws) {
+        return lookup.list(
+                DataStoreInfo.class, WORKSPACE_ID, ws.getId(), CatalogInfoLookup.ptrue());
+    }
+
+    @Test
+    public void testList() {
+        // same order as the name sorted full scan
+        assertEquals(List.of(ds1_a, ds1_b), byWorkspace(ws1));
+        assertEquals(List.of(ds2_a), byWorkspace(ws2));
+        assertEquals(
+                List.of(ds1_b),
+                lookup.list(
+                        DataStoreInfo.class,
+                        WORKSPACE_ID,
+                        ws1.getId(),
+                        s -> "b".equals(s.getName())));
+        assertTrue(
+                lookup.list(StoreInfo.class, WORKSPACE_ID, null, CatalogInfoLookup.ptrue())
+                        .isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        lookup.remove(ds1_a);
+        assertEquals(List.of(ds1_b), byWorkspace(ws1));
+        lookup.remove(ds1_b);
+        assertTrue(byWorkspace(ws1).isEmpty());
+        assertEquals(List.of(ds2_a), byWorkspace(ws2));
+    }
+
+    @Test
+    public void testClear() {
+        lookup.clear();
+        assertTrue(byWorkspace(ws1).isEmpty());
+        assertTrue(byWorkspace(ws2).isEmpty());
+    }
+
+    @Test
+    public void testUpdateWorkspace() {
+        DataStoreInfo proxied = ModificationProxy.create(ds1_b, DataStoreInfo.class);
+        proxied.setWorkspace(ws2);
+        lookup.update(proxied);
+        ModificationProxy.handler(proxied).commit();
+
+        assertEquals(List.of(ds1_a), byWorkspace(ws1));
+        assertEquals(List.of(ds2_a, ds1_b), byWorkspace(ws2));
+    }
+
+    @Test
+    public void testUpdateName() {
+        DataStoreInfo proxied = ModificationProxy.create(ds1_b, DataStoreInfo.class);
+        proxied.setName("0");
+        lookup.update(proxied);
+        ModificationProxy.handler(proxied).commit();
+
+        assertEquals(List.of(ds1_b, ds1_a), byWorkspace(ws1));
+    }
+}
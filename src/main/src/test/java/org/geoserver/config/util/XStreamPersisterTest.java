@@ -13,6 +13,7 @@
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -704,6 +705,54 @@ public void testFeatureType() throws Exception {
         assertTrue(CRS.equalsIgnoreMetadata(CRS.decode("EPSG:4326"), ft.getNativeCRS()));
     }
 
+    @Test
+    public void testCompactFeatureType() throws Exception {
+        Catalog catalog = new CatalogImpl();
+        CatalogFactory cFactory = catalog.getFactory();
+
+        WorkspaceInfo ws = cFactory.createWorkspace();
+        ws.setName("foo");
+        catalog.add(ws);
+
+        NamespaceInfo ns = cFactory.createNamespace();
+        ns.setPrefix("acme");
+        ns.setURI("http://acme.org");
+        catalog.add(ns);
+
+        DataStoreInfo ds = cFactory.createDataStore();
+        ds.setWorkspace(ws);
+        ds.setName("foo");
+        catalog.add(ds);
+
+        FeatureTypeInfo ft = cFactory.createFeatureType();
+        ft.setStore(ds);
+        ft.setNamespace(ns);
+        ft.setName("ft");
+        ft.setAbstract("An abstract long enough not to be cached by the default converter");
+        ft.getKeywords().add(new Keyword("keyword"));
+        ft.setSRS("EPSG:4326");
+        ft.setNativeCRS(CRS.decode("EPSG:4326"));
+
+        ByteArrayOutputStream out = out();
+        persister.save(ft, out);
+
+        System.setProperty(ValueInterner.COMPACT_PROPERTY, "true");
+        try {
+            XStreamPersister compact = new XStreamPersisterFactory().createXMLPersister();
+            compact.setCatalog(catalog);
+            FeatureTypeInfo ft1 = compact.load(in(out), FeatureTypeInfo.class);
+            FeatureTypeInfo ft2 = compact.load(in(out), FeatureTypeInfo.class);
+
+            assertEquals(ft.getAbstract(), ft1.getAbstract());
+            assertSame(ft1.getAbstract(), ft2.getAbstract());
+            assertSame(ft1.getNativeCRS(), ft2.getNativeCRS());
+            assertSame(ft1.getKeywords().get(0).getValue(), ft2.getKeywords().get(0).getValue());
+            assertTrue(CRS.equalsIgnoreMetadata(CRS.decode("EPSG:4326"), ft1.getNativeCRS()));
+        } finally {
+            System.clearProperty(ValueInterner.COMPACT_PROPERTY);
+        }
+    }
+
     @Test
     public void testAstronomicFeautureType() throws Exception {
         Catalog catalog = new CatalogImpl();
@@ -0,0 +1,174 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geoserver.config.GeoServerInfo;
+import org.geoserver.config.impl.GeoServerImpl;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class CapabilitiesCacheTest {
+
+    GeoServerImpl geoServer;
+
+    DataAccessRuleDAO rules;
+
+    CapabilitiesCache cache;
+
+    AtomicInteger encodings = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        geoServer = new GeoServerImpl();
+        rules = mock(DataAccessRuleDAO.class);
+        when(rules.getLastModified()).thenReturn(1L);
+        cache = new CapabilitiesCache(geoServer, rules, 1024 * 1024, 60);
+    }
+
+    @After
+    public void tearDown() {
+        Dispatcher.REQUEST.remove();
+        SecurityContextHolder.clearContext();
+    }
+
+    private void setupRequest(String service, String version) {
+        MockHttpServletRequest http = new MockHttpServletRequest("GET", "/geoserver/ows");
+        Map<String, Object> kvp = new HashMap<>();
+        kvp.put("service", service);
+        kvp.put("version", version);
+        kvp.put("request", "GetCapabilities");
+        Request request = new Request();
+        request.setHttpRequest(http);
+        request.setGet(true);
+        request.setRawKvp(kvp);
+        Dispatcher.REQUEST.set(request);
+    }
+
+    private String write() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.write(
+                bos, out -> out.write(("document " + encodings.incrementAndGet()).getBytes(UTF_8)));
+        return bos.toString(UTF_8);
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        setupRequest("WMS", "1.3.0");
+        assertEquals("document 1", write());
+        assertEquals("document 1", write());
+        assertEquals(1, cache.size());
+
+        // different version, different document
+        setupRequest("WMS", "1.1.1");
+        assertEquals("document 2", write());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testUpdateSequence() throws Exception {
+        setupRequest("WMS", "1.3.0");
+        assertEquals("document 1", write());
+
+        GeoServerInfo global = geoServer.getGlobal();
+        global.setUpdateSequence(global.getUpdateSequence() + 1);
+        geoServer.save(global);
+
+        assertEquals("document 2", write());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRoles() throws Exception {
+        setupRequest("WFS", "2.0.0");
+        assertEquals("document 1", write());
+
+        TestingAuthenticationToken auth =
+                new TestingAuthenticationToken(
+                        "user", "pwd", List.of(new SimpleGrantedAuthority("ROLE_EDITOR")));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        assertEquals("document 2", write());
+        assertEquals("document 2", write());
+    }
+
+    @Test
+    public void testUsers() throws Exception {
+        setupRequest("WFS", "2.0.0");
+
+        // same roles, but the rules can be different for each user
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new TestingAuthenticationToken(
+                                "alice",
+                                "pwd",
+                                List.of(new SimpleGrantedAuthority("ROLE_EDITOR"))));
+        assertEquals("document 1", write());
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new TestingAuthenticationToken(
+                                "bob", "pwd", List.of(new SimpleGrantedAuthority("ROLE_EDITOR"))));
+        assertEquals("document 2", write());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testRulesModified() throws Exception {
+        setupRequest("WMS", "1.3.0");
+        assertEquals("document 1", write());
+        assertEquals("document 1", write());
+
+        // the rules file changed, but was not reloaded yet
+        when(rules.isModified()).thenReturn(true);
+        assertEquals("document 2", write());
+        assertEquals(0, cache.size());
+
+        // reloaded, documents are cached again
+        when(rules.isModified()).thenReturn(false);
+        when(rules.getLastModified()).thenReturn(2L);
+        assertEquals("document 3", write());
+        assertEquals("document 3", write());
+
+        // rules changed from the user interface
+        when(rules.getLastModified()).thenReturn(3L);
+        assertEquals("document 4", write());
+    }
+
+    @Test
+    public void testNotCacheable() throws Exception {
+        setupRequest("WFS", "2.0.0");
+        Dispatcher.REQUEST.get().setGet(false);
+        assertNull(cache.getKey(Dispatcher.REQUEST.get()));
+        assertEquals("document 1", write());
+        assertEquals("document 2", write());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        cache = new CapabilitiesCache(geoServer, rules, 0, 60);
+        assertFalse(cache.isEnabled());
+        setupRequest("WFS", "2.0.0");
+        assertEquals("document 1", write());
+        assertEquals("document 2", write());
+    }
+}
@@ -4,13 +4,20 @@
  */
 package org.geoserver.security.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.security.AccessMode;
 import org.geoserver.security.WorkspaceAccessLimits;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -39,4 +46,43 @@ public void getAccessLimits() {
 
         assertNotNull(workspaceAccessLimits);
     }
+
+    @Test
+    public void testDecisionTable() {
+        DataAccessRuleDAO dao = mock(DataAccessRuleDAO.class);
+        when(dao.getRules())
+                .thenReturn(List.of(new DataAccessRule("topp", "*", AccessMode.READ, "ROLE_A")));
+        when(dao.getLastModified()).thenReturn(1L);
+        DefaultResourceAccessManager manager =
+                new DefaultResourceAccessManager(dao, mock(Catalog.class));
+
+        WorkspaceInfo topp = mock(WorkspaceInfo.class);
+        when(topp.getName()).thenReturn("topp");
+        Authentication userA = user("ROLE_A");
+        Authentication userB = user("ROLE_B");
+
+        assertTrue(manager.canAccess(userA, topp, AccessMode.READ));
+        assertFalse(manager.canAccess(userB, topp, AccessMode.READ));
+        // same roles, same answers out of the table
+        assertTrue(manager.canAccess(user("ROLE_A"), topp, AccessMode.READ));
+        AccessDecisionTable decisions = manager.decisions;
+        assertEquals(2, decisions.getRoleSetCount());
+
+        // rules change, the table is rebuilt
+        when(dao.getRules())
+                .thenReturn(List.of(new DataAccessRule("topp", "*", AccessMode.READ, "ROLE_B")));
+        when(dao.getLastModified()).thenReturn(2L);
+        assertFalse(manager.canAccess(userA, topp, AccessMode.READ));
+        assertTrue(manager.canAccess(userB, topp, AccessMode.READ));
+        assertNotSame(decisions, manager.decisions);
+    }
+
+    private Authentication user(String role) {
+        Authentication user = mock(Authentication.class);
+        Collection<? extends GrantedAuthority> authorities =
+                Collections.singletonList(new GeoServerRole(role));
+        Mockito.<Collection<? extends GrantedAuthority>>when(user.getAuthorities())
+                .thenReturn(authorities);
+        return user;
+    }
 }
@@ -0,0 +1,251 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geoserver.platform.ExtensionFilter;
+import org.geoserver.platform.ExtensionPriority;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Service;
+import org.geotools.util.Version;
+
+/**
+ * Snapshot of the extensions the {@link Dispatcher} needs to handle a request: services, request
+ * readers, responses, and exception handlers. It is built once, on the first request, and replaced
+ * when the application context is refreshed, so that requests do not need to look up and sort the
+ * extensions every time.
+ *
+ * <p>Lookups that only depend on static properties of the extensions, such as the request reader
+ * for a request type, or the responses whose binding matches a result type, are computed once and
+ * memoized. Checks depending on the operation being run, like {@link Response#canHandle} and the
+ * output formats, are still performed by the dispatcher on every request.
+ *
+ * <p>The table holds the bean names, along with an instance used to read the static properties.
+ * Extensions are resolved on each lookup, so that prototype beans, which keep per request state,
+ * are created again for each request, and the {@link ExtensionFilter}s are run every time, as they
+ * can change their mind from call to call.
+ */
+class DispatchTable {
+
+    private final List<Entry<Service>> services;
+
+    private final Map<String, List<Entry<Service>>> servicesById;
+
+    private final Set<Version> versions;
+
+    private final List<Entry<KvpRequestReader>> kvpReaders;
+
+    private final List<Entry<XmlRequestReader>> xmlReaders;
+
+    private final List<Entry<Response>> responses;
+
+    private final List<Entry<ServiceExceptionHandler>> exceptionHandlers;
+
+    private final Map<Class<?>, List<Entry<KvpRequestReader>>> kvpReadersByType =
+            new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, List<Entry<Response>>> responsesByType = new ConcurrentHashMap<>();
+
+    DispatchTable() {
+        this.services = load(Service.class);
+        Dispatcher.checkServices(templates(services));
+        Map<String, List<Entry<Service>>> byId = new LinkedHashMap<>();
+        Set<Version> versions = new HashSet<>();
+        for (Entry<Service> entry : services) {
+            Service service = entry.template;
+            byId.computeIfAbsent(key(service.getId()), k -> new ArrayList<>()).add(entry);
+            if (service.getVersion() != null) {
+                versions.add(service.getVersion());
+            }
+        }
+        byId.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        this.servicesById = Collections.unmodifiableMap(byId);
+        this.versions = Collections.unmodifiableSet(versions);
+        this.kvpReaders = checkDuplicates(load(KvpRequestReader.class), "kvp readers");
+        this.xmlReaders = checkDuplicates(load(XmlRequestReader.class), "xml readers");
+        this.responses = load(Response.class);
+        this.exceptionHandlers = load(ServiceExceptionHandler.class);
+    }
+
+    /**
+     * Loads the extensions of the given type, without filtering them, sorted by {@link
+     * ExtensionPriority}. A bean returning a different object on each lookup is a prototype.
+     * Extensions not coming from a bean, like the SPI ones or the ones of the {@link
+     * org.geoserver.platform.ExtensionProvider}s, are filtered here and then shared.
+     */
+    private static <T> List<Entry<T>> load(Class<T> type) {
+        List<Entry<T>> result = new ArrayList<>();
+        Set<Object> beans = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Class<?>> prototypes = new HashSet<>();
+        for (String name : GeoServerExtensions.extensionNames(type)) {
+            Object bean = GeoServerExtensions.bean(name);
+            if (bean == null) {
+                continue;
+            }
+            boolean prototype = bean != GeoServerExtensions.bean(name);
+            if (prototype) {
+                prototypes.add(bean.getClass());
+            }
+            beans.add(bean);
+            result.add(new Entry<>(name, type.cast(bean), prototype));
+        }
+        for (T extension : GeoServerExtensions.extensions(type)) {
+            if (!beans.contains(extension) && !prototypes.contains(extension.getClass())) {
+                result.add(new Entry<>(null, extension, false));
+            }
+        }
+        result.sort(Comparator.comparing((Entry<T> e) -> e.template, ExtensionPriority.COMPARATOR));
+        return Collections.unmodifiableList(result);
+    }
+
+    private static <T> List<Entry<T>> checkDuplicates(List<Entry<T>> entries, String what) {
+        List<T> templates = templates(entries);
+        if (new HashSet<>(templates).size() != templates.size()) {
+            String msg = "Two identical " + what + " found";
+            for (int i = 0; i < templates.size(); i++) {
+                for (int j = i + 1; j < templates.size(); j++) {
+                    if (templates.get(i).equals(templates.get(j))) {
+                        msg += ": " + templates.get(i) + " and " + templates.get(j);
+                        throw new IllegalStateException(msg);
+                    }
+                }
+            }
+            throw new IllegalStateException(msg);
+        }
+        return entries;
+    }
+
+    private static <T> List<T> templates(Collection<Entry<T>> entries) {
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            result.add(entry.template);
+        }
+        return result;
+    }
+
+    /** Returns the extensions to be used by the current request, skipping the filtered ones */
+    private static <T> List<T> resolve(Collection<Entry<T>> entries) {
+        List<ExtensionFilter> filters = GeoServerExtensions.extensions(ExtensionFilter.class);
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            T extension = entry.get();
+            if (!exclude(entry.name, extension, filters)) {
+                result.add(extension);
+            }
+        }
+        return result;
+    }
+
+    private static boolean exclude(String name, Object extension, List<ExtensionFilter> filters) {
+        for (ExtensionFilter filter : filters) {
+            if (filter.exclude(name, extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String id) {
+        return id == null ? null : id.toLowerCase(Locale.ENGLISH);
+    }
+
+    /** Returns all the services */
+    List<Service> getServices() {
+        return resolve(services);
+    }
+
+    /** Returns the services with the given id, ignoring case */
+    List<Service> getServices(String id) {
+        List<Entry<Service>> matches = servicesById.get(key(id));
+        return matches == null ? Collections.emptyList() : resolve(matches);
+    }
+
+    /** Returns true if a service with the given version exists */
+    boolean hasVersion(Version version) {
+        return versions.contains(version);
+    }
+
+    /** Returns the xml request readers */
+    List<XmlRequestReader> getXmlReaders() {
+        return resolve(xmlReaders);
+    }
+
+    /** Returns the service exception handlers */
+    List<ServiceExceptionHandler> getExceptionHandlers() {
+        return resolve(exceptionHandlers);
+    }
+
+    /** Returns the most specific kvp request reader for the request type, or null if none */
+    KvpRequestReader getKvpRequestReader(Class<?> type) {
+        List<Entry<KvpRequestReader>> matches =
+                kvpReadersByType.computeIfAbsent(
+                        type,
+                        t -> {
+                            List<Entry<KvpRequestReader>> result = new ArrayList<>();
+                            for (Entry<KvpRequestReader> entry : kvpReaders) {
+                                if (entry.template.getRequestBean().isAssignableFrom(t)) {
+                                    result.add(entry);
+                                }
+                            }
+                            return Collections.unmodifiableList(result);
+                        });
+        return matches.isEmpty() ? null : Dispatcher.findKvpRequestReader(type, resolve(matches));
+    }
+
+    /**
+     * Returns the responses whose binding is compatible with the result type, in extension order.
+     * The returned list is a copy the caller can modify.
+     */
+    List<Response> getResponses(Class<?> resultType) {
+        List<Entry<Response>> matches =
+                responsesByType.computeIfAbsent(
+                        resultType,
+                        t -> {
+                            List<Entry<Response>> result = new ArrayList<>();
+                            for (Entry<Response> entry : responses) {
+                                if (entry.template.getBinding().isAssignableFrom(t)) {
+                                    result.add(entry);
+                                }
+                            }
+                            return Collections.unmodifiableList(result);
+                        });
+        return resolve(matches);
+    }
+
+    /**
+     * An extension of the table: the name of the bean it comes from, if any, and an instance used
+     * to check its static properties, which is also the one returned unless the bean is a prototype
+     */
+    static final class Entry<T> {
+
+        final String name;
+
+        final T template;
+
+        final boolean prototype;
+
+        Entry(String name, T template, boolean prototype) {
+            this.name = name;
+            this.template = template;
+            this.prototype = prototype;
+        }
+
+        @SuppressWarnings("unchecked")
+        T get() {
+            return prototype ? (T) GeoServerExtensions.bean(name) : template;
+        }
+    }
+}
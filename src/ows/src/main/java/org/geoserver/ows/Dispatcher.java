@@ -65,6 +65,8 @@
 import org.geotools.xsd.EMFUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.AbstractController;
@@ -117,7 +119,8 @@
  *
  * @author Justin Deoliveira, The Open Planning Project, jdeolive@openplans.org
  */
-public class Dispatcher extends AbstractController {
+public class Dispatcher extends AbstractController
+        implements ApplicationListener<ContextRefreshedEvent> {
     /** Logging instance */
     static Logger logger = Logging.getLogger("org.geoserver.ows");
 
@@ -135,6 +138,9 @@ public class Dispatcher extends AbstractController {
     /** list of callbacks */
     List<DispatcherCallback> callbacks = Collections.emptyList();
 
+    /** the extensions used to dispatch requests, built on first use */
+    volatile DispatchTable dispatchTable;
+
     /** SOAP namespaces */
     public static final String SOAP_12_NS = "http://www.w3.org/2003/05/soap-envelope";
 
@@ -205,6 +211,27 @@ protected void initApplicationContext(ApplicationContext context) {
         }
     }
 
+    /** Drops the dispatch table, so that it gets rebuilt on the next request */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        dispatchTable = null;
+    }
+
+    /** Returns the dispatch table, building it if needed */
+    DispatchTable getDispatchTable() {
+        DispatchTable table = dispatchTable;
+        if (table == null) {
+            synchronized (this) {
+                table = dispatchTable;
+                if (table == null) {
+                    table = new DispatchTable();
+                    dispatchTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
     protected void preprocessRequest(HttpServletRequest request) throws Exception {
         // set the charset
 
@@ -812,18 +839,8 @@ else if (parameterType.isAssignableFrom(InputStream.class)) {
                     }
 
                     // make sure the versoin actually exists
-                    boolean found = false;
                     Version version = new Version(req.getVersion());
-
-                    for (Service service : loadServices()) {
-                        if (version.equals(service.getVersion())) {
-                            found = true;
-
-                            break;
-                        }
-                    }
-
-                    if (!found) {
+                    if (!getDispatchTable().hasVersion(version)) {
                         throw new ServiceException(
                                 "Invalid version: " + req.getVersion(),
                                 "InvalidParameterValue",
@@ -927,18 +944,15 @@ Object fireOperationExecutedCallback(Request req, Operation op, Object result) {
     void response(Object result, Request req, Operation opDescriptor) throws Throwable {
         // step 6: write response
         if (result != null) {
-            // look up respones
-            List<Response> responses = GeoServerExtensions.extensions(Response.class);
+            // look up respones, already filtered by binding
+            List<Response> responses = getDispatchTable().getResponses(result.getClass());
 
-            // first filter by binding, and canHandle
+            // filter by canHandle
             O:
             for (Iterator itr = responses.iterator(); itr.hasNext(); ) {
                 Response response = (Response) itr.next();
 
-                Class<?> binding = response.getBinding();
-
-                if (!binding.isAssignableFrom(result.getClass())
-                        || !response.canHandle(opDescriptor)) {
+                if (!response.canHandle(opDescriptor)) {
                     itr.remove();
 
                     continue;
@@ -1163,8 +1177,10 @@ Response fireResponseDispatchedCallback(
     }
 
     Collection<Service> loadServices() {
-        Collection<Service> services = GeoServerExtensions.extensions(Service.class);
+        return getDispatchTable().getServices();
+    }
 
+    static Collection<Service> checkServices(Collection<Service> services) {
         if (!(new HashSet<>(services).size() == services.size())) {
             String msg = "Two identical service descriptors found";
             throw new IllegalStateException(msg);
@@ -1175,7 +1191,6 @@ Collection<Service> loadServices() {
 
     Service findService(String id, String ver, String namespace) throws ServiceException {
         Version version = (ver != null) ? new Version(ver) : null;
-        Collection<Service> services = loadServices();
 
         // the id is actually the pathinfo, in case workspace specific services
         // are active we want to skip the workspace part in the path and go directly to the
@@ -1185,13 +1200,7 @@ Service findService(String id, String ver, String namespace) throws ServiceExcep
         }
 
         // first just match on service,request
-        List<Service> matches = new ArrayList<>();
-
-        for (Service sBean : services) {
-            if (sBean.getId().equalsIgnoreCase(id)) {
-                matches.add(sBean);
-            }
-        }
+        List<Service> matches = getDispatchTable().getServices(id);
 
         if (matches.isEmpty()) {
             return null;
@@ -1271,8 +1280,11 @@ public static Collection<KvpRequestReader> loadKvpRequestReaders() {
     }
 
     public static KvpRequestReader findKvpRequestReader(Class<?> type) {
-        Collection<KvpRequestReader> kvpReaders = loadKvpRequestReaders();
+        return findKvpRequestReader(type, loadKvpRequestReaders());
+    }
 
+    static KvpRequestReader findKvpRequestReader(
+            Class<?> type, Collection<KvpRequestReader> kvpReaders) {
         List<KvpRequestReader> matches = new ArrayList<>();
 
         for (KvpRequestReader kvpReader : kvpReaders) {
@@ -1337,8 +1349,15 @@ static Collection<XmlRequestReader> loadXmlReaders() {
      */
     public static XmlRequestReader findXmlReader(
             String namespace, String element, String serviceId, String ver) {
-        Collection<XmlRequestReader> xmlReaders = loadXmlReaders();
+        return findXmlReader(namespace, element, serviceId, ver, loadXmlReaders());
+    }
 
+    static XmlRequestReader findXmlReader(
+            String namespace,
+            String element,
+            String serviceId,
+            String ver,
+            Collection<XmlRequestReader> xmlReaders) {
         // first just match on namespace, element
         List<XmlRequestReader> matches = new ArrayList<>();
 
@@ -1553,7 +1572,7 @@ Map<String, Object> parseKVP(Request req, Map<String, Object> kvp) {
     }
 
     Object parseRequestKVP(Class<?> type, Request request) throws Exception {
-        KvpRequestReader kvpReader = findKvpRequestReader(type);
+        KvpRequestReader kvpReader = getDispatchTable().getKvpRequestReader(type);
 
         if (kvpReader != null) {
             Object requestBean = kvpReader.createRequest();
@@ -1590,7 +1609,9 @@ Object parseRequestXML(Object requestBean, BufferedReader input, Request request
         String version = request.getVersion();
         String service = request.getService();
 
-        XmlRequestReader xmlReader = findXmlReader(namespace, element, service, version);
+        XmlRequestReader xmlReader =
+                findXmlReader(
+                        namespace, element, service, version, getDispatchTable().getXmlReaders());
         if (xmlReader == null) {
             // no xml reader, just return object passed in
             return requestBean;
@@ -1845,10 +1866,7 @@ void handleServiceException(ServiceException se, Service service, Request reques
 
         if (service != null) {
             // look up the service exception handler
-            Collection handlers = GeoServerExtensions.extensions(ServiceExceptionHandler.class);
-            for (Object o : handlers) {
-                ServiceExceptionHandler seh = (ServiceExceptionHandler) o;
-
+            for (ServiceExceptionHandler seh : getDispatchTable().getExceptionHandlers()) {
                 if (seh.getServices().contains(service)) {
                     // found one,
                     handler = seh;
@@ -11,6 +11,8 @@
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -27,6 +29,7 @@
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.mail.internet.InternetHeaders;
@@ -36,12 +39,14 @@
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletResponse;
 import org.custommonkey.xmlunit.XMLUnit;
+import org.geoserver.platform.NameExclusionFilter;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.Service;
 import org.geoserver.test.CodeExpectingHttpServletResponse;
 import org.geotools.util.Version;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.support.FileSystemXmlApplicationContext;
 import org.springframework.mock.web.DelegatingServletInputStream;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -214,6 +219,66 @@ public void testParseKVP() throws Exception {
         }
     }
 
+    @Test
+    public void testDispatchTable() throws Exception {
+        URL url = getClass().getResource("applicationContext.xml");
+
+        try (FileSystemXmlApplicationContext context =
+                new FileSystemXmlApplicationContext(url.toString())) {
+
+            Dispatcher dispatcher = (Dispatcher) context.getBean("dispatcher");
+
+            DispatchTable table = dispatcher.getDispatchTable();
+            assertSame(table, dispatcher.getDispatchTable());
+
+            assertEquals(1, table.getServices("HELLO").size());
+            assertTrue(table.getServices("goodbye").isEmpty());
+            assertTrue(table.hasVersion(new Version("1.0.0")));
+            assertFalse(table.hasVersion(new Version("2.0.0")));
+            assertSame(
+                    context.getBean("messageKvpReader"), table.getKvpRequestReader(Message.class));
+            assertNull(table.getKvpRequestReader(String.class));
+            assertEquals(
+                    Collections.singletonList(context.getBean("messageResponse")),
+                    table.getResponses(Message.class));
+            assertTrue(table.getResponses(String.class).isEmpty());
+
+            // a context refresh drops the table, it gets rebuilt on next use
+            dispatcher.onApplicationEvent(new ContextRefreshedEvent(context));
+            assertNotSame(table, dispatcher.getDispatchTable());
+        }
+    }
+
+    @Test
+    public void testDispatchTablePrototypes() throws Exception {
+        URL url = getClass().getResource("applicationContext-prototype.xml");
+
+        try (FileSystemXmlApplicationContext context =
+                new FileSystemXmlApplicationContext(url.toString())) {
+
+            Dispatcher dispatcher = (Dispatcher) context.getBean("dispatcher");
+            DispatchTable table = dispatcher.getDispatchTable();
+
+            // each request gets its own prototype response
+            List<Response> first = table.getResponses(Message.class);
+            List<Response> second = table.getResponses(Message.class);
+            assertEquals(1, first.size());
+            assertEquals(1, second.size());
+            assertTrue(first.get(0) instanceof MessageResponse);
+            assertTrue(second.get(0) instanceof MessageResponse);
+            assertNotSame(first.get(0), second.get(0));
+
+            // the extension filters are run on each lookup
+            NameExclusionFilter filter = (NameExclusionFilter) context.getBean("responseFilter");
+            filter.setBeanId("messageResponse");
+            assertSame(table, dispatcher.getDispatchTable());
+            assertTrue(table.getResponses(Message.class).isEmpty());
+            filter.setBeanId("messageKvpReader");
+            assertNull(table.getKvpRequestReader(Message.class));
+            assertEquals(1, table.getResponses(Message.class).size());
+        }
+    }
+
     @Test
     public void testParseXML() throws Exception {
         URL url = getClass().getResource("applicationContext.xml");
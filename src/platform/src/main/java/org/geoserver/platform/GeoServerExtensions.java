@@ -51,9 +51,10 @@ public class GeoServerExtensions implements ApplicationContextAware, Application
     /**
      * Caches the names of the beans for a particular type, so that the lookup (expensive) wont' be
      * needed. We cache names instead of beans because doing the latter we would break the
-     * "singleton=false" directive of some beans
+     * "singleton=false" directive of some beans. The names are held strongly, they are few and
+     * needed on every request, the cache is cleared when the application context is refreshed.
      */
-    static SoftValueHashMap<Class<?>, String[]> extensionsCache = new SoftValueHashMap<>(40);
+    static ConcurrentHashMap<Class<?>, String[]> extensionsCache = new ConcurrentHashMap<>();
 
     /** Singleton bean cache to avoid (expensive) lookup. */
     static ConcurrentHashMap<String, Object> singletonBeanCache = new ConcurrentHashMap<>();
@@ -540,6 +541,125 @@ public static String getProperty(String propertyName, ServletContext context) {
         return result;
     }
 
+    /**
+     * Looks up for a named integer property, as {@link #getProperty(String)} does.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found, or is not a valid
+     *     integer (a warning is logged in this case)
+     * @return The property value, or the default value
+     */
+    public static int getIntProperty(String propertyName, int defaultValue) {
+        return getIntProperty(propertyName, defaultValue, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Looks up for a named integer property, as {@link #getProperty(String)} does, accepting only
+     * the values in the specified range.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found, or is not a valid
+     *     integer in range (a warning is logged in this case)
+     * @param min The min accepted value, inclusive
+     * @param max The max accepted value, inclusive
+     * @return The property value, or the default value
+     */
+    public static int getIntProperty(String propertyName, int defaultValue, int min, int max) {
+        return (int) getLongProperty(propertyName, defaultValue, min, max, context);
+    }
+
+    /**
+     * Looks up for a named integer property, as {@link #getProperty(String, ApplicationContext)}
+     * does.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found, or is not a valid
+     *     integer (a warning is logged in this case)
+     * @param context The Spring context (may be null)
+     * @return The property value, or the default value
+     */
+    public static int getIntProperty(
+            String propertyName, int defaultValue, ApplicationContext context) {
+        return (int)
+                getLongProperty(
+                        propertyName, defaultValue, Integer.MIN_VALUE, Integer.MAX_VALUE, context);
+    }
+
+    /**
+     * Looks up for a named long property, as {@link #getProperty(String)} does.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found, or is not a valid long
+     *     (a warning is logged in this case)
+     * @return The property value, or the default value
+     */
+    public static long getLongProperty(String propertyName, long defaultValue) {
+        return getLongProperty(propertyName, defaultValue, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Looks up for a named long property, as {@link #getProperty(String)} does, accepting only the
+     * values in the specified range.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found, or is not a valid long
+     *     in range (a warning is logged in this case)
+     * @param min The min accepted value, inclusive
+     * @param max The max accepted value, inclusive
+     * @return The property value, or the default value
+     */
+    public static long getLongProperty(String propertyName, long defaultValue, long min, long max) {
+        return getLongProperty(propertyName, defaultValue, min, max, context);
+    }
+
+    private static long getLongProperty(
+            String propertyName,
+            long defaultValue,
+            long min,
+            long max,
+            ApplicationContext context) {
+        String value = getProperty(propertyName, context);
+        if (value != null) {
+            try {
+                long result = Long.parseLong(value.trim());
+                if (result >= min && result <= max) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // fall through and use the default
+            }
+            logInvalidProperty(propertyName, value, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Looks up for a named floating point property, as {@link #getProperty(String)} does.
+     *
+     * @param propertyName The property name to lookup.
+     * @param defaultValue The value returned if the property is not found, or is not a valid number
+     *     (a warning is logged in this case)
+     * @return The property value, or the default value
+     */
+    public static double getDoubleProperty(String propertyName, double defaultValue) {
+        String value = getProperty(propertyName, context);
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                logInvalidProperty(propertyName, value, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void logInvalidProperty(String propertyName, String value, Object defaultValue) {
+        LOGGER.log(
+                Level.WARNING,
+                "Invalid value for {0}: {1}, using {2} instead",
+                new Object[] {propertyName, value, defaultValue});
+    }
+
     /**
      * Search the context for indicated file.
      *
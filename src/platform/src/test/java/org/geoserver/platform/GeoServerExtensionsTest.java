@@ -284,4 +284,35 @@ public void testWebProperty() {
         assertEquals("ABC", GeoServerExtensions.getProperty("TEST_PROPERTY", servletContext));
         assertEquals("WWW", GeoServerExtensions.getProperty("WEB_PROPERTY", servletContext));
     }
+
+    @Test
+    public void testNumericProperty() {
+        try {
+            System.setProperty("TEST_NUMBER", " 42 ");
+            assertEquals(42, GeoServerExtensions.getIntProperty("TEST_NUMBER", 1));
+            assertEquals(42, GeoServerExtensions.getLongProperty("TEST_NUMBER", 1));
+            assertEquals(42, GeoServerExtensions.getDoubleProperty("TEST_NUMBER", 1), 0d);
+            assertEquals(42, GeoServerExtensions.getIntProperty("TEST_NUMBER", 1, null));
+            // out of range
+            assertEquals(1, GeoServerExtensions.getIntProperty("TEST_NUMBER", 1, 0, 10));
+            assertEquals(1, GeoServerExtensions.getLongProperty("TEST_NUMBER", 1, 50, 100));
+
+            // invalid
+            System.setProperty("TEST_NUMBER", "abc");
+            assertEquals(1, GeoServerExtensions.getIntProperty("TEST_NUMBER", 1));
+            assertEquals(1, GeoServerExtensions.getLongProperty("TEST_NUMBER", 1));
+            assertEquals(1, GeoServerExtensions.getDoubleProperty("TEST_NUMBER", 1), 0d);
+            System.setProperty("TEST_NUMBER", "10000000000");
+            assertEquals(1, GeoServerExtensions.getIntProperty("TEST_NUMBER", 1));
+            assertEquals(10000000000L, GeoServerExtensions.getLongProperty("TEST_NUMBER", 1));
+
+            // missing
+            System.clearProperty("TEST_NUMBER");
+            assertEquals(1, GeoServerExtensions.getIntProperty("TEST_NUMBER", 1));
+            assertEquals(1, GeoServerExtensions.getLongProperty("TEST_NUMBER", 1));
+            assertEquals(1.5, GeoServerExtensions.getDoubleProperty("TEST_NUMBER", 1.5), 0d);
+        } finally {
+            System.clearProperty("TEST_NUMBER");
+        }
+    }
 }
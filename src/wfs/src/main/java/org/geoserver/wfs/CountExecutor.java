@@ -6,6 +6,7 @@
 package org.geoserver.wfs;
 
 import java.io.IOException;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
 
@@ -18,17 +19,33 @@
  */
 class CountExecutor {
 
+    /**
+     * When true, the count is taken from {@link FeatureSource#getCount(Query)} only, and reported
+     * as unknown when the store declines to provide it, instead of reading all the matching
+     * features. This is not an estimate: stores answering getCount, like the JDBC ones, still run
+     * an exact count (e.g., a SELECT COUNT(*)), so the flag only helps with the stores that cannot
+     * count without reading the features, like the file based ones with a filter.
+     */
+    public static final String FAST_COUNT_PROPERTY = "GEOSERVER_WFS_FAST_COUNT";
+
     private static final int COUNT_UNSET = -1;
 
     FeatureSource source;
 
     Query query;
 
+    FeatureCountCache cache;
+
     int providedCount = COUNT_UNSET;
 
     public CountExecutor(FeatureSource source, Query query) {
+        this(source, query, null);
+    }
+
+    public CountExecutor(FeatureSource source, Query query, FeatureCountCache cache) {
         this.source = source;
         this.query = query;
+        this.cache = cache;
     }
 
     public CountExecutor(int providedCount) {
@@ -38,13 +55,27 @@ public CountExecutor(int providedCount) {
     public int getCount() throws IOException {
         if (isCountSet()) {
             return providedCount;
+        } else if (cache != null) {
+            return cache.getCount(source, query, this::countFeatures);
         } else {
-            // make sure we get a count by getting a feature colleciton
-            // FeatureSource.getCount(...) can return -1
-            return source.getFeatures(query).size();
+            return countFeatures();
         }
     }
 
+    private int countFeatures() throws IOException {
+        if (isFastCount()) {
+            // -1 if the count is expensive, reported as unknown
+            return source.getCount(query);
+        }
+        // make sure we get a count by getting a feature colleciton
+        // FeatureSource.getCount(...) can return -1
+        return source.getFeatures(query).size();
+    }
+
+    static boolean isFastCount() {
+        return Boolean.parseBoolean(GeoServerExtensions.getProperty(FAST_COUNT_PROPERTY));
+    }
+
     public boolean isCountSet() {
         return providedCount != COUNT_UNSET;
     }
@@ -0,0 +1,200 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import org.geoserver.config.GeoServer;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.util.factory.Hints;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Keeps the feature counts run by GetFeature, for resultType=hits, numberReturned and
+ * numberMatched, so that paging clients do not run a full count of the matching features on every
+ * page.
+ *
+ * <p>Counts are keyed by feature type, filter, paging and view parameters of the query, along with
+ * the current user and roles (security may restrict the features being counted) and the GeoServer
+ * update sequence. A WFS transaction drops the counts of the modified layer, and counts also expire
+ * after a configurable time, as data can be changed by other means.
+ *
+ * <p>It's disabled by default, it can be enabled by setting the {@link #MAX_ENTRIES_PROPERTY}
+ * property to the number of counts to keep.
+ */
+public class FeatureCountCache extends LayerInvalidatingCache<FeatureCountCache.Key, Integer> {
+
+    /** Max number of cached counts. Zero or missing disables the cache */
+    public static final String MAX_ENTRIES_PROPERTY = "GEOSERVER_WFS_COUNT_CACHE_SIZE";
+
+    /** Time to live of the cached counts, in seconds */
+    public static final String TTL_PROPERTY = "GEOSERVER_WFS_COUNT_CACHE_TTL";
+
+    /** Default time to live of the cached counts, in seconds */
+    public static final long DEFAULT_TTL = 60;
+
+    public FeatureCountCache(GeoServer geoServer) {
+        this(
+                geoServer,
+                GeoServerExtensions.getLongProperty(MAX_ENTRIES_PROPERTY, 0),
+                GeoServerExtensions.getLongProperty(TTL_PROPERTY, DEFAULT_TTL));
+    }
+
+    FeatureCountCache(GeoServer geoServer, long maxEntries, long ttlSeconds) {
+        super(
+                geoServer,
+                maxEntries > 0
+                        ? CacheBuilder.newBuilder()
+                                .maximumSize(maxEntries)
+                                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                                .recordStats()
+                                .build()
+                        : null);
+    }
+
+    @Override
+    protected boolean isAffectedBy(Key key, Integer count, QName layerName) {
+        return key.isAffectedBy(layerName);
+    }
+
+    /**
+     * Returns the count of the features matched by the query, from the cache if available, or
+     * running the counter otherwise
+     */
+    public int getCount(FeatureSource<?, ?> source, Query query, Callable<Integer> counter)
+            throws IOException {
+        if (cache == null || !query.getJoins().isEmpty()) {
+            return call(counter);
+        }
+
+        long currentSequence = checkUpdateSequence();
+        Key key = new Key(source.getSchema().getName(), query, currentSequence);
+        try {
+            return cache.get(key, counter);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static int call(Callable<Integer> counter) throws IOException {
+        try {
+            return counter.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /** The parts of a query and request context that can change a count */
+    static class Key {
+
+        final Name typeName;
+
+        final Filter filter;
+
+        final Integer startIndex;
+
+        final int maxFeatures;
+
+        final String version;
+
+        final Object viewParams;
+
+        final String user;
+
+        final Set<String> roles;
+
+        final long updateSequence;
+
+        Key(Name typeName, Query query, long updateSequence) {
+            this.typeName = typeName;
+            this.filter = query.getFilter();
+            this.startIndex = query.getStartIndex();
+            this.maxFeatures = query.getMaxFeatures();
+            this.version = query.getVersion();
+            this.viewParams =
+                    query.getHints() != null
+                            ? query.getHints().get(Hints.VIRTUAL_TABLE_PARAMETERS)
+                            : null;
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null) {
+                this.user = auth.getName();
+                this.roles = new TreeSet<>();
+                if (auth.getAuthorities() != null) {
+                    for (GrantedAuthority authority : auth.getAuthorities()) {
+                        roles.add(authority.getAuthority());
+                    }
+                }
+            } else {
+                this.user = null;
+                this.roles = null;
+            }
+            this.updateSequence = updateSequence;
+        }
+
+        /** Returns true if a change in the specified layer invalidates this count */
+        boolean isAffectedBy(QName layerName) {
+            if (layerName == null) {
+                return true;
+            }
+            return layerName.getLocalPart().equals(typeName.getLocalPart())
+                    && (layerName.getNamespaceURI() == null
+                            || layerName.getNamespaceURI().isEmpty()
+                            || typeName.getNamespaceURI() == null
+                            || layerName.getNamespaceURI().equals(typeName.getNamespaceURI()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return maxFeatures == key.maxFeatures
+                    && updateSequence == key.updateSequence
+                    && Objects.equals(typeName, key.typeName)
+                    && Objects.equals(filter, key.filter)
+                    && Objects.equals(startIndex, key.startIndex)
+                    && Objects.equals(version, key.version)
+                    && Objects.equals(viewParams, key.viewParams)
+                    && Objects.equals(user, key.user)
+                    && Objects.equals(roles, key.roles);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                    typeName,
+                    filter,
+                    startIndex,
+                    maxFeatures,
+                    version,
+                    viewParams,
+                    user,
+                    roles,
+                    updateSequence);
+        }
+    }
+}
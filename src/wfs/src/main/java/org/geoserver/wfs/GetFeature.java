@@ -262,6 +262,10 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
             lockId = filterRequestToLocked(request, queries);
         }
 
+        // cursor paging, if enabled and applicable
+        KeysetPaging keysetPaging =
+                KeysetPaging.create(request, Dispatcher.REQUEST.get(), queries, filterFactory);
+
         // Optimization Idea
         //
         // We should be able to reduce this to a two pass opperations.
@@ -333,6 +337,8 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
         List<FeatureCollection<? extends FeatureType, ? extends Feature>> results =
                 new ArrayList<>();
         final List<CountExecutor> totalCountExecutors = new ArrayList<>();
+        ParallelQueryRunner parallelRunner = ParallelQueryRunner.create(request, queries.size());
+        FeatureCountCache countCache = getCountCache();
         try {
             for (int i = 0; (i < queries.size()) && (count < maxFeatures); i++) {
 
@@ -494,6 +500,11 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                         LOGGER.fine("Query is " + query + "\n To gt2: " + gtQuery);
                     }
 
+                    // read the features after the cursor, if any
+                    if (keysetPaging != null) {
+                        keysetPaging.apply(gtQuery, source.getSchema());
+                    }
+
                     // allow extensions to alter the query being run
                     GetFeatureContext context =
                             new GetFeatureContext(request, meta, source, gtQuery);
@@ -511,6 +522,9 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
 
                     FeatureCollection<? extends FeatureType, ? extends Feature> features =
                             getFeatures(request, source, gtQuery);
+                    if (keysetPaging != null) {
+                        keysetPaging.computeNext(source, gtQuery);
+                    }
 
                     // For complex features, we need the targetCrs and version in scenario where we
                     // have
@@ -537,7 +551,11 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
 
                     int size = 0;
                     if (calculateSize) {
-                        size = features.size();
+                        if (countCache != null) {
+                            size = countCache.getCount(source, gtQuery, features::size);
+                        } else {
+                            size = features.size();
+                        }
                     }
 
                     // update the count
@@ -552,7 +570,8 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                         if (calculateSize
                                 && (queryMaxFeatures == Integer.MAX_VALUE
                                         || size < queryMaxFeatures)
-                                && offset <= 0) {
+                                && offset <= 0
+                                && (keysetPaging == null || !keysetPaging.isCursorPage())) {
                             totalCountExecutors.add(new CountExecutor(size));
                         } else {
                             org.geotools.api.data.Query qTotal =
@@ -568,7 +587,7 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                                             joins,
                                             primaryTypeName,
                                             primaryAlias);
-                            totalCountExecutors.add(new CountExecutor(source, qTotal));
+                            totalCountExecutors.add(new CountExecutor(source, qTotal, countCache));
                         }
                     }
 
@@ -614,6 +633,11 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                         features = retypeToRequestedProperties(features, metaPropNames);
                     }
 
+                    // allow the store to run this query while the previous ones are encoded
+                    if (parallelRunner != null && features instanceof SimpleFeatureCollection) {
+                        features = parallelRunner.add((SimpleFeatureCollection) features);
+                    }
+
                     // allow encoders to grab information about this layer if needs be
                     if (primaryMeta != null) {
                         features = TypeInfoCollectionWrapper.wrap(features, primaryMeta);
@@ -645,15 +669,20 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                     request, "Error occurred getting features", e, request.getHandle());
         }
 
-        return buildResults(
-                request,
-                totalOffset,
-                maxFeatures,
-                count,
-                totalCount,
-                results,
-                lockId,
-                getFeatureById);
+        FeatureCollectionResponse result =
+                buildResults(
+                        request,
+                        totalOffset,
+                        maxFeatures,
+                        count,
+                        totalCount,
+                        results,
+                        lockId,
+                        getFeatureById);
+        if (keysetPaging != null) {
+            keysetPaging.updateLinks(result);
+        }
+        return result;
     }
 
     private void validateJoin(
@@ -896,6 +925,12 @@ private String filterRequestToLocked(GetFeatureRequest request, List<Query> quer
         return lockId;
     }
 
+    /** Returns the feature count cache, if available and enabled */
+    private FeatureCountCache getCountCache() {
+        FeatureCountCache cache = GeoServerExtensions.bean(FeatureCountCache.class);
+        return cache != null && cache.isEnabled() ? cache : null;
+    }
+
     /** Returns true if all count executors are given a static count value */
     private boolean isPreComputed(List<CountExecutor> totalCountExecutors) {
         for (CountExecutor q : totalCountExecutors) {
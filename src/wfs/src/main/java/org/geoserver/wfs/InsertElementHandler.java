@@ -6,12 +6,13 @@
 package org.geoserver.wfs;
 
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import javax.xml.namespace.QName;
 import org.geoserver.catalog.FeatureTypeInfo;
@@ -88,15 +89,20 @@ public void execute(
             HashMap /* <SimpleFeatureType,FeatureCollection> */ schema2features = new HashMap<>();
 
             List featureList = insert.getFeatures();
+            SimpleFeatureType lastSchema = null;
+            ListFeatureCollection schemaFeatures = null;
             for (Object item : featureList) {
                 SimpleFeature feature = (SimpleFeature) item;
                 SimpleFeatureType schema = feature.getFeatureType();
-                ListFeatureCollection collection =
-                        (ListFeatureCollection) schema2features.get(schema);
-
-                if (collection == null) {
-                    collection = new ListFeatureCollection(schema);
-                    schema2features.put(schema, collection);
+                // features of a large insert usually share the same schema instance, avoid
+                // computing its (deep) hash code for each of them
+                if (schema != lastSchema) {
+                    schemaFeatures = (ListFeatureCollection) schema2features.get(schema);
+                    if (schemaFeatures == null) {
+                        schemaFeatures = new ListFeatureCollection(schema);
+                        schema2features.put(schema, schemaFeatures);
+                    }
+                    lastSchema = schema;
                 }
 
                 // do a check for idegen = useExisting, if set try to tell the datastore to use
@@ -116,7 +122,7 @@ public void execute(
                     }
                 }
 
-                collection.add(feature);
+                schemaFeatures.add(feature);
             }
 
             // JD: change from set fo list because if inserting
@@ -274,10 +280,11 @@ public QName[] getTypeNames(TransactionRequest request, TransactionElement eleme
             throws WFSTransactionException {
         Insert insert = (Insert) element;
 
-        List<QName> typeNames = new ArrayList<>();
+        Set<QName> typeNames = new LinkedHashSet<>();
 
         List features = insert.getFeatures();
         if (!features.isEmpty()) {
+            SimpleFeatureType lastType = null;
             for (Object next : features) {
                 // if parsing fails the parser just returns a Map, do throw an error in this case
                 if (!(next instanceof SimpleFeature)) {
@@ -292,10 +299,14 @@ public QName[] getTypeNames(TransactionRequest request, TransactionElement eleme
                     }
                     throw new WFSException(request, "Could not parse input features", code);
                 }
-                SimpleFeature feature = (SimpleFeature) next;
+                SimpleFeatureType type = ((SimpleFeature) next).getFeatureType();
+                if (type == lastType) {
+                    continue;
+                }
+                lastType = type;
 
-                String name = feature.getFeatureType().getTypeName();
-                String namespaceURI = feature.getFeatureType().getName().getNamespaceURI();
+                String name = type.getTypeName();
+                String namespaceURI = type.getName().getNamespaceURI();
 
                 typeNames.add(new QName(namespaceURI, name));
             }
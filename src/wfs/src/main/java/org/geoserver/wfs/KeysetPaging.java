@@ -0,0 +1,371 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.geoserver.ows.util.ResponseUtils.buildURL;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.URLMangler.URLType;
+import org.geoserver.ows.util.KvpMap;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.request.FeatureCollectionResponse;
+import org.geoserver.wfs.request.GetFeatureRequest;
+import org.geoserver.wfs.request.Query;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.util.Converters;
+
+/**
+ * Keyset (cursor) paging for WFS 2.0 GetFeature requests.
+ *
+ * <p>Paging with startIndex makes the stores skip all the features before the page, which gets
+ * slower and slower while walking deep into a large layer. When enabled with the {@link
+ * #ENABLED_PROPERTY} variable, the next link of a sorted GET request carries instead an opaque
+ * {@link #CURSOR} parameter, holding the sort values of the last feature of the page. The following
+ * page is then read with a filter selecting the features sorting after it, so that every page costs
+ * the same.
+ *
+ * <p>The features sharing the sort values of the last feature are tracked in the cursor as well, so
+ * that no feature is skipped when the sort values are not unique, but including a unique attribute
+ * (such as the primary key) in the sort keeps the pages efficient. Features with null sort values
+ * cannot be used as a cursor, in that case there is no next link.
+ */
+class KeysetPaging {
+
+    /** Enables the cursor paging */
+    public static final String ENABLED_PROPERTY = "GEOSERVER_WFS_KEYSET_PAGING";
+
+    /** The vendor parameter carrying the cursor */
+    public static final String CURSOR = "CURSOR";
+
+    private static final byte NULL = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte DATE = 2;
+
+    private static final byte TIMESTAMP = 3;
+
+    private final GetFeatureRequest request;
+
+    private final Request dispatched;
+
+    private final List<SortBy> sortBy;
+
+    private final FilterFactory ff;
+
+    /** The sort values of the last feature of the previous page, null on the first page */
+    private Object[] boundary;
+
+    /** The features sorting as the boundary that have already been returned */
+    private int skip;
+
+    /** The cursor of the next page, null if there is none */
+    private String next;
+
+    private KeysetPaging(
+            GetFeatureRequest request, Request dispatched, List<SortBy> sortBy, FilterFactory ff) {
+        this.request = request;
+        this.dispatched = dispatched;
+        this.sortBy = sortBy;
+        this.ff = ff;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(GeoServerExtensions.getProperty(ENABLED_PROPERTY));
+    }
+
+    /**
+     * Returns the keyset paging of the request, or null if cursor paging does not apply: it is
+     * disabled, or the request is not a paged WFS 2.0 GET one with a single, sorted query. Must be
+     * called before the request count defaults are applied. Throws an exception if the request
+     * carries a cursor that cannot be used.
+     */
+    static KeysetPaging create(
+            GetFeatureRequest request, Request dispatched, List<Query> queries, FilterFactory ff) {
+        String cursor = null;
+        if (dispatched != null && dispatched.getRawKvp() != null) {
+            cursor = (String) dispatched.getRawKvp().get(CURSOR);
+        }
+        boolean eligible =
+                isEnabled()
+                        && dispatched != null
+                        && dispatched.isGet()
+                        && "WFS".equalsIgnoreCase(dispatched.getService())
+                        && request.getVersion() != null
+                        && request.getVersion().startsWith("2")
+                        && !request.isResultTypeHits()
+                        && request.getMaxFeatures() != null
+                        && queries.size() == 1
+                        && queries.get(0).getTypeNames().size() == 1
+                        && isSortedOnProperties(queries.get(0).getSortBy());
+        if (!eligible) {
+            if (cursor != null) {
+                throw new WFSException(
+                                request,
+                                "Cursor paging is not available for this request",
+                                ServiceException.INVALID_PARAMETER_VALUE)
+                        .locator(CURSOR);
+            }
+            return null;
+        }
+
+        KeysetPaging paging = new KeysetPaging(request, dispatched, queries.get(0).getSortBy(), ff);
+        if (cursor != null) {
+            if (request.getStartIndex() != null && request.getStartIndex().intValue() > 0) {
+                throw new WFSException(
+                                request,
+                                "Cursor cannot be used along with startIndex",
+                                ServiceException.INVALID_PARAMETER_VALUE)
+                        .locator(CURSOR);
+            }
+            paging.decode(cursor);
+        }
+        return paging;
+    }
+
+    private static boolean isSortedOnProperties(List<SortBy> sortBy) {
+        if (sortBy == null || sortBy.isEmpty()) {
+            return false;
+        }
+        for (SortBy sort : sortBy) {
+            if (sort.getPropertyName() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns true if the request is reading a page after the first one */
+    boolean isCursorPage() {
+        return boundary != null;
+    }
+
+    /**
+     * Restricts the page query to the features sorting after the cursor, and skips the ones already
+     * returned
+     */
+    void apply(org.geotools.api.data.Query query, FeatureType schema) {
+        if (boundary == null) {
+            return;
+        }
+        Object[] values = new Object[boundary.length];
+        for (int i = 0; i < boundary.length; i++) {
+            AttributeDescriptor descriptor =
+                    (AttributeDescriptor) sortBy.get(i).getPropertyName().evaluate(schema);
+            Class<?> binding = descriptor != null ? descriptor.getType().getBinding() : null;
+            values[i] = binding != null ? convert(boundary[i], binding) : boundary[i];
+        }
+        boundary = values;
+        query.setFilter(ff.and(query.getFilter(), sortsFrom(0, boundary)));
+        query.setStartIndex(skip);
+    }
+
+    private Object convert(Object value, Class<?> binding) {
+        if (value == null || binding.isInstance(value)) {
+            return value;
+        }
+        Object converted = Converters.convert(value, binding);
+        if (converted == null) {
+            throw new WFSException(
+                            request,
+                            "Invalid cursor value " + value + " for " + binding.getSimpleName(),
+                            ServiceException.INVALID_PARAMETER_VALUE)
+                    .locator(CURSOR);
+        }
+        return converted;
+    }
+
+    /**
+     * Builds the filter selecting the features sorting as the given values or after them. Chains
+     * the comparisons on each sort property, e.g. (a &gt; x) or (a = x and b &gt;= y)
+     */
+    private Filter sortsFrom(int i, Object[] values) {
+        PropertyName property = sortBy.get(i).getPropertyName();
+        Literal value = ff.literal(values[i]);
+        boolean ascending = sortBy.get(i).getSortOrder() != SortOrder.DESCENDING;
+        if (i == values.length - 1) {
+            return ascending ? ff.greaterOrEqual(property, value) : ff.lessOrEqual(property, value);
+        }
+        Filter after = ascending ? ff.greater(property, value) : ff.less(property, value);
+        return ff.or(after, ff.and(ff.equals(property, value), sortsFrom(i + 1, values)));
+    }
+
+    /**
+     * Looks up the last feature of the page to build the cursor of the next one. Runs a query
+     * returning the last feature, and one counting the page features sorting before it, both
+     * limited to the features following the current cursor, so their cost does not depend on the
+     * page depth.
+     */
+    void computeNext(
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            org.geotools.api.data.Query query)
+            throws IOException {
+        int pageSize = query.getMaxFeatures();
+        if (pageSize <= 0 || pageSize == Integer.MAX_VALUE) {
+            return;
+        }
+        int start = query.getStartIndex() != null ? query.getStartIndex() : 0;
+
+        org.geotools.api.data.Query lastQuery = new org.geotools.api.data.Query(query);
+        lastQuery.setStartIndex(start + pageSize - 1);
+        lastQuery.setMaxFeatures(1);
+        List<PropertyName> properties = new ArrayList<>();
+        for (SortBy sort : sortBy) {
+            properties.add(sort.getPropertyName());
+        }
+        lastQuery.setProperties(properties);
+        lastQuery.setCoordinateSystemReproject(null);
+        Object[] last = null;
+        FeatureCollection<? extends FeatureType, ? extends Feature> features =
+                source.getFeatures(lastQuery);
+        try (FeatureIterator<? extends Feature> it = features.features()) {
+            if (it.hasNext()) {
+                Feature feature = it.next();
+                last = new Object[sortBy.size()];
+                for (int i = 0; i < last.length; i++) {
+                    last[i] = sortBy.get(i).getPropertyName().evaluate(feature);
+                    if (last[i] == null) {
+                        // cannot select the following features with a comparison
+                        return;
+                    }
+                }
+            }
+        }
+        if (last == null) {
+            // this is the last page
+            return;
+        }
+
+        // count the features of the page sorting before the last one, the others share its sort
+        // values and will be skipped on the next page
+        org.geotools.api.data.Query beforeQuery = new org.geotools.api.data.Query(query);
+        beforeQuery.setFilter(ff.and(query.getFilter(), ff.not(sortsFrom(0, last))));
+        beforeQuery.setStartIndex(null);
+        beforeQuery.setMaxFeatures(Integer.MAX_VALUE);
+        beforeQuery.setSortBy((SortBy[]) null);
+        beforeQuery.setCoordinateSystemReproject(null);
+        int before = source.getCount(beforeQuery);
+        if (before < 0) {
+            before = source.getFeatures(beforeQuery).size();
+        }
+
+        next = encode(last, start + pageSize - before);
+    }
+
+    /** Replaces the next link with one carrying the cursor, cursor pages have no previous link */
+    void updateLinks(FeatureCollectionResponse result) {
+        if (isCursorPage()) {
+            result.setPrevious(null);
+        }
+        if (next == null) {
+            result.setNext(null);
+            return;
+        }
+        KvpMap<String, String> kvp = new KvpMap<>();
+        for (Map.Entry<String, Object> entry : dispatched.getRawKvp().entrySet()) {
+            if (entry.getValue() instanceof String) {
+                kvp.put(entry.getKey(), (String) entry.getValue());
+            }
+        }
+        kvp.remove("STARTINDEX");
+        kvp.put(CURSOR, next);
+        result.setNext(buildURL(request.getBaseUrl(), "wfs", kvp, URLType.SERVICE));
+    }
+
+    String encode(Object[] values, int skip) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(skip);
+                out.writeInt(values.length);
+                for (int i = 0; i < values.length; i++) {
+                    out.writeUTF(sortBy.get(i).getPropertyName().getPropertyName());
+                    Object value = values[i];
+                    if (value == null) {
+                        out.writeByte(NULL);
+                    } else if (value instanceof Timestamp) {
+                        out.writeByte(TIMESTAMP);
+                        out.writeLong(((Timestamp) value).getTime());
+                        out.writeInt(((Timestamp) value).getNanos());
+                    } else if (value instanceof Date) {
+                        out.writeByte(DATE);
+                        out.writeLong(((Date) value).getTime());
+                    } else {
+                        out.writeByte(STRING);
+                        String converted = Converters.convert(value, String.class);
+                        out.writeUTF(converted != null ? converted : value.toString());
+                    }
+                }
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            // cannot happen writing in memory
+            throw new RuntimeException(e);
+        }
+    }
+
+    void decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                int skip = in.readInt();
+                int size = in.readInt();
+                if (skip < 0 || size != sortBy.size()) {
+                    throw new IOException("The cursor does not match the request sorting");
+                }
+                Object[] values = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    String name = in.readUTF();
+                    if (!name.equals(sortBy.get(i).getPropertyName().getPropertyName())) {
+                        throw new IOException("The cursor does not match the request sorting");
+                    }
+                    byte type = in.readByte();
+                    if (type == TIMESTAMP) {
+                        Timestamp timestamp = new Timestamp(in.readLong());
+                        timestamp.setNanos(in.readInt());
+                        values[i] = timestamp;
+                    } else if (type == DATE) {
+                        values[i] = new Date(in.readLong());
+                    } else if (type == STRING) {
+                        values[i] = in.readUTF();
+                    } else {
+                        throw new IOException("Null values cannot be used as a cursor");
+                    }
+                }
+                this.boundary = values;
+                this.skip = skip;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new WFSException(
+                            request,
+                            "Invalid cursor: " + e.getMessage(),
+                            ServiceException.INVALID_PARAMETER_VALUE)
+                    .locator(CURSOR);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import java.util.HashSet;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geoserver.config.GeoServer;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+
+/**
+ * Base class for the in memory caches of contents derived from the layers data, keeping them in
+ * sync with the changes made to the data and configuration.
+ *
+ * <p>A WFS transaction drops the entries of the modified layers, both when the change happens and
+ * once the transaction is over, as entries built in between did not see it. A catalog or
+ * configuration change drops all the entries, either when notified by the lifecycle events, or when
+ * the subclass checks the update sequence with {@link #checkUpdateSequence()}.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public abstract class LayerInvalidatingCache<K, V>
+        implements TransactionCallback, GeoServerLifecycleHandler {
+
+    /** The layers modified by the transaction running in the current thread */
+    private final ThreadLocal<Set<QName>> modified = new ThreadLocal<>();
+
+    protected final GeoServer geoServer;
+
+    /** The cached entries, null if the cache is disabled */
+    protected final Cache<K, V> cache;
+
+    private volatile long updateSequence = -1;
+
+    protected LayerInvalidatingCache(GeoServer geoServer, Cache<K, V> cache) {
+        this.geoServer = geoServer;
+        this.cache = cache;
+    }
+
+    /** Returns true if a change in the specified layer invalidates the given entry */
+    protected abstract boolean isAffectedBy(K key, V value, QName layerName);
+
+    /** Returns true if the cache is enabled */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the current GeoServer update sequence, dropping all the entries if it changed since
+     * the last check
+     */
+    protected long checkUpdateSequence() {
+        // the update sequence changes on every catalog or configuration change, the entries
+        // built before that are stale and can be dropped right away
+        long currentSequence = geoServer.getGlobal().getUpdateSequence();
+        if (currentSequence != updateSequence) {
+            updateSequence = currentSequence;
+            clear();
+        }
+        return currentSequence;
+    }
+
+    /** Returns the number of cached entries */
+    public long size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /** Returns the hit/miss statistics of the cache */
+    public CacheStats getStats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    /** Drops all the cached entries */
+    public void clear() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /** Drops the cached entries of the specified layer */
+    public void clear(QName layerName) {
+        if (cache != null) {
+            cache.asMap()
+                    .entrySet()
+                    .removeIf(e -> isAffectedBy(e.getKey(), e.getValue(), layerName));
+        }
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        modified.remove();
+        return request;
+    }
+
+    /** The request elements are not used, only the {@link #dataStoreChange} events */
+    @Override
+    public boolean isStreamingSupported() {
+        return true;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        clear(event.getLayerName());
+        Set<QName> layers = modified.get();
+        if (layers == null) {
+            layers = new HashSet<>();
+            modified.set(layers);
+        }
+        layers.add(event.getLayerName());
+    }
+
+    @Override
+    public void afterTransaction(
+            TransactionRequest request, TransactionResponse result, boolean committed) {
+        // entries built while the transaction was running did not see its changes
+        Set<QName> layers = modified.get();
+        if (layers != null) {
+            modified.remove();
+            layers.forEach(this::clear);
+        }
+    }
+
+    @Override
+    public void onReset() {
+        clear();
+    }
+
+    @Override
+    public void onDispose() {
+        clear();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        clear();
+    }
+}
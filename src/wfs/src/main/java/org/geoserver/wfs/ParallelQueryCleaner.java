@@ -0,0 +1,40 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.Request;
+
+/**
+ * Stops the background queries of a {@link ParallelQueryRunner} when the request ends, releasing
+ * the store connections of the collections the output format did not read
+ */
+public class ParallelQueryCleaner extends AbstractDispatcherCallback {
+
+    static final ThreadLocal<List<ParallelQueryRunner>> runners = new ThreadLocal<>();
+
+    /** Schedules a runner for cancellation at the end of the request */
+    static void register(ParallelQueryRunner runner) {
+        List<ParallelQueryRunner> list = runners.get();
+        if (list == null) {
+            list = new ArrayList<>();
+            runners.set(list);
+        }
+        list.add(runner);
+    }
+
+    @Override
+    public void finished(Request request) {
+        List<ParallelQueryRunner> list = runners.get();
+        if (list != null) {
+            runners.remove();
+            for (ParallelQueryRunner runner : list) {
+                runner.cancel();
+            }
+        }
+    }
+}
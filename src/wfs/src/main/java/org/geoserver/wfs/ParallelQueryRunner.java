@@ -0,0 +1,322 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.threadlocals.ThreadLocalsTransfer;
+import org.geoserver.wfs.request.GetFeatureRequest;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Runs the queries of a GetFeature request with multiple queries (or type names) in parallel.
+ *
+ * <p>The output formats still encode the feature collections one after the other, in request order.
+ * As soon as the first collection is read, the following ones are opened in background threads, and
+ * their first {@link #BUFFER_SIZE} features are buffered, so that the time the stores spend running
+ * each query overlaps. A query is opened in the background only when a thread is free, the number
+ * of queries running at the same time, including the one being encoded, is set by the {@link
+ * #PARALLELISM_PROPERTY} variable. The default is 1, the queries run one after the other.
+ *
+ * <p>The background threads come from a pool shared by all requests, bounded by the {@link
+ * #THREADS_PROPERTY} variable, with a queue of the same size. When the pool is saturated, or a
+ * query is still queued when the output format gets to it, the query is read in the request thread
+ * as if it ran sequentially.
+ *
+ * <p>The background reads are cancelled at the end of the request by {@link ParallelQueryCleaner}.
+ */
+class ParallelQueryRunner {
+
+    /** Max number of queries of a single GetFeature request run at the same time */
+    public static final String PARALLELISM_PROPERTY = "GEOSERVER_WFS_QUERY_PARALLELISM";
+
+    /** Max number of background threads reading queries, shared by all requests */
+    public static final String THREADS_PROPERTY = "GEOSERVER_WFS_QUERY_THREADS";
+
+    /** Default max number of background threads, twice the number of processors */
+    static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors() * 2;
+
+    /** Number of features read ahead by each background query */
+    static final int BUFFER_SIZE = 1000;
+
+    /** Marks the end of the features in the buffer */
+    private static final Object END = new Object();
+
+    private static ThreadPoolExecutor sharedExecutor;
+
+    private final int parallelism;
+
+    private final ThreadPoolExecutor executor;
+
+    private final List<Prefetch> members = new ArrayList<>();
+
+    private ThreadLocalsTransfer transfer;
+
+    private int running;
+
+    private boolean cancelled;
+
+    ParallelQueryRunner(int parallelism) {
+        this(parallelism, getSharedExecutor());
+    }
+
+    ParallelQueryRunner(int parallelism, ThreadPoolExecutor executor) {
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns a runner for the given request, or null if its queries should run sequentially: the
+     * parallelism is not enabled, there is a single query, only the count is requested, or the
+     * request is not a WFS one going through the dispatcher, which cleans up at the end.
+     */
+    static ParallelQueryRunner create(GetFeatureRequest request, int queries) {
+        if (queries < 2 || request.isResultTypeHits()) {
+            return null;
+        }
+        int parallelism = getParallelism();
+        Request dispatched = Dispatcher.REQUEST.get();
+        if (parallelism < 2
+                || dispatched == null
+                || !"WFS".equalsIgnoreCase(dispatched.getService())) {
+            return null;
+        }
+        ParallelQueryRunner runner = new ParallelQueryRunner(parallelism);
+        ParallelQueryCleaner.register(runner);
+        return runner;
+    }
+
+    static int getParallelism() {
+        return GeoServerExtensions.getIntProperty(PARALLELISM_PROPERTY, 1, 1, Integer.MAX_VALUE);
+    }
+
+    private static synchronized ThreadPoolExecutor getSharedExecutor() {
+        if (sharedExecutor == null) {
+            int threads =
+                    GeoServerExtensions.getIntProperty(
+                            THREADS_PROPERTY, DEFAULT_THREADS, 1, Integer.MAX_VALUE);
+            CustomizableThreadFactory threadFactory =
+                    new CustomizableThreadFactory("GeoServerWFSQuery-");
+            threadFactory.setDaemon(true);
+            sharedExecutor =
+                    new ThreadPoolExecutor(
+                            threads,
+                            threads,
+                            60,
+                            TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(threads),
+                            threadFactory);
+            sharedExecutor.allowCoreThreadTimeOut(true);
+        }
+        return sharedExecutor;
+    }
+
+    /** Wraps a feature collection of the request, in request order */
+    synchronized SimpleFeatureCollection add(SimpleFeatureCollection features) {
+        Prefetch prefetch = new Prefetch(features);
+        members.add(prefetch);
+        return new PrefetchingCollection(features, prefetch);
+    }
+
+    /**
+     * Called when a collection is read. Returns the iterator over the buffered features if its
+     * query was started in the background, or null if it has to be read directly. Starts the
+     * queries of the following collections as threads become free.
+     */
+    private synchronized SimpleFeatureIterator claim(Prefetch prefetch) {
+        if (prefetch.claimed || cancelled) {
+            return null;
+        }
+        prefetch.claimed = true;
+        if (prefetch.started && executor.remove(prefetch)) {
+            // still waiting for a thread, faster to read it right away
+            prefetch.started = false;
+            running--;
+        }
+        if (transfer == null) {
+            // the first read happens in the request thread
+            transfer = new ThreadLocalsTransfer();
+        }
+        startNext();
+        return prefetch.started ? new PrefetchIterator(prefetch) : null;
+    }
+
+    private synchronized void done() {
+        running--;
+        startNext();
+    }
+
+    private void startNext() {
+        for (Prefetch prefetch : members) {
+            if (cancelled || transfer == null || running >= parallelism - 1) {
+                return;
+            }
+            if (!prefetch.claimed && !prefetch.started) {
+                try {
+                    executor.execute(prefetch);
+                } catch (RejectedExecutionException e) {
+                    // the shared pool is saturated, the query will be read in the request thread
+                    return;
+                }
+                prefetch.started = true;
+                running++;
+            }
+        }
+    }
+
+    /** Stops all background reads, called at the end of the request */
+    synchronized void cancel() {
+        cancelled = true;
+        for (Prefetch prefetch : members) {
+            prefetch.cancel();
+            // do not hold a place in the shared queue
+            executor.remove(prefetch);
+        }
+    }
+
+    /** Reads a collection in the background, buffering its features */
+    private class Prefetch implements Runnable {
+
+        final SimpleFeatureCollection delegate;
+
+        final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+        volatile boolean stopped;
+
+        // guarded by the runner
+        boolean claimed;
+
+        boolean started;
+
+        Prefetch(SimpleFeatureCollection delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            transfer.apply();
+            try (SimpleFeatureIterator it = delegate.features()) {
+                while (it.hasNext()) {
+                    if (!put(it.next())) {
+                        return;
+                    }
+                }
+                put(END);
+            } catch (Throwable t) {
+                put(t);
+            } finally {
+                transfer.cleanup();
+                done();
+            }
+        }
+
+        /** Waits for room in the buffer, returns false if the read has been stopped */
+        private boolean put(Object value) {
+            try {
+                while (!stopped) {
+                    if (buffer.offer(value, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        void cancel() {
+            stopped = true;
+            buffer.clear();
+        }
+    }
+
+    /** Returns the features buffered by a {@link Prefetch} */
+    private static class PrefetchIterator implements SimpleFeatureIterator {
+
+        final Prefetch prefetch;
+
+        Object next;
+
+        PrefetchIterator(Prefetch prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                Object value;
+                try {
+                    value = prefetch.buffer.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while reading features", e);
+                }
+                if (value instanceof Throwable) {
+                    next = END;
+                    if (value instanceof RuntimeException) {
+                        throw (RuntimeException) value;
+                    } else if (value instanceof Error) {
+                        throw (Error) value;
+                    }
+                    throw new RuntimeException((Throwable) value);
+                }
+                next = value;
+            }
+            return next != END;
+        }
+
+        @Override
+        public SimpleFeature next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SimpleFeature feature = (SimpleFeature) next;
+            next = null;
+            return feature;
+        }
+
+        @Override
+        public void close() {
+            // stops the background read if the collection was not read fully
+            prefetch.cancel();
+        }
+    }
+
+    /** Reads the buffered features the first time the collection is iterated */
+    private class PrefetchingCollection extends DecoratingSimpleFeatureCollection {
+
+        final Prefetch prefetch;
+
+        PrefetchingCollection(SimpleFeatureCollection delegate, Prefetch prefetch) {
+            super(delegate);
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public SimpleFeatureIterator features() {
+            SimpleFeatureIterator it = claim(prefetch);
+            return it != null ? it : delegate.features();
+        }
+
+        @Override
+        protected boolean canDelegate(FeatureVisitor visitor) {
+            return true;
+        }
+    }
+}
@@ -32,6 +32,7 @@
 import org.geoserver.wfs.request.TransactionElement;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geoserver.wfs.xml.TransactionElementStream;
 import org.geotools.api.data.FeatureLockException;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.FeatureStore;
@@ -130,6 +131,21 @@ protected TransactionResponse execute(TransactionRequest request) throws Excepti
             request.setReleaseActionAll();
         }
 
+        // large transactions can be parsed while executing, in which case the request elements
+        // are just the current batch
+        TransactionElementStream stream = TransactionElementStream.get(request.getAdaptee());
+        if (stream != null && !isStreamingSupported()) {
+            // some callback needs to see all the elements before the transaction runs
+            List<TransactionElement> elements = new ArrayList<>();
+            for (List<TransactionElement> batch = stream.next();
+                    !batch.isEmpty();
+                    batch = stream.next()) {
+                elements.addAll(batch);
+            }
+            request.setElements(elements);
+            stream = null;
+        }
+
         // inform plugins we're about to start, and let them eventually
         // alter the request
         request = fireBeforeTransaction(request);
@@ -155,103 +171,17 @@ protected TransactionResponse execute(TransactionRequest request) throws Excepti
         // List of type names, maintain this list because of the insert hack
         // described below
         // List typeNames = new ArrayList();
+        if (stream != null) {
+            request.setElements(stream.next());
+        }
         Map<TransactionElement, TransactionElementHandler> elementHandlers =
                 gatherElementHandlers(request);
 
-        // Gather feature types required by transaction elements and validate
-        // the elements
-        // finally gather FeatureStores required by Transaction Elements
-        // and configure them with our transaction
-        //
-        // (I am using element rather than transaction sub request
-        // to agree with the spec docs)
-        for (Entry<TransactionElement, TransactionElementHandler>
-                elementTransactionElementHandlerEntry : elementHandlers.entrySet()) {
-            Entry entry = elementTransactionElementHandlerEntry;
-            TransactionElement element = (TransactionElement) entry.getKey();
-            TransactionElementHandler handler = (TransactionElementHandler) entry.getValue();
-            Map<QName, FeatureTypeInfo> featureTypeInfos = new HashMap<>();
-
-            QName[] typeNames = handler.getTypeNames(request, element);
-
-            for (final QName typeName : typeNames) {
-                final String name = typeName.getLocalPart();
-                final String namespaceURI;
-
-                if (typeName.getNamespaceURI() != null) {
-                    namespaceURI = typeName.getNamespaceURI();
-                } else {
-                    namespaceURI = catalog.getDefaultNamespace().getURI();
-                }
-
-                LOGGER.fine(
-                        "Locating FeatureSource uri:'" + namespaceURI + "' name:'" + name + "'");
-
-                final FeatureTypeInfo meta = catalog.getFeatureTypeByName(namespaceURI, name);
-
-                if (meta == null) {
-                    String msg = "Feature type '" + name + "' is not available";
-                    throw new WFSTransactionException(
-                            msg, ServiceException.INVALID_PARAMETER_VALUE, element.getHandle());
-                }
-
-                featureTypeInfos.put(typeName, meta);
-            }
-
-            // check element validity
-            handler.checkValidity(element, featureTypeInfos);
-
-            // go through all feature type infos data objects, and load feature
-            // stores
-            for (FeatureTypeInfo meta : featureTypeInfos.values()) {
-                String typeRef = meta.getStore().getName() + ":" + meta.getName();
-
-                String URI = meta.getNamespace().getURI();
-                QName elementName = new QName(URI, meta.getName(), meta.getNamespace().getPrefix());
-                QName elementNameDefault = null;
-
-                if (catalog.getDefaultNamespace().getURI().equals(URI)) {
-                    elementNameDefault = new QName(meta.getName());
-                }
-
-                LOGGER.fine(
-                        "located FeatureType w/ typeRef '"
-                                + typeRef
-                                + "' and elementName '"
-                                + elementName
-                                + "'");
+        // feature types already looked up, large transactions tend to have many elements
+        // (e.g., an Insert per feature) targeting the same few types
+        Map<QName, FeatureTypeInfo> resolvedTypes = new HashMap<>();
 
-                if (stores.containsKey(elementName)) {
-                    // typeName already loaded
-                    continue;
-                }
-
-                try {
-                    FeatureSource<? extends FeatureType, ? extends Feature> source =
-                            meta.getFeatureSource(null, null);
-
-                    if (source instanceof FeatureStore) {
-                        FeatureStore<? extends FeatureType, ? extends Feature> store =
-                                (FeatureStore<? extends FeatureType, ? extends Feature>) source;
-                        store.setTransaction(transaction);
-                        stores.put(elementName, (FeatureStore) source);
-
-                        if (elementNameDefault != null) {
-                            stores.put(elementNameDefault, (FeatureStore) source);
-                        }
-
-                        stores2.put(typeRef, source);
-                    } else {
-                        String msg = elementName + " is read-only";
-                        throw new WFSTransactionException(msg, (String) null, element.getHandle());
-                    }
-                } catch (IOException ioException) {
-                    String msg =
-                            elementName + " is not available: " + ioException.getLocalizedMessage();
-                    throw new WFSTransactionException(msg, ioException, element.getHandle());
-                }
-            }
-        }
+        gatherFeatureStores(request, elementHandlers, stores, stores2, resolvedTypes);
 
         // provide authorization for transaction
         //
@@ -297,6 +227,18 @@ protected TransactionResponse execute(TransactionRequest request) throws Excepti
             BatchManager batchManager =
                     createBatchManager(request, multiplexer, stores, elementHandlers, result);
             batchManager.run();
+
+            // run the following batches in the same transaction
+            if (stream != null) {
+                List<TransactionElement> elements = stream.next();
+                while (!elements.isEmpty()) {
+                    request.setElements(elements);
+                    elementHandlers = gatherElementHandlers(request);
+                    gatherFeatureStores(request, elementHandlers, stores, stores2, resolvedTypes);
+                    createBatchManager(request, multiplexer, stores, elementHandlers, result).run();
+                    elements = stream.next();
+                }
+            }
         } catch (WFSTransactionException e) {
             LOGGER.log(Level.SEVERE, "Transaction failed", e);
 
@@ -422,6 +364,120 @@ protected TransactionResponse execute(TransactionRequest request) throws Excepti
         // response = build;
     }
 
+    /**
+     * Gathers the feature types required by the transaction elements, validates the elements, and
+     * loads the feature stores not loaded yet, configuring them with the current transaction
+     */
+    private void gatherFeatureStores(
+            TransactionRequest request,
+            Map<TransactionElement, TransactionElementHandler> elementHandlers,
+            Map<QName, FeatureStore> stores,
+            Map<String, FeatureSource> stores2,
+            Map<QName, FeatureTypeInfo> resolvedTypes)
+            throws WFSTransactionException {
+        // Gather feature types required by transaction elements and validate
+        // the elements
+        // finally gather FeatureStores required by Transaction Elements
+        // and configure them with our transaction
+        //
+        // (I am using element rather than transaction sub request
+        // to agree with the spec docs)
+        for (Entry<TransactionElement, TransactionElementHandler>
+                elementTransactionElementHandlerEntry : elementHandlers.entrySet()) {
+            Entry entry = elementTransactionElementHandlerEntry;
+            TransactionElement element = (TransactionElement) entry.getKey();
+            TransactionElementHandler handler = (TransactionElementHandler) entry.getValue();
+            Map<QName, FeatureTypeInfo> featureTypeInfos = new HashMap<>();
+
+            QName[] typeNames = handler.getTypeNames(request, element);
+
+            for (final QName typeName : typeNames) {
+                FeatureTypeInfo resolved = resolvedTypes.get(typeName);
+                if (resolved != null) {
+                    featureTypeInfos.put(typeName, resolved);
+                    continue;
+                }
+
+                final String name = typeName.getLocalPart();
+                final String namespaceURI;
+
+                if (typeName.getNamespaceURI() != null) {
+                    namespaceURI = typeName.getNamespaceURI();
+                } else {
+                    namespaceURI = catalog.getDefaultNamespace().getURI();
+                }
+
+                LOGGER.fine(
+                        "Locating FeatureSource uri:'" + namespaceURI + "' name:'" + name + "'");
+
+                final FeatureTypeInfo meta = catalog.getFeatureTypeByName(namespaceURI, name);
+
+                if (meta == null) {
+                    String msg = "Feature type '" + name + "' is not available";
+                    throw new WFSTransactionException(
+                            msg, ServiceException.INVALID_PARAMETER_VALUE, element.getHandle());
+                }
+
+                featureTypeInfos.put(typeName, meta);
+                resolvedTypes.put(typeName, meta);
+            }
+
+            // check element validity
+            handler.checkValidity(element, featureTypeInfos);
+
+            // go through all feature type infos data objects, and load feature
+            // stores
+            for (FeatureTypeInfo meta : featureTypeInfos.values()) {
+                String typeRef = meta.getStore().getName() + ":" + meta.getName();
+
+                String URI = meta.getNamespace().getURI();
+                QName elementName = new QName(URI, meta.getName(), meta.getNamespace().getPrefix());
+                QName elementNameDefault = null;
+
+                if (catalog.getDefaultNamespace().getURI().equals(URI)) {
+                    elementNameDefault = new QName(meta.getName());
+                }
+
+                LOGGER.fine(
+                        "located FeatureType w/ typeRef '"
+                                + typeRef
+                                + "' and elementName '"
+                                + elementName
+                                + "'");
+
+                if (stores.containsKey(elementName)) {
+                    // typeName already loaded
+                    continue;
+                }
+
+                try {
+                    FeatureSource<? extends FeatureType, ? extends Feature> source =
+                            meta.getFeatureSource(null, null);
+
+                    if (source instanceof FeatureStore) {
+                        FeatureStore<? extends FeatureType, ? extends Feature> store =
+                                (FeatureStore<? extends FeatureType, ? extends Feature>) source;
+                        store.setTransaction(transaction);
+                        stores.put(elementName, (FeatureStore) source);
+
+                        if (elementNameDefault != null) {
+                            stores.put(elementNameDefault, (FeatureStore) source);
+                        }
+
+                        stores2.put(typeRef, source);
+                    } else {
+                        String msg = elementName + " is read-only";
+                        throw new WFSTransactionException(msg, (String) null, element.getHandle());
+                    }
+                } catch (IOException ioException) {
+                    String msg =
+                            elementName + " is not available: " + ioException.getLocalizedMessage();
+                    throw new WFSTransactionException(msg, ioException, element.getHandle());
+                }
+            }
+        }
+    }
+
     /**
      * @param request
      * @param multiplexer
@@ -440,6 +496,16 @@ protected BatchManager createBatchManager(
                 request, multiplexer, stores, result, elementHandlers, DELETE_BATCH_SIZE);
     }
 
+    /** Returns true if all the callbacks can work with transactions parsed while they run */
+    private boolean isStreamingSupported() {
+        for (TransactionCallback tp : transactionCallbacks) {
+            if (!tp.isStreamingSupported()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private TransactionRequest fireBeforeTransaction(TransactionRequest request) {
         for (TransactionCallback tp : transactionCallbacks) {
             request = tp.beforeTransaction(request);
@@ -468,10 +534,16 @@ private Map<TransactionElement, TransactionElementHandler> gatherElementHandlers
         // JD: use a linked hashmap since the order of elements in a transaction
         // must be respected
         Map<TransactionElement, TransactionElementHandler> map = new LinkedHashMap<>();
+        Map<Class<?>, TransactionElementHandler> handlers = new HashMap<>();
 
         List<TransactionElement> elements = request.getElements();
         for (TransactionElement element : elements) {
-            map.put(element, findElementHandler(element.getClass()));
+            TransactionElementHandler handler = handlers.get(element.getClass());
+            if (handler == null) {
+                handler = findElementHandler(element.getClass());
+                handlers.put(element.getClass(), handler);
+            }
+            map.put(element, handler);
         }
 
         return map;
@@ -31,6 +31,17 @@ public interface TransactionCallback extends ExtensionPriority, TransactionListe
     void afterTransaction(
             TransactionRequest request, TransactionResponse result, boolean committed);
 
+    /**
+     * Returns true if the callback works with transactions parsed while they run, see {@link
+     * org.geoserver.wfs.xml.TransactionElementStream}. In that case {@link #beforeTransaction} is
+     * called once, before the elements are parsed, and sees none of them. Callbacks checking or
+     * altering the elements must return false, the default, which makes the transaction to be fully
+     * parsed before the callbacks are called.
+     */
+    default boolean isStreamingSupported() {
+        return false;
+    }
+
     @Override
     default int getPriority() {
         return ExtensionPriority.LOWEST;
@@ -413,6 +413,11 @@ public void setNumberOfDecimals(int numberOfDecimals) {
         this.numDecimals = numberOfDecimals;
     }
 
+    /** Returns the number of decimals coordinates and bounds are rounded to */
+    public int getNumberOfDecimals() {
+        return numDecimals;
+    }
+
     /**
      * Sets if coordinates measures (M) should be encoded.
      *
@@ -421,4 +426,9 @@ public void setNumberOfDecimals(int numberOfDecimals) {
     public void setEncodeMeasures(boolean encodeMeasures) {
         this.encodeMeasures = encodeMeasures;
     }
+
+    /** Returns true if coordinates measures (M) are encoded */
+    public boolean isEncodeMeasures() {
+        return encodeMeasures;
+    }
 }
@@ -59,6 +59,12 @@ public class GeoJSONGetFeatureResponse extends WFSGetFeatureOutputFormat
         implements ComplexFeatureAwareFormat {
     private final Logger LOGGER = org.geotools.util.logging.Logging.getLogger(this.getClass());
 
+    /**
+     * Property that can be set to false to encode simple features with the {@link GeoJSONBuilder}
+     * instead of the {@link StreamingGeoJSONWriter}
+     */
+    public static final String STREAMING_PROPERTY = "GEOSERVER_GEOJSON_STREAMING";
+
     // store the response type
     protected final boolean jsonp;
 
@@ -146,8 +152,12 @@ protected void write(
             jsonWriter.key("features");
             jsonWriter.array();
             List<FeatureCollection> resultsList = featureCollection.getFeature();
-            FeaturesInfo featuresInfo =
-                    writeFeatures(resultsList, operation, isComplex, jsonWriter);
+            FeaturesInfo featuresInfo;
+            if (!isComplex && isStreamingEnabled()) {
+                featuresInfo = writeFeaturesStreaming(resultsList, jsonWriter, outWriter);
+            } else {
+                featuresInfo = writeFeatures(resultsList, operation, isComplex, jsonWriter);
+            }
             jsonWriter.endArray(); // end features
             boolean hasGeom = featuresInfo.hasGeometry;
             CoordinateReferenceSystem crs = featuresInfo.crs;
@@ -188,6 +198,31 @@ protected GeoJSONBuilder getGeoJSONBuilder(
         return jsonWriter;
     }
 
+    /**
+     * Returns true if simple features can be written by the {@link StreamingGeoJSONWriter}. That's
+     * the case unless disabled with the {@link #STREAMING_PROPERTY} property, or for subclasses,
+     * which might customize the features output by overriding the {@link GeoJSONBuilder} based
+     * methods.
+     */
+    protected boolean isStreamingEnabled() {
+        return getClass() == GeoJSONGetFeatureResponse.class
+                && !"false".equalsIgnoreCase(GeoServerExtensions.getProperty(STREAMING_PROPERTY));
+    }
+
+    /**
+     * Writes the simple features directly to the output writer, the builder is only used to get the
+     * encoding settings
+     */
+    private FeaturesInfo writeFeaturesStreaming(
+            List<FeatureCollection> resultsList, GeoJSONBuilder jsonWriter, Writer outWriter)
+            throws IOException {
+        StreamingGeoJSONWriter writer =
+                new StreamingGeoJSONWriter(
+                        outWriter, jsonWriter.getNumberOfDecimals(), jsonWriter.isEncodeMeasures());
+        writer.writeFeatures(resultsList, isFeatureBounding(), getIdOption());
+        return new FeaturesInfo(writer.getCrs(), writer.hasGeometry(), writer.getFeatureCount());
+    }
+
     /** Is WFS configured to return feature and collection bounds? */
     protected boolean isFeatureBounding() {
         WFSInfo wfs = getInfo();
@@ -149,6 +149,7 @@ public void setElements(List<TransactionElement> elements) {
             tx.getInsert().clear();
             tx.getDelete().clear();
             tx.getUpdate().clear();
+            tx.getNative().clear();
 
             for (TransactionElement element : elements) {
                 if (element instanceof Insert) {
@@ -157,6 +158,8 @@ public void setElements(List<TransactionElement> elements) {
                     tx.getUpdate().add(element.getAdaptee());
                 } else if (element instanceof Delete) {
                     tx.getDelete().add(element.getAdaptee());
+                } else if (element instanceof Native) {
+                    tx.getNative().add(element.getAdaptee());
                 }
                 // no replace in wfs 1.1, cannot be there
             }
@@ -9,7 +9,9 @@
 import java.io.OutputStream;
 import java.util.List;
 import javax.xml.transform.TransformerException;
+import org.geoserver.ows.CapabilitiesCache;
 import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.Operation;
 import org.geoserver.wfs.request.GetCapabilitiesRequest;
 import org.geotools.xml.transform.TransformerBase;
@@ -51,7 +53,16 @@ public String getMimeType(Object value, Operation operation) {
     @Override
     public void write(Object value, OutputStream output, Operation operation) throws IOException {
         TransformerBase tx = (TransformerBase) value;
+        CapabilitiesCache cache = GeoServerExtensions.bean(CapabilitiesCache.class);
+        if (cache != null) {
+            cache.write(output, out -> transform(tx, out, operation));
+        } else {
+            transform(tx, output, operation);
+        }
+    }
 
+    private void transform(TransformerBase tx, OutputStream output, Operation operation)
+            throws IOException {
         try {
             tx.transform(operation.getParameters()[0], output);
         } catch (TransformerException e) {
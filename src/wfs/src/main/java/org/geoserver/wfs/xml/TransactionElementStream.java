@@ -0,0 +1,309 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.geoserver.ows.LocalPublished;
+import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.ows.XmlRequestReader;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wfs.WFSException;
+import org.geoserver.wfs.WFSInfo;
+import org.geoserver.wfs.request.TransactionElement;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geotools.xsd.Parser;
+
+/**
+ * Reads the elements of a WFS Transaction document in batches while the transaction runs, instead
+ * of parsing the whole document before it starts.
+ *
+ * <p>The request reader only parses the root element (version, handle, lock id, release action),
+ * and attaches this stream to the resulting transaction as an EMF adapter. {@link
+ * org.geoserver.wfs.Transaction} then pulls the elements from the stream, up to {@link #BATCH_SIZE}
+ * features (or non insert elements) at a time. Each batch is copied in a small transaction
+ * document, parsed with the same configuration as a regular request, so that the memory used is
+ * proportional to the batch instead of the whole payload. An insert with more features than that is
+ * split, it's closed at the end of the batch and reopened, with the same attributes, at the start
+ * of the next one.
+ *
+ * <p>It's disabled by default, it can be enabled by setting the {@link #ENABLED_PROPERTY} property
+ * to true. Validating (strict or CITE compliant) and virtual service requests are always parsed in
+ * full, as their elements are checked before the transaction starts. The same happens when a {@link
+ * org.geoserver.wfs.TransactionCallback} not supporting streaming is installed, see {@link
+ * org.geoserver.wfs.TransactionCallback#isStreamingSupported()}.
+ */
+public class TransactionElementStream extends AdapterImpl {
+
+    /** Enables the streaming parsing of transactions */
+    public static final String ENABLED_PROPERTY = "GEOSERVER_WFS_STREAMING_TRANSACTION";
+
+    /** Max number of features, or non insert elements, parsed at once */
+    public static final int BATCH_SIZE = 1000;
+
+    private final XMLStreamReader reader;
+
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+    private final Callable<Parser> parsers;
+
+    private String rootStart;
+
+    private String rootEnd;
+
+    private boolean finished;
+
+    /**
+     * The start tag of the insert split at the end of the previous batch, the reader is then
+     * positioned on the start of its next feature
+     */
+    private StartTag insert;
+
+    TransactionElementStream(XMLStreamReader reader, Callable<Parser> parsers) {
+        this.reader = reader;
+        this.parsers = parsers;
+    }
+
+    /** Returns true if the request read by the given reader should be streamed */
+    public static boolean isEnabled(XmlRequestReader requestReader, Map kvp, WFSInfo wfs) {
+        return "Transaction".equals(requestReader.getElement().getLocalPart())
+                && Boolean.parseBoolean(GeoServerExtensions.getProperty(ENABLED_PROPERTY))
+                && !Boolean.TRUE.equals(kvp.get("strict"))
+                && !wfs.isCiteCompliant()
+                && LocalWorkspace.get() == null
+                && LocalPublished.get() == null;
+    }
+
+    /**
+     * Parses the root element of the transaction document, returning a transaction without
+     * elements, with the stream of its elements attached.
+     *
+     * @param input The request document
+     * @param parsers Creates the parsers for the root element and the batches of elements
+     */
+    public static Object read(Reader input, Callable<Parser> parsers) throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // disable DTDs
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        // disable external entities
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader reader = factory.createXMLStreamReader(input);
+        reader.nextTag();
+
+        TransactionElementStream stream = new TransactionElementStream(reader, parsers);
+        stream.readRoot();
+        Object transaction =
+                parsers.call().parse(new StringReader(stream.rootStart + stream.rootEnd));
+        if (transaction instanceof EObject) {
+            ((EObject) transaction).eAdapters().add(stream);
+        }
+        return transaction;
+    }
+
+    /** Returns the stream attached to the given request, or null if it was fully parsed */
+    public static TransactionElementStream get(Object request) {
+        if (request instanceof EObject) {
+            return (TransactionElementStream)
+                    EcoreUtil.getExistingAdapter((EObject) request, TransactionElementStream.class);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == TransactionElementStream.class;
+    }
+
+    /** Copies the start and end tags of the root element, to wrap the batches of elements */
+    private void readRoot() throws XMLStreamException {
+        StringWriter out = new StringWriter();
+        XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out);
+        new StartTag(reader).write(writer);
+        // closes the start tag
+        writer.writeCharacters("");
+        writer.flush();
+        rootStart = out.toString();
+        String prefix = reader.getPrefix();
+        rootEnd =
+                "</"
+                        + (prefix == null || prefix.isEmpty() ? "" : prefix + ":")
+                        + reader.getLocalName()
+                        + ">";
+    }
+
+    /** Parses the next batch of elements, returns an empty list once all have been read */
+    public List<TransactionElement> next() throws WFSException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+        StringWriter out = new StringWriter();
+        try {
+            out.write(rootStart);
+            XMLStreamWriter writer = outputFactory.createXMLStreamWriter(out);
+            int count = 0;
+            if (insert != null) {
+                insert.write(writer);
+                count = copyFeatures(writer, reader.getEventType(), count);
+            }
+            while (count < BATCH_SIZE) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("Insert".equals(reader.getLocalName())) {
+                        insert = new StartTag(reader);
+                        insert.write(writer);
+                        count = copyFeatures(writer, reader.nextTag(), count);
+                    } else {
+                        copyElement(writer);
+                        count++;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT
+                        || event == XMLStreamConstants.END_DOCUMENT) {
+                    finished = true;
+                    break;
+                }
+                // skip whitespace and comments between elements
+            }
+            writer.flush();
+            out.write(rootEnd);
+        } catch (XMLStreamException e) {
+            throw new WFSException("Transaction parsing failed", e);
+        }
+
+        Object parsed;
+        try {
+            parsed = parsers.call().parse(new StringReader(out.toString()));
+        } catch (Exception e) {
+            throw new WFSException("Transaction parsing failed", e);
+        }
+        TransactionRequest batch = TransactionRequest.adapt(parsed);
+        if (batch == null) {
+            throw new WFSException("Transaction parsing failed, unexpected content: " + parsed);
+        }
+        return batch.getElements();
+    }
+
+    /**
+     * Copies the features of the current insert, starting from the given event, until the insert
+     * ends or the batch is full. In the latter case the insert is closed, and left open for the
+     * next batch. Returns the number of features in the batch.
+     */
+    private int copyFeatures(XMLStreamWriter writer, int event, int count)
+            throws XMLStreamException {
+        while (event == XMLStreamConstants.START_ELEMENT) {
+            copyElement(writer);
+            count++;
+            event = reader.nextTag();
+            if (count >= BATCH_SIZE && event == XMLStreamConstants.START_ELEMENT) {
+                writer.writeEndElement();
+                return count;
+            }
+        }
+        writer.writeEndElement();
+        insert = null;
+        return count;
+    }
+
+    /** Copies the element the reader is positioned on */
+    private void copyElement(XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+        while (true) {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    new StartTag(reader).write(writer);
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.CDATA:
+                    writer.writeCharacters(
+                            reader.getTextCharacters(),
+                            reader.getTextStart(),
+                            reader.getTextLength());
+                    break;
+                default:
+                    // comments and processing instructions are not needed
+            }
+            if (depth == 0) {
+                return;
+            }
+            reader.next();
+        }
+    }
+
+    /** A start tag, with its namespace declarations and attributes */
+    private static class StartTag {
+
+        final String prefix;
+
+        final String localName;
+
+        final String namespace;
+
+        /** Prefix and URI of the namespaces declared on the element */
+        final List<String[]> namespaces = new ArrayList<>();
+
+        /** Prefix, namespace, local name and value of the attributes */
+        final List<String[]> attributes = new ArrayList<>();
+
+        /** Reads the start tag the reader is positioned on */
+        StartTag(XMLStreamReader reader) {
+            String prefix = reader.getPrefix();
+            String namespace = reader.getNamespaceURI();
+            this.prefix = prefix == null ? "" : prefix;
+            this.localName = reader.getLocalName();
+            this.namespace = namespace == null ? "" : namespace;
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                namespaces.add(
+                        new String[] {reader.getNamespacePrefix(i), reader.getNamespaceURI(i)});
+            }
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                attributes.add(
+                        new String[] {
+                            reader.getAttributePrefix(i),
+                            reader.getAttributeNamespace(i),
+                            reader.getAttributeLocalName(i),
+                            reader.getAttributeValue(i)
+                        });
+            }
+        }
+
+        void write(XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement(prefix, localName, namespace);
+            for (String[] ns : namespaces) {
+                if (ns[0] == null || ns[0].isEmpty()) {
+                    writer.writeDefaultNamespace(ns[1]);
+                } else {
+                    writer.writeNamespace(ns[0], ns[1]);
+                }
+            }
+            for (String[] att : attributes) {
+                if (att[1] == null || att[1].isEmpty()) {
+                    writer.writeAttribute(att[2], att[3]);
+                } else {
+                    writer.writeAttribute(att[0], att[1], att[2], att[3]);
+                }
+            }
+        }
+    }
+}
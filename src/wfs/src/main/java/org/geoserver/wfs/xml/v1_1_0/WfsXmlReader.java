@@ -13,6 +13,7 @@
 import org.geoserver.ows.XmlRequestReader;
 import org.geoserver.util.EntityResolverProvider;
 import org.geoserver.wfs.WFSInfo;
+import org.geoserver.wfs.xml.TransactionElementStream;
 import org.geoserver.wfs.xml.WFSXmlUtils;
 import org.geotools.util.Version;
 import org.geotools.xsd.Configuration;
@@ -55,14 +56,12 @@ protected WfsXmlReader(
 
     @Override
     public Object read(Object request, Reader reader, Map kvp) throws Exception {
-        Parser parser = new Parser(configuration);
-        parser.setStrict(false);
-        parser.setEntityResolver(entityResolverProvider.getEntityResolver());
-        // set entity expansion limit
-        parser.setEntityExpansionLimit(WFSXmlUtils.getEntityExpansionLimitConfiguration());
-
         try {
-            WFSXmlUtils.initRequestParser(parser, wfs, geoServer, kvp);
+            if (TransactionElementStream.isEnabled(this, kvp, wfs)) {
+                return TransactionElementStream.read(reader, () -> createParser(kvp));
+            }
+
+            Parser parser = createParser(kvp);
             Object parsed = WFSXmlUtils.parseRequest(parser, reader, wfs);
 
             WFSXmlUtils.checkValidationErrors(parser, this);
@@ -74,4 +73,14 @@ public Object read(Object request, Reader reader, Map kvp) throws Exception {
             throw cleanSaxException(e);
         }
     }
+
+    private Parser createParser(Map kvp) {
+        Parser parser = new Parser(configuration);
+        parser.setStrict(false);
+        parser.setEntityResolver(entityResolverProvider.getEntityResolver());
+        // set entity expansion limit
+        parser.setEntityExpansionLimit(WFSXmlUtils.getEntityExpansionLimitConfiguration());
+        WFSXmlUtils.initRequestParser(parser, wfs, geoServer, kvp);
+        return parser;
+    }
 }
@@ -15,6 +15,7 @@
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.xml.FeatureTypeSchemaBuilder;
+import org.geoserver.wfs.xml.TransactionElementStream;
 import org.geoserver.wfs.xml.WFSXmlUtils;
 import org.geotools.util.Version;
 import org.geotools.wfs.v2_0.WFS;
@@ -40,16 +41,15 @@ public WfsXmlReader(String element, GeoServer gs) {
     public Object read(Object request, Reader reader, Map kvp) throws Exception {
         WFSConfiguration config = new WFSConfiguration();
         WFSXmlUtils.initWfsConfiguration(config, gs, new FeatureTypeSchemaBuilder.GML32(gs));
-
-        Parser parser = new Parser(config);
-        parser.setEntityResolver(entityResolverProvider.getEntityResolver());
-        // set entity expansion limit
-        parser.setEntityExpansionLimit(WFSXmlUtils.getEntityExpansionLimitConfiguration());
         WFSInfo wfs = wfs();
 
-        WFSXmlUtils.initRequestParser(parser, wfs, gs, kvp);
+        Parser parser;
         Object parsed;
         try {
+            if (TransactionElementStream.isEnabled(this, kvp, wfs)) {
+                return TransactionElementStream.read(reader, () -> createParser(config, wfs, kvp));
+            }
+            parser = createParser(config, wfs, kvp);
             parsed = WFSXmlUtils.parseRequest(parser, reader, wfs);
         } catch (Exception e) {
             // check the exception, and set code to OperationParsingFailed if code not set
@@ -68,6 +68,15 @@ public Object read(Object request, Reader reader, Map kvp) throws Exception {
         return parsed;
     }
 
+    private Parser createParser(WFSConfiguration config, WFSInfo wfs, Map kvp) {
+        Parser parser = new Parser(config);
+        parser.setEntityResolver(entityResolverProvider.getEntityResolver());
+        // set entity expansion limit
+        parser.setEntityExpansionLimit(WFSXmlUtils.getEntityExpansionLimitConfiguration());
+        WFSXmlUtils.initRequestParser(parser, wfs, gs, kvp);
+        return parser;
+    }
+
     WFSInfo wfs() {
         return gs.getService(WFSInfo.class);
     }
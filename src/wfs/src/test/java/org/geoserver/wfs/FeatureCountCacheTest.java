@@ -0,0 +1,133 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.namespace.QName;
+import org.geoserver.config.GeoServerInfo;
+import org.geoserver.config.impl.GeoServerImpl;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.filter.text.ecql.ECQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class FeatureCountCacheTest {
+
+    GeoServerImpl geoServer;
+
+    FeatureCountCache cache;
+
+    SimpleFeatureSource source;
+
+    AtomicInteger counts = new AtomicInteger();
+
+    Callable<Integer> counter = () -> counts.incrementAndGet();
+
+    @Before
+    public void setUp() throws Exception {
+        geoServer = new GeoServerImpl();
+        cache = new FeatureCountCache(geoServer, 100, 60);
+        SimpleFeatureType type =
+                DataUtilities.createType("http://www.openplans.org/topp", "states", "name:String");
+        source = new CollectionFeatureSource(new ListFeatureCollection(type));
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Query query(String cql) throws Exception {
+        return new Query("states", ECQL.toFilter(cql));
+    }
+
+    @Test
+    public void testCacheHit() throws Exception {
+        assertEquals(1, cache.getCount(source, query("name = 'a'"), counter));
+        assertEquals(1, cache.getCount(source, query("name = 'a'"), counter));
+        assertEquals(1, cache.getStats().hitCount());
+
+        // different filter
+        assertEquals(2, cache.getCount(source, query("name = 'b'"), counter));
+
+        // different page
+        Query paged = query("name = 'a'");
+        paged.setStartIndex(10);
+        paged.setMaxFeatures(10);
+        assertEquals(3, cache.getCount(source, paged, counter));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testTransaction() throws Exception {
+        Query query = query("name = 'a'");
+        assertEquals(1, cache.getCount(source, query, counter));
+
+        // another layer modified
+        QName roads = new QName("http://www.openplans.org/topp", "roads");
+        cache.dataStoreChange(
+                new TransactionEvent(TransactionEventType.POST_UPDATE, null, roads, null));
+        assertEquals(1, cache.getCount(source, query, counter));
+
+        // the counted layer modified, the count taken before the commit is dropped too
+        QName states = new QName("http://www.openplans.org/topp", "states");
+        cache.beforeTransaction(null);
+        cache.dataStoreChange(
+                new TransactionEvent(TransactionEventType.POST_UPDATE, null, states, null));
+        assertEquals(2, cache.getCount(source, query, counter));
+        cache.afterTransaction(null, null, true);
+        assertEquals(3, cache.getCount(source, query, counter));
+        assertEquals(3, cache.getCount(source, query, counter));
+    }
+
+    @Test
+    public void testUpdateSequence() throws Exception {
+        Query query = query("name = 'a'");
+        assertEquals(1, cache.getCount(source, query, counter));
+
+        GeoServerInfo global = geoServer.getGlobal();
+        global.setUpdateSequence(global.getUpdateSequence() + 1);
+        geoServer.save(global);
+
+        assertEquals(2, cache.getCount(source, query, counter));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testUsers() throws Exception {
+        Query query = query("name = 'a'");
+        assertEquals(1, cache.getCount(source, query, counter));
+
+        TestingAuthenticationToken auth =
+                new TestingAuthenticationToken(
+                        "user", "pwd", List.of(new SimpleGrantedAuthority("ROLE_EDITOR")));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        assertEquals(2, cache.getCount(source, query, counter));
+        assertEquals(2, cache.getCount(source, query, counter));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        cache = new FeatureCountCache(geoServer, 0, 60);
+        assertFalse(cache.isEnabled());
+        Query query = query("name = 'a'");
+        assertEquals(1, cache.getCount(source, query, counter));
+        assertEquals(2, cache.getCount(source, query, counter));
+    }
+}
@@ -0,0 +1,304 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import net.opengis.wfs.GetFeatureType;
+import net.opengis.wfs.ResultTypeType;
+import net.opengis.wfs.WfsFactory;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
+import org.geoserver.wfs.request.GetFeatureRequest;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.After;
+import org.junit.Test;
+
+public class ParallelQueryRunnerTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ParallelQueryRunner.PARALLELISM_PROPERTY);
+        Dispatcher.REQUEST.remove();
+        ParallelQueryCleaner.runners.remove();
+    }
+
+    @Test
+    public void testCreate() {
+        GetFeatureType gft = WfsFactory.eINSTANCE.createGetFeatureType();
+        GetFeatureRequest request = GetFeatureRequest.adapt(gft);
+        Request dispatched = new Request();
+        dispatched.setService("WFS");
+        Dispatcher.REQUEST.set(dispatched);
+
+        // disabled by default
+        assertNull(ParallelQueryRunner.create(request, 3));
+
+        System.setProperty(ParallelQueryRunner.PARALLELISM_PROPERTY, "abc");
+        assertNull(ParallelQueryRunner.create(request, 3));
+
+        System.setProperty(ParallelQueryRunner.PARALLELISM_PROPERTY, "4");
+        assertNotNull(ParallelQueryRunner.create(request, 3));
+        assertEquals(1, ParallelQueryCleaner.runners.get().size());
+        // nothing to run in parallel
+        assertNull(ParallelQueryRunner.create(request, 1));
+
+        // no features read
+        gft.setResultType(ResultTypeType.HITS_LITERAL);
+        assertNull(ParallelQueryRunner.create(request, 3));
+
+        // not a dispatched WFS request, would not be cleaned up
+        gft.setResultType(ResultTypeType.RESULTS_LITERAL);
+        Dispatcher.REQUEST.remove();
+        assertNull(ParallelQueryRunner.create(request, 3));
+    }
+
+    @Test
+    public void testParallelRead() throws Exception {
+        ParallelQueryRunner runner = new ParallelQueryRunner(3);
+        TestCollection c1 = new TestCollection("a", 10);
+        TestCollection c2 = new TestCollection("b", 10);
+        TestCollection c3 = new TestCollection("c", 10);
+        SimpleFeatureCollection p1 = runner.add(c1);
+        SimpleFeatureCollection p2 = runner.add(c2);
+        SimpleFeatureCollection p3 = runner.add(c3);
+
+        // reading the first collection starts the others
+        try (SimpleFeatureIterator it = p1.features()) {
+            assertTrue(c2.opened.await(10, TimeUnit.SECONDS));
+            assertTrue(c3.opened.await(10, TimeUnit.SECONDS));
+            assertEquals(c1.ids(), ids(it));
+        }
+        assertTrue(c2.thread.startsWith("GeoServerWFSQuery-"));
+        assertEquals(c2.ids(), ids(p2));
+        assertEquals(c3.ids(), ids(p3));
+        assertTrue(c2.closed.await(10, TimeUnit.SECONDS));
+        assertTrue(c3.closed.await(10, TimeUnit.SECONDS));
+
+        // a second read goes straight to the store
+        assertEquals(c2.ids(), ids(p2));
+        assertEquals(Thread.currentThread().getName(), c2.thread);
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        ParallelQueryRunner runner = new ParallelQueryRunner(2);
+        TestCollection c1 = new TestCollection("a", 10);
+        TestCollection c2 = new TestCollection("b", ParallelQueryRunner.BUFFER_SIZE + 10);
+        TestCollection c3 = new TestCollection("c", 10);
+        SimpleFeatureCollection p1 = runner.add(c1);
+        SimpleFeatureCollection p2 = runner.add(c2);
+        SimpleFeatureCollection p3 = runner.add(c3);
+
+        assertEquals(c1.ids(), ids(p1));
+        assertTrue(c2.opened.await(10, TimeUnit.SECONDS));
+        // the second query fills its buffer and waits, the third cannot start yet
+        assertFalse(c3.opened.await(200, TimeUnit.MILLISECONDS));
+
+        assertEquals(c2.ids(), ids(p2));
+        assertTrue(c3.opened.await(10, TimeUnit.SECONDS));
+        assertEquals(c3.ids(), ids(p3));
+    }
+
+    @Test
+    public void testSaturated() throws Exception {
+        // the single thread and queue slot of the shared pool are taken by other requests
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> await(release));
+
+            ParallelQueryRunner runner = new ParallelQueryRunner(3, executor);
+            TestCollection c1 = new TestCollection("a", 10);
+            TestCollection c2 = new TestCollection("b", 10);
+            TestCollection c3 = new TestCollection("c", 10);
+            SimpleFeatureCollection p1 = runner.add(c1);
+            SimpleFeatureCollection p2 = runner.add(c2);
+            SimpleFeatureCollection p3 = runner.add(c3);
+
+            // no thread available, all the queries are read in the request thread
+            assertEquals(c1.ids(), ids(p1));
+            assertEquals(c2.ids(), ids(p2));
+            assertEquals(Thread.currentThread().getName(), c2.thread);
+            assertEquals(c3.ids(), ids(p3));
+            assertEquals(Thread.currentThread().getName(), c3.thread);
+            assertEquals(1, executor.getQueue().size());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueued() throws Exception {
+        // the single thread of the shared pool is taken by another request
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+
+            ParallelQueryRunner runner = new ParallelQueryRunner(2, executor);
+            TestCollection c1 = new TestCollection("a", 10);
+            TestCollection c2 = new TestCollection("b", 10);
+            SimpleFeatureCollection p1 = runner.add(c1);
+            SimpleFeatureCollection p2 = runner.add(c2);
+
+            // the second query gets queued, and is taken back when its turn comes
+            assertEquals(c1.ids(), ids(p1));
+            assertEquals(1, executor.getQueue().size());
+            assertEquals(c2.ids(), ids(p2));
+            assertEquals(Thread.currentThread().getName(), c2.thread);
+            assertEquals(0, executor.getQueue().size());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        ParallelQueryRunner runner = new ParallelQueryRunner(2);
+        TestCollection c1 = new TestCollection("a", 10);
+        TestCollection c2 = new TestCollection("b", ParallelQueryRunner.BUFFER_SIZE + 10);
+        SimpleFeatureCollection p1 = runner.add(c1);
+        SimpleFeatureCollection p2 = runner.add(c2);
+        ParallelQueryCleaner.register(runner);
+
+        assertEquals(c1.ids(), ids(p1));
+        assertTrue(c2.opened.await(10, TimeUnit.SECONDS));
+
+        // the request ends before the second collection is read
+        new ParallelQueryCleaner().finished(null);
+        assertNull(ParallelQueryCleaner.runners.get());
+        assertTrue(c2.closed.await(10, TimeUnit.SECONDS));
+
+        // reading it anyways goes to the store
+        assertEquals(c2.ids(), ids(p2));
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        ParallelQueryRunner runner = new ParallelQueryRunner(2);
+        TestCollection c1 = new TestCollection("a", 10);
+        TestCollection c2 =
+                new TestCollection("b", 10) {
+                    @Override
+                    public SimpleFeatureIterator features() {
+                        opened.countDown();
+                        throw new IllegalStateException("Store failure");
+                    }
+                };
+        SimpleFeatureCollection p1 = runner.add(c1);
+        SimpleFeatureCollection p2 = runner.add(c2);
+
+        assertEquals(c1.ids(), ids(p1));
+        try (SimpleFeatureIterator it = p2.features()) {
+            IllegalStateException e = assertThrows(IllegalStateException.class, it::hasNext);
+            assertEquals("Store failure", e.getMessage());
+            assertFalse(it.hasNext());
+        }
+    }
+
+    private static List<String> ids(SimpleFeatureCollection fc) {
+        try (SimpleFeatureIterator it = fc.features()) {
+            return ids(it);
+        }
+    }
+
+    private static List<String> ids(SimpleFeatureIterator it) {
+        List<String> ids = new ArrayList<>();
+        while (it.hasNext()) {
+            ids.add(it.next().getID());
+        }
+        return ids;
+    }
+
+    /** Tracks the thread opening the collection and the closing of its iterator */
+    static class TestCollection extends ListFeatureCollection {
+
+        static final SimpleFeatureType TYPE;
+
+        static {
+            try {
+                TYPE = DataUtilities.createType("test", "name:String");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        final CountDownLatch opened = new CountDownLatch(1);
+
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        volatile String thread;
+
+        TestCollection(String prefix, int size) {
+            super(TYPE);
+            for (int i = 0; i < size; i++) {
+                add(SimpleFeatureBuilder.build(TYPE, new Object[] {"f" + i}, prefix + "." + i));
+            }
+        }
+
+        List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            for (SimpleFeature feature : list) {
+                ids.add(feature.getID());
+            }
+            return ids;
+        }
+
+        @Override
+        public SimpleFeatureIterator features() {
+            thread = Thread.currentThread().getName();
+            opened.countDown();
+            SimpleFeatureIterator delegate = super.features();
+            return new SimpleFeatureIterator() {
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+
+                @Override
+                public SimpleFeature next() {
+                    return delegate.next();
+                }
+
+                @Override
+                public void close() {
+                    delegate.close();
+                    closed.countDown();
+                }
+            };
+        }
+    }
+}
@@ -10,6 +10,7 @@
 
 import java.util.List;
 import org.geoserver.data.test.MockData;
+import org.geoserver.wfs.xml.TransactionElementStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -92,6 +93,45 @@ public void testInsert() throws Exception {
         assertXpathEvaluatesTo("1", "count(//cgf:Points)", pointFeatures);
     }
 
+    @Test
+    public void testInsertStreaming() throws Exception {
+        // the callback alters the elements, the transaction gets fully parsed before running it
+        System.setProperty(TransactionElementStream.ENABLED_PROPERTY, "true");
+        try {
+            String insert =
+                    "<wfs:Transaction service=\"WFS\" version=\"1.1.0\" "
+                            + "xmlns:cgf=\"http://www.opengis.net/cite/geometry\" "
+                            + "xmlns:ogc=\"http://www.opengis.net/ogc\" "
+                            + "xmlns:wfs=\"http://www.opengis.net/wfs\" "
+                            + "xmlns:gml=\"http://www.opengis.net/gml\"> "
+                            + "<wfs:Insert srsName=\"EPSG:32615\"> "
+                            + "<cgf:Points>"
+                            + "<cgf:pointProperty>"
+                            + "<gml:Point>"
+                            + "<gml:pos>1 1</gml:pos>"
+                            + "</gml:Point>"
+                            + "</cgf:pointProperty>"
+                            + "<cgf:id>t0004</cgf:id>"
+                            + "</cgf:Points>"
+                            + "</wfs:Insert>"
+                            + "</wfs:Transaction>";
+
+            Document dom = postAsDOM("wfs", insert);
+            assertXpathEvaluatesTo("1", "//wfs:totalInserted", dom);
+            assertTrue(plugin.committed);
+            assertEquals(1, plugin.request.getElements().size());
+        } finally {
+            System.clearProperty(TransactionElementStream.ENABLED_PROPERTY);
+        }
+
+        // check the id has been modified
+        Document pointFeatures =
+                getAsDOM(
+                        "wfs?service=WFS&version=1.1.0&request=GetFeature&typeName=cgf:Points"
+                                + "&CQL_FILTER=id='t0004-modified'");
+        assertXpathEvaluatesTo("1", "count(//cgf:Points)", pointFeatures);
+    }
+
     @Test
     public void testUpdate() throws Exception {
         String xml =
@@ -59,6 +59,8 @@ public class GeoJSONTest extends WFSTestSupport {
             new QName(SystemTestData.CITE_URI, "PointReduced", SystemTestData.CITE_PREFIX);
     public static QName NAN_INFINITE =
             new QName(SystemTestData.CITE_URI, "NanInfinite", SystemTestData.CITE_PREFIX);
+    public static QName NAN_COORDINATES =
+            new QName(SystemTestData.CITE_URI, "NanCoordinates", SystemTestData.CITE_PREFIX);
 
     @Override
     protected void setUpInternal(SystemTestData data) throws Exception {
@@ -117,6 +119,14 @@ protected void setUpInternal(SystemTestData data) throws Exception {
                 "nanInfinite.properties",
                 getClass(),
                 getCatalog());
+
+        // add a line with a NaN X ordinate
+        data.addVectorLayer(
+                NAN_COORDINATES,
+                Collections.emptyMap(),
+                "nanCoordinates.properties",
+                getClass(),
+                getCatalog());
     }
 
     @Test
@@ -979,4 +989,53 @@ public void testIAULayer() throws Exception {
         String crs = json.getJSONObject("crs").getJSONObject("properties").getString("name");
         assertEquals("urn:ogc:def:crs:IAU::49900", crs);
     }
+
+    @Test
+    public void testStreamingOutputUnchanged() throws Exception {
+        WFSInfo wfs = getWFS();
+        boolean before = wfs.isFeatureBounding();
+        try {
+            for (boolean featureBounding : new boolean[] {false, true}) {
+                wfs.setFeatureBounding(featureBounding);
+                getGeoServer().save(wfs);
+                for (QName layer :
+                        new QName[] {
+                            MockData.PRIMITIVEGEOFEATURE,
+                            MockData.BUILDINGS,
+                            LINE3D,
+                            POINT_LATLON,
+                            MULTI_GEOMETRIES_WITH_NULL,
+                            POINT_REDUCED,
+                            NAN_INFINITE,
+                            NAN_COORDINATES
+                        }) {
+                    String path =
+                            "wfs?request=GetFeature&version=1.1.0&typename="
+                                    + getLayerId(layer)
+                                    + "&outputformat="
+                                    + JSONType.json;
+                    String streaming = getAsGeoJSONWithoutTimeStamp(path, true);
+                    String builder = getAsGeoJSONWithoutTimeStamp(path, false);
+                    assertEquals(getLayerId(layer), builder, streaming);
+                    if (layer == NAN_COORDINATES) {
+                        // the NaN ordinate is skipped, along with its comma
+                        assertTrue(streaming, streaming.contains("[[0,0],[1],[2,2]]"));
+                    }
+                }
+            }
+        } finally {
+            wfs.setFeatureBounding(before);
+            getGeoServer().save(wfs);
+        }
+    }
+
+    private String getAsGeoJSONWithoutTimeStamp(String path, boolean streaming) throws Exception {
+        System.setProperty(GeoJSONGetFeatureResponse.STREAMING_PROPERTY, String.valueOf(streaming));
+        try {
+            String json = getAsString(path);
+            return json.replaceAll("\"timeStamp\":\"[^\"]*\"", "");
+        } finally {
+            System.clearProperty(GeoJSONGetFeatureResponse.STREAMING_PROPERTY);
+        }
+    }
 }
@@ -11,10 +11,15 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import javax.xml.namespace.QName;
+import net.opengis.wfs.InsertElementType;
 import org.custommonkey.xmlunit.XMLAssert;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogBuilder;
@@ -22,7 +27,11 @@
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.data.test.CiteTestData;
 import org.geoserver.data.test.SystemTestData;
+import org.geoserver.ows.XmlRequestReader;
 import org.geoserver.wfs.WFSTestSupport;
+import org.geoserver.wfs.request.Insert;
+import org.geoserver.wfs.request.TransactionElement;
+import org.geoserver.wfs.xml.TransactionElementStream;
 import org.geoserver.wfs.xml.WFSXmlUtils;
 import org.geoserver.wfs.xml.v1_1_0.WFS;
 import org.geotools.api.data.DataStore;
@@ -195,6 +204,145 @@ public void testInsertWithNoSRS() throws Exception {
                 "20 40", getFirstElementByTagName(dom, "gml:pos").getFirstChild().getNodeValue());
     }
 
+    @Test
+    public void testInsertManyElements() throws Exception {
+        checkInsertManyElements(50, insertPoints(50, ""));
+    }
+
+    @Test
+    public void testInsertManyElementsStreaming() throws Exception {
+        System.setProperty(TransactionElementStream.ENABLED_PROPERTY, "true");
+        try {
+            // parsed in two batches
+            int count = TransactionElementStream.BATCH_SIZE + 10;
+            checkInsertManyElements(count, insertPoints(count, ""));
+        } finally {
+            System.clearProperty(TransactionElementStream.ENABLED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testInsertSingleElementStreaming() throws Exception {
+        System.setProperty(TransactionElementStream.ENABLED_PROPERTY, "true");
+        try {
+            int count = TransactionElementStream.BATCH_SIZE * 2 + 10;
+            String insert = insertPointsSingleElement(count);
+
+            // the insert is split in three batches, each keeping its attributes
+            XmlRequestReader reader =
+                    (XmlRequestReader) applicationContext.getBean("transactionXmlReader-1.1.0");
+            Object request = reader.read(null, new StringReader(insert), new HashMap<>());
+            TransactionElementStream stream = TransactionElementStream.get(request);
+            assertNotNull(stream);
+            List<Integer> batches = new ArrayList<>();
+            for (List<TransactionElement> batch = stream.next();
+                    !batch.isEmpty();
+                    batch = stream.next()) {
+                assertEquals(1, batch.size());
+                Insert element = (Insert) batch.get(0);
+                assertEquals("bulk", element.getHandle());
+                InsertElementType adaptee = (InsertElementType) element.getAdaptee();
+                assertEquals("EPSG:32615", adaptee.getSrsName().toString());
+                batches.add(element.getFeatures().size());
+            }
+            assertEquals(
+                    List.of(
+                            TransactionElementStream.BATCH_SIZE,
+                            TransactionElementStream.BATCH_SIZE,
+                            10),
+                    batches);
+
+            checkInsertManyElements(count, insert);
+        } finally {
+            System.clearProperty(TransactionElementStream.ENABLED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testInsertStreamingRollback() throws Exception {
+        System.setProperty(TransactionElementStream.ENABLED_PROPERTY, "true");
+        try {
+            int n = countPoints();
+
+            // the second batch fails, the first one is rolled back too
+            String insert =
+                    insertPoints(
+                            TransactionElementStream.BATCH_SIZE + 10,
+                            "<wfs:Insert><cgf:FooBar><cgf:id>t0002</cgf:id></cgf:FooBar>"
+                                    + "</wfs:Insert>");
+            Document dom = postAsDOM("wfs", insert);
+            checkOws10Exception(dom, "InvalidParameterValue");
+
+            assertEquals(n, countPoints());
+        } finally {
+            System.clearProperty(TransactionElementStream.ENABLED_PROPERTY);
+        }
+    }
+
+    private void checkInsertManyElements(int count, String insert) throws Exception {
+        int n = countPoints();
+
+        Document dom = postAsDOM("wfs", insert);
+        Element numberInserted = getFirstElementByTagName(dom, "wfs:totalInserted");
+        assertNotNull(numberInserted);
+        assertEquals(String.valueOf(count), numberInserted.getFirstChild().getNodeValue());
+        assertEquals(count, dom.getElementsByTagName("ogc:FeatureId").getLength());
+
+        assertEquals(n + count, countPoints());
+    }
+
+    private int countPoints() throws Exception {
+        String getFeature =
+                "<wfs:GetFeature service=\"WFS\" version=\"1.1.0\" "
+                        + "xmlns:cgf=\"http://www.opengis.net/cite/geometry\" "
+                        + "xmlns:wfs=\"http://www.opengis.net/wfs\"> "
+                        + "<wfs:Query typeName=\"cgf:Points\"/> "
+                        + "</wfs:GetFeature>";
+        Document dom = postAsDOM("wfs", getFeature);
+        return dom.getElementsByTagName("cgf:Points").getLength();
+    }
+
+    /** A transaction with an insert element per point, as sync clients usually do */
+    private String insertPoints(int count, String tail) {
+        StringBuilder insert =
+                new StringBuilder(
+                        "<wfs:Transaction service=\"WFS\" version=\"1.1.0\" "
+                                + "xmlns:cgf=\"http://www.opengis.net/cite/geometry\" "
+                                + "xmlns:wfs=\"http://www.opengis.net/wfs\" "
+                                + "xmlns:gml=\"http://www.opengis.net/gml\"> ");
+        for (int i = 0; i < count; i++) {
+            insert.append("<wfs:Insert handle=\"insert-")
+                    .append(i)
+                    .append("\"><cgf:Points><cgf:pointProperty><gml:Point><gml:pos>")
+                    .append(i)
+                    .append(" 40</gml:pos></gml:Point></cgf:pointProperty><cgf:id>bulk")
+                    .append(i)
+                    .append("</cgf:id></cgf:Points></wfs:Insert>");
+        }
+        insert.append(tail).append("</wfs:Transaction>");
+        return insert.toString();
+    }
+
+    /** A transaction with a single insert element for all the points, as bulk uploads do */
+    private String insertPointsSingleElement(int count) {
+        StringBuilder insert =
+                new StringBuilder(
+                        "<wfs:Transaction service=\"WFS\" version=\"1.1.0\" "
+                                + "xmlns:cgf=\"http://www.opengis.net/cite/geometry\" "
+                                + "xmlns:wfs=\"http://www.opengis.net/wfs\" "
+                                + "xmlns:gml=\"http://www.opengis.net/gml\"> "
+                                + "<wfs:Insert handle=\"bulk\" srsName=\"EPSG:32615\">");
+        for (int i = 0; i < count; i++) {
+            insert.append("<cgf:Points><cgf:pointProperty><gml:Point><gml:pos>")
+                    .append(i)
+                    .append(" 40</gml:pos></gml:Point></cgf:pointProperty><cgf:id>bulk")
+                    .append(i)
+                    .append("</cgf:id></cgf:Points>");
+        }
+        insert.append("</wfs:Insert></wfs:Transaction>");
+        return insert.toString();
+    }
+
     @Test
     public void testInsertWithSRS() throws Exception {
 
@@ -13,9 +13,11 @@
 import java.io.ByteArrayInputStream;
 import java.io.Serializable;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.custommonkey.xmlunit.XMLAssert;
@@ -43,9 +45,12 @@
 import org.geotools.xsd.Parser;
 import org.junit.Test;
 import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
 
 public class GetFeaturePagingTest extends WFS20TestSupport {
 
+    static final String KEYSET_PAGING = "GEOSERVER_WFS_KEYSET_PAGING";
+
     @Override
     protected void setUpInternal(SystemTestData data) throws Exception {
         // run all the tests against a store that can do native paging (h2) and one that
@@ -91,6 +96,20 @@ protected void setUpInternal(SystemTestData data) throws Exception {
 
         ft = cb.buildFeatureType(fs);
         cat.add(ft);
+
+        // the fifteen features again, with a grp attribute repeating each value three times
+        tb.init(fs1.getSchema());
+        tb.setName("Ties");
+        tb.add("num", Integer.class);
+        tb.add("grp", Integer.class);
+        tb.remove("boundedBy");
+        store.createSchema(tb.buildFeatureType());
+
+        fs = (SimpleFeatureStore) store.getFeatureSource("Ties");
+        addFeatures(fs, fs1.getFeatures());
+
+        ft = cb.buildFeatureType(fs);
+        cat.add(ft);
     }
 
     void addFeatures(SimpleFeatureStore fs, SimpleFeatureCollection features) throws Exception {
@@ -104,7 +123,11 @@ void addFeatures(SimpleFeatureStore fs, SimpleFeatureCollection features) throws
                 f = (SimpleFeature) it.next();
                 b.init(f);
                 b.add(f.getAttribute("pointProperty"));
-                b.add(i++);
+                b.add(i);
+                if (fs.getSchema().getDescriptor("grp") != null) {
+                    b.set("grp", i / 3);
+                }
+                i++;
                 toAdd.add(b.buildFeature(null));
             }
         }
@@ -656,6 +679,101 @@ public void testSortingGET() throws Exception {
         XMLAssert.assertXpathExists("//gs:Fifteen/gs:num[text() = '14']", dom);
     }
 
+    @Test
+    public void testKeysetPagingGET() throws Exception {
+        System.setProperty(KEYSET_PAGING, "true");
+        try {
+            doTestKeysetPagingGET("ASC", "0 1 2 3 4 5 6 7 8 9 10 11 12 13 14");
+            doTestKeysetPagingGET("DESC", "14 13 12 11 10 9 8 7 6 5 4 3 2 1 0");
+        } finally {
+            System.clearProperty(KEYSET_PAGING);
+        }
+    }
+
+    void doTestKeysetPagingGET(String order, String expected) throws Exception {
+        String path =
+                "wfs?service=WFS&version=2.0.0&request=GetFeature&typeName=gs:Fifteen"
+                        + "&sortBy=num "
+                        + order
+                        + "&startIndex=0&count=4";
+        StringBuilder nums = new StringBuilder();
+        int pages = 0;
+        while (path != null) {
+            Document doc = getAsDOM(path);
+            pages++;
+            XMLAssert.assertXpathEvaluatesTo("15", "/wfs:FeatureCollection/@numberMatched", doc);
+            NodeList values = doc.getElementsByTagName("gs:num");
+            for (int i = 0; i < values.getLength(); i++) {
+                nums.append(nums.length() > 0 ? " " : "").append(values.item(i).getTextContent());
+            }
+            if (pages > 1) {
+                assertFalse(doc.getDocumentElement().hasAttribute("previous"));
+            }
+            path = null;
+            if (doc.getDocumentElement().hasAttribute("next")) {
+                String next = doc.getDocumentElement().getAttribute("next");
+                KvpMap<String, String> kvp = toKvpMap(next);
+                assertNotNull(kvp.get("CURSOR"));
+                assertFalse(kvp.containsKey("STARTINDEX"));
+                path = next.substring(next.indexOf("wfs"));
+            }
+        }
+        assertEquals(expected, nums.toString());
+        assertEquals(4, pages);
+    }
+
+    @Test
+    public void testKeysetPagingRepeatedValues() throws Exception {
+        System.setProperty(KEYSET_PAGING, "true");
+        try {
+            // pages of four, every page boundary falls among features sharing the same grp,
+            // the ones already returned are skipped by the next page
+            String path =
+                    "wfs?service=WFS&version=2.0.0&request=GetFeature&typeName=gs:Ties"
+                            + "&sortBy=grp ASC&startIndex=0&count=4";
+            List<String> nums = new ArrayList<>();
+            List<Integer> groups = new ArrayList<>();
+            int pages = 0;
+            while (path != null) {
+                Document doc = getAsDOM(path);
+                pages++;
+                NodeList values = doc.getElementsByTagName("gs:num");
+                for (int i = 0; i < values.getLength(); i++) {
+                    nums.add(values.item(i).getTextContent());
+                }
+                NodeList grps = doc.getElementsByTagName("gs:grp");
+                for (int i = 0; i < grps.getLength(); i++) {
+                    groups.add(Integer.valueOf(grps.item(i).getTextContent()));
+                }
+                path = null;
+                if (doc.getDocumentElement().hasAttribute("next")) {
+                    String next = doc.getDocumentElement().getAttribute("next");
+                    path = next.substring(next.indexOf("wfs"));
+                }
+            }
+            assertEquals(4, pages);
+
+            // no feature skipped or returned twice
+            assertEquals(15, nums.size());
+            assertEquals(15, new HashSet<>(nums).size());
+            for (int i = 1; i < groups.size(); i++) {
+                assertTrue(groups.get(i - 1) <= groups.get(i));
+            }
+        } finally {
+            System.clearProperty(KEYSET_PAGING);
+        }
+    }
+
+    @Test
+    public void testKeysetPagingDisabled() throws Exception {
+        // a cursor is not accepted if the keyset paging is not enabled
+        Document doc =
+                getAsDOM(
+                        "wfs?service=WFS&version=2.0.0&request=GetFeature&typeName=gs:Fifteen"
+                                + "&sortBy=num ASC&count=4&cursor=abc");
+        checkOws11Exception(doc, "2.0.0", "InvalidParameterValue", "CURSOR");
+    }
+
     @Test
     public void testNextPreviousHitsGET() throws Exception {
         doTestNextPreviousHitsGET("gs:Fifteen");
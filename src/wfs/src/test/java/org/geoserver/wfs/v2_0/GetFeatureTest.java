@@ -74,6 +74,27 @@ protected void setUpInternal(SystemTestData data) throws Exception {
                 getCatalog());
     }
 
+    @Test
+    public void testFastCount() throws Exception {
+        // the property store cannot count the features matching an id filter without reading them
+        String request =
+                "wfs?request=GetFeature&typenames=cdf:Fifteen&version=2.0.0&service=wfs"
+                        + "&count=2&featureid=Fifteen.1,Fifteen.2,Fifteen.3";
+        Document dom = getAsDOM(request);
+        assertEquals("3", dom.getDocumentElement().getAttribute("numberMatched"));
+        assertEquals("2", dom.getDocumentElement().getAttribute("numberReturned"));
+
+        System.setProperty("GEOSERVER_WFS_FAST_COUNT", "true");
+        try {
+            dom = getAsDOM(request);
+            assertEquals("unknown", dom.getDocumentElement().getAttribute("numberMatched"));
+            assertEquals("2", dom.getDocumentElement().getAttribute("numberReturned"));
+            assertXpathEvaluatesTo("2", "count(//cdf:Fifteen)", dom);
+        } finally {
+            System.clearProperty("GEOSERVER_WFS_FAST_COUNT");
+        }
+    }
+
     @Test
     public void testSkipNumberMatched() throws Exception {
         FeatureTypeInfo fti = this.getCatalog().getFeatureTypeByName("Fifteen");
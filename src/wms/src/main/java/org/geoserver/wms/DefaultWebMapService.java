@@ -9,6 +9,8 @@
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import net.opengis.wfs.FeatureCollectionType;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
@@ -22,6 +24,7 @@
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.util.SuppressFBWarnings;
+import org.geotools.util.logging.Logging;
 import org.geotools.xml.transform.TransformerBase;
 import org.locationtech.jts.geom.Envelope;
 import org.springframework.beans.BeansException;
@@ -57,6 +60,9 @@
  */
 public class DefaultWebMapService
         implements WebMapService, ApplicationContextAware, DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(DefaultWebMapService.class);
+
     /** default for 'format' parameter. */
     public static String FORMAT = "image/png";
 
@@ -107,6 +113,18 @@
     /** Use a global rendering pool, or use a new pool each time */
     private static Boolean USE_GLOBAL_RENDERING_POOL = null;
 
+    /** Property setting the max number of threads of the global rendering pool */
+    public static final String RENDERING_POOL_SIZE_PROPERTY = "GEOSERVER_RENDERING_POOL_SIZE";
+
+    /** Property setting the max number of rendering tasks waiting for a thread */
+    public static final String RENDERING_POOL_QUEUE_PROPERTY = "GEOSERVER_RENDERING_POOL_QUEUE";
+
+    /** Max number of threads of the global rendering pool, unbounded if zero or negative */
+    private static Integer RENDERING_POOL_SIZE = null;
+
+    /** Max number of tasks waiting for a thread in a bounded pool, unbounded if zero or negative */
+    private static Integer RENDERING_POOL_QUEUE = null;
+
     private GetCapabilities getCapabilities;
 
     private DescribeLayer describeLayer;
@@ -187,6 +205,16 @@ public void setApplicationContext(ApplicationContext context) throws BeansExcept
             if (usePool == null) USE_GLOBAL_RENDERING_POOL = true;
             else USE_GLOBAL_RENDERING_POOL = Boolean.valueOf(usePool);
         }
+
+        // bounds of the global rendering thread pool
+        if (RENDERING_POOL_SIZE == null) {
+            RENDERING_POOL_SIZE =
+                    GeoServerExtensions.getIntProperty(RENDERING_POOL_SIZE_PROPERTY, 0, context);
+        }
+        if (RENDERING_POOL_QUEUE == null) {
+            RENDERING_POOL_QUEUE =
+                    GeoServerExtensions.getIntProperty(RENDERING_POOL_QUEUE_PROPERTY, 0, context);
+        }
     }
 
     /**
@@ -334,12 +362,17 @@ public static void autoSetBoundsAndSize(GetMapRequest getMap) {
         new GetMapDefaults().autoSetBoundsAndSize(getMap);
     }
 
-    /** Returns a app wide cached rendering pool that can be used for parallelized rendering */
+    /**
+     * Returns a app wide cached rendering pool that can be used for parallelized rendering. The
+     * pool is unbounded, unless the {@link #RENDERING_POOL_SIZE_PROPERTY} property is set, in which
+     * case at most that many tasks run at the same time, and up to {@link
+     * #RENDERING_POOL_QUEUE_PROPERTY} wait for their turn in submission order.
+     */
     public static ExecutorService getRenderingPool() {
         if (USE_GLOBAL_RENDERING_POOL && RENDERING_POOL == null) {
             synchronized (DefaultWebMapService.class) {
                 if (RENDERING_POOL == null) {
-                    RENDERING_POOL = new ThreadLocalTransferExecutor();
+                    RENDERING_POOL = createRenderingPool(RENDERING_POOL_SIZE, RENDERING_POOL_QUEUE);
                 }
             }
         }
@@ -347,6 +380,19 @@ public static ExecutorService getRenderingPool() {
         return RENDERING_POOL;
     }
 
+    static ExecutorService createRenderingPool(Integer poolSize, Integer queueSize) {
+        if (poolSize == null || poolSize <= 0) {
+            return new ThreadLocalTransferExecutor();
+        }
+        LOGGER.log(
+                Level.CONFIG,
+                "Using a rendering pool of {0} threads, with a queue of {1} tasks",
+                new Object[] {
+                    poolSize, queueSize == null || queueSize <= 0 ? "unbounded" : queueSize
+                });
+        return new ThreadLocalTransferExecutor(poolSize, queueSize == null ? 0 : queueSize);
+    }
+
     @Override
     public void destroy() throws Exception {
         if (RENDERING_POOL != null) {
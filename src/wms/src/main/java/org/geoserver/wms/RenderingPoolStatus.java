@@ -0,0 +1,73 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import org.geoserver.platform.ModuleStatus;
+
+/**
+ * Reports the saturation of the global WMS rendering pool in the server status page: running and
+ * waiting tasks, and the tasks rejected because the pool was full.
+ */
+public class RenderingPoolStatus implements ModuleStatus {
+
+    @Override
+    public String getModule() {
+        return "gs-wms";
+    }
+
+    @Override
+    public Optional<String> getComponent() {
+        return Optional.of("rendering-pool");
+    }
+
+    @Override
+    public String getName() {
+        return "WMS rendering pool";
+    }
+
+    @Override
+    public Optional<String> getVersion() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return DefaultWebMapService.RENDERING_POOL != null;
+    }
+
+    @Override
+    public Optional<String> getMessage() {
+        ExecutorService pool = DefaultWebMapService.RENDERING_POOL;
+        if (!(pool instanceof ThreadLocalTransferExecutor)) {
+            return Optional.empty();
+        }
+        ThreadLocalTransferExecutor executor = (ThreadLocalTransferExecutor) pool;
+        StringBuilder msg = new StringBuilder();
+        msg.append("Threads: ").append(executor.getPoolSize());
+        msg.append(" of ");
+        int max = executor.getMaximumPoolSize();
+        msg.append(max == Integer.MAX_VALUE ? "unbounded" : String.valueOf(max));
+        msg.append(", largest: ").append(executor.getLargestPoolSize());
+        msg.append("\nRunning tasks: ").append(executor.getActiveCount());
+        msg.append(", waiting: ").append(executor.getQueue().size());
+        int capacity = executor.getQueueCapacity();
+        msg.append(" of ").append(capacity < 0 ? "unbounded" : String.valueOf(capacity));
+        msg.append("\nCompleted tasks: ").append(executor.getCompletedTaskCount());
+        msg.append(", rejected: ").append(executor.getRejectedCount());
+        return Optional.of(msg.toString());
+    }
+
+    @Override
+    public Optional<String> getDocumentation() {
+        return Optional.empty();
+    }
+}
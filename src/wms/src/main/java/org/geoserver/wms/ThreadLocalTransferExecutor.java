@@ -7,22 +7,76 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.geoserver.threadlocals.ThreadLocalsTransfer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * An equivalent to {@link Executors#newCachedThreadPool()} that will also perform thread locals
  * transfer using Spring registered {@link org.geoserver.threadlocals.ThreadLocalTransfer} when
- * starting a new task
+ * starting a new task.
+ *
+ * <p>The executor can also be bounded, running at most a given number of tasks at once, and queuing
+ * the others in submission order, up to a given queue size. Tasks submitted when the queue is full
+ * are rejected with a {@link RejectedExecutionException}, they are not run in the calling thread,
+ * as the renderer submits tasks consuming what the calling thread produces.
  */
 class ThreadLocalTransferExecutor extends ThreadPoolExecutor {
 
+    private final AtomicLong rejectedCount = new AtomicLong();
+
     public ThreadLocalTransferExecutor() {
         super(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>());
     }
 
+    /**
+     * Builds a bounded executor
+     *
+     * @param poolSize the maximum number of tasks running at the same time
+     * @param queueSize the maximum number of tasks waiting to run, unbounded if zero or negative
+     */
+    public ThreadLocalTransferExecutor(int poolSize, int queueSize) {
+        super(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                queueSize > 0 ? new LinkedBlockingQueue<>(queueSize) : new LinkedBlockingQueue<>());
+        allowCoreThreadTimeOut(true);
+        CustomizableThreadFactory factory = new CustomizableThreadFactory("GeoServerRendering-");
+        factory.setDaemon(true);
+        setThreadFactory(factory);
+        setRejectedExecutionHandler(
+                (r, executor) -> {
+                    rejectedCount.incrementAndGet();
+                    throw new RejectedExecutionException(
+                            "The rendering pool is saturated, "
+                                    + executor.getActiveCount()
+                                    + " tasks running and "
+                                    + executor.getQueue().size()
+                                    + " waiting");
+                });
+    }
+
+    /** Returns the maximum number of tasks waiting to run, or -1 if the queue is unbounded */
+    public int getQueueCapacity() {
+        if (getQueue() instanceof SynchronousQueue) {
+            return 0;
+        }
+        int capacity = getQueue().size() + getQueue().remainingCapacity();
+        return capacity == Integer.MAX_VALUE ? -1 : capacity;
+    }
+
+    /** Returns the number of tasks rejected because the executor was saturated */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
     @Override
     public Future<?> submit(Runnable task) {
         ThreadLocalsTransfer threadLocalTransfer = new ThreadLocalsTransfer();
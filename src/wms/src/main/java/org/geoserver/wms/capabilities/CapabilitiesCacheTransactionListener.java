@@ -0,0 +1,28 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.capabilities;
+
+import org.geoserver.ows.CapabilitiesCache;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.TransactionListener;
+import org.geoserver.wfs.WFSException;
+
+/**
+ * Drops the cached capabilities documents when data is modified by a WFS transaction, as the WMS
+ * capabilities can list dimension values taken from the data.
+ */
+public class CapabilitiesCacheTransactionListener implements TransactionListener {
+
+    private final CapabilitiesCache cache;
+
+    public CapabilitiesCacheTransactionListener(CapabilitiesCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        cache.clear();
+    }
+}
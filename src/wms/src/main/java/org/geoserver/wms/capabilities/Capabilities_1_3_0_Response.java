@@ -8,7 +8,9 @@
 import java.io.IOException;
 import java.io.OutputStream;
 import javax.xml.transform.TransformerException;
+import org.geoserver.ows.CapabilitiesCache;
 import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.GetCapabilities;
@@ -37,9 +39,21 @@ public void write(final Object value, final OutputStream output, final Operation
             throws IOException, ServiceException {
 
         Capabilities_1_3_0_Transformer transformer = (Capabilities_1_3_0_Transformer) value;
+        GetCapabilitiesRequest request = (GetCapabilitiesRequest) operation.getParameters()[0];
 
+        CapabilitiesCache cache = GeoServerExtensions.bean(CapabilitiesCache.class);
+        if (cache != null) {
+            cache.write(output, out -> transform(transformer, request, out));
+        } else {
+            transform(transformer, request, output);
+        }
+    }
+
+    private void transform(
+            Capabilities_1_3_0_Transformer transformer,
+            GetCapabilitiesRequest request,
+            OutputStream output) {
         try {
-            GetCapabilitiesRequest request = (GetCapabilitiesRequest) operation.getParameters()[0];
             transformer.transform(request, output);
         } catch (TransformerException e) {
             throw new ServiceException(e);
@@ -23,7 +23,9 @@
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import org.geoserver.ows.CapabilitiesCache;
 import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.CapabilitiesTransformer;
@@ -96,6 +98,19 @@ public void write(final Object value, final OutputStream output, final Operation
         final GetCapabilitiesRequest request =
                 (GetCapabilitiesRequest) operation.getParameters()[0];
 
+        CapabilitiesCache cache = GeoServerExtensions.bean(CapabilitiesCache.class);
+        if (cache != null) {
+            cache.write(output, out -> write(transformer, request, out));
+        } else {
+            write(transformer, request, output);
+        }
+    }
+
+    private void write(
+            GetCapabilitiesTransformer transformer,
+            GetCapabilitiesRequest request,
+            OutputStream output)
+            throws IOException {
         final String internalDTDDeclaration = getInternalDTDDeclaration(request);
 
         if (internalDTDDeclaration == null) {
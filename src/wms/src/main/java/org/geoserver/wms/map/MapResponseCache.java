@@ -0,0 +1,422 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import com.google.common.cache.CacheBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.servlet.http.HttpServletRequest;
+import javax.xml.namespace.QName;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.geoserver.config.GeoServer;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.DispatcherCallback;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.Service;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.LayerInvalidatingCache;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.WebMap;
+import org.geoserver.wms.WebMapService;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Keeps the encoded GetMap responses in memory, so that clients repeatedly asking for the same
+ * untiled map (dashboards, embedded maps) get it without rendering it again.
+ *
+ * <p>Maps are keyed by the request URL and parameters (layers, styles, bbox, size, format, env,
+ * filters, time, elevation, and so on, case and order insensitive), the headers that can affect the
+ * output, and the name and roles of the current user, as data access rules can target both. The
+ * GeoServer update sequence is part of the key too, so any catalog or configuration change causes
+ * the maps to be rendered again. A WFS transaction drops the maps painting the modified layer, both
+ * when the change happens and once it's over, as maps rendered in between did not see it, and maps
+ * also expire after a configurable time, as data can be changed by other means.
+ *
+ * <p>The cache works as a {@link WebMapService#getMap(GetMapRequest)} interceptor, serving the
+ * cached maps, and as a dispatcher callback, capturing the maps while they are written out. It's
+ * disabled by default, it can be enabled by setting the {@link #MAX_MEMORY_PROPERTY} property to
+ * the amount of memory, in bytes, that can be used to store the maps. Only binary outputs of GET
+ * requests are cached.
+ */
+public class MapResponseCache extends LayerInvalidatingCache<String, MapResponseCache.CachedMap>
+        implements MethodInterceptor, DispatcherCallback {
+
+    static final Logger LOGGER = Logging.getLogger(MapResponseCache.class);
+
+    /** Memory budget for the cached maps, in bytes. Zero or missing disables the cache */
+    public static final String MAX_MEMORY_PROPERTY = "GEOSERVER_MAP_CACHE_MAX_MEMORY";
+
+    /** Time to live of the cached maps, in seconds */
+    public static final String TTL_PROPERTY = "GEOSERVER_MAP_CACHE_TTL";
+
+    /** Default time to live of the cached maps, in seconds */
+    public static final long DEFAULT_TTL = 60;
+
+    /** Maps larger than this fraction of the memory budget are not cached */
+    static final int MAX_ENTRY_FRACTION = 10;
+
+    /** Headers that can alter the contents of the maps (e.g., links and language in decorations) */
+    static final String[] HEADERS = {
+        "Host",
+        "Forwarded",
+        "X-Forwarded-Proto",
+        "X-Forwarded-Host",
+        "X-Forwarded-Path",
+        "Accept-Language"
+    };
+
+    private final long maxEntrySize;
+
+    public MapResponseCache(GeoServer geoServer) {
+        this(
+                geoServer,
+                GeoServerExtensions.getLongProperty(MAX_MEMORY_PROPERTY, 0),
+                GeoServerExtensions.getLongProperty(TTL_PROPERTY, DEFAULT_TTL));
+    }
+
+    MapResponseCache(GeoServer geoServer, long maxMemory, long ttlSeconds) {
+        super(
+                geoServer,
+                maxMemory > 0
+                        ? CacheBuilder.newBuilder()
+                                .maximumWeight(maxMemory)
+                                .<String, CachedMap>weigher(
+                                        (k, v) -> k.length() + v.contents.length)
+                                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                                .recordStats()
+                                .build()
+                        : null);
+        this.maxEntrySize = maxMemory / MAX_ENTRY_FRACTION;
+    }
+
+    @Override
+    protected boolean isAffectedBy(String key, CachedMap map, QName layerName) {
+        return map.isAffectedBy(layerName);
+    }
+
+    /** Serves the map from the cache, if available */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (isEnabled()) {
+            GetMapRequest request = (GetMapRequest) invocation.getArguments()[0];
+            String key = getKey(Dispatcher.REQUEST.get(), request);
+            CachedMap cached = key == null ? null : cache.getIfPresent(key);
+            if (cached != null) {
+                if (LOGGER.isLoggable(Level.FINER)) {
+                    LOGGER.finer("Serving cached map for " + request.getRawKvp());
+                }
+                return cached.toMap();
+            }
+        }
+        return invocation.proceed();
+    }
+
+    @Override
+    public Request init(Request request) {
+        return request;
+    }
+
+    @Override
+    public Service serviceDispatched(Request request, Service service) throws ServiceException {
+        return service;
+    }
+
+    @Override
+    public Operation operationDispatched(Request request, Operation operation) {
+        return operation;
+    }
+
+    @Override
+    public Object operationExecuted(Request request, Operation operation, Object result) {
+        return result;
+    }
+
+    /** Captures the maps rendered by cacheable requests while they are written out */
+    @Override
+    public Response responseDispatched(
+            Request request, Operation operation, Object result, Response response) {
+        if (!isEnabled()
+                || !(result instanceof WebMap)
+                || result instanceof CachedRawMap
+                || !"GetMap".equalsIgnoreCase(operation.getId())
+                || operation.getParameters() == null
+                || operation.getParameters().length != 1
+                || !(operation.getParameters()[0] instanceof GetMapRequest)) {
+            return response;
+        }
+        GetMapRequest getMap = (GetMapRequest) operation.getParameters()[0];
+        String key = getKey(request, getMap);
+        if (key == null || response.getCharset(operation) != null) {
+            // not cacheable, or a text output, which would need the charset to be preserved
+            return response;
+        }
+        return new CachingResponse(response, key, QuickTileCache.getLayerNames(getMap));
+    }
+
+    @Override
+    public void finished(Request request) {
+        // nothing to do
+    }
+
+    /**
+     * Builds the key identifying the map generated for the request, or returns null if the request
+     * cannot be cached. The request must be the one being dispatched, GetMap requests built
+     * internally by other components are not cached.
+     */
+    String getKey(Request request, GetMapRequest getMap) {
+        if (request == null
+                || !request.isGet()
+                || request.getHttpRequest() == null
+                || request.getRawKvp() == null
+                || request.getOperation() == null
+                || request.getOperation().getParameters() == null
+                || request.getOperation().getParameters().length != 1
+                || request.getOperation().getParameters()[0] != getMap) {
+            return null;
+        }
+
+        long currentSequence = checkUpdateSequence();
+        HttpServletRequest http = request.getHttpRequest();
+        StringBuilder sb = new StringBuilder();
+        sb.append(currentSequence).append('\n');
+        sb.append(http.getRequestURL()).append('\n');
+        Map<String, Object> kvp = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        kvp.putAll(request.getRawKvp());
+        for (Map.Entry<String, Object> entry : kvp.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof String[]) {
+                value = String.join(",", (String[]) value);
+            }
+            sb.append(entry.getKey().toUpperCase()).append('=').append(value).append('&');
+        }
+        sb.append('\n');
+        for (String header : HEADERS) {
+            String value = http.getHeader(header);
+            if (value != null) {
+                sb.append(header).append(':').append(value).append('\n');
+            }
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null) {
+            sb.append(auth.getName());
+            if (auth.getAuthorities() != null) {
+                TreeSet<String> roles = new TreeSet<>();
+                for (GrantedAuthority authority : auth.getAuthorities()) {
+                    roles.add(authority.getAuthority());
+                }
+                sb.append(roles);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /** An encoded map, along with the response metadata needed to serve it again */
+    static class CachedMap {
+
+        final byte[] contents;
+
+        final String mimeType;
+
+        final String[][] headers;
+
+        final String disposition;
+
+        final String attachmentFileName;
+
+        /** The layers painted in the map, null if unknown */
+        final Set<QName> layerNames;
+
+        CachedMap(
+                byte[] contents,
+                String mimeType,
+                String[][] headers,
+                String disposition,
+                String attachmentFileName,
+                Set<QName> layerNames) {
+            this.contents = contents;
+            this.mimeType = mimeType;
+            this.headers = headers;
+            this.disposition = disposition;
+            this.attachmentFileName = attachmentFileName;
+            this.layerNames = layerNames;
+        }
+
+        WebMap toMap() {
+            CachedRawMap map = new CachedRawMap(this);
+            if (headers != null) {
+                for (String[] header : headers) {
+                    map.setResponseHeader(header[0], header[1]);
+                }
+            }
+            return map;
+        }
+
+        /** Returns true if a change in the specified layer invalidates this map */
+        boolean isAffectedBy(QName layerName) {
+            if (layerNames == null || layerName == null) {
+                return true;
+            }
+            if (layerNames.contains(layerName)) {
+                return true;
+            }
+            // the transaction might not have a namespace, compare by local name only
+            if (layerName.getNamespaceURI() == null || layerName.getNamespaceURI().isEmpty()) {
+                for (QName name : layerNames) {
+                    if (name.getLocalPart().equals(layerName.getLocalPart())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /** A map served from the cache, with the same disposition as the original one */
+    static class CachedRawMap extends RawMap {
+
+        private final CachedMap cached;
+
+        CachedRawMap(CachedMap cached) {
+            super(null, cached.contents, cached.mimeType);
+            this.cached = cached;
+        }
+
+        @Override
+        public String getDisposition() {
+            return cached.disposition;
+        }
+
+        @Override
+        public String getAttachmentFileName() {
+            return cached.attachmentFileName;
+        }
+    }
+
+    /** Writes out the map with the delegate response, keeping a copy of it in the cache */
+    class CachingResponse extends Response {
+
+        private final Response delegate;
+
+        private final String key;
+
+        private final Set<QName> layerNames;
+
+        CachingResponse(Response delegate, String key, Set<QName> layerNames) {
+            super(delegate.getBinding(), delegate.getOutputFormats());
+            this.delegate = delegate;
+            this.key = key;
+            this.layerNames = layerNames;
+        }
+
+        @Override
+        public boolean canHandle(Operation operation) {
+            return delegate.canHandle(operation);
+        }
+
+        @Override
+        public String getMimeType(Object value, Operation operation) throws ServiceException {
+            return delegate.getMimeType(value, operation);
+        }
+
+        @Override
+        public String[][] getHeaders(Object value, Operation operation) throws ServiceException {
+            return delegate.getHeaders(value, operation);
+        }
+
+        @Override
+        public String getPreferredDisposition(Object value, Operation operation) {
+            return delegate.getPreferredDisposition(value, operation);
+        }
+
+        @Override
+        public String getAttachmentFileName(Object value, Operation operation) {
+            return delegate.getAttachmentFileName(value, operation);
+        }
+
+        @Override
+        public String getCharset(Operation operation) {
+            return delegate.getCharset(operation);
+        }
+
+        @Override
+        public void write(Object value, OutputStream output, Operation operation)
+                throws IOException, ServiceException {
+            // grab the metadata before writing, the map is disposed once written
+            String mimeType = delegate.getMimeType(value, operation);
+            String[][] headers = delegate.getHeaders(value, operation);
+            String disposition = delegate.getPreferredDisposition(value, operation);
+            String fileName = delegate.getAttachmentFileName(value, operation);
+
+            CapturingOutputStream capture = new CapturingOutputStream(output, maxEntrySize);
+            delegate.write(value, capture, operation);
+            byte[] contents = capture.getContents();
+            if (contents != null) {
+                cache.put(
+                        key,
+                        new CachedMap(
+                                contents, mimeType, headers, disposition, fileName, layerNames));
+            }
+        }
+    }
+
+    /** Passes the bytes through, keeping a copy of them as long as they fit in the limit */
+    static class CapturingOutputStream extends FilterOutputStream {
+
+        private final long limit;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+
+        /** Returns the bytes written, or null if they exceeded the limit */
+        byte[] getContents() {
+            return copy == null ? null : copy.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import com.google.common.cache.CacheStats;
+import java.util.Optional;
+import org.geoserver.platform.ModuleStatus;
+
+/** Reports the usage statistics of the WMS meta-tile cache in the server status page. */
+public class MetaTileCacheStatus implements ModuleStatus {
+
+    private final QuickTileCache cache;
+
+    public MetaTileCacheStatus(QuickTileCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String getModule() {
+        return "gs-wms";
+    }
+
+    @Override
+    public Optional<String> getComponent() {
+        return Optional.of("meta-tile-cache");
+    }
+
+    @Override
+    public String getName() {
+        return "WMS meta-tile cache";
+    }
+
+    @Override
+    public Optional<String> getVersion() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cache.getMaxMemory() > 0;
+    }
+
+    @Override
+    public Optional<String> getMessage() {
+        CacheStats stats = cache.getStats();
+        StringBuilder msg = new StringBuilder();
+        msg.append("Meta-tiles: ").append(cache.size());
+        msg.append(", memory used: ").append(cache.getMemoryUsage());
+        msg.append(" of ").append(cache.getMaxMemory()).append(" bytes");
+        msg.append("\nHits: ").append(stats.hitCount());
+        msg.append(", misses: ").append(stats.missCount());
+        msg.append(", evictions: ").append(cache.getEvictionCount());
+        return Optional.of(msg.toString());
+    }
+
+    @Override
+    public Optional<String> getDocumentation() {
+        return Optional.empty();
+    }
+}
@@ -5,29 +5,41 @@
  */
 package org.geoserver.wms.map;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
 import java.awt.Point;
 import java.awt.geom.Point2D;
+import java.awt.image.DataBuffer;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.namespace.QName;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.ResourcePool;
 import org.geoserver.config.ConfigurationListenerAdapter;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.TransactionEvent;
 import org.geoserver.wfs.TransactionListener;
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.MapLayerInfo;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.gml2.SrsSyntax;
@@ -36,7 +48,23 @@
 import org.geotools.util.CanonicalSet;
 import org.locationtech.jts.geom.Envelope;
 
+/**
+ * Keeps the meta-tiles built by {@link MetatileMapOutputFormat} in memory, so that the other tiles
+ * of the same meta-tile can be served without rendering it again.
+ *
+ * <p>The cache is bounded by an estimate of the memory used by the tiles (configurable with the
+ * {@link #MAX_MEMORY_PROPERTY} property, in bytes), evicts the least recently used meta-tiles once
+ * the budget is exceeded, and is invalidated on a per layer basis when a WFS transaction modifies
+ * one of the layers involved in a meta-tile.
+ */
 public class QuickTileCache implements TransactionListener, GeoServerLifecycleHandler {
+
+    /** System/environment/servlet context property used to set the cache memory budget, in bytes */
+    public static final String MAX_MEMORY_PROPERTY = "GEOSERVER_METATILE_CACHE_MAX_MEMORY";
+
+    /** Default memory budget, 64MB, enough for roughly 20 RGBA 768x768 meta-tiles */
+    public static final long DEFAULT_MAX_MEMORY = 64 * 1024 * 1024;
+
     /**
      * Set of parameters that we can ignore, since they do not define a map, are either unrelated,
      * or define the tiling instead
@@ -58,9 +86,16 @@ public class QuickTileCache implements TransactionListener, GeoServerLifecycleHa
     /** Canonicalizer used to return the same object when two threads ask for the same meta-tile */
     private CanonicalSet<MetaTileKey> metaTileKeys = CanonicalSet.newInstance(MetaTileKey.class);
 
-    private WeakHashMap<MetaTileKey, CacheElement> tileCache = new WeakHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final long maxMemory;
+
+    private final Cache<MetaTileKey, CacheElement> tileCache;
 
     public QuickTileCache(GeoServer geoServer) {
+        this(
+                GeoServerExtensions.getLongProperty(
+                        MAX_MEMORY_PROPERTY, DEFAULT_MAX_MEMORY, 0, Long.MAX_VALUE));
         geoServer.addListener(
                 new ConfigurationListenerAdapter() {
                     @Override
@@ -69,7 +104,7 @@ public void handleGlobalChange(
                             List<String> propertyNames,
                             List<Object> oldValues,
                             List<Object> newValues) {
-                        tileCache.clear();
+                        clear();
                     }
 
                     @Override
@@ -78,18 +113,41 @@ public void handleServiceChange(
                             List<String> propertyNames,
                             List<Object> oldValues,
                             List<Object> newValues) {
-                        tileCache.clear();
+                        clear();
                     }
 
                     @Override
                     public void reloaded() {
-                        tileCache.clear();
+                        clear();
                     }
                 });
     }
 
     /** For testing only */
-    QuickTileCache() {}
+    QuickTileCache() {
+        this(DEFAULT_MAX_MEMORY);
+    }
+
+    QuickTileCache(long maxMemory) {
+        this.maxMemory = maxMemory;
+        Weigher<MetaTileKey, CacheElement> weigher = (k, v) -> v.getWeight();
+        RemovalListener<MetaTileKey, CacheElement> evictionCounter =
+                n -> {
+                    if (n.wasEvicted()) {
+                        evictions.incrementAndGet();
+                    }
+                };
+        this.tileCache =
+                // writes are rare (one per rendered meta-tile) and reads do not lock, use a
+                // single segment so that the memory budget is enforced as a whole
+                CacheBuilder.newBuilder()
+                        .concurrencyLevel(1)
+                        .maximumWeight(maxMemory)
+                        .weigher(weigher)
+                        .removalListener(evictionCounter)
+                        .recordStats()
+                        .build();
+    }
 
     /**
      * Given a tiled request, builds a key that can be used to access the cache looking for a
@@ -122,6 +180,7 @@ public MetaTileKey getMetaTileKey(GetMapRequest request) {
         Point metaTileCoords = getMetaTileCoordinates(tileCoords);
         ReferencedEnvelope metaTileEnvelope = getMetaTileEnvelope(bbox, tileCoords, metaTileCoords);
         MetaTileKey key = new MetaTileKey(mapKey, metaTileCoords, metaTileEnvelope);
+        key.layerNames = getLayerNames(request);
 
         // since this will be used for thread synchronization, we have to make
         // sure two thread asking for the same meta tile will get the same key
@@ -129,6 +188,23 @@ public MetaTileKey getMetaTileKey(GetMapRequest request) {
         return metaTileKeys.unique(key);
     }
 
+    /**
+     * Returns the qualified names of the resources painted by the request, or null if any of them
+     * cannot be identified (e.g., remote layers), in which case any transaction will invalidate the
+     * meta-tile
+     */
+    static Set<QName> getLayerNames(GetMapRequest request) {
+        Set<QName> names = new HashSet<>();
+        for (MapLayerInfo layer : request.getLayers()) {
+            ResourceInfo resource = layer.getResource();
+            if (resource == null || resource.getNamespace() == null) {
+                return null;
+            }
+            names.add(new QName(resource.getNamespace().getURI(), resource.getName()));
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
     private ReferencedEnvelope getMetaTileEnvelope(
             ReferencedEnvelope bbox, Point tileCoords, Point metaTileCoords) {
         double minx = bbox.getMinX() + (metaTileCoords.x - tileCoords.x) * bbox.getWidth();
@@ -279,6 +355,9 @@ static class MetaTileKey {
 
         ReferencedEnvelope metaTileEnvelope;
 
+        /** The layers painted in the meta-tile, null if unknown */
+        Set<QName> layerNames;
+
         public MetaTileKey(
                 MapKey mapKey, Point metaTileCoords, ReferencedEnvelope metaTileEnvelope) {
             super();
@@ -322,6 +401,25 @@ public int getMetaFactor() {
             return 3;
         }
 
+        /** Returns true if a change in the specified layer invalidates this meta-tile */
+        boolean isAffectedBy(QName layerName) {
+            if (layerNames == null || layerName == null) {
+                return true;
+            }
+            if (layerNames.contains(layerName)) {
+                return true;
+            }
+            // the transaction might not have a namespace, compare by local name only
+            if (layerName.getNamespaceURI() == null || layerName.getNamespaceURI().isEmpty()) {
+                for (QName name : layerNames) {
+                    if (name.getLocalPart().equals(layerName.getLocalPart())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
         public int getTileSize() {
             return 256;
         }
@@ -333,8 +431,8 @@ public String toString() {
     }
 
     /** Gathers a tile from the cache, if available */
-    public synchronized RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
-        CacheElement ce = tileCache.get(key);
+    public RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
+        CacheElement ce = tileCache.getIfPresent(key);
 
         if (ce == null) {
             return null;
@@ -358,36 +456,92 @@ public RenderedImage getTile(MetaTileKey key, GetMapRequest request, RenderedIma
     /**
      * Puts the specified tile array in the cache, and returns the tile the request was looking for
      */
-    public synchronized void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
+    public void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
         tileCache.put(key, new CacheElement(tiles));
     }
 
-    class CacheElement {
+    /** Removes all the meta-tiles from the cache */
+    public void clear() {
+        tileCache.invalidateAll();
+    }
+
+    /** Removes all the meta-tiles painting the specified layer */
+    public void clear(QName layerName) {
+        tileCache.asMap().keySet().removeIf(k -> k.isAffectedBy(layerName));
+    }
+
+    /** Returns the hit/miss statistics of the cache */
+    public CacheStats getStats() {
+        return tileCache.stats();
+    }
+
+    /** Returns the number of meta-tiles removed to stay within the memory budget */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /** Returns the number of meta-tiles currently cached */
+    public long size() {
+        return tileCache.size();
+    }
+
+    /** Returns the estimated memory used by the cached meta-tiles, in bytes */
+    public long getMemoryUsage() {
+        long result = 0;
+        for (CacheElement ce : tileCache.asMap().values()) {
+            result += ce.getWeight();
+        }
+        return result;
+    }
+
+    /** Returns the memory budget of the cache, in bytes */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    static class CacheElement {
         RenderedImage[] tiles;
 
+        int weight;
+
         public CacheElement(RenderedImage[] tiles) {
             this.tiles = tiles;
+            this.weight = computeWeight(tiles);
+        }
+
+        int getWeight() {
+            return weight;
+        }
+
+        private static int computeWeight(RenderedImage[] tiles) {
+            long result = 0;
+            for (RenderedImage tile : tiles) {
+                if (tile != null) {
+                    SampleModel sm = tile.getSampleModel();
+                    long pixelSize =
+                            (long) sm.getNumBands() * DataBuffer.getDataTypeSize(sm.getDataType());
+                    result += (long) tile.getWidth() * tile.getHeight() * pixelSize / 8;
+                }
+            }
+            return (int) Math.min(result, Integer.MAX_VALUE);
         }
     }
 
     @Override
     public void dataStoreChange(TransactionEvent event) throws WFSException {
-        // if anything changes we just wipe out the cache. the mapkey
-        // contains a string with part of the map request where the layer
-        // name is included, but we would have to parse it and consider
-        // also that the namespace may be missing in the getmap request
-        tileCache.clear();
+        // only drop the meta-tiles painting the modified layer
+        clear(event.getLayerName());
     }
 
     @Override
     public void onReset() {
         // data might have changed in the meantime
-        tileCache.clear();
+        clear();
     }
 
     @Override
     public void onDispose() {
-        tileCache.clear();
+        clear();
     }
 
     @Override
@@ -397,6 +551,6 @@ public void beforeReload() {
 
     @Override
     public void onReload() {
-        tileCache.clear();
+        clear();
     }
 }
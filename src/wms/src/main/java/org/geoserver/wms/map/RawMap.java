@@ -9,6 +9,10 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.apache.commons.io.IOUtils;
 import org.geoserver.wms.WMSMapContent;
 import org.geoserver.wms.WebMap;
@@ -21,12 +25,23 @@
  */
 public class RawMap extends WebMap {
 
+    /**
+     * Other formats to be produced along with the requested one out of the same data read, by the
+     * GetMap request running on the current thread. Only honoured by some output formats, the
+     * results are returned by {@link #getAlternates()}. It's set by internal callers, like the tile
+     * cache, around the requests they dispatch, and cannot be controlled by the request parameters,
+     * as encoding the map several times is expensive.
+     */
+    public static final ThreadLocal<List<String>> ALTERNATE_FORMATS = new ThreadLocal<>();
+
     private byte[] mapContents;
 
     private ByteArrayOutputStream buffer;
 
     private InputStream stream;
 
+    private Map<String, RawMap> alternates;
+
     public RawMap(final WMSMapContent mapContent, final byte[] mapContents, final String mimeType) {
         super(mapContent);
         this.mapContents = mapContents;
@@ -60,8 +75,29 @@ public void writeTo(OutputStream out) throws IOException {
         }
     }
 
+    /** Adds the same map, encoded in another format */
+    public void addAlternate(String format, RawMap map) {
+        if (alternates == null) {
+            alternates = new LinkedHashMap<>();
+        }
+        alternates.put(format, map);
+    }
+
+    /**
+     * Returns the same map encoded in the formats requested by {@link #ALTERNATE_FORMATS}, keyed by
+     * format, or an empty map if none has been produced
+     */
+    public Map<String, RawMap> getAlternates() {
+        return alternates == null ? Collections.emptyMap() : alternates;
+    }
+
     @Override
     public void disposeInternal() {
+        if (alternates != null) {
+            // the map content is shared with this map
+            alternates.values().forEach(RawMap::disposeInternal);
+            alternates = null;
+        }
         buffer = null;
         mapContents = null;
         if (stream != null) {
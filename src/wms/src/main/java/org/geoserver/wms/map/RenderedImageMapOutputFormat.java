@@ -19,6 +19,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -542,11 +543,21 @@ public void saveMap() {
         try {
             // finally render the image;
             if (!emptyMap) {
-                renderer.paint(
-                        graphic,
-                        paintArea,
-                        mapContent.getRenderingArea(),
-                        mapContent.getRenderingTransform());
+                try {
+                    renderer.paint(
+                            graphic,
+                            paintArea,
+                            mapContent.getRenderingArea(),
+                            mapContent.getRenderingTransform());
+                } catch (RejectedExecutionException e) {
+                    // the bounded rendering pool is full, report it instead of a generic failure
+                    throw new ServiceException(
+                            "The server is too busy to render the map, please try again later. "
+                                    + "Layers: "
+                                    + buildMapLayerNameList(mapContent),
+                            e,
+                            "internalError");
+                }
             } else {
                 LOGGER.fine("we only want to get the layout, if it's not null");
             }
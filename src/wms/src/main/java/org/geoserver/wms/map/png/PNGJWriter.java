@@ -28,6 +28,15 @@ public RenderedImage writePNG(
             RenderedImage image, OutputStream outStream, float quality, WMSMapContent mapContent) {
         // what kind of scaline filtering are we going to use?
         FilterType filterType = getFilterType(mapContent);
+        // large images are split in bands and compressed in parallel
+        if (ParallelPNGEncoder.isEnabled(image)) {
+            try {
+                new ParallelPNGEncoder().encode(image, outStream, quality, filterType);
+            } catch (Exception e) {
+                throw new ServiceException("Failed to encode the PNG", e);
+            }
+            return image;
+        }
         // Creation of a new PNGWriter object
         PNGWriter writer = new PNGWriter();
         // Check if a Scanline is supported by the writer
@@ -0,0 +1,398 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import ar.com.hjg.pngj.FilterType;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.geoserver.platform.GeoServerExtensions;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Encodes large 8 bit images in PNG using multiple threads.
+ *
+ * <p>The image is split in bands of rows, each band is filtered and deflated on its own, with an
+ * independent dictionary, and the compressed bands are concatenated in a single zlib stream: all
+ * bands but the last one end with a sync flush, leaving the stream open, and the checksum of the
+ * whole stream is combined out of the checksums of the bands. Each band is written as an IDAT chunk
+ * as soon as it and all the bands above it are compressed, so the output is streamed while the
+ * bands below are still being compressed.
+ *
+ * <p>Only images with 8 bit samples are supported, gray, RGB, with or without alpha, or 8 bit
+ * paletted, see {@link #canEncode(RenderedImage)}. The number of threads and the minimum image size
+ * are configured with the {@link #THREADS_PROPERTY} and {@link #THRESHOLD_PROPERTY} properties.
+ */
+class ParallelPNGEncoder {
+
+    /** Number of threads used to encode a PNG, 1 or less disables the parallel encoding */
+    static final String THREADS_PROPERTY = "GEOSERVER_PNG_ENCODER_THREADS";
+
+    /** Minimum number of pixels of an image for the parallel encoding to be used */
+    static final String THRESHOLD_PROPERTY = "GEOSERVER_PNG_PARALLEL_THRESHOLD";
+
+    static final int DEFAULT_THRESHOLD = 1024 * 1024;
+
+    /** Minimum number of rows in a band, smaller bands would compress poorly */
+    static final int MIN_BAND_ROWS = 32;
+
+    static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    static final int COLOR_GRAY = 0;
+
+    static final int COLOR_RGB = 2;
+
+    static final int COLOR_PALETTE = 3;
+
+    static final int COLOR_GRAY_ALPHA = 4;
+
+    static final int COLOR_RGBA = 6;
+
+    static final int THREADS =
+            GeoServerExtensions.getIntProperty(
+                    THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+    static final int THRESHOLD =
+            GeoServerExtensions.getIntProperty(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+
+    private static ExecutorService executor;
+
+    private final int threads;
+
+    private final ExecutorService bandExecutor;
+
+    /** Creates an encoder using the shared executor, sized after the configured threads */
+    ParallelPNGEncoder() {
+        this(THREADS, getExecutor());
+    }
+
+    ParallelPNGEncoder(int threads, ExecutorService bandExecutor) {
+        this.threads = threads;
+        this.bandExecutor = bandExecutor;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null && THREADS > 1) {
+            CustomizableThreadFactory factory = new CustomizableThreadFactory("PNGEncoder-");
+            factory.setDaemon(true);
+            executor = Executors.newFixedThreadPool(THREADS, factory);
+        }
+        return executor;
+    }
+
+    /** Returns true if the parallel encoding is enabled, and the image big enough to benefit */
+    static boolean isEnabled(RenderedImage image) {
+        return THREADS > 1
+                && (long) image.getWidth() * image.getHeight() >= THRESHOLD
+                && canEncode(image);
+    }
+
+    /** Returns true if the image sample and color models are supported */
+    static boolean canEncode(RenderedImage image) {
+        return getColorType(image) >= 0;
+    }
+
+    /** Returns the PNG color type for the image, or -1 if not supported */
+    static int getColorType(RenderedImage image) {
+        SampleModel sm = image.getSampleModel();
+        ColorModel cm = image.getColorModel();
+        if (sm == null || cm == null || sm.getDataType() != DataBuffer.TYPE_BYTE) {
+            return -1;
+        }
+        for (int size : sm.getSampleSize()) {
+            if (size != 8) {
+                return -1;
+            }
+        }
+        if (cm instanceof IndexColorModel) {
+            return sm.getNumBands() == 1
+                            && cm.getPixelSize() == 8
+                            && ((IndexColorModel) cm).getMapSize() <= 256
+                    ? COLOR_PALETTE
+                    : -1;
+        }
+        if (!(cm instanceof ComponentColorModel)
+                || !(sm instanceof ComponentSampleModel)
+                || cm.isAlphaPremultiplied()
+                || sm.getNumBands() != cm.getNumComponents()
+                || cm.getPixelSize() != 8 * cm.getNumComponents()) {
+            return -1;
+        }
+        int colorSpace = cm.getColorSpace().getType();
+        if (colorSpace == ColorSpace.TYPE_GRAY) {
+            return cm.hasAlpha() ? COLOR_GRAY_ALPHA : COLOR_GRAY;
+        } else if (colorSpace == ColorSpace.TYPE_RGB) {
+            return cm.hasAlpha() ? COLOR_RGBA : COLOR_RGB;
+        }
+        return -1;
+    }
+
+    /** Maps the quality to a deflate level, lower quality meaning higher compression */
+    static int getCompressionLevel(float quality) {
+        int level = Math.round(9 * (1f - quality));
+        return Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, level));
+    }
+
+    /**
+     * Encodes the image
+     *
+     * @param image the image, must be supported, see {@link #canEncode(RenderedImage)}
+     * @param out the destination stream
+     * @param quality the encoding quality, between 0 and 1, lower values compress more
+     * @param filterType the scanline filter, only {@link FilterType#FILTER_SUB} is honored, every
+     *     other filter type is encoded as {@link FilterType#FILTER_NONE}
+     */
+    void encode(RenderedImage image, OutputStream out, float quality, FilterType filterType)
+            throws IOException {
+        int colorType = getColorType(image);
+        if (colorType < 0) {
+            throw new IllegalArgumentException("Unsupported image: " + image);
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int bytesPerPixel = image.getSampleModel().getNumBands();
+        boolean sub = filterType == FilterType.FILTER_SUB;
+        int level = getCompressionLevel(quality);
+
+        out.write(SIGNATURE);
+        writeHeader(out, width, height, colorType);
+        if (colorType == COLOR_PALETTE) {
+            writePalette(out, (IndexColorModel) image.getColorModel());
+        }
+
+        int rowsPerBand =
+                Math.max(MIN_BAND_ROWS, (height + threads * 4 - 1) / Math.max(1, threads * 4));
+        int bandCount = (height + rowsPerBand - 1) / rowsPerBand;
+        // bound the compressed bands held in memory waiting to be written
+        int window = Math.max(1, threads * 2);
+        Deque<Future<Band>> pending = new ArrayDeque<>();
+        int submitted = 0;
+        long adler = 1;
+        try {
+            for (int written = 0; written < bandCount; written++) {
+                while (submitted < bandCount && pending.size() < window) {
+                    int minY = image.getMinY() + submitted * rowsPerBand;
+                    int rows = Math.min(rowsPerBand, image.getMinY() + height - minY);
+                    boolean last = submitted == bandCount - 1;
+                    pending.add(
+                            bandExecutor.submit(
+                                    () ->
+                                            compress(
+                                                    image,
+                                                    minY,
+                                                    rows,
+                                                    bytesPerPixel,
+                                                    sub,
+                                                    level,
+                                                    last)));
+                    submitted++;
+                }
+                Band band = pending.poll().get();
+                adler = combineAdler32(adler, band.adler, band.rawLength);
+                // the zlib stream header goes in the first chunk, the checksum in the last one
+                byte[] prefix = written == 0 ? zlibHeader(level) : new byte[0];
+                byte[] suffix = written == bandCount - 1 ? toBytes((int) adler) : new byte[0];
+                writeChunk(out, "IDAT", prefix, band.data, suffix);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while encoding the PNG", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to encode the PNG", e.getCause());
+        } finally {
+            for (Future<Band> future : pending) {
+                future.cancel(true);
+            }
+        }
+        writeChunk(out, "IEND");
+    }
+
+    /** A compressed band, with the checksum and length of the uncompressed data */
+    static class Band {
+        byte[] data;
+
+        long adler;
+
+        int rawLength;
+    }
+
+    /** Filters and deflates a band of rows */
+    static Band compress(
+            RenderedImage image,
+            int minY,
+            int rows,
+            int bytesPerPixel,
+            boolean sub,
+            int level,
+            boolean last) {
+        int width = image.getWidth();
+        int minX = image.getMinX();
+        int rowLength = width * bytesPerPixel;
+        Raster raster = image.getData(new Rectangle(minX, minY, width, rows));
+
+        byte[] raw = new byte[(rowLength + 1) * rows];
+        byte[] row = new byte[rowLength];
+        for (int r = 0; r < rows; r++) {
+            raster.getDataElements(minX, minY + r, width, 1, row);
+            int offset = r * (rowLength + 1);
+            if (sub) {
+                raw[offset] = (byte) FilterType.FILTER_SUB.val;
+                System.arraycopy(row, 0, raw, offset + 1, bytesPerPixel);
+                for (int i = bytesPerPixel; i < rowLength; i++) {
+                    raw[offset + 1 + i] = (byte) (row[i] - row[i - bytesPerPixel]);
+                }
+            } else {
+                raw[offset] = (byte) FilterType.FILTER_NONE.val;
+                System.arraycopy(row, 0, raw, offset + 1, rowLength);
+            }
+        }
+
+        Band band = new Band();
+        Adler32 checksum = new Adler32();
+        checksum.update(raw, 0, raw.length);
+        band.adler = checksum.getValue();
+        band.rawLength = raw.length;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(raw);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    compressed.write(buffer, 0, count);
+                }
+            } else {
+                // sync flush ends on a byte boundary without closing the stream
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+        } finally {
+            deflater.end();
+        }
+        band.data = compressed.toByteArray();
+        return band;
+    }
+
+    /**
+     * Combines the Adler-32 checksums of two consecutive blocks of data, as done by the zlib
+     * adler32_combine function
+     */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long remainder = length2 % base;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (remainder * sum1) % base;
+        sum1 += (adler2 & 0xffff) + base - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + base - remainder;
+        if (sum1 >= base) sum1 -= base;
+        if (sum1 >= base) sum1 -= base;
+        if (sum2 >= (base << 1)) sum2 -= (base << 1);
+        if (sum2 >= base) sum2 -= base;
+        return sum1 | (sum2 << 16);
+    }
+
+    /** The zlib stream header, deflate with a 32k window, and the compression level hint */
+    static byte[] zlibHeader(int level) {
+        int cmf = 0x78;
+        int flevel = level < 2 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3;
+        int flg = flevel << 6;
+        flg += 31 - ((cmf << 8) + flg) % 31;
+        return new byte[] {(byte) cmf, (byte) flg};
+    }
+
+    private static void writeHeader(OutputStream out, int width, int height, int colorType)
+            throws IOException {
+        byte[] data = new byte[13];
+        System.arraycopy(toBytes(width), 0, data, 0, 4);
+        System.arraycopy(toBytes(height), 0, data, 4, 4);
+        data[8] = 8; // bit depth
+        data[9] = (byte) colorType;
+        // deflate compression, adaptive filtering, no interlace
+        writeChunk(out, "IHDR", data);
+    }
+
+    private static void writePalette(OutputStream out, IndexColorModel icm) throws IOException {
+        int size = icm.getMapSize();
+        byte[] palette = new byte[size * 3];
+        for (int i = 0; i < size; i++) {
+            palette[i * 3] = (byte) icm.getRed(i);
+            palette[i * 3 + 1] = (byte) icm.getGreen(i);
+            palette[i * 3 + 2] = (byte) icm.getBlue(i);
+        }
+        writeChunk(out, "PLTE", palette);
+
+        if (icm.getTransparency() != Transparency.OPAQUE) {
+            // alpha values up to the last non opaque entry, the others default to opaque
+            int last = -1;
+            for (int i = 0; i < size; i++) {
+                if (icm.getAlpha(i) != 255) {
+                    last = i;
+                }
+            }
+            if (last >= 0) {
+                byte[] alpha = new byte[last + 1];
+                for (int i = 0; i <= last; i++) {
+                    alpha[i] = (byte) icm.getAlpha(i);
+                }
+                writeChunk(out, "tRNS", alpha);
+            }
+        }
+    }
+
+    /** Writes a chunk, its data being the concatenation of the provided parts */
+    private static void writeChunk(OutputStream out, String type, byte[]... parts)
+            throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        int length = 0;
+        for (byte[] part : parts) {
+            crc.update(part);
+            length += part.length;
+        }
+
+        out.write(toBytes(length));
+        out.write(typeBytes);
+        for (byte[] part : parts) {
+            out.write(part);
+        }
+        out.write(toBytes((int) crc.getValue()));
+    }
+
+    private static byte[] toBytes(int value) {
+        return new byte[] {
+            (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value
+        };
+    }
+}
@@ -0,0 +1,66 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ThreadLocalTransferExecutorTest {
+
+    @Test
+    public void testUnboundedByDefault() throws Exception {
+        ExecutorService pool = DefaultWebMapService.createRenderingPool(null, null);
+        try {
+            ThreadLocalTransferExecutor executor = (ThreadLocalTransferExecutor) pool;
+            assertEquals(Integer.MAX_VALUE, executor.getMaximumPoolSize());
+            assertEquals(0, executor.getQueueCapacity());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        ThreadLocalTransferExecutor executor =
+                (ThreadLocalTransferExecutor) DefaultWebMapService.createRenderingPool(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertEquals(1, executor.getMaximumPoolSize());
+            assertEquals(1, executor.getQueueCapacity());
+
+            Future<?> running =
+                    executor.submit(
+                            () -> {
+                                started.countDown();
+                                release.await();
+                                return null;
+                            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // waits for the running task to complete
+            Future<String> queued = executor.submit(() -> "queued");
+            assertEquals(1, executor.getQueue().size());
+            // no more room, rejected instead of spawning a new thread
+            assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> {}));
+            assertEquals(1, executor.getRejectedCount());
+            assertEquals(1, executor.getPoolSize());
+
+            release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+            assertEquals("queued", queued.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.namespace.QName;
+import org.aopalliance.intercept.MethodInvocation;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.PublishedType;
+import org.geoserver.config.GeoServerInfo;
+import org.geoserver.config.impl.GeoServerImpl;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.platform.Operation;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.TransactionEventType;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.MapLayerInfo;
+import org.geoserver.wms.WebMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class MapResponseCacheTest {
+
+    GeoServerImpl geoServer;
+
+    MapResponseCache cache;
+
+    AtomicInteger renderings = new AtomicInteger();
+
+    /** The layers each user can see, standing in for the data access rules */
+    Map<String, String> visibleLayers = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        geoServer = new GeoServerImpl();
+        cache = new MapResponseCache(geoServer, 1024 * 1024, 60);
+    }
+
+    @After
+    public void tearDown() {
+        Dispatcher.REQUEST.remove();
+        SecurityContextHolder.clearContext();
+    }
+
+    private Operation setupRequest(String bbox) {
+        return setupRequest(bbox, new GetMapRequest());
+    }
+
+    private Operation setupRequest(String bbox, GetMapRequest getMap) {
+        MockHttpServletRequest http = new MockHttpServletRequest("GET", "/geoserver/wms");
+        Map<String, Object> kvp = new HashMap<>();
+        kvp.put("SERVICE", "WMS");
+        kvp.put("REQUEST", "GetMap");
+        kvp.put("LAYERS", "topp:states");
+        kvp.put("BBOX", bbox);
+        kvp.put("FORMAT", "image/png");
+        Request request = new Request();
+        request.setHttpRequest(http);
+        request.setGet(true);
+        request.setRawKvp(kvp);
+        Operation operation = new Operation("GetMap", null, null, new Object[] {getMap});
+        request.setOperation(operation);
+        Dispatcher.REQUEST.set(request);
+        return operation;
+    }
+
+    /** Runs the request through the cache, as the dispatcher would, and returns the output */
+    private String getMap(Operation operation) throws Throwable {
+        WebMap map = (WebMap) cache.invoke(new RenderingInvocation(operation));
+        Response response =
+                cache.responseDispatched(
+                        Dispatcher.REQUEST.get(), operation, map, new RawMapResponse());
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        response.write(map, bos, operation);
+        return bos.toString(UTF_8);
+    }
+
+    @Test
+    public void testCacheHit() throws Throwable {
+        Operation operation = setupRequest("0,0,10,10");
+        assertEquals("map 1", getMap(operation));
+        assertEquals("map 1", getMap(operation));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStats().hitCount());
+
+        // different area, different map
+        operation = setupRequest("10,10,20,20");
+        assertEquals("map 2", getMap(operation));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testCachedMapMetadata() throws Throwable {
+        Operation operation = setupRequest("0,0,10,10");
+        getMap(operation);
+        WebMap cached = (WebMap) cache.invoke(new RenderingInvocation(operation));
+        assertTrue(cached instanceof MapResponseCache.CachedRawMap);
+        assertEquals("image/png", cached.getMimeType());
+        assertEquals(Response.DISPOSITION_INLINE, cached.getDisposition());
+        assertEquals("topp-states.png", cached.getAttachmentFileName());
+        assertEquals("value", cached.getResponseHeaders()[0][1]);
+
+        // serving the cached map does not cache it again
+        Response response = new RawMapResponse();
+        assertSame(
+                response,
+                cache.responseDispatched(Dispatcher.REQUEST.get(), operation, cached, response));
+    }
+
+    @Test
+    public void testTransaction() throws Throwable {
+        Operation operation = setupRequest("0,0,10,10");
+        assertEquals("map 1", getMap(operation));
+
+        // the request paints no layers, a change in another layer does not affect it
+        cache.clear(new QName("http://www.openplans.org/topp", "roads"));
+        assertEquals("map 1", getMap(operation));
+
+        cache.clear();
+        assertEquals("map 2", getMap(operation));
+    }
+
+    @Test
+    public void testTransactionRace() throws Throwable {
+        QName states = new QName("http://www.openplans.org/topp", "states");
+        GetMapRequest getMap = new GetMapRequest();
+        getMap.setLayers(List.of(mapLayer(states)));
+        Operation operation = setupRequest("0,0,10,10", getMap);
+        assertEquals("map 1", getMap(operation));
+
+        cache.beforeTransaction(null);
+        cache.dataStoreChange(
+                new TransactionEvent(TransactionEventType.POST_UPDATE, null, states, null));
+        // rendered after the change, but before the commit, the map still paints the old data
+        assertEquals("map 2", getMap(operation));
+        assertEquals("map 2", getMap(operation));
+
+        // and is dropped once the transaction is over
+        cache.afterTransaction(null, null, true);
+        assertEquals("map 3", getMap(operation));
+        assertEquals("map 3", getMap(operation));
+    }
+
+    private MapLayerInfo mapLayer(QName name) {
+        NamespaceInfo namespace = mock(NamespaceInfo.class);
+        when(namespace.getURI()).thenReturn(name.getNamespaceURI());
+        FeatureTypeInfo resource = mock(FeatureTypeInfo.class);
+        when(resource.getNamespace()).thenReturn(namespace);
+        when(resource.getName()).thenReturn(name.getLocalPart());
+        when(resource.prefixedName()).thenReturn("topp:" + name.getLocalPart());
+        LayerInfo layer = mock(LayerInfo.class);
+        when(layer.getResource()).thenReturn(resource);
+        when(layer.getType()).thenReturn(PublishedType.VECTOR);
+        return new MapLayerInfo(layer);
+    }
+
+    @Test
+    public void testUpdateSequence() throws Throwable {
+        Operation operation = setupRequest("0,0,10,10");
+        assertEquals("map 1", getMap(operation));
+
+        GeoServerInfo global = geoServer.getGlobal();
+        global.setUpdateSequence(global.getUpdateSequence() + 1);
+        geoServer.save(global);
+
+        assertEquals("map 2", getMap(operation));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRoles() throws Throwable {
+        Operation operation = setupRequest("0,0,10,10");
+        assertEquals("map 1", getMap(operation));
+
+        TestingAuthenticationToken auth =
+                new TestingAuthenticationToken(
+                        "user", "pwd", List.of(new SimpleGrantedAuthority("ROLE_EDITOR")));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        assertEquals("map 2", getMap(operation));
+        assertEquals("map 2", getMap(operation));
+    }
+
+    @Test
+    public void testUsersSharingRoles() throws Throwable {
+        // same role, but only alice can see the states layer
+        visibleLayers.put("alice", "topp:states");
+        visibleLayers.put("bob", "");
+        Operation operation = setupRequest("0,0,10,10");
+
+        setUser("alice", "ROLE_EDITOR");
+        assertEquals("map 1 [topp:states]", getMap(operation));
+        setUser("bob", "ROLE_EDITOR");
+        assertEquals("map 2 []", getMap(operation));
+
+        // each one gets its own map from the cache
+        setUser("alice", "ROLE_EDITOR");
+        assertEquals("map 1 [topp:states]", getMap(operation));
+        setUser("bob", "ROLE_EDITOR");
+        assertEquals("map 2 []", getMap(operation));
+        assertEquals(2, cache.size());
+    }
+
+    private void setUser(String name, String role) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new TestingAuthenticationToken(
+                                name, "pwd", List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    @Test
+    public void testNotCacheable() throws Throwable {
+        // a POST request
+        Operation operation = setupRequest("0,0,10,10");
+        Dispatcher.REQUEST.get().setGet(false);
+        assertEquals("map 1", getMap(operation));
+        assertEquals("map 2", getMap(operation));
+
+        // a GetMap built internally, not the one being dispatched
+        setupRequest("0,0,10,10");
+        Operation internal =
+                new Operation("GetMap", null, null, new Object[] {new GetMapRequest()});
+        assertEquals("map 3", getMap(internal));
+        assertEquals("map 4", getMap(internal));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testTooLarge() throws Throwable {
+        cache = new MapResponseCache(geoServer, 30, 60);
+        Operation operation = setupRequest("0,0,10,10");
+        assertEquals("map 1", getMap(operation));
+        assertEquals("map 2", getMap(operation));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() throws Throwable {
+        cache = new MapResponseCache(geoServer, 0, 60);
+        assertFalse(cache.isEnabled());
+        Operation operation = setupRequest("0,0,10,10");
+        Response response = new RawMapResponse();
+        assertSame(
+                response,
+                cache.responseDispatched(
+                        Dispatcher.REQUEST.get(),
+                        operation,
+                        new RawMap(null, new byte[0], "x"),
+                        response));
+        assertEquals("map 1", getMap(operation));
+        assertEquals("map 2", getMap(operation));
+    }
+
+    /** Simulates the invocation of the WMS getMap, rendering a new map every time */
+    class RenderingInvocation implements MethodInvocation {
+
+        Operation operation;
+
+        RenderingInvocation(Operation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public Method getMethod() {
+            return null;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return operation.getParameters();
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            String output = "map " + renderings.incrementAndGet();
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && visibleLayers.containsKey(auth.getName())) {
+                output += " [" + visibleLayers.get(auth.getName()) + "]";
+            }
+            RawMap map = new RawMap(null, output.getBytes(UTF_8), "image/png");
+            map.setContentDispositionHeader(null, ".png", false);
+            map.setResponseHeader("X-Test", "value");
+            return map;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return null;
+        }
+    }
+}
@@ -6,9 +6,18 @@
 package org.geoserver.wms.map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.awt.Point;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geoserver.wms.map.QuickTileCache.MapKey;
+import org.geoserver.wms.map.QuickTileCache.MetaTileKey;
+import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.junit.Test;
 import org.locationtech.jts.geom.Envelope;
 
@@ -68,4 +77,57 @@ public void testInnerTileOffsets() {
         assertEquals(new Point(0, 2), cache.getTileOffsetsInMeta(box1, meta));
         assertEquals(new Point(1, 2), cache.getTileOffsetsInMeta(box2, meta));
     }
+
+    @Test
+    public void testMemoryBudget() {
+        // each meta-tile is 768 * 768 * 4 bytes, allow for two of them
+        QuickTileCache cache = new QuickTileCache(768 * 768 * 4 * 2);
+        for (int i = 0; i < 5; i++) {
+            cache.storeTiles(buildKey(i, null), buildTiles());
+        }
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+        assertEquals(768 * 768 * 4 * 2, cache.getMemoryUsage());
+    }
+
+    @Test
+    public void testLayerInvalidation() {
+        QName states = new QName("http://www.openplans.org/topp", "states");
+        QName roads = new QName("http://www.openplans.org/topp", "roads");
+        MetaTileKey statesKey = buildKey(0, Set.of(states));
+        MetaTileKey roadsKey = buildKey(1, Set.of(roads));
+        MetaTileKey unknownKey = buildKey(2, null);
+        cache.storeTiles(statesKey, buildTiles());
+        cache.storeTiles(roadsKey, buildTiles());
+        cache.storeTiles(unknownKey, buildTiles());
+
+        cache.clear(states);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.getStats());
+        assertEquals(0, cache.getStats().hitCount());
+
+        // local names match too, and a key with unknown layers is always invalidated
+        cache.storeTiles(statesKey, buildTiles());
+        cache.clear(new QName("roads"));
+        assertEquals(1, cache.size());
+        assertNull(cache.getTile(roadsKey, null));
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    private MetaTileKey buildKey(int x, Set<QName> layers) {
+        MapKey mapKey = new MapKey("abcd", 0.01, new Point2D.Double(0, 0));
+        MetaTileKey key =
+                new MetaTileKey(mapKey, new Point(x, 0), new ReferencedEnvelope(0, 1, 0, 1, null));
+        key.layerNames = layers;
+        return key;
+    }
+
+    private RenderedImage[] buildTiles() {
+        BufferedImage meta = new BufferedImage(768, 768, BufferedImage.TYPE_4BYTE_ABGR);
+        RenderedImage[] tiles = new RenderedImage[9];
+        for (int i = 0; i < 9; i++) {
+            tiles[i] = meta.getSubimage((i % 3) * 256, (i / 3) * 256, 256, 256);
+        }
+        return tiles;
+    }
 }
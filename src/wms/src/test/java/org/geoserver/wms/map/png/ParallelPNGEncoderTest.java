@@ -0,0 +1,139 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import ar.com.hjg.pngj.FilterType;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import javax.imageio.ImageIO;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelPNGEncoderTest {
+
+    static ExecutorService executor;
+
+    @BeforeClass
+    public static void setupExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testCombineAdler32() {
+        byte[] data = new byte[100000];
+        new Random(42).nextBytes(data);
+        Adler32 all = new Adler32();
+        all.update(data);
+        Adler32 first = new Adler32();
+        first.update(data, 0, 30000);
+        Adler32 second = new Adler32();
+        second.update(data, 30000, 70000);
+
+        long combined =
+                ParallelPNGEncoder.combineAdler32(first.getValue(), second.getValue(), 70000);
+        assertEquals(all.getValue(), combined);
+        assertEquals(
+                first.getValue(), ParallelPNGEncoder.combineAdler32(1, first.getValue(), 30000));
+    }
+
+    @Test
+    public void testCanEncode() {
+        assertTrue(ParallelPNGEncoder.canEncode(image(BufferedImage.TYPE_3BYTE_BGR)));
+        assertTrue(ParallelPNGEncoder.canEncode(image(BufferedImage.TYPE_4BYTE_ABGR)));
+        assertTrue(ParallelPNGEncoder.canEncode(image(BufferedImage.TYPE_BYTE_GRAY)));
+        assertTrue(ParallelPNGEncoder.canEncode(paletted()));
+        assertFalse(ParallelPNGEncoder.canEncode(image(BufferedImage.TYPE_INT_ARGB)));
+        assertFalse(ParallelPNGEncoder.canEncode(image(BufferedImage.TYPE_USHORT_GRAY)));
+        assertFalse(ParallelPNGEncoder.canEncode(image(BufferedImage.TYPE_BYTE_BINARY)));
+    }
+
+    @Test
+    public void testRGB() throws Exception {
+        assertRoundTrip(image(BufferedImage.TYPE_3BYTE_BGR));
+    }
+
+    @Test
+    public void testRGBA() throws Exception {
+        assertRoundTrip(image(BufferedImage.TYPE_4BYTE_ABGR));
+    }
+
+    @Test
+    public void testGray() throws Exception {
+        assertRoundTrip(image(BufferedImage.TYPE_BYTE_GRAY));
+    }
+
+    @Test
+    public void testPaletted() throws Exception {
+        assertRoundTrip(paletted());
+    }
+
+    private void assertRoundTrip(BufferedImage image) throws Exception {
+        ParallelPNGEncoder encoder = new ParallelPNGEncoder(4, executor);
+        for (FilterType filter : new FilterType[] {FilterType.FILTER_NONE, FilterType.FILTER_SUB}) {
+            for (float quality : new float[] {0f, 0.5f, 1f}) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                encoder.encode(image, bos, quality, filter);
+                BufferedImage read = ImageIO.read(new ByteArrayInputStream(bos.toByteArray()));
+                assertEquals(image.getWidth(), read.getWidth());
+                assertEquals(image.getHeight(), read.getHeight());
+                assertEquals(image.getColorModel().hasAlpha(), read.getColorModel().hasAlpha());
+                for (int y = 0; y < image.getHeight(); y++) {
+                    for (int x = 0; x < image.getWidth(); x++) {
+                        assertEquals(image.getRGB(x, y), read.getRGB(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    private BufferedImage image(int type) {
+        // tall enough to be split in several bands
+        BufferedImage image = new BufferedImage(200, 500, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.RED, 200, 500, new Color(0, 0, 255, 128)));
+        graphics.fillRect(0, 0, 200, 500);
+        graphics.setColor(Color.YELLOW);
+        graphics.fillOval(20, 50, 150, 300);
+        graphics.dispose();
+        return image;
+    }
+
+    private BufferedImage paletted() {
+        byte[] r = new byte[16], g = new byte[16], b = new byte[16], a = new byte[16];
+        for (int i = 0; i < 16; i++) {
+            r[i] = (byte) (i * 16);
+            g[i] = (byte) (255 - i * 16);
+            b[i] = (byte) (i * 8);
+            a[i] = (byte) (i < 2 ? 0 : 255);
+        }
+        IndexColorModel icm = new IndexColorModel(8, 16, r, g, b, a);
+        BufferedImage image = new BufferedImage(200, 500, BufferedImage.TYPE_BYTE_INDEXED, icm);
+        for (int y = 0; y < 500; y++) {
+            for (int x = 0; x < 200; x++) {
+                image.getRaster().setSample(x, y, 0, (x / 10 + y / 25) % 16);
+            }
+        }
+        return image;
+    }
+}